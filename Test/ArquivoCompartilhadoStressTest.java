@@ -0,0 +1,81 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Teste de estresse com vários processos gravando no mesmo ranking e no mesmo arquivo
+ * de recordes. Cada gravação incrementa a sequência do arquivo, então nenhuma perda
+ * de resultado passa despercebida.
+ */
+public class ArquivoCompartilhadoStressTest {
+
+    private static final int PROCESSOS = 6;
+    private static final int GRAVACOES_POR_PROCESSO = 50;
+
+    private Path diretorio;
+
+    @Before
+    public void setUp() throws Exception {
+        diretorio = Files.createTempDirectory("estresse");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File f : diretorio.toFile().listFiles()) f.delete();
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Test
+    public void testNenhumResultadoPerdidoEntreProcessos() throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processos = new ArrayList<>();
+        for (int id = 0; id < PROCESSOS; id++) {
+            processos.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    ArquivoCompartilhadoStressTest.class.getName(), diretorio.toString(), String.valueOf(id))
+                    .inheritIO().start());
+        }
+        for (Process p : processos) {
+            assertTrue("Processo não terminou a tempo", p.waitFor(2, TimeUnit.MINUTES));
+            assertEquals(0, p.exitValue());
+        }
+
+        Path ranking = diretorio.resolve("ranking.csv");
+        assertEquals("Toda gravação deve ter incrementado a sequência",
+                PROCESSOS * GRAVACOES_POR_PROCESSO, new ArquivoCompartilhado(ranking).ler().sequencia);
+
+        // As dez menores tentativas foram gravadas por processos diferentes e devem estar todas no ranking
+        List<String[]> entradas = RankingManager.carregar(ranking);
+        assertEquals(10, entradas.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.valueOf(i), entradas.get(i)[1]);
+        }
+
+        ScoreStore recordes = new ScoreStore(diretorio.resolve("recorde.txt"));
+        assertEquals(PROCESSOS * GRAVACOES_POR_PROCESSO - 1, recordes.getRecorde());
+    }
+
+    /**
+     * Ponto de entrada dos processos filhos: grava resultados intercalados com os demais processos.
+     *
+     * @param args Diretório dos arquivos e identificador do processo.
+     */
+    public static void main(String[] args) {
+        Path diretorio = Path.of(args[0]);
+        int id = Integer.parseInt(args[1]);
+        ScoreStore recordes = new ScoreStore(diretorio.resolve("recorde.txt"));
+        for (int i = 0; i < GRAVACOES_POR_PROCESSO; i++) {
+            int valor = i * PROCESSOS + id;
+            RankingManager.salvar(diretorio.resolve("ranking.csv"), "p" + id + "-" + i, valor);
+            recordes.registrarRecorde(Dificuldade.FACIL, valor);
+        }
+    }
+}
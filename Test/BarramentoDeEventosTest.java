@@ -0,0 +1,89 @@
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do barramento de eventos e da transmissão para espectadores.
+ */
+public class BarramentoDeEventosTest {
+
+    private static EventoDeJogo tempo(int segundos) {
+        return new EventoDeJogo(EventoDeJogo.Tipo.TEMPO, segundos, 0, null);
+    }
+
+    private static EventoDeJogo virada(int indice) {
+        return new EventoDeJogo(EventoDeJogo.Tipo.VIRADA, indice, 1, null);
+    }
+
+    @Test
+    public void testAssinanteTravadoNaoAtrasaPublicacao() throws Exception {
+        BarramentoDeEventos barramento = new BarramentoDeEventos();
+        CountDownLatch liberar = new CountDownLatch(1);
+        BarramentoDeEventos.Assinatura lento = barramento.assinar(16, BarramentoDeEventos.Politica.DESCARTAR_ANTIGOS,
+                evento -> {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) barramento.publicar(virada(i));
+        long duracao = System.nanoTime() - inicio;
+        liberar.countDown();
+
+        assertTrue("A publicação não deve esperar pelo assinante", duracao < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(lento.getDescartados() >= 100_000 - 17);
+        lento.close();
+    }
+
+    @Test
+    public void testAglutinaEventosDeRelogio() throws Exception {
+        BarramentoDeEventos barramento = new BarramentoDeEventos();
+        BarramentoDeEventos.Assinatura assinatura = barramento.assinar(4, BarramentoDeEventos.Politica.AGLUTINAR);
+        barramento.publicar(virada(0));
+        for (int s = 60; s > 50; s--) barramento.publicar(tempo(s));
+        barramento.publicar(virada(1));
+        barramento.publicar(tempo(50));
+
+        assertEquals(0, assinatura.proximo(100).a);
+        assertEquals("Só o relógio mais recente antes da virada deve restar", 51, assinatura.proximo(100).a);
+        assertEquals(1, assinatura.proximo(100).a);
+        assertEquals(50, assinatura.proximo(100).a);
+        assertNull(assinatura.proximo(10));
+        assertEquals(0, assinatura.getDescartados());
+    }
+
+    @Test
+    public void testPoliticaDesconectar() {
+        BarramentoDeEventos barramento = new BarramentoDeEventos();
+        BarramentoDeEventos.Assinatura assinatura = barramento.assinar(2, BarramentoDeEventos.Politica.DESCONECTAR);
+        for (int i = 0; i < 3; i++) barramento.publicar(virada(i));
+        assertTrue(assinatura.isEncerrada());
+        assertEquals(0, barramento.getAssinantes());
+    }
+
+    @Test
+    public void testEspectadorPorSocket() throws Exception {
+        BarramentoDeEventos barramento = new BarramentoDeEventos();
+        try (TransmissaoEspectadores transmissao = new TransmissaoEspectadores(0, barramento);
+             Socket socket = new Socket("localhost", transmissao.getPorta())) {
+            BufferedReader leitor = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            long limite = System.currentTimeMillis() + 5000;
+            while (barramento.getAssinantes() == 0 && System.currentTimeMillis() < limite) Thread.sleep(10);
+
+            barramento.publicar(new EventoDeJogo(EventoDeJogo.Tipo.INICIO, 4, 4, "Ana"));
+            barramento.publicar(new EventoDeJogo(EventoDeJogo.Tipo.FIM, 300, 9, "vitoria"));
+            assertTrue(leitor.readLine().contains("\"INICIO\""));
+            assertTrue(leitor.readLine().contains("\"vitoria\""));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do cache de imagens.
+ */
+public class CacheDeImagensTest {
+
+    @Test
+    public void testImagemDecodificadaUmaUnicaVez() {
+        BufferedImage a = CacheDeImagens.obter("src/assets/cards/costa.png");
+        assertNotNull(a);
+        assertSame(a, CacheDeImagens.obter("src/assets/cards/costa.png"));
+    }
+
+    @Test
+    public void testImagemEscalada() {
+        BufferedImage escalada = CacheDeImagens.obterEscalada("src/assets/cards/carta1.jpg", 90, 60);
+        assertEquals(90, escalada.getWidth());
+        assertEquals(60, escalada.getHeight());
+        assertSame(escalada, CacheDeImagens.obterEscalada("src/assets/cards/carta1.jpg", 90, 60));
+    }
+
+    @Test
+    public void testRecursoAusenteNaoLancaExcecao() {
+        assertNull(CacheDeImagens.obter("/assets/fundos/fundoMenu.gif"));
+        assertNull(CacheDeImagens.obterEscalada("/assets/fundos/fundoMenu.gif", 800, 600));
+    }
+}
@@ -0,0 +1,84 @@
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da aplicação dos cliques guardados pelos controles.
+ */
+public class ControlesTest {
+
+    /**
+     * Tabuleiro sem interface gráfica, apenas com as cartas.
+     */
+    private static class Tabuleiro implements VisaoDoTabuleiro {
+        private final Carta[] cartas;
+
+        Tabuleiro(int[] ids) {
+            cartas = new Carta[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                cartas[i] = new Carta(GeradorDeCartas.caminhoFrente(ids[i]), GeradorDeCartas.COSTA, ids[i]);
+            }
+        }
+
+        @Override
+        public int indiceDe(Carta carta) {
+            for (int i = 0; i < cartas.length; i++) {
+                if (cartas[i] == carta) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Carta getCarta(int indice) {
+            return cartas[indice];
+        }
+
+        @Override
+        public void atualizarPontuacao() {
+        }
+
+        @Override
+        public void verificarFimDeJogo() {
+        }
+    }
+
+    private static void aguardar(String motivo, java.util.function.BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(motivo, System.currentTimeMillis() < limite);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testCliqueGuardadoEmCartaQueDesviraNaoSePerde() throws Exception {
+        int[] ids = {1, 2, 1, 2};
+        Tabuleiro tabuleiro = new Tabuleiro(ids);
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.FACIL, new RegrasDoJogo(ids),
+                new BarramentoDeEventos(), new RelogioVirtual());
+        try (EscopoDeRecursos escopo = new EscopoDeRecursos("teste")) {
+            Controles controles = new Controles(tabuleiro, sessao, escopo);
+
+            SwingUtilities.invokeAndWait(() -> {
+                controles.clicarCarta(tabuleiro.getCarta(0));
+                controles.clicarCarta(tabuleiro.getCarta(1));
+            });
+            aguardar("A tentativa errada deve ser avaliada", () -> sessao.getTentativas() == 1);
+
+            // Clique na primeira carta enquanto o erro ainda está à mostra
+            SwingUtilities.invokeAndWait(() -> controles.clicarCarta(tabuleiro.getCarta(0)));
+            aguardar("O erro deve ser desfeito", () -> !sessao.isVirada(1));
+            aguardar("O clique guardado deve virar a carta de novo", () -> sessao.isVirada(0));
+            aguardar("A carta deve terminar virada", () -> !tabuleiro.getCarta(0).isAnimando());
+
+            assertTrue(tabuleiro.getCarta(0).isVirada());
+            assertFalse(sessao.isVirada(1));
+            assertFalse(tabuleiro.getCarta(1).isVirada());
+            assertTrue(controles.getEntrada().isVazia());
+        } finally {
+            sessao.abandonar();
+        }
+    }
+}
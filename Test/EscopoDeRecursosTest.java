@@ -0,0 +1,88 @@
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do ciclo de vida dos recursos de partidas e telas.
+ */
+public class EscopoDeRecursosTest {
+
+    @Test
+    public void testFecharCancelaTarefasPendentes() throws Exception {
+        AtomicInteger execucoes = new AtomicInteger();
+        EscopoDeRecursos escopo = new EscopoDeRecursos("teste");
+        EscopoDeRecursos.Tarefa tarefa = escopo.agendar(execucoes::incrementAndGet, 60_000);
+        escopo.repetir(() -> execucoes.incrementAndGet() < 1_000_000, 60_000);
+        assertEquals(2, escopo.getRecursos());
+
+        escopo.close();
+        escopo.close();
+        assertFalse(tarefa.isAtiva());
+        assertEquals(0, escopo.getRecursos());
+
+        // Registrado depois do fechamento: encerrado na hora
+        CountDownLatch encerrado = new CountDownLatch(1);
+        escopo.registrar(encerrado::countDown);
+        assertTrue(encerrado.await(1, TimeUnit.SECONDS));
+        assertTrue(execucoes.get() <= 1);
+    }
+
+    @Test
+    public void testTarefaConcluidaSaiDoEscopo() throws Exception {
+        try (EscopoDeRecursos escopo = new EscopoDeRecursos("teste")) {
+            CountDownLatch fim = new CountDownLatch(1);
+            AtomicInteger passos = new AtomicInteger();
+            escopo.repetir(() -> {
+                if (passos.incrementAndGet() < 3) return true;
+                fim.countDown();
+                return false;
+            }, 5);
+            assertTrue(fim.await(5, TimeUnit.SECONDS));
+            long limite = System.currentTimeMillis() + 5000;
+            while (escopo.getRecursos() > 0 && System.currentTimeMillis() < limite) Thread.sleep(1);
+            assertEquals(0, escopo.getRecursos());
+            assertEquals(3, passos.get());
+        }
+    }
+
+    @Test
+    public void testMilPartidasNaoAcumulamRecursos() throws Exception {
+        int escopos = EscopoDeRecursos.getEscoposAbertos();
+        int tarefas = EscopoDeRecursos.getTarefasAtivas();
+        int linhas = EscopoDeRecursos.getLinhasDeAudioAbertas();
+        int threads = Thread.activeCount();
+
+        for (int i = 0; i < 1000; i++) {
+            try (EscopoDeRecursos partida = new EscopoDeRecursos("partida-" + i)) {
+                Carta a = new Carta("src/assets/cards/carta1.jpg", "src/assets/cards/costa.png", 1);
+                Carta b = new Carta("src/assets/cards/carta1.jpg", "src/assets/cards/costa.png", 1);
+                a.setEscopo(partida);
+                b.setEscopo(partida);
+
+                // Preview e verificação de par pendentes quando a partida é fechada
+                partida.agendar(() -> { }, 2000);
+                partida.agendar(() -> { }, 500);
+                partida.tocarSom("src/assets/audios/ping.wav");
+
+                CountDownLatch virada = new CountDownLatch(1);
+                a.virarComAnimacao(virada::countDown);
+                b.virarComAnimacao(null);
+                // Algumas partidas terminam a animação; as demais são fechadas no meio dela
+                if (i % 100 == 0) {
+                    assertTrue(virada.await(5, TimeUnit.SECONDS));
+                    assertTrue(a.isVirada());
+                }
+            }
+        }
+
+        assertEquals(escopos, EscopoDeRecursos.getEscoposAbertos());
+        assertEquals(tarefas, EscopoDeRecursos.getTarefasAtivas());
+        assertEquals(linhas, EscopoDeRecursos.getLinhasDeAudioAbertas());
+        assertTrue("Threads: " + EscopoDeRecursos.diagnostico(), Thread.activeCount() <= threads + 4);
+        assertTrue(EscopoDeRecursos.diagnostico(), EscopoDeRecursos.diagnostico().contains("fila=0"));
+    }
+}
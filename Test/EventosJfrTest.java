@@ -0,0 +1,46 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes dos eventos do Flight Recorder.
+ */
+public class EventosJfrTest {
+
+    @Test
+    public void testOperacoesDeArquivoGravadas() throws Exception {
+        Path dir = Files.createTempDirectory("jfr");
+        Path destino = dir.resolve("teste.jfr");
+        Path ranking = dir.resolve("ranking.csv");
+
+        Recording gravacao = EventosJfr.iniciarGravacao(destino);
+        RankingManager.salvar(ranking, "Ana", 12);
+        RankingManager.carregar(ranking);
+        // Com destino definido, parar a gravação grava o arquivo
+        gravacao.stop();
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(destino).stream()
+                .filter(e -> e.getEventType().getName().equals("brainrot.OperacaoArquivo"))
+                .collect(Collectors.toList());
+        RecordedEvent escrita = eventos.stream().filter(e -> e.getString("operacao").equals("atualizar")).findFirst().orElseThrow();
+        assertEquals(ranking.toAbsolutePath().toString(), escrita.getString("arquivo"));
+        assertEquals(Files.size(ranking), escrita.getLong("bytesGravados"));
+        assertTrue(eventos.stream().anyMatch(e -> e.getString("operacao").equals("ler") && e.getLong("bytesLidos") > 0));
+    }
+
+    @Test
+    public void testEventoSemGravacaoNaoEhConfirmado() {
+        EventosJfr.PintarPainel evento = new EventosJfr.PintarPainel();
+        evento.begin();
+        assertFalse(evento.shouldCommit());
+        evento.commit();
+    }
+}
@@ -0,0 +1,47 @@
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da fila de cliques pendentes.
+ */
+public class FilaDeEntradaTest {
+
+    @Test
+    public void testCliquesAplicadosNaOrdemComLimite() {
+        FilaDeEntrada fila = new FilaDeEntrada(2);
+        assertTrue(fila.oferecer(3, 100));
+        assertFalse("Clique repetido na mesma carta", fila.oferecer(3, 110));
+        assertTrue(fila.oferecer(5, 120));
+        assertFalse(fila.oferecer(7, 130));
+        assertEquals(1, fila.getDescartados());
+        assertEquals(2, fila.getPendentes());
+
+        FilaDeEntrada.Clique primeiro = fila.retirar();
+        assertEquals(3, primeiro.indice);
+        assertEquals(100, primeiro.instante);
+        assertEquals(5, fila.retirar().indice);
+        assertNull(fila.retirar());
+        assertTrue(fila.isVazia());
+    }
+
+    @Test
+    public void testLatenciaRegistradaNaPrimeiraRespostaVisual() {
+        Carta carta = new Carta("src/assets/cards/carta1.jpg", "src/assets/cards/costa.png", 1);
+        java.awt.image.BufferedImage tela = new java.awt.image.BufferedImage(90, 90, java.awt.image.BufferedImage.TYPE_INT_RGB);
+        long antes = FilaDeEntrada.getLatencias().getContagem();
+
+        carta.marcarClique(System.nanoTime() - 5_000_000);
+        carta.desenhar(tela.getGraphics(), 0, 0, 90, 90);
+        assertEquals("A carta ainda não reagiu", antes, FilaDeEntrada.getLatencias().getContagem());
+
+        carta.virarComAnimacao(null);
+        carta.acelerar();
+        long limite = System.currentTimeMillis() + 5000;
+        while (!carta.isVirada() && System.currentTimeMillis() < limite) Thread.onSpinWait();
+        carta.desenhar(tela.getGraphics(), 0, 0, 90, 90);
+        carta.desenhar(tela.getGraphics(), 0, 0, 90, 90);
+        assertEquals(antes + 1, FilaDeEntrada.getLatencias().getContagem());
+        assertTrue(FilaDeEntrada.getLatencias().getMaximo() >= 5_000_000);
+    }
+}
@@ -0,0 +1,50 @@
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do gerador de carga: mesma semente, mesmas partidas.
+ */
+public class GeradorDeCargaTest {
+
+    private static Map<String, String> opcoes(long semente) {
+        return Map.of("jogadores", "8", "partidas", "3", "semente", String.valueOf(semente),
+                "pensar-min", "0", "pensar-max", "0", "dificuldade", "MEDIO");
+    }
+
+    /**
+     * Executa a carga e devolve as tentativas das dez melhores partidas, em ordem.
+     */
+    private static List<String> executar(long semente) throws Exception {
+        try (GeradorDeCarga gerador = new GeradorDeCarga(opcoes(semente))) {
+            gerador.executar();
+            List<String> tentativas = new ArrayList<>();
+            for (String[] entrada : RankingManager.carregar(gerador.getRanking())) tentativas.add(entrada[1]);
+            return tentativas;
+        }
+    }
+
+    @Test
+    public void testMesmaSementeProduzMesmasPartidas() throws Exception {
+        List<String> primeira = executar(42);
+        assertEquals(RankingManager.MAX_ENTRADAS, primeira.size());
+        assertEquals(primeira, executar(42));
+    }
+
+    @Test
+    public void testRankingTemporarioRemovidoAoFechar() throws Exception {
+        Path ranking;
+        try (GeradorDeCarga gerador = new GeradorDeCarga(opcoes(1))) {
+            gerador.executar();
+            ranking = gerador.getRanking();
+            assertTrue(Files.exists(ranking));
+        }
+        assertFalse(Files.exists(ranking));
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes das faces procedurais das cartas.
+ */
+public class GeradorDeFacesTest {
+
+    private static int[] pixels(BufferedImage imagem) {
+        return imagem.getRGB(0, 0, imagem.getWidth(), imagem.getHeight(), null, 0, imagem.getWidth());
+    }
+
+    @Test
+    public void testMesmaSementeDesenhaAMesmaFace() {
+        BufferedImage a = GeradorDeFaces.desenhar(7, 123);
+        BufferedImage b = GeradorDeFaces.desenhar(7, 123);
+        assertNotSame(a, b);
+        assertArrayEquals(pixels(a), pixels(b));
+        assertFalse(Arrays.equals(pixels(a), pixels(GeradorDeFaces.desenhar(8, 123))));
+    }
+
+    @Test
+    public void testParesTemFacesDiferentes() {
+        Set<Integer> faces = new HashSet<>();
+        for (int id = 1; id <= 1500; id++) {
+            assertTrue("Face repetida no par " + id, faces.add(Arrays.hashCode(pixels(GeradorDeFaces.desenhar(1, id)))));
+        }
+    }
+
+    @Test
+    public void testSimbolosSemCaracteresAmbiguos() {
+        Set<String> simbolos = new HashSet<>();
+        for (int numero = 0; numero < 5000; numero++) {
+            String simbolo = GeradorDeFaces.simbolo(numero);
+            assertTrue("Símbolo repetido: " + simbolo, simbolos.add(simbolo));
+            assertFalse("Símbolo ambíguo: " + simbolo, simbolo.matches(".*[01IO].*"));
+        }
+    }
+
+    @Test
+    public void testFacesPassamPeloCacheDeImagens() {
+        String caminho = GeradorDeFaces.caminho(3, 5000);
+        assertTrue(GeradorDeFaces.isGerada(caminho));
+        BufferedImage face = CacheDeImagens.obter(caminho);
+        assertEquals(GeradorDeFaces.LADO, face.getWidth());
+        assertSame(face, CacheDeImagens.obter(caminho));
+        assertNull(GeradorDeFaces.obter(GeradorDeFaces.PREFIXO + "x"));
+    }
+
+    @Test
+    public void testCacheLimitado() {
+        GeradorDeFaces.esvaziar();
+        GeradorDeFaces.preparar(11, 1, 3000);
+        long maximo = GeradorDeFaces.LIMITE_BYTES / ((long) GeradorDeFaces.LADO * GeradorDeFaces.LADO * 4);
+        assertEquals(maximo, GeradorDeFaces.getFacesEmCache());
+        // As faces descartadas voltam idênticas
+        assertArrayEquals(pixels(GeradorDeFaces.desenhar(11, 1)), pixels(GeradorDeFaces.obter(GeradorDeFaces.caminho(11, 1))));
+    }
+
+    @Test
+    public void testTabuleiroMaiorQueAsImagensNaoPerdePares() {
+        ArrayList<Carta> cartas = GeradorDeCartas.gerarCartasPequenasComPainel(null, 12, 12);
+        assertEquals(144, cartas.size());
+        int[] contagem = new int[73];
+        for (Carta carta : cartas) contagem[carta.getId()]++;
+        for (int id = 1; id <= 72; id++) assertEquals(2, contagem[id]);
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da precisão dos percentis do histograma de latências.
+ */
+public class HistogramaLatenciaTest {
+
+    @Test
+    public void testPercentisComErroRelativoAbaixoDeUmPorCento() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        Random aleatorio = new Random(11);
+        long[] valores = new long[200_000];
+        for (int i = 0; i < valores.length; i++) {
+            // Distribuição log-uniforme, de 1 ns a ~17 minutos
+            valores[i] = (long) Math.pow(2, aleatorio.nextDouble() * 40);
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double p : new double[]{1, 25, 50, 90, 99, 99.9, 99.99}) {
+            long exato = valores[(int) Math.ceil(p / 100.0 * valores.length) - 1];
+            long estimado = histograma.percentil(p);
+            assertTrue("p" + p + " não pode ficar abaixo do valor exato", estimado >= exato);
+            assertTrue("p" + p + ": " + estimado + " vs " + exato, estimado - exato <= exato / 100.0);
+        }
+        assertEquals(valores[valores.length - 1], histograma.getMaximo());
+        assertEquals(valores.length, histograma.getContagem());
+    }
+
+    @Test
+    public void testValoresPequenosSaoExatos() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 200; i++) histograma.registrar(i);
+        assertEquals(100, histograma.percentil(50));
+        assertEquals(198, histograma.percentil(99));
+        assertEquals(200, histograma.percentil(100));
+    }
+
+    @Test
+    public void testSomarEReiniciar() {
+        HistogramaLatencia a = new HistogramaLatencia();
+        HistogramaLatencia b = new HistogramaLatencia();
+        a.registrar(1_000);
+        b.registrar(5_000_000);
+        a.somar(b);
+        assertEquals(2, a.getContagem());
+        assertEquals(5_000_000, a.getMaximo());
+        a.reiniciar();
+        assertEquals(0, a.getContagem());
+        assertEquals(0, a.percentil(50));
+    }
+}
@@ -0,0 +1,169 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HistoricoJsonTest {
+
+    private Path diretorio;
+
+    @Before
+    public void setUp() throws Exception {
+        diretorio = Files.createTempDirectory("historico");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File f : diretorio.toFile().listFiles()) f.delete();
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Test
+    public void testLeJsonLinesEArray() {
+        List<ResultadoPartida> lidos = new ArrayList<>();
+        HistoricoJson.ler(new StringReader("{\"nome\":\"a\",\"tentativas\":3}\n{\"nome\":\"b\",\"dificuldade\":\"MEDIO\"}\n"), lidos::add);
+        HistoricoJson.ler(new StringReader("[ {\"tentativas\": 0}, {\"nome\": \"c\", \"tentativas\": 7} ]"), lidos::add);
+
+        assertEquals(4, lidos.size());
+        assertEquals(3, lidos.get(0).tentativas);
+        assertEquals(Dificuldade.MEDIO, lidos.get(1).dificuldade);
+        assertEquals("Jogador", lidos.get(2).nome);
+        assertEquals("c", lidos.get(3).nome);
+    }
+
+    @Test
+    public void testImportaGrandeVolumeEMesclaNoRanking() throws Exception {
+        Path historico = diretorio.resolve("historico.jsonl");
+        Path ranking = diretorio.resolve("ranking.csv");
+        int total = 50_000;
+
+        // Gera a origem sob demanda, sem materializar o texto inteiro em memória
+        Reader origem = new Reader() {
+            private int indice = 0;
+            private String atual = "";
+            private int posicao = 0;
+
+            @Override
+            public int read(char[] destino, int inicio, int tamanho) {
+                if (posicao == atual.length()) {
+                    if (indice == total) return -1;
+                    atual = new ResultadoPartida("j" + indice, Dificuldade.FACIL, total - indice, 0, 0, true, indice)
+                            .paraJson().toString() + "\n";
+                    indice++;
+                    posicao = 0;
+                }
+                int n = Math.min(tamanho, atual.length() - posicao);
+                atual.getChars(posicao, posicao + n, destino, inicio);
+                posicao += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertEquals(total, HistoricoJson.importar(origem, historico, ranking));
+
+        List<String[]> entradas = RankingManager.carregar(ranking);
+        assertEquals(RankingManager.MAX_ENTRADAS, entradas.size());
+        assertEquals("1", entradas.get(0)[1]);
+        assertEquals("j" + (total - 1), entradas.get(0)[0]);
+
+        StringWriter exportado = new StringWriter();
+        assertEquals(total, HistoricoJson.exportar(historico, exportado));
+    }
+
+    @Test
+    public void testImportacaoSoLevaVitoriasAoRanking() throws Exception {
+        Path historico = diretorio.resolve("historico.jsonl");
+        Path ranking = diretorio.resolve("ranking.csv");
+        String origem = new ResultadoPartida("vencedor", Dificuldade.FACIL, 12, 100, 30, true, 1).paraJson() + "\n"
+                + new ResultadoPartida("derrota", Dificuldade.FACIL, 3, 0, 0, false, 2).paraJson() + "\n"
+                + "{\"nome\": \"migrado\", \"tentativas\": 0}\n";
+
+        assertEquals(3, HistoricoJson.importar(new StringReader(origem), historico, ranking));
+
+        List<String[]> entradas = RankingManager.carregar(ranking);
+        assertEquals(1, entradas.size());
+        assertEquals("vencedor", entradas.get(0)[0]);
+        assertEquals(3, Files.readAllLines(historico).size());
+    }
+
+    @Test
+    public void testMigraRankingAntigoUmaVez() throws Exception {
+        Path csv = diretorio.resolve("ranking.csv");
+        Path json = diretorio.resolve("ranking.json");
+        Path historico = diretorio.resolve("historico.jsonl");
+        Files.write(csv, List.of("qwe,4", "Jogador,2"));
+        Files.writeString(json, "[\n {\"nome\": \"Joao\", \"tentativas\": 0}\n]");
+
+        assertEquals(3, HistoricoJson.migrarSeNecessario(csv, json, historico));
+        assertEquals(0, HistoricoJson.migrarSeNecessario(csv, json, historico));
+        assertEquals(3, Files.readAllLines(historico).size());
+    }
+
+    @Test
+    public void testMigraMesmoComHistoricoCriadoPorImportacao() throws Exception {
+        Path csv = diretorio.resolve("ranking.csv");
+        Path json = diretorio.resolve("ranking.json");
+        Path historico = diretorio.resolve("historico.jsonl");
+        Files.writeString(json, "[ {\"nome\": \"Joao\", \"tentativas\": 5} ]");
+        String importado = new ResultadoPartida("ana", Dificuldade.FACIL, 8, 10, 5, true, 1).paraJson() + "\n";
+        HistoricoJson.importar(new StringReader(importado), historico, diretorio.resolve("outro.csv"));
+
+        assertEquals(1, HistoricoJson.migrarSeNecessario(csv, json, historico));
+        assertEquals(0, HistoricoJson.migrarSeNecessario(csv, json, historico));
+        assertEquals(2, Files.readAllLines(historico).size());
+    }
+
+    @Test
+    public void testHistoricoMigradoAntesDoMarcadorNaoDuplica() throws Exception {
+        Path csv = diretorio.resolve("ranking.csv");
+        Path historico = diretorio.resolve("historico.jsonl");
+        Files.write(csv, List.of("qwe,4"));
+        // Conteúdo gravado pela migração antiga, que não criava o marcador
+        Files.writeString(historico, new ResultadoPartida("qwe", null, 4, 0, 0, false, 0L).paraJson() + "\n");
+
+        assertEquals(0, HistoricoJson.migrarSeNecessario(csv, diretorio.resolve("ranking.json"), historico));
+        assertEquals(1, Files.readAllLines(historico).size());
+        assertTrue(Files.exists(diretorio.resolve("historico.jsonl" + HistoricoJson.SUFIXO_MIGRADO)));
+    }
+
+    @Test
+    public void testImportacaoEPartidasSimultaneasNaoMisturamLinhas() throws Exception {
+        Path historico = diretorio.resolve("historico.jsonl");
+        StringBuilder origem = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            origem.append(new ResultadoPartida("importado" + i, Dificuldade.MEDIO, i + 1, 0, 0, true, i).paraJson()).append('\n');
+        }
+        Thread partidas = new Thread(() -> {
+            try {
+                for (int i = 0; i < 500; i++) {
+                    HistoricoJson.acrescentar(historico, new ResultadoPartida("jogado" + i, Dificuldade.FACIL, 3, 0, 0, true, i));
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        partidas.start();
+        HistoricoJson.importar(new StringReader(origem.toString()), historico, diretorio.resolve("ranking.csv"));
+        partidas.join();
+
+        List<String> linhas = Files.readAllLines(historico);
+        assertEquals(2500, linhas.size());
+        for (String linha : linhas) {
+            assertTrue("Linha misturada: " + linha, linha.startsWith("{") && linha.endsWith("}"));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do log assíncrono.
+ */
+public class LogTest {
+    private Path diretorio;
+    private Path arquivo;
+    private Log log;
+
+    @Before
+    public void criar() throws IOException {
+        diretorio = Files.createTempDirectory("log");
+        arquivo = diretorio.resolve("logs").resolve("jogo.log");
+    }
+
+    @After
+    public void apagar() throws IOException {
+        if (log != null) log.encerrar();
+        try (Stream<Path> caminhos = Files.walk(diretorio)) {
+            for (Path p : caminhos.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    private List<JSONObject> linhas(Path origem) throws IOException {
+        List<JSONObject> linhas = new ArrayList<>();
+        for (String linha : Files.readAllLines(origem, StandardCharsets.UTF_8)) linhas.add(new JSONObject(linha));
+        return linhas;
+    }
+
+    @Test
+    public void testGravaLinhasJson() throws Exception {
+        log = new Log(arquivo, 64, 1 << 20, null);
+        assertTrue(log.registrar(Log.Nivel.AVISO, "CacheDeImagens", "Imagem não encontrada: x.png", null));
+        assertTrue(log.registrar(Log.Nivel.ERRO, "RankingManager", "Erro ao ler o ranking", new IOException("disco")));
+        assertTrue(log.aguardarEscrita(5000));
+
+        List<JSONObject> linhas = linhas(arquivo);
+        assertEquals(2, linhas.size());
+        assertEquals("AVISO", linhas.get(0).getString("nivel"));
+        assertEquals("CacheDeImagens", linhas.get(0).getString("origem"));
+        assertEquals("Imagem não encontrada: x.png", linhas.get(0).getString("mensagem"));
+        assertEquals(Thread.currentThread().getName(), linhas.get(0).getString("thread"));
+        assertFalse(linhas.get(0).has("excecao"));
+        assertEquals("java.io.IOException: disco", linhas.get(1).getString("excecao"));
+        assertTrue(linhas.get(1).getJSONArray("pilha").length() > 0);
+    }
+
+    @Test
+    public void testRepeticoesSaoResumidas() throws Exception {
+        log = new Log(arquivo, 64, 1 << 20, null);
+        for (int i = 0; i < 10; i++) log.registrar(Log.Nivel.AVISO, "EscopoDeRecursos", "Som não encontrado: a.wav", null);
+        log.registrar(Log.Nivel.AVISO, "EscopoDeRecursos", "Som não encontrado: b.wav", null);
+        log.encerrar();
+
+        List<JSONObject> linhas = linhas(arquivo);
+        long completas = linhas.stream().filter(l -> !l.has("repeticoesSuprimidas")).count();
+        assertEquals(Log.REPETICOES_POR_JANELA + 1, completas);
+        JSONObject resumo = linhas.get(linhas.size() - 1);
+        assertEquals("Som não encontrado: a.wav", resumo.getString("mensagem"));
+        assertEquals(10 - Log.REPETICOES_POR_JANELA, resumo.getInt("repeticoesSuprimidas"));
+    }
+
+    @Test
+    public void testBufferCheioDescartaSemBloquear() throws Exception {
+        log = new Log(arquivo, 4, 1 << 20, null, false);
+        for (int i = 0; i < 4; i++) assertTrue(log.registrar(Log.Nivel.ERRO, "Teste", "mensagem " + i, null));
+        assertFalse(log.registrar(Log.Nivel.ERRO, "Teste", "mensagem 4", null));
+        assertEquals(1, log.getDescartadas());
+
+        log.iniciar();
+        assertTrue(log.aguardarEscrita(5000));
+        // As posições liberadas voltam a ser usadas
+        assertTrue(log.registrar(Log.Nivel.ERRO, "Teste", "mensagem 5", null));
+        log.encerrar();
+
+        List<JSONObject> linhas = linhas(arquivo);
+        assertEquals(6, linhas.size());
+        assertTrue(linhas.stream().anyMatch(l -> l.optLong("descartadas") == 1));
+    }
+
+    @Test
+    public void testRotacaoDoArquivo() throws Exception {
+        log = new Log(arquivo, 256, 2000, null);
+        for (int i = 0; i < 200; i++) log.registrar(Log.Nivel.AVISO, "Teste", "mensagem distinta " + i, null);
+        log.encerrar();
+
+        assertTrue(Files.size(arquivo) <= 2000);
+        for (int i = 1; i <= Log.ARQUIVOS_ANTIGOS; i++) {
+            assertTrue(Files.exists(log.antigo(i)));
+            assertTrue(Files.size(log.antigo(i)) <= 2000);
+        }
+        assertFalse(Files.exists(log.antigo(Log.ARQUIVOS_ANTIGOS + 1)));
+        // A linha mais recente está no arquivo atual
+        List<JSONObject> linhas = linhas(arquivo);
+        assertEquals("mensagem distinta 199", linhas.get(linhas.size() - 1).getString("mensagem"));
+    }
+
+    @Test
+    public void testVariasThreadsSemPerderContagem() throws Exception {
+        log = new Log(arquivo, 1 << 14, 64 << 20, null);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) log.registrar(Log.Nivel.AVISO, "Teste", id + "-" + i, null);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        log.encerrar();
+
+        long mensagens = linhas(arquivo).stream().filter(l -> l.getString("origem").equals("Teste")).count();
+        assertEquals(8000, mensagens + log.getDescartadas());
+    }
+}
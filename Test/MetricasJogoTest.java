@@ -0,0 +1,84 @@
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes das métricas expostas por JMX.
+ */
+public class MetricasJogoTest {
+    private static MBeanServer servidor;
+
+    @BeforeClass
+    public static void registrar() {
+        MetricasJogo.registrar();
+        MetricasJogo.registrar();
+        servidor = ManagementFactory.getPlatformMBeanServer();
+    }
+
+    private static Object atributo(String tipo, String nome) throws Exception {
+        return servidor.getAttribute(new ObjectName(MetricasJogo.DOMINIO + ":type=" + tipo), nome);
+    }
+
+    @Test
+    public void testSessoesAtivasContadasPorJmx() throws Exception {
+        long antes = (Long) atributo("Sessoes", "SessoesAtivas");
+        RelogioVirtual tempo = new RelogioVirtual();
+        SessaoDeJogo vencida = new SessaoDeJogo("Ana", Dificuldade.MEDIO,
+                RegrasDoJogo.embaralhado(1, 2, new Random(1)), new BarramentoDeEventos(), tempo);
+        SessaoDeJogo abandonada = new SessaoDeJogo("Bia", Dificuldade.MEDIO,
+                RegrasDoJogo.embaralhado(1, 2, new Random(1)), new BarramentoDeEventos(), tempo);
+        assertEquals(antes + 2, atributo("Sessoes", "SessoesAtivas"));
+        assertEquals("MEDIO", atributo("Sessoes", "DificuldadeAtual"));
+
+        vencida.virar(0);
+        vencida.virar(1);
+        abandonada.abandonar();
+        // Abandonar de novo não conta a sessão duas vezes
+        abandonada.abandonar();
+        assertEquals(antes, atributo("Sessoes", "SessoesAtivas"));
+    }
+
+    @Test
+    public void testTaxaDeAcertoDoCacheDeImagens() throws Exception {
+        CacheDeImagens.obter("src/assets/fundos/win.png");
+        CacheDeImagens.obter("src/assets/fundos/win.png");
+        double taxa = (Double) atributo("Recursos", "TaxaDeAcertoCacheDeImagens");
+        assertTrue(taxa > 0 && taxa < 1);
+        assertTrue((Long) atributo("Recursos", "BytesCacheDeImagens") > 0);
+        assertTrue((Integer) atributo("Recursos", "ThreadsDeTimer") >= 1);
+    }
+
+    @Test
+    public void testThreadsDeTimerContadas() {
+        int antes = MetricasJogo.contarThreadsDeTimer();
+        java.util.Timer timer = new java.util.Timer();
+        try {
+            assertEquals(antes + 1, MetricasJogo.contarThreadsDeTimer());
+        } finally {
+            timer.cancel();
+        }
+    }
+
+    @Test
+    public void testPercentisDePinturaAposAmostragem() throws Exception {
+        for (int i = 0; i < 100; i++) MetricasJogo.quadroPintado(2_000_000);
+        for (int i = 0; i < 10; i++) MetricasJogo.amostrar();
+        double p50 = (Double) atributo("Renderizacao", "PinturaP50Ms");
+        assertEquals(2.0, p50, 0.2);
+        assertTrue((Long) atributo("Renderizacao", "Quadros") >= 100);
+    }
+
+    @Test
+    public void testEscritasPendentes() throws Exception {
+        long escritas = (Long) atributo("Persistencia", "Escritas");
+        RankingManager.salvar(java.nio.file.Files.createTempFile("ranking", ".csv"), "Ana", 10);
+        assertEquals(0L, atributo("Persistencia", "EscritasPendentes"));
+        assertTrue((Long) atributo("Persistencia", "Escritas") > escritas);
+    }
+}
@@ -16,7 +16,7 @@ public class NewGameTest {
 
     @After
     public void tearDown() {
-        newGame.dispose(); // fecha a janela após cada teste
+        newGame.descartar(); // libera a tela após cada teste
     }
 
     @Test
@@ -0,0 +1,53 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class PerfilStoreTest {
+
+    private Path diretorio;
+
+    @Before
+    public void setUp() throws Exception {
+        diretorio = Files.createTempDirectory("perfis");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File f : diretorio.toFile().listFiles()) f.delete();
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Test
+    public void testEstatisticasIncrementais() {
+        PerfilStore store = new PerfilStore(diretorio);
+        int[] tentativas = {8, 10, 12};
+        for (int t : tentativas) {
+            store.registrarPartida(new ResultadoPartida("Ana", Dificuldade.FACIL, t, 500, 50, true, 0L));
+        }
+        store.registrarPartida(new ResultadoPartida("Ana", Dificuldade.MEDIO, 30, 0, 0, false, 0L));
+
+        PerfilJogador perfil = new PerfilStore(diretorio).carregar("Ana");
+        PerfilJogador.Estatisticas facil = perfil.getEstatisticas(Dificuldade.FACIL);
+        assertEquals(4, perfil.getJogos());
+        assertEquals(2, perfil.getNivelLiberado());
+        assertEquals(8, facil.melhorTentativas);
+        assertEquals(10.0, facil.tentativas.getMedia(), 1e-9);
+        assertEquals(4.0, facil.tentativas.getVariancia(), 1e-9);
+        assertEquals(Dificuldade.FACIL.tempoSegundos - 50, facil.melhorTempo);
+        assertEquals(1, perfil.getEstatisticas(Dificuldade.MEDIO).histogramaTentativas[PerfilJogador.FAIXAS_HISTOGRAMA - 1]);
+        assertEquals("Ana", store.getUltimoJogador());
+    }
+
+    @Test
+    public void testPerfilInexistenteNaoCriaArquivo() {
+        PerfilStore store = new PerfilStore(diretorio);
+        assertEquals(1, store.carregar("Novo").getNivelLiberado());
+        assertEquals(0, diretorio.toFile().listFiles().length);
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do carregamento especulativo da próxima fase.
+ */
+public class PreCarregadorTest {
+
+    @Before
+    public void limpar() {
+        PreCarregador.esquecer();
+    }
+
+    @Test
+    public void testPreparaImagensQuadrosESons() throws Exception {
+        CompletableFuture<Void> preparacao = PreCarregador.preparar(Dificuldade.MEDIO);
+        assertSame(preparacao, PreCarregador.preparar(Dificuldade.MEDIO));
+        preparacao.get(30, TimeUnit.SECONDS);
+
+        int pares = Dificuldade.MEDIO.linhas * Dificuldade.MEDIO.colunas / 2;
+        List<Carta> cartas = new ArrayList<>();
+        for (int id = 1; id <= pares; id++) {
+            assertTrue(CacheDeImagens.carregar(GeradorDeCartas.caminhoFrente(id)).isDone());
+            cartas.add(new Carta(GeradorDeCartas.caminhoFrente(id), GeradorDeCartas.COSTA, id));
+        }
+        assertTrue(QuadrosDeVirada.getBytes(cartas, TabuleiroVirtual.LADO, TabuleiroVirtual.LADO) > 0);
+        assertTrue(EscopoDeRecursos.isSomEmCache(Controles.SOM_VIRADA));
+        assertTrue(EscopoDeRecursos.isSomEmCache(Controles.SOM_PAR));
+        assertTrue(EscopoDeRecursos.isSomEmCache(Controles.SOM_ERRO));
+    }
+
+    @Test
+    public void testComecaQuandoFaltamPoucosPares() {
+        // Tabuleiro 4x4 com os pares em posições vizinhas
+        int[] ids = new int[16];
+        for (int i = 0; i < ids.length; i++) ids[i] = i / 2 + 1;
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.FACIL, new RegrasDoJogo(ids),
+                new BarramentoDeEventos(), new RelogioVirtual());
+
+        for (int par = 0; par < 8; par++) {
+            sessao.virar(2 * par);
+            sessao.virar(2 * par + 1);
+            PreCarregador.aoEncontrarPar(sessao);
+            assertEquals(sessao.getParesRestantes() <= PreCarregador.PARES_RESTANTES,
+                    PreCarregador.isPedida(Dificuldade.MEDIO));
+        }
+        sessao.abandonar();
+    }
+
+    @Test
+    public void testUltimaFaseNaoPreparaNada() {
+        int[] ids = {1, 1};
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.DIFICIL, new RegrasDoJogo(ids),
+                new BarramentoDeEventos(), new RelogioVirtual());
+        sessao.virar(0);
+        sessao.virar(1);
+        PreCarregador.aoEncontrarPar(sessao);
+        for (Dificuldade d : Dificuldade.values()) assertFalse(PreCarregador.isPedida(d));
+    }
+}
@@ -0,0 +1,115 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do cache de quadros da animação de virada.
+ */
+public class QuadrosDeViradaTest {
+    private static final String FRENTE = "src/assets/cards/carta1.jpg";
+    private static final String COSTA = "src/assets/cards/costa.png";
+
+    @After
+    public void limpar() {
+        QuadrosDeVirada.setSombreamento(false);
+    }
+
+    private static int[] pixels(BufferedImage imagem) {
+        return imagem.getRGB(0, 0, imagem.getWidth(), imagem.getHeight(), null, 0, imagem.getWidth());
+    }
+
+    /**
+     * Desenha a carta em uma célula de 90x90, com uma margem, em uma imagem nova.
+     */
+    private static BufferedImage desenhar(Carta carta) {
+        BufferedImage destino = new BufferedImage(110, 110, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        carta.desenhar(g, 10, 10, 90, 90);
+        g.dispose();
+        return destino;
+    }
+
+    /**
+     * Desenha a imagem redimensionada diretamente, como a carta fazia a cada quadro.
+     */
+    private static BufferedImage desenharDireto(String caminho, double escala) {
+        BufferedImage destino = new BufferedImage(110, 110, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        int largura = (int) (90 * escala);
+        g.drawImage(CacheDeImagens.obter(caminho), 10 + (90 - largura) / 2, 10, largura, 90, null);
+        g.dispose();
+        return destino;
+    }
+
+    @Test
+    public void testQuadrosIguaisAoRedimensionamentoDireto() {
+        Carta carta = new Carta(FRENTE, COSTA, 1);
+        for (int k = 0; k <= QuadrosDeVirada.NIVEIS; k++) {
+            double escala = k / (double) QuadrosDeVirada.NIVEIS;
+            carta.definirQuadroDaAnimacao(escala, k % 2 == 0);
+            assertArrayEquals("Quadro " + k, pixels(desenharDireto(k % 2 == 0 ? FRENTE : COSTA, escala)), pixels(desenhar(carta)));
+        }
+    }
+
+    @Test
+    public void testEscalaForaDosQuadrosNaoUsaOCache() {
+        BufferedImage destino = new BufferedImage(90, 90, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        assertFalse(QuadrosDeVirada.desenhar(g, CacheDeImagens.obter(FRENTE), 0.33, 0, 0, 90, 90));
+        assertFalse(QuadrosDeVirada.desenhar(g, null, 1.0, 0, 0, 90, 90));
+        assertTrue(QuadrosDeVirada.desenhar(g, CacheDeImagens.obter(FRENTE), 0.3, 0, 0, 90, 90));
+        g.dispose();
+    }
+
+    @Test
+    public void testFaixaCompartilhadaEntreAsCartasDoPar() {
+        QuadrosDeVirada.esvaziar();
+        Carta a = new Carta(FRENTE, COSTA, 1);
+        Carta b = new Carta(FRENTE, COSTA, 1);
+        a.setEncontrada(true);
+        b.setEncontrada(true);
+        desenhar(a);
+        desenhar(b);
+        assertEquals(1, QuadrosDeVirada.getFaixas());
+        long umaFaixa = QuadrosDeVirada.getBytes();
+        // Um quadro de cada largura, lado a lado, com 4 bytes por pixel
+        long colunas = 0;
+        for (int k = 1; k <= QuadrosDeVirada.NIVEIS; k++) colunas += (int) (90 * (k / (double) QuadrosDeVirada.NIVEIS));
+        assertEquals(colunas * 90 * 4, umaFaixa);
+        assertEquals(umaFaixa, QuadrosDeVirada.getBytes(List.of(a, b), 90, 90));
+        assertEquals(0, QuadrosDeVirada.getBytes(List.of(a, b), 60, 60));
+    }
+
+    @Test
+    public void testCacheLimitado() {
+        QuadrosDeVirada.esvaziar();
+        Carta carta = new Carta(FRENTE, COSTA, 1);
+        BufferedImage destino = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        // Como no zoom da maratona: um tamanho de célula diferente a cada quadro
+        for (int lado = 20; lado < 400; lado++) carta.desenhar(g, 0, 0, lado, lado);
+        g.dispose();
+        assertTrue(QuadrosDeVirada.getBytes() <= QuadrosDeVirada.LIMITE_BYTES);
+        assertTrue(QuadrosDeVirada.getFaixas() < 380);
+    }
+
+    @Test
+    public void testSombreamentoSoNosQuadrosAchatados() {
+        Carta carta = new Carta(FRENTE, COSTA, 1);
+        carta.definirQuadroDaAnimacao(0.5, true);
+        int[] semSombra = pixels(desenhar(carta));
+        carta.definirQuadroDaAnimacao(1.0, true);
+        int[] inteiraSemSombra = pixels(desenhar(carta));
+
+        QuadrosDeVirada.setSombreamento(true);
+        carta.definirQuadroDaAnimacao(0.5, true);
+        assertNotEquals(java.util.Arrays.hashCode(semSombra), java.util.Arrays.hashCode(pixels(desenhar(carta))));
+        carta.definirQuadroDaAnimacao(1.0, true);
+        assertArrayEquals(inteiraSemSombra, pixels(desenhar(carta)));
+    }
+}
@@ -0,0 +1,31 @@
+import org.junit.Test;
+
+import java.awt.Font;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do registro de fontes.
+ */
+public class RegistroDeFontesTest {
+
+    @Test
+    public void testFonteLidaUmaUnicaVezPorTamanho() {
+        Font grande = RegistroDeFontes.obter("src/assets/fonts/Boldstrom.otf", 34f);
+        assertNotNull(grande);
+        assertEquals(34f, grande.getSize2D(), 0.001);
+        assertSame(grande, RegistroDeFontes.obter("src/assets/fonts/Boldstrom.otf", 34f));
+
+        Font media = RegistroDeFontes.obter("src/assets/fonts/Boldstrom.otf", 20f);
+        assertEquals(20f, media.getSize2D(), 0.001);
+        assertEquals(grande.getFontName(), media.getFontName());
+        RegistroDeFontes.preaquecer(media);
+    }
+
+    @Test
+    public void testFonteAusenteNaoLancaExcecao() {
+        assertNull(RegistroDeFontes.obter("/assets/fonts/Inexistente.otf", 20f));
+        assertNull(RegistroDeFontes.obter("/assets/fonts/Inexistente.otf", 20f));
+        RegistroDeFontes.preaquecer(null);
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do relógio monotônico das partidas.
+ */
+public class RelogioDeJogoTest {
+
+    @Test
+    public void testPausaNaoPerdeFracoesDeSegundo() {
+        RelogioVirtual tempo = new RelogioVirtual();
+        RelogioDeJogo relogio = new RelogioDeJogo(tempo, 60_000);
+
+        tempo.avancar(1_400);
+        relogio.pausar();
+        tempo.avancar(30_000);
+        assertTrue(relogio.isPausado());
+        assertEquals(58_600, relogio.getRestanteMs());
+
+        relogio.retomar();
+        relogio.retomar();
+        tempo.avancar(700);
+        assertEquals(57_900, relogio.getRestanteMs());
+
+        relogio.parar();
+        tempo.avancar(100_000);
+        assertEquals(57_900, relogio.getRestanteMs());
+        assertFalse(relogio.isEsgotado());
+    }
+
+    @Test
+    public void testAtrasoDoTimerNaoDaTempoExtra() {
+        RelogioVirtual tempo = new RelogioVirtual();
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.FACIL,
+                RegrasDoJogo.embaralhado(2, 2, new Random(3)), new BarramentoDeEventos(), tempo);
+
+        // Uma única consulta depois de todo o tempo basta para encerrar a partida
+        tempo.avancar(Dificuldade.FACIL.tempoSegundos * 1000L - 1);
+        assertFalse(sessao.atualizarTempo());
+        assertEquals(1, sessao.getTempoRestante());
+        assertEquals(0, sessao.getPontosFinais());
+        tempo.avancar(1);
+        assertTrue(sessao.atualizarTempo());
+        assertEquals(SessaoDeJogo.Estado.DERROTA, sessao.getEstado());
+    }
+
+    @Test
+    public void testPontuacaoComPrecisaoDeMilissegundos() {
+        RelogioVirtual tempo = new RelogioVirtual();
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.FACIL,
+                RegrasDoJogo.embaralhado(1, 2, new Random(1)), new BarramentoDeEventos(), tempo);
+        tempo.avancar(12_345);
+        sessao.virar(0);
+        sessao.virar(1);
+        assertEquals(SessaoDeJogo.Estado.VITORIA, sessao.getEstado());
+
+        long restante = Dificuldade.FACIL.tempoSegundos * 1000L - 12_345;
+        tempo.avancar(5_000);
+        assertEquals(restante, sessao.getTempoRestanteMs());
+        assertEquals((int) (restante / 100), sessao.getPontosFinais());
+    }
+
+    @Test
+    public void testMilPartidasEmTempoVirtual() {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            RelogioVirtual tempo = new RelogioVirtual();
+            SessaoDeJogo sessao = new SessaoDeJogo("bot", Dificuldade.FACIL,
+                    RegrasDoJogo.embaralhado(2, 2, new Random(i)), new BarramentoDeEventos(), tempo);
+            while (!sessao.atualizarTempo()) tempo.avancar(250);
+            assertEquals(0, sessao.getTempoRestanteMs());
+        }
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+        assertTrue("1000 partidas de " + Dificuldade.FACIL.tempoSegundos + "s em " + decorridoMs + "ms", decorridoMs < 10_000);
+    }
+}
@@ -0,0 +1,71 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScoreStoreTest {
+
+    private Path diretorio;
+    private Path arquivo;
+
+    @Before
+    public void setUp() throws Exception {
+        diretorio = Files.createTempDirectory("recordes");
+        arquivo = diretorio.resolve("recorde.txt");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(arquivo);
+        Files.deleteIfExists(arquivo.resolveSibling("recorde.txt.trava"));
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Test
+    public void testArquivoInexistenteNaoECriadoAoLer() {
+        ScoreStore store = new ScoreStore(arquivo);
+        assertEquals(0, store.getRecorde());
+        assertFalse("Ler o recorde não deve criar o arquivo", Files.exists(arquivo));
+    }
+
+    @Test
+    public void testLeFormatoAntigo() throws Exception {
+        Files.write(arquivo, List.of("950"));
+        ScoreStore store = new ScoreStore(arquivo);
+        assertEquals(950, store.getRecorde());
+        assertEquals(0, store.getRecorde(Dificuldade.FACIL));
+    }
+
+    @Test
+    public void testSoRegistraPontuacaoMaior() {
+        ScoreStore store = new ScoreStore(arquivo);
+        assertTrue(store.registrarRecorde(Dificuldade.MEDIO, 2000));
+        assertFalse(store.registrarRecorde(Dificuldade.FACIL, 1500));
+        assertEquals(2000, store.getRecorde());
+        assertEquals(2000, store.getRecorde(Dificuldade.MEDIO));
+        assertEquals(1500, store.getRecorde(Dificuldade.FACIL));
+
+        ScoreStore relido = new ScoreStore(arquivo);
+        assertEquals(2000, relido.getRecorde());
+        assertEquals(1500, relido.getRecorde(Dificuldade.FACIL));
+    }
+
+    @Test
+    public void testPercebeAlteracaoExterna() throws Exception {
+        try (ScoreStore store = new ScoreStore(arquivo)) {
+            store.observarAlteracoes();
+            new ScoreStore(arquivo).registrarRecorde(Dificuldade.DIFICIL, 3000);
+
+            long limite = System.currentTimeMillis() + 15000;
+            while (store.getRecorde() != 3000 && System.currentTimeMillis() < limite) {
+                Thread.sleep(50);
+            }
+            assertEquals(3000, store.getRecorde(Dificuldade.DIFICIL));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do servidor de jogo inteiramente sobre a interface de loopback.
+ */
+public class ServidorDeJogoTest {
+
+    private ServidorDeJogo servidor;
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new ServidorDeJogo(0, 2);
+    }
+
+    @After
+    public void tearDown() {
+        servidor.close();
+    }
+
+    @Test
+    public void testPartidaPorTurnos() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> a = executor.submit(bot("sala", ProtocoloJogo.MODO_TURNOS, 4, 4));
+            Future<Integer> b = executor.submit(bot("sala", ProtocoloJogo.MODO_TURNOS, 4, 4));
+            int vencedorA = a.get(30, TimeUnit.SECONDS);
+            int vencedorB = b.get(30, TimeUnit.SECONDS);
+            assertEquals("Os dois jogadores devem ver o mesmo vencedor", vencedorA, vencedorB);
+            assertTrue(vencedorA > 0);
+        }
+    }
+
+    @Test
+    public void testMuitasSalasSimultaneas() throws Exception {
+        int salas = 500;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> partidas = new ArrayList<>();
+            for (int i = 0; i < salas; i++) {
+                int modo = i % 2 == 0 ? ProtocoloJogo.MODO_CONFRONTO : ProtocoloJogo.MODO_TURNOS;
+                partidas.add(executor.submit(bot("sala-" + i, modo, 4, 4)));
+                partidas.add(executor.submit(bot("sala-" + i, modo, 4, 4)));
+            }
+            for (Future<Integer> partida : partidas) {
+                assertTrue(partida.get(60, TimeUnit.SECONDS) > 0);
+            }
+        }
+        long limite = System.currentTimeMillis() + 5000;
+        while (servidor.getSalasAtivas() > 0 && System.currentTimeMillis() < limite) Thread.sleep(20);
+        assertEquals("Salas vazias devem ser removidas", 0, servidor.getSalasAtivas());
+    }
+
+    @Test
+    public void testJogadaForaDaVezERecusada() throws Exception {
+        try (ClienteDeJogo a = new ClienteDeJogo("127.0.0.1", servidor.getPorta());
+             ClienteDeJogo b = new ClienteDeJogo("127.0.0.1", servidor.getPorta())) {
+            a.entrar("recusa", "A", ProtocoloJogo.MODO_TURNOS, 2, 2);
+            int idA = esperar(a, ProtocoloJogo.BEM_VINDO).campo(0);
+            b.entrar("recusa", "B", ProtocoloJogo.MODO_TURNOS, 2, 2);
+            int vez = esperar(b, ProtocoloJogo.VEZ).campo(0);
+            ClienteDeJogo foraDaVez = vez == idA ? b : a;
+            foraDaVez.virar(0);
+            assertEquals("Não é sua vez", esperar(foraDaVez, ProtocoloJogo.RECUSADO).texto);
+        }
+    }
+
+    @Test
+    public void testTabuleiroEnormeERecusado() throws Exception {
+        try (ClienteDeJogo a = new ClienteDeJogo("127.0.0.1", servidor.getPorta())) {
+            // 65536 × 65536 dá 0 em int e passaria pelo limite
+            a.entrar("enorme", "A", ProtocoloJogo.MODO_TURNOS, 65536, 65536);
+            assertEquals("Tabuleiro inválido", esperar(a, ProtocoloJogo.RECUSADO).texto);
+        }
+    }
+
+    @Test
+    public void testSaidaDesviraPrimeiraCartaDeQuemSaiu() throws Exception {
+        try (ServidorDeJogo trio = new ServidorDeJogo(0, 3)) {
+            List<ClienteDeJogo> clientes = new ArrayList<>();
+            Map<Integer, ClienteDeJogo> porJogador = new HashMap<>();
+            try {
+                for (int i = 0; i < 3; i++) {
+                    ClienteDeJogo c = new ClienteDeJogo("127.0.0.1", trio.getPorta());
+                    clientes.add(c);
+                    c.entrar("saida", "J" + i, ProtocoloJogo.MODO_TURNOS, 2, 2);
+                    porJogador.put(esperar(c, ProtocoloJogo.BEM_VINDO).campo(0), c);
+                }
+                int vez = 0;
+                for (ClienteDeJogo c : clientes) vez = esperar(c, ProtocoloJogo.VEZ).campo(0);
+                ClienteDeJogo saindo = porJogador.remove(vez);
+                saindo.virar(0);
+                for (ClienteDeJogo c : porJogador.values()) assertEquals(0, esperar(c, ProtocoloJogo.VIRADA).campo(1));
+                saindo.close();
+
+                for (ClienteDeJogo c : porJogador.values()) {
+                    ProtocoloJogo.Mensagem m = esperar(c, ProtocoloJogo.DESVIRADA);
+                    assertEquals(vez, m.campo(0));
+                    assertEquals(0, m.campo(1));
+                }
+                int proximo = 0;
+                for (ClienteDeJogo c : porJogador.values()) proximo = esperar(c, ProtocoloJogo.VEZ).campo(0);
+                ClienteDeJogo jogador = porJogador.get(proximo);
+                jogador.virar(0);
+                ProtocoloJogo.Mensagem m = jogador.receber(10000);
+                assertNotNull(m);
+                assertEquals("A carta desvirada deve poder ser a primeira do próximo jogador",
+                        ProtocoloJogo.VIRADA, m.tipo);
+            } finally {
+                for (ClienteDeJogo c : clientes) c.close();
+            }
+        }
+    }
+
+    private static ProtocoloJogo.Mensagem esperar(ClienteDeJogo cliente, byte tipo) throws InterruptedException {
+        while (true) {
+            ProtocoloJogo.Mensagem m = cliente.receber(10000);
+            assertNotNull("Mensagem " + tipo + " não recebida", m);
+            if (m.tipo == tipo) return m;
+        }
+    }
+
+    /**
+     * Jogador automático com memória perfeita: entra na sala, joga quando é sua vez e
+     * devolve o vencedor anunciado pelo servidor.
+     */
+    private Callable<Integer> bot(String sala, int modo, int linhas, int colunas) {
+        return () -> {
+            try (ClienteDeJogo cliente = new ClienteDeJogo("127.0.0.1", servidor.getPorta())) {
+                cliente.entrar(sala, "bot", modo, linhas, colunas);
+                int total = linhas * colunas;
+                Map<Integer, Integer> conhecidas = new HashMap<>();
+                Set<Integer> encontradas = new HashSet<>();
+                int eu = -1;
+                int primeira = -1;
+
+                while (true) {
+                    ProtocoloJogo.Mensagem m = cliente.receber(10000);
+                    assertNotNull("Servidor parou de responder", m);
+                    boolean jogar = false;
+                    switch (m.tipo) {
+                        case ProtocoloJogo.BEM_VINDO -> eu = m.campo(0);
+                        case ProtocoloJogo.VEZ -> jogar = m.campo(0) == eu || m.campo(0) == 0;
+                        case ProtocoloJogo.VIRADA -> {
+                            if (m.campo(2) != 0) conhecidas.put(m.campo(1), m.campo(2));
+                            if (m.campo(0) == eu && primeira == m.campo(1)) {
+                                cliente.virar(escolherSegunda(primeira, conhecidas, encontradas, total));
+                                primeira = -1;
+                            }
+                        }
+                        case ProtocoloJogo.PAR -> {
+                            if (modo == ProtocoloJogo.MODO_TURNOS || m.campo(0) == eu) {
+                                encontradas.add(m.campo(1));
+                                encontradas.add(m.campo(2));
+                            }
+                            jogar = m.campo(0) == eu;
+                        }
+                        case ProtocoloJogo.ERRO -> jogar = m.campo(0) == eu && modo == ProtocoloJogo.MODO_CONFRONTO;
+                        case ProtocoloJogo.FIM -> {
+                            return m.campo(0);
+                        }
+                        case ProtocoloJogo.RECUSADO -> fail("Jogada recusada: " + m.texto);
+                        default -> {
+                        }
+                    }
+                    if (jogar && encontradas.size() < total) {
+                        primeira = escolherPrimeira(conhecidas, encontradas, total);
+                        cliente.virar(primeira);
+                    }
+                }
+            }
+        };
+    }
+
+    private static int escolherPrimeira(Map<Integer, Integer> conhecidas, Set<Integer> encontradas, int total) {
+        for (Map.Entry<Integer, Integer> a : conhecidas.entrySet()) {
+            if (encontradas.contains(a.getKey())) continue;
+            for (Map.Entry<Integer, Integer> b : conhecidas.entrySet()) {
+                if (!a.getKey().equals(b.getKey()) && a.getValue().equals(b.getValue()) && !encontradas.contains(b.getKey())) {
+                    return a.getKey();
+                }
+            }
+        }
+        for (int i = 0; i < total; i++) {
+            if (!encontradas.contains(i) && !conhecidas.containsKey(i)) return i;
+        }
+        for (int i = 0; i < total; i++) {
+            if (!encontradas.contains(i)) return i;
+        }
+        return 0;
+    }
+
+    private static int escolherSegunda(int primeira, Map<Integer, Integer> conhecidas, Set<Integer> encontradas, int total) {
+        Integer id = conhecidas.get(primeira);
+        for (Map.Entry<Integer, Integer> e : conhecidas.entrySet()) {
+            if (e.getKey() != primeira && e.getValue().equals(id) && !encontradas.contains(e.getKey())) return e.getKey();
+        }
+        for (int i = 0; i < total; i++) {
+            if (i != primeira && !encontradas.contains(i) && !conhecidas.containsKey(i)) return i;
+        }
+        for (int i = 0; i < total; i++) {
+            if (i != primeira && !encontradas.contains(i)) return i;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do endpoint HTTP do ranking sobre a interface de loopback.
+ */
+public class ServidorPlacarTest {
+
+    private Path ranking;
+    private ServidorPlacar placar;
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @Before
+    public void setUp() throws Exception {
+        ranking = Files.createTempFile("ranking-placar", ".csv");
+        RankingManager.salvar(ranking, "Ana", 12);
+        RankingManager.salvar(ranking, "Bruno", 8);
+        placar = new ServidorPlacar(0, ranking);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        placar.close();
+        Files.deleteIfExists(ranking);
+        Files.deleteIfExists(ranking.resolveSibling(ranking.getFileName() + ".trava"));
+    }
+
+    private HttpResponse<String> get(String caminho, String etag) throws Exception {
+        HttpRequest.Builder pedido = HttpRequest.newBuilder(URI.create("http://localhost:" + placar.getPorta() + caminho));
+        if (etag != null) pedido.header("If-None-Match", etag);
+        return cliente.send(pedido.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testPlacarComEtagERevalidacao() throws Exception {
+        HttpResponse<String> resposta = get("/placar?n=1", null);
+        assertEquals(200, resposta.statusCode());
+        assertTrue(resposta.body().contains("\"Bruno\""));
+        assertFalse("n=1 deve trazer apenas o primeiro", resposta.body().contains("\"Ana\""));
+        String etag = resposta.headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(304, get("/placar", etag).statusCode());
+
+        RankingManager.salvar(ranking, "Carla", 5);
+        HttpResponse<String> depois = get("/placar", etag);
+        assertEquals("Uma gravação no ranking deve invalidar o cache", 200, depois.statusCode());
+        assertNotEquals(etag, depois.headers().firstValue("ETag").orElseThrow());
+        assertTrue(depois.body().indexOf("Carla") < depois.body().indexOf("Bruno"));
+    }
+
+    @Test
+    public void testRankPorNome() throws Exception {
+        HttpResponse<String> resposta = get("/rank?nome=Ana", null);
+        assertEquals(200, resposta.statusCode());
+        assertTrue(resposta.body().contains("\"posicao\":2"));
+        assertEquals(404, get("/rank?nome=Ninguem", null).statusCode());
+    }
+
+    @Test
+    public void testGravacaoDeOutroProcessoInvalidaOCache() throws Exception {
+        String etag = get("/placar", null).headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get("/placar", etag).statusCode());
+
+        // O jogo grava o ranking em outro processo, sem nenhum aviso ao endpoint
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process escritor = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ServidorPlacarTest.class.getName(), ranking.toString(), "Davi", "3").inheritIO().start();
+        assertTrue(escritor.waitFor(1, TimeUnit.MINUTES));
+        assertEquals(0, escritor.exitValue());
+
+        HttpResponse<String> depois = get("/placar", etag);
+        assertEquals(200, depois.statusCode());
+        assertTrue(depois.body().contains("\"Davi\""));
+        assertEquals(200, get("/rank?nome=Davi", null).statusCode());
+    }
+
+    @Test
+    public void testEtagSobreviveAoReinicio() throws Exception {
+        String etag = get("/placar", null).headers().firstValue("ETag").orElseThrow();
+        placar.close();
+        placar = new ServidorPlacar(0, ranking);
+        assertEquals("A mesma versão do arquivo deve ter o mesmo ETag", 304, get("/placar", etag).statusCode());
+
+        RankingManager.salvar(ranking, "Eva", 20);
+        placar.close();
+        placar = new ServidorPlacar(0, ranking);
+        assertEquals("Um ETag antigo não pode valer após um reinício", 200, get("/placar", etag).statusCode());
+    }
+
+    /**
+     * Ponto de entrada do processo que grava no ranking fora do endpoint.
+     *
+     * @param args Arquivo de ranking, nome e tentativas.
+     */
+    public static void main(String[] args) {
+        RankingManager.salvar(Path.of(args[0]), args[1], Integer.parseInt(args[2]));
+    }
+}
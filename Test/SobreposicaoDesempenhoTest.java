@@ -0,0 +1,67 @@
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da sobreposição de desempenho.
+ */
+public class SobreposicaoDesempenhoTest {
+
+    @Test
+    public void testAnelSobrescreveOsMaisAntigos() {
+        SobreposicaoDesempenho.Anel anel = new SobreposicaoDesempenho.Anel(3);
+        for (long v = 1; v <= 5; v++) anel.registrar(v);
+        assertEquals(3, anel.getTamanho());
+        assertEquals(3, anel.get(0));
+        assertEquals(5, anel.get(2));
+    }
+
+    @Test
+    public void testPercentisEQuadrosPorSegundo() {
+        SobreposicaoDesempenho sobreposicao = new SobreposicaoDesempenho();
+        long agora = 5_000_000_000L;
+        // 100 quadros em 2 segundos: só os 50 do último segundo contam
+        for (int i = 0; i < 100; i++) {
+            sobreposicao.registrarQuadro(agora - 2_000_000_000L + (i + 1) * 20_000_000L, (i + 1) * 1_000_000L);
+        }
+        assertEquals(50, sobreposicao.getQuadrosPorSegundo(agora));
+        assertEquals(50_000_000L, sobreposicao.percentil(50));
+        assertEquals(99_000_000L, sobreposicao.percentil(99));
+        assertEquals(100_000_000L, sobreposicao.percentil(100));
+
+        sobreposicao.amostrar(agora);
+        assertTrue(sobreposicao.getLinhas()[0].startsWith("FPS 50"));
+    }
+
+    @Test
+    public void testRegistrarNaoAloca() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SobreposicaoDesempenho sobreposicao = new SobreposicaoDesempenho();
+        for (int i = 0; i < 10_000; i++) sobreposicao.registrarQuadro(i, i);
+
+        long id = Thread.currentThread().threadId();
+        long antes = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 100_000; i++) {
+            sobreposicao.registrarQuadro(i, i);
+            sobreposicao.registrarRepintura();
+        }
+        long alocados = threads.getThreadAllocatedBytes(id) - antes;
+        assertTrue("alocou " + alocados + " bytes", alocados < 1024);
+    }
+
+    @Test
+    public void testDesenharSemTela() {
+        SobreposicaoDesempenho sobreposicao = new SobreposicaoDesempenho();
+        for (int i = 0; i < 300; i++) sobreposicao.registrarQuadro(System.nanoTime(), 20_000_000L);
+        BufferedImage imagem = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagem.createGraphics();
+        sobreposicao.desenhar(g, imagem.getHeight());
+        g.dispose();
+        assertNotEquals(0, imagem.getRGB(10, imagem.getHeight() - 9));
+        assertTrue(sobreposicao.getLinhas()[1].contains("p99 20.00"));
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.JScrollPane;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do tabuleiro virtualizado das maratonas.
+ */
+public class TabuleiroVirtualTest {
+    private EscopoDeRecursos escopo;
+    private SessaoDeJogo sessao;
+    private TabuleiroVirtual tabuleiro;
+    private JScrollPane rolagem;
+
+    @Before
+    public void criar() {
+        escopo = new EscopoDeRecursos("teste");
+        int[] ids = RegrasDoJogo.embaralharIds(200, 200, new Random(7));
+        sessao = new SessaoDeJogo("Ana", Dificuldade.MARATONA, new RegrasDoJogo(ids),
+                new BarramentoDeEventos(), new RelogioVirtual());
+        tabuleiro = new TabuleiroVirtual(200, 200, sessao, escopo, () -> { }, () -> { });
+        rolagem = new JScrollPane(tabuleiro);
+        rolagem.setBorder(null);
+        rolagem.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
+        rolagem.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        rolagem.setSize(new Dimension(800, 600));
+        rolagem.doLayout();
+        rolagem.getViewport().doLayout();
+    }
+
+    @After
+    public void fechar() {
+        sessao.abandonar();
+        escopo.close();
+    }
+
+    private void pintar() {
+        Rectangle visivel = tabuleiro.getVisibleRect();
+        BufferedImage imagem = new BufferedImage(visivel.width, visivel.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        g.translate(-visivel.x, -visivel.y);
+        g.setClip(visivel);
+        tabuleiro.paintComponent(g);
+        g.dispose();
+    }
+
+    @Test
+    public void testApenasCartasVisiveisSaoMaterializadas() {
+        pintar();
+        // 800x600 com passo de 100 px: no máximo 9 x 7 posições parcialmente visíveis
+        int visiveis = tabuleiro.getCartasMaterializadas();
+        assertTrue(visiveis > 0 && visiveis <= 9 * 7);
+
+        for (int i = 1; i <= 20; i++) {
+            rolagem.getViewport().setViewPosition(new Point(i * 730, i * 530));
+            pintar();
+            assertTrue(tabuleiro.getCartasMaterializadas() <= 9 * 7);
+        }
+        // As cartas que saíram da área visível são reaproveitadas, sem criar novas a cada rolagem
+        assertTrue(tabuleiro.getCartasMaterializadas() + tabuleiro.getCartasNaReserva() <= 2 * 9 * 7);
+    }
+
+    @Test
+    public void testCartaReaproveitadaRefleteAPosicao() {
+        pintar();
+        Carta carta = tabuleiro.getCarta(0);
+        assertEquals(sessao.getId(0), carta.getId());
+        rolagem.getViewport().setViewPosition(new Point(5000, 5000));
+        pintar();
+        assertEquals(-1, tabuleiro.indiceDe(carta));
+
+        int indice = 50 * 200 + 50;
+        Carta outra = tabuleiro.getCarta(indice);
+        assertEquals(sessao.getId(indice), outra.getId());
+        assertEquals(indice, tabuleiro.indiceDe(outra));
+    }
+
+    @Test
+    public void testCliqueCalculadoPelaGrade() {
+        assertEquals(0, tabuleiro.indiceEm(10, 10));
+        assertEquals(-1, tabuleiro.indiceEm(95, 10)); // espaçamento entre cartas
+        assertEquals(3 * 200 + 2, tabuleiro.indiceEm(2 * 100 + 5, 3 * 100 + 5));
+        assertEquals(-1, tabuleiro.indiceEm(200 * 100 + 5, 5));
+    }
+
+    @Test
+    public void testZoomMudaOTamanhoEOsLimites() {
+        tabuleiro.setZoom(0.5, new Point(0, 0));
+        assertEquals(0.5, tabuleiro.getZoom(), 1e-9);
+        assertEquals(200 * 50 - 5, tabuleiro.getPreferredSize().width);
+        assertEquals(0, tabuleiro.indiceEm(10, 10));
+        assertEquals(1, tabuleiro.indiceEm(55, 10));
+
+        tabuleiro.setZoom(100, null);
+        assertEquals(TabuleiroVirtual.ZOOM_MAXIMO, tabuleiro.getZoom(), 1e-9);
+    }
+
+    @Test
+    public void testCadaParTemFacePropria() {
+        int[] ids = RegrasDoJogo.embaralharIds(50, 50, new Random(1));
+        int[] contagem = new int[50 * 50 / 2 + 1];
+        for (int id : ids) contagem[id]++;
+        for (int id = 1; id < contagem.length; id++) assertEquals(2, contagem[id]);
+    }
+}
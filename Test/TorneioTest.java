@@ -0,0 +1,61 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes de sessões simultâneas e do torneio sem interface.
+ */
+public class TorneioTest {
+
+    @Test
+    public void testSessoesSimultaneasTemPontuacaoIsolada() throws Exception {
+        try (Torneio torneio = new Torneio(Dificuldade.FACIL, 1, 60_000, 0, 1.0, 2)) {
+            List<CompletableFuture<ResultadoPartida>> partidas = new ArrayList<>();
+            for (int i = 0; i < 500; i++) partidas.add(torneio.jogar("bot-" + i, 7, 11));
+
+            ResultadoPartida primeiro = partidas.get(0).get(30, TimeUnit.SECONDS);
+            assertTrue(primeiro.vitoria);
+            for (CompletableFuture<ResultadoPartida> p : partidas) {
+                ResultadoPartida r = p.get(30, TimeUnit.SECONDS);
+                assertEquals("Mesmo tabuleiro e mesmas escolhas devem dar o mesmo resultado", primeiro.tentativas, r.tentativas);
+                assertEquals(primeiro.pontos, r.pontos);
+            }
+        }
+    }
+
+    @Test
+    public void testSessaoTerminaEmDerrotaQuandoOTempoAcaba() {
+        RelogioVirtual tempo = new RelogioVirtual();
+        SessaoDeJogo sessao = new SessaoDeJogo("Ana", Dificuldade.FACIL,
+                RegrasDoJogo.embaralhado(2, 2, new java.util.Random(3)), new BarramentoDeEventos(), tempo);
+        int segundos = 0;
+        tempo.avancar(1000);
+        while (!sessao.atualizarTempo()) {
+            segundos++;
+            tempo.avancar(1000);
+        }
+        assertEquals(Dificuldade.FACIL.tempoSegundos - 1, segundos);
+        assertEquals(SessaoDeJogo.Estado.DERROTA, sessao.getEstado());
+        assertEquals(RegrasDoJogo.Resultado.IGNORADA, sessao.virar(0));
+        assertFalse(sessao.getResultado().vitoria);
+    }
+
+    @Test
+    public void testChaveEliminatoria() throws Exception {
+        List<String> jogadores = new ArrayList<>();
+        for (int i = 0; i < 13; i++) jogadores.add("j" + i);
+        try (Torneio torneio = new Torneio(Dificuldade.FACIL, 5, 60_000, 0, 0.7, 2)) {
+            String campeao = torneio.executar(jogadores);
+            List<Torneio.Classificacao> classificacao = torneio.getClassificacao();
+            assertEquals(campeao, classificacao.get(0).getNome());
+            int vitorias = 0;
+            for (Torneio.Classificacao c : classificacao) vitorias += c.getVitorias();
+            assertEquals("Cada confronto elimina exatamente um jogador", jogadores.size() - 1, vitorias);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Benchmark de renderização sem monitor ({@code java.awt.headless=true}) para tabuleiros
+ * de 4x4 até 64x64, bem além do 6x6 da dificuldade {@link Dificuldade#DIFICIL}.
+ *
+ * Cada tabuleiro é montado como o do {@link PainelDeJogo} (mesmas cartas, mesmo tamanho
+ * e espaçamento) e desenhado pelo mesmo {@link PainelDeJogo#desenharTabuleiro} em uma
+ * imagem fora da tela. As cartas ficam em estados misturados e fixos: viradas para baixo,
+ * para cima, encontradas e paradas em um dos quadros intermediários da animação de
+ * virada (múltiplos de {@code 1 / QuadrosDeVirada.NIVEIS}, os mesmos que o jogo desenha,
+ * para que o benchmark use as faixas de {@link QuadrosDeVirada}). O resultado é o tempo
+ * e os bytes alocados por quadro, gravados em JSON pelo {@link ExecutorDeBenchmarks}.
+ *
+ * O modo de checksum desenha um quadro de cada tabuleiro e calcula o CRC32 dos pixels;
+ * com a mesma semente, uma otimização de renderização que não muda a imagem mantém os
+ * mesmos valores. Grave os checksums antes da mudança e verifique depois.
+ *
+ * Uso: {@code BenchmarkRenderizacao [--tamanhos=4,8,16,32,64] [--lado=90] [--semente=42]
+ * [--aquecimento=2] [--iteracoes=5] [--tempo=1000] [--resultado=renderizacao.json]
+ * [--checksum] [--gravar-checksums=arquivo] [--verificar-checksums=arquivo]}
+ */
+public class BenchmarkRenderizacao {
+
+    private static final int ESPACAMENTO = 10;
+    private static final int TOPO = 60;
+
+    /**
+     * Fundo fixo, para que os checksums não dependam do look and feel.
+     */
+    private static final Color FUNDO = new Color(238, 238, 238);
+
+    /**
+     * Tabuleiro montado e a imagem em que ele é desenhado.
+     */
+    static class Tabuleiro implements AutoCloseable {
+        private final List<Carta> cartas;
+        private final int colunas;
+        private final int lado;
+        private final BufferedImage destino;
+        private final Graphics2D g;
+
+        Tabuleiro(int tamanho, int lado, long semente) {
+            this.colunas = tamanho;
+            this.lado = lado;
+            this.cartas = montar(tamanho * tamanho, semente);
+            int largura = tamanho * lado + (tamanho - 1) * ESPACAMENTO;
+            int altura = tamanho * lado + (tamanho - 1) * ESPACAMENTO + TOPO;
+            destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+            g = destino.createGraphics();
+        }
+
+        /**
+         * Desenha um quadro completo do tabuleiro.
+         */
+        void renderizar() {
+            g.setColor(FUNDO);
+            g.fillRect(0, 0, destino.getWidth(), destino.getHeight());
+            PainelDeJogo.desenharTabuleiro(g, cartas, colunas, lado, lado, ESPACAMENTO, TOPO);
+        }
+
+        /**
+         * Calcula o CRC32 dos pixels do último quadro.
+         */
+        long checksum() {
+            CRC32 crc = new CRC32();
+            int[] linha = new int[destino.getWidth()];
+            byte[] bytes = new byte[linha.length * 4];
+            for (int y = 0; y < destino.getHeight(); y++) {
+                destino.getRGB(0, y, linha.length, 1, linha, 0, linha.length);
+                for (int x = 0; x < linha.length; x++) {
+                    bytes[4 * x] = (byte) (linha[x] >>> 24);
+                    bytes[4 * x + 1] = (byte) (linha[x] >>> 16);
+                    bytes[4 * x + 2] = (byte) (linha[x] >>> 8);
+                    bytes[4 * x + 3] = (byte) linha[x];
+                }
+                crc.update(bytes);
+            }
+            return crc.getValue();
+        }
+
+        int pixel() {
+            return destino.getRGB(destino.getWidth() / 2, destino.getHeight() / 2);
+        }
+
+        @Override
+        public void close() {
+            g.dispose();
+        }
+    }
+
+    private BenchmarkRenderizacao() {
+    }
+
+    /**
+     * Monta as cartas em pares, reaproveitando as frentes disponíveis quando o tabuleiro
+     * tem mais pares que imagens, com estados sorteados pela semente.
+     */
+    static List<Carta> montar(int total, long semente) {
+        int frentes = GeradorDeCartas.contarFrentes();
+        if (frentes == 0) throw new IllegalStateException("Imagens das cartas não encontradas; execute a partir da raiz do projeto");
+        Random aleatorio = new Random(semente);
+        List<Carta> cartas = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int id = (i / 2) % frentes + 1;
+            Carta carta = new Carta(GeradorDeCartas.caminhoFrente(id), GeradorDeCartas.COSTA, id);
+            switch (aleatorio.nextInt(4)) {
+                case 0 -> carta.definirQuadroDaAnimacao(1.0, false);
+                case 1 -> carta.definirQuadroDaAnimacao(1.0, true);
+                case 2 -> carta.setEncontrada(true);
+                default -> carta.definirQuadroDaAnimacao(aleatorio.nextInt(1, QuadrosDeVirada.NIVEIS) / (double) QuadrosDeVirada.NIVEIS,
+                        aleatorio.nextBoolean());
+            }
+            cartas.add(carta);
+        }
+        return cartas;
+    }
+
+    private static String nome(int tamanho) {
+        return tamanho + "x" + tamanho;
+    }
+
+    /**
+     * Desenha um quadro de cada tabuleiro e retorna os checksums, na ordem dos tamanhos.
+     */
+    static Map<String, Long> checksums(int[] tamanhos, int lado, long semente) {
+        Map<String, Long> checksums = new LinkedHashMap<>();
+        for (int tamanho : tamanhos) {
+            try (Tabuleiro tabuleiro = new Tabuleiro(tamanho, lado, semente)) {
+                tabuleiro.renderizar();
+                checksums.put(nome(tamanho), tabuleiro.checksum());
+            }
+        }
+        return checksums;
+    }
+
+    /**
+     * Executa o benchmark ou o modo de checksum.
+     *
+     * @param args Opções da linha de comando (ver a descrição da classe).
+     * @throws Exception Se algum benchmark falhar ou os arquivos não puderem ser usados.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Map<String, String> opcoes = ExecutorDeBenchmarks.opcoes(args);
+        int[] tamanhos = java.util.Arrays.stream(opcoes.getOrDefault("tamanhos", "4,8,16,32,64").split(","))
+                .mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+        int lado = Integer.parseInt(opcoes.getOrDefault("lado", "90"));
+        long semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+
+        if (opcoes.containsKey("checksum") || opcoes.containsKey("gravar-checksums") || opcoes.containsKey("verificar-checksums")) {
+            System.exit(verificar(opcoes, checksums(tamanhos, lado, semente)) ? 0 : 1);
+        }
+
+        ExecutorDeBenchmarks executor = new ExecutorDeBenchmarks(
+                Integer.parseInt(opcoes.getOrDefault("aquecimento", "2")),
+                Integer.parseInt(opcoes.getOrDefault("iteracoes", "5")),
+                Long.parseLong(opcoes.getOrDefault("tempo", "1000")),
+                null);
+        for (int tamanho : tamanhos) {
+            executor.registrar("Renderizacao.quadro", Map.of("tamanho", nome(tamanho), "lado", String.valueOf(lado)), () -> {
+                Tabuleiro tabuleiro = new Tabuleiro(tamanho, lado, semente);
+                return new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void executar(Sumidouro s) {
+                        tabuleiro.renderizar();
+                        s.consumir(tabuleiro.pixel());
+                    }
+
+                    @Override
+                    public void close() {
+                        tabuleiro.close();
+                    }
+                };
+            });
+        }
+        JSONArray resultados = executor.executar(System.out);
+
+        System.out.printf("%n%-10s %8s %16s %14s%n", "tabuleiro", "cartas", "ns/quadro", "B/quadro");
+        for (int i = 0; i < resultados.length(); i++) {
+            JSONObject resultado = resultados.getJSONObject(i);
+            String tamanho = resultado.getJSONObject("params").getString("tamanho");
+            int n = Integer.parseInt(tamanho.substring(0, tamanho.indexOf('x')));
+            System.out.printf("%-10s %8d %16.0f %14.0f%n", tamanho, n * n,
+                    resultado.getJSONObject("primaryMetric").getDouble("score") * 1000,
+                    ExecutorDeBenchmarks.bytesPorOperacao(resultado));
+        }
+
+        Path arquivo = Paths.get(opcoes.getOrDefault("resultado", "renderizacao.json"));
+        ExecutorDeBenchmarks.gravar(resultados, arquivo);
+        System.out.println("\nResultados gravados em " + arquivo.toAbsolutePath());
+        System.exit(0);
+    }
+
+    /**
+     * Imprime, grava ou verifica os checksums conforme as opções.
+     *
+     * @return false se algum checksum divergir do arquivo de verificação.
+     */
+    private static boolean verificar(Map<String, String> opcoes, Map<String, Long> checksums) throws Exception {
+        StringBuilder texto = new StringBuilder();
+        checksums.forEach((tamanho, crc) -> texto.append(tamanho).append(' ').append(Long.toHexString(crc)).append('\n'));
+        System.out.print(texto);
+
+        if (opcoes.containsKey("gravar-checksums")) {
+            Files.writeString(Paths.get(opcoes.get("gravar-checksums")), texto, StandardCharsets.UTF_8);
+        }
+        if (!opcoes.containsKey("verificar-checksums")) return true;
+
+        boolean iguais = true;
+        for (String linha : Files.readAllLines(Paths.get(opcoes.get("verificar-checksums")), StandardCharsets.UTF_8)) {
+            String[] partes = linha.trim().split("\\s+");
+            if (partes.length != 2 || !checksums.containsKey(partes[0])) continue;
+            long esperado = Long.parseLong(partes[1], 16);
+            if (checksums.get(partes[0]) != esperado) {
+                System.out.println("DIVERGENTE " + partes[0] + ": esperado " + partes[1]
+                        + ", obtido " + Long.toHexString(checksums.get(partes[0])));
+                iguais = false;
+            }
+        }
+        System.out.println(iguais ? "Checksums iguais aos de referência" : "A imagem renderizada mudou");
+        return iguais;
+    }
+}
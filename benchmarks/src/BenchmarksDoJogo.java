@@ -0,0 +1,315 @@
+import org.json.JSONArray;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Microbenchmarks dos pontos quentes do jogo: geração do tabuleiro, carregamento das
+ * imagens das cartas, geração das faces procedurais, pintura de uma carta e do painel
+ * inteiro em uma imagem fora da tela, avaliação de pares e gravação e leitura do ranking
+ * com arquivos de tamanhos crescentes.
+ *
+ * Deve ser executado a partir da raiz do projeto (as imagens das cartas são lidas de
+ * {@code src/assets}); não precisa de monitor. Os resultados são gravados em JSON no
+ * formato do JMH (ver {@link ExecutorDeBenchmarks}).
+ *
+ * Uso: {@code BenchmarksDoJogo [--aquecimento=3] [--iteracoes=5] [--tempo=1000]
+ * [--filtro=regex] [--resultado=benchmarks.json] [--comparar=anterior.json]}
+ */
+public class BenchmarksDoJogo {
+
+    private static final String COSTA = "src/assets/cards/costa.png";
+    private static final String FRENTE = "src/assets/cards/carta1.jpg";
+    private static final int LADO_CARTA = 90;
+
+    /**
+     * Número de linhas dos arquivos de ranking medidos.
+     */
+    private static final int[] LINHAS_RANKING = {10, 1_000, 100_000};
+
+    /**
+     * Dificuldades jogadas no {@link PainelDeJogo}; a maratona tem o próprio benchmark
+     * de renderização ({@link BenchmarkRenderizacao}).
+     */
+    private static final Set<Dificuldade> CLASSICAS = EnumSet.range(Dificuldade.FACIL, Dificuldade.DIFICIL);
+
+    private BenchmarksDoJogo() {
+    }
+
+    /**
+     * Registra todos os benchmarks do jogo no executor.
+     *
+     * @param executor O executor.
+     */
+    static void registrar(ExecutorDeBenchmarks executor) {
+        for (Dificuldade d : CLASSICAS) {
+            executor.registrar("GeradorDeCartas.gerar", Map.of("dificuldade", d.name()), () -> {
+                GeradorDeCartas.gerarCartasPequenasComPainel(null, d.linhas, d.colunas);
+                return s -> s.consumir(GeradorDeCartas.gerarCartasPequenasComPainel(null, d.linhas, d.colunas));
+            });
+        }
+
+        executor.registrar("Carta.construir", Map.of("cache", "quente"), () -> {
+            new Carta(FRENTE, COSTA, 1);
+            return s -> s.consumir(new Carta(FRENTE, COSTA, 1));
+        });
+        executor.registrar("Carta.construir", Map.of("cache", "frio"), () -> new ExecutorDeBenchmarks.Benchmark() {
+            @Override
+            public void antesDeCada() {
+                CacheDeImagens.esvaziar();
+            }
+
+            @Override
+            public boolean isPreparadoACadaExecucao() {
+                return true;
+            }
+
+            @Override
+            public void executar(Sumidouro s) {
+                s.consumir(new Carta(FRENTE, COSTA, 1));
+            }
+        });
+
+        // Faces procedurais de uma maratona inteira (1250 pares), sempre a frio
+        executor.registrar("GeradorDeFaces.preparar", Map.of("pares", String.valueOf(Dificuldade.MARATONA.linhas * Dificuldade.MARATONA.colunas / 2)),
+                () -> new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void antesDeCada() {
+                        GeradorDeFaces.esvaziar();
+                    }
+
+                    @Override
+                    public boolean isPreparadoACadaExecucao() {
+                        return true;
+                    }
+
+                    @Override
+                    public void executar(Sumidouro s) {
+                        GeradorDeFaces.preparar(GeradorDeFaces.SEMENTE_PADRAO, 1, Dificuldade.MARATONA.linhas * Dificuldade.MARATONA.colunas / 2);
+                        s.consumir(GeradorDeFaces.getFacesEmCache());
+                    }
+                });
+
+        for (boolean frente : new boolean[]{false, true}) {
+            executor.registrar("Carta.desenhar", Map.of("face", frente ? "frente" : "costa"), () -> {
+                Carta carta = new Carta(FRENTE, COSTA, 1);
+                // Uma carta encontrada é desenhada com a frente, sem animação
+                carta.setEncontrada(frente);
+                BufferedImage destino = new BufferedImage(LADO_CARTA, LADO_CARTA, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = destino.createGraphics();
+                return new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void executar(Sumidouro s) {
+                        carta.desenhar(g, 0, 0, LADO_CARTA, LADO_CARTA);
+                        s.consumir(destino.getRGB(LADO_CARTA / 2, LADO_CARTA / 2));
+                    }
+
+                    @Override
+                    public void close() {
+                        g.dispose();
+                    }
+                };
+            });
+        }
+
+        // Os quadros de uma virada completa, um por execução
+        executor.registrar("Carta.desenhar", Map.of("face", "virando"), () -> {
+            Carta carta = new Carta(FRENTE, COSTA, 1);
+            BufferedImage destino = new BufferedImage(LADO_CARTA, LADO_CARTA, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = destino.createGraphics();
+            int[] passo = {0};
+            return new ExecutorDeBenchmarks.Benchmark() {
+                @Override
+                public void executar(Sumidouro s) {
+                    int k = passo[0]++ % (2 * QuadrosDeVirada.NIVEIS);
+                    int nivel = Math.abs(QuadrosDeVirada.NIVEIS - k);
+                    carta.definirQuadroDaAnimacao(nivel / (double) QuadrosDeVirada.NIVEIS, k >= QuadrosDeVirada.NIVEIS);
+                    carta.desenhar(g, 0, 0, LADO_CARTA, LADO_CARTA);
+                    s.consumir(destino.getRGB(LADO_CARTA / 2, LADO_CARTA / 2));
+                }
+
+                @Override
+                public void close() {
+                    g.dispose();
+                }
+            };
+        });
+
+        for (Dificuldade d : CLASSICAS) {
+            executor.registrar("PainelDeJogo.paintComponent", Map.of("dificuldade", d.name()), () -> {
+                PainelDeJogo painel = criarPainel(d);
+                painel.setSize(painel.getPreferredSize());
+                BufferedImage destino = new BufferedImage(painel.getWidth(), painel.getHeight(), BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = destino.createGraphics();
+                return new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void executar(Sumidouro s) {
+                        painel.paintComponent(g);
+                        s.consumir(destino.getRGB(destino.getWidth() / 2, destino.getHeight() / 2));
+                    }
+
+                    @Override
+                    public void close() {
+                        g.dispose();
+                    }
+                };
+            });
+        }
+
+        for (Dificuldade d : CLASSICAS) {
+            executor.registrar("SessaoDeJogo.avaliarPares", Map.of("dificuldade", d.name()), () -> {
+                RegrasDoJogo modelo = RegrasDoJogo.embaralhado(d.linhas, d.colunas, new Random(42));
+                int[] ids = new int[modelo.getTotalCartas()];
+                for (int i = 0; i < ids.length; i++) ids[i] = modelo.getId(i);
+                int[] jogadas = jogadasComUmErroPorPar(ids);
+                return s -> {
+                    SessaoDeJogo sessao = new SessaoDeJogo("Benchmark", d, new RegrasDoJogo(ids),
+                            new BarramentoDeEventos(), new RelogioVirtual());
+                    for (int i = 0; i < jogadas.length; i++) {
+                        if (sessao.virar(jogadas[i]) == RegrasDoJogo.Resultado.ERRO) sessao.desvirarErro();
+                    }
+                    s.consumir(sessao.getPontosFinais());
+                };
+            });
+        }
+
+        for (int linhas : LINHAS_RANKING) {
+            executor.registrar("RankingManager.carregar", Map.of("linhas", String.valueOf(linhas)), () -> {
+                Path arquivo = Files.createTempFile("ranking", ".csv");
+                Files.write(arquivo, conteudoRanking(linhas));
+                return new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void executar(Sumidouro s) {
+                        s.consumir(RankingManager.carregar(arquivo));
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        Files.deleteIfExists(arquivo);
+                    }
+                };
+            });
+            executor.registrar("RankingManager.salvar", Map.of("linhas", String.valueOf(linhas)), () -> {
+                Path arquivo = Files.createTempFile("ranking", ".csv");
+                byte[] conteudo = conteudoRanking(linhas);
+                return new ExecutorDeBenchmarks.Benchmark() {
+                    @Override
+                    public void antesDeCada() throws Exception {
+                        // O ranking guarda só as melhores entradas: o arquivo é restaurado a cada gravação
+                        Files.write(arquivo, conteudo);
+                    }
+
+                    @Override
+                    public boolean isPreparadoACadaExecucao() {
+                        return true;
+                    }
+
+                    @Override
+                    public void executar(Sumidouro s) {
+                        RankingManager.salvar(arquivo, "Benchmark", 7);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        Files.deleteIfExists(arquivo);
+                    }
+                };
+            });
+        }
+    }
+
+    /**
+     * Cria um painel de jogo sem alterar o ranking do diretório atual, que o construtor
+     * do painel grava, e encerra seus timers e o preview: as cartas ficam viradas para
+     * baixo, como durante a partida.
+     */
+    private static PainelDeJogo criarPainel(Dificuldade dificuldade) throws Exception {
+        Path ranking = Paths.get("ranking.csv");
+        byte[] original = Files.exists(ranking) ? Files.readAllBytes(ranking) : null;
+        PainelDeJogo painel;
+        try {
+            painel = new PainelDeJogo(dificuldade, "Benchmark");
+        } finally {
+            if (original != null) Files.write(ranking, original);
+            else Files.deleteIfExists(ranking);
+        }
+        painel.descartar();
+        return painel;
+    }
+
+    /**
+     * Monta uma sequência de jogadas que erra uma vez antes de acertar cada par.
+     */
+    static int[] jogadasComUmErroPorPar(int[] ids) {
+        List<Integer> jogadas = new ArrayList<>();
+        boolean[] usada = new boolean[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            if (usada[i]) continue;
+            int par = -1;
+            int errada = -1;
+            for (int j = i + 1; j < ids.length; j++) {
+                if (usada[j]) continue;
+                if (ids[j] == ids[i] && par < 0) par = j;
+                else if (ids[j] != ids[i] && errada < 0) errada = j;
+            }
+            if (errada >= 0) {
+                jogadas.add(i);
+                jogadas.add(errada);
+            }
+            jogadas.add(i);
+            jogadas.add(par);
+            usada[i] = true;
+            usada[par] = true;
+        }
+        return jogadas.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static byte[] conteudoRanking(int linhas) {
+        StringBuilder conteudo = new StringBuilder();
+        Random aleatorio = new Random(linhas);
+        for (int i = 0; i < linhas; i++) {
+            conteudo.append("Jogador").append(i).append(',').append(8 + aleatorio.nextInt(60)).append('\n');
+        }
+        return conteudo.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Executa os benchmarks e grava os resultados.
+     *
+     * @param args Opções da linha de comando (ver a descrição da classe).
+     * @throws Exception Se algum benchmark falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        Map<String, String> opcoes = ExecutorDeBenchmarks.opcoes(args);
+        ExecutorDeBenchmarks executor = new ExecutorDeBenchmarks(
+                Integer.parseInt(opcoes.getOrDefault("aquecimento", "3")),
+                Integer.parseInt(opcoes.getOrDefault("iteracoes", "5")),
+                Long.parseLong(opcoes.getOrDefault("tempo", "1000")),
+                opcoes.get("filtro"));
+        registrar(executor);
+
+        JSONArray resultados = executor.executar(System.out);
+        Path arquivo = Paths.get(opcoes.getOrDefault("resultado", "benchmarks.json"));
+        ExecutorDeBenchmarks.gravar(resultados, arquivo);
+        System.out.println("\nResultados gravados em " + arquivo.toAbsolutePath());
+
+        if (opcoes.containsKey("comparar")) {
+            JSONArray anteriores = new JSONArray(Files.readString(Paths.get(opcoes.get("comparar")), StandardCharsets.UTF_8));
+            ExecutorDeBenchmarks.comparar(resultados, anteriores, System.out);
+        }
+        // O agendador das animações e o cache de imagens mantêm threads vivas
+        System.exit(0);
+    }
+}
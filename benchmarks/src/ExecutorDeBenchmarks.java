@@ -0,0 +1,328 @@
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Executor dos microbenchmarks do jogo, no modelo do JMH: cada benchmark passa por
+ * iterações de aquecimento e de medição de duração fixa, e o resultado é o tempo médio
+ * por operação com o intervalo de confiança de 99,9%. A memória alocada por operação
+ * pela thread do benchmark também é medida e gravada como a métrica secundária
+ * {@code ·gc.alloc.rate.norm}, como faz o profiler {@code -prof gc} do JMH.
+ *
+ * Os resultados são gravados no mesmo formato JSON do JMH ({@code -rf json}), para que
+ * execuções de versões diferentes possam ser comparadas com {@code --comparar} ou com as
+ * ferramentas de visualização do JMH. Ao contrário do JMH, tudo roda na mesma JVM, sem
+ * forks; use a mesma JVM e as mesmas opções ao comparar duas versões.
+ */
+public class ExecutorDeBenchmarks {
+
+    /**
+     * Um benchmark já preparado para uma combinação de parâmetros.
+     */
+    public interface Benchmark extends AutoCloseable {
+        /**
+         * Executa uma operação medida.
+         *
+         * @param sumidouro Recebe os resultados da operação.
+         * @throws Exception Se a operação falhar.
+         */
+        void executar(Sumidouro sumidouro) throws Exception;
+
+        /**
+         * Prepara o estado antes de cada operação, fora da medição. Só é chamado se
+         * {@link #isPreparadoACadaExecucao()} retornar true.
+         *
+         * @throws Exception Se a preparação falhar.
+         */
+        default void antesDeCada() throws Exception {
+        }
+
+        /**
+         * Indica se cada operação deve ser medida individualmente, com {@link #antesDeCada()}
+         * antes dela (como o {@code Level.Invocation} do JMH).
+         *
+         * @return true para medir operação por operação.
+         */
+        default boolean isPreparadoACadaExecucao() {
+            return false;
+        }
+
+        /**
+         * Libera o estado do benchmark. Não declara {@link InterruptedException}, para o
+         * benchmark poder ser usado em try-with-resources sem avisos do {@code -Xlint:try}.
+         *
+         * @throws IOException Se um arquivo temporário não puder ser removido.
+         */
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * Cria o benchmark (a preparação do JMH com {@code Level.Trial}).
+     */
+    public interface Fabrica {
+        Benchmark criar() throws Exception;
+    }
+
+    private record Registro(String nome, Map<String, String> parametros, Fabrica fabrica) {
+    }
+
+    private record Medida(double microssegundos, double bytes) {
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Quantil 0,9995 da normal padrão, usado no intervalo de confiança de 99,9%.
+     */
+    private static final double Z_999 = 3.29;
+
+    /**
+     * Nome da métrica secundária de bytes alocados por operação, o mesmo do JMH.
+     */
+    public static final String ALOCACAO = "·gc.alloc.rate.norm";
+
+    private final List<Registro> registros = new ArrayList<>();
+    private final int aquecimento;
+    private final int iteracoes;
+    private final long tempoNanos;
+    private final String filtro;
+
+    /**
+     * Cria o executor.
+     *
+     * @param aquecimento Iterações de aquecimento por benchmark.
+     * @param iteracoes   Iterações medidas por benchmark.
+     * @param tempoMs     Duração de cada iteração em milissegundos.
+     * @param filtro      Expressão regular do nome completo dos benchmarks a executar (null para todos).
+     */
+    public ExecutorDeBenchmarks(int aquecimento, int iteracoes, long tempoMs, String filtro) {
+        this.aquecimento = aquecimento;
+        this.iteracoes = iteracoes;
+        this.tempoNanos = tempoMs * 1_000_000L;
+        this.filtro = filtro;
+    }
+
+    /**
+     * Registra um benchmark.
+     *
+     * @param nome       Nome do benchmark ({@code Classe.metodo}, como no JMH).
+     * @param parametros Valores dos parâmetros desta execução (podem ser vazios).
+     * @param fabrica    Prepara o benchmark; só é chamada se ele passar pelo filtro.
+     */
+    public void registrar(String nome, Map<String, String> parametros, Fabrica fabrica) {
+        registros.add(new Registro(nome, new TreeMap<>(parametros), fabrica));
+    }
+
+    /**
+     * Executa os benchmarks registrados e imprime um resumo.
+     *
+     * @param saida Onde imprimir o progresso e o resumo.
+     * @return Os resultados no formato JSON do JMH.
+     * @throws Exception Se algum benchmark falhar.
+     */
+    public JSONArray executar(PrintStream saida) throws Exception {
+        JSONArray resultados = new JSONArray();
+        for (Registro registro : registros) {
+            String descricao = descrever(registro.nome, registro.parametros);
+            if (filtro != null && !descricao.matches(".*(" + filtro + ").*")) continue;
+            saida.println("# " + descricao);
+
+            double[] tempos = new double[iteracoes];
+            double[] bytes = new double[iteracoes];
+            try (Benchmark benchmark = registro.fabrica.criar()) {
+                Sumidouro sumidouro = new Sumidouro();
+                for (int i = 0; i < aquecimento; i++) {
+                    Medida medida = iteracao(benchmark, sumidouro);
+                    saida.printf("  aquecimento %d: %.3f us/op, %.0f B/op%n", i + 1, medida.microssegundos, medida.bytes);
+                }
+                for (int i = 0; i < iteracoes; i++) {
+                    Medida medida = iteracao(benchmark, sumidouro);
+                    tempos[i] = medida.microssegundos;
+                    bytes[i] = medida.bytes;
+                    saida.printf("  iteração %d: %.3f us/op, %.0f B/op%n", i + 1, medida.microssegundos, medida.bytes);
+                }
+            }
+            resultados.put(resultado(registro, tempos, bytes));
+        }
+        imprimirResumo(resultados, saida);
+        return resultados;
+    }
+
+    /**
+     * Executa uma iteração e retorna o tempo médio e os bytes alocados por operação.
+     */
+    private Medida iteracao(Benchmark benchmark, Sumidouro sumidouro) throws Exception {
+        long operacoes = 0;
+        long medido = 0;
+        long alocado = 0;
+        if (benchmark.isPreparadoACadaExecucao()) {
+            long limite = System.nanoTime() + tempoNanos;
+            do {
+                benchmark.antesDeCada();
+                long bytes = THREADS.getCurrentThreadAllocatedBytes();
+                long inicio = System.nanoTime();
+                benchmark.executar(sumidouro);
+                medido += System.nanoTime() - inicio;
+                alocado += THREADS.getCurrentThreadAllocatedBytes() - bytes;
+                operacoes++;
+            } while (System.nanoTime() < limite);
+        } else {
+            long bytes = THREADS.getCurrentThreadAllocatedBytes();
+            long inicio = System.nanoTime();
+            do {
+                benchmark.executar(sumidouro);
+                operacoes++;
+                medido = System.nanoTime() - inicio;
+            } while (medido < tempoNanos);
+            alocado = THREADS.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        sumidouro.publicar();
+        return new Medida(medido / 1000.0 / operacoes, (double) alocado / operacoes);
+    }
+
+    /**
+     * Resume as iterações de uma métrica: média, erro de 99,9% e valores brutos.
+     */
+    private static JSONObject metrica(double[] medidas, String unidade) {
+        double media = 0;
+        for (double m : medidas) media += m;
+        media /= medidas.length;
+        double variancia = 0;
+        for (double m : medidas) variancia += (m - media) * (m - media);
+        // Com uma única iteração não há erro estimável; o JMH grava "NaN" nesse caso
+        double erro = medidas.length > 1 ? Z_999 * Math.sqrt(variancia / (medidas.length - 1)) / Math.sqrt(medidas.length) : 0;
+        Object erroGravado = medidas.length > 1 ? erro : "NaN";
+
+        JSONArray brutos = new JSONArray();
+        for (double m : medidas) brutos.put(m);
+        return new JSONObject()
+                .put("score", media)
+                .put("scoreError", erroGravado)
+                .put("scoreConfidence", new JSONArray().put(media - erro).put(media + erro))
+                .put("scoreUnit", unidade)
+                .put("rawData", new JSONArray().put(brutos));
+    }
+
+    private JSONObject resultado(Registro registro, double[] tempos, double[] bytes) {
+        JSONObject resultado = new JSONObject()
+                .put("benchmark", registro.nome)
+                .put("mode", "avgt")
+                .put("threads", 1)
+                .put("forks", 0)
+                .put("jvm", System.getProperty("java.home"))
+                .put("jdkVersion", System.getProperty("java.version"))
+                .put("vmName", System.getProperty("java.vm.name"))
+                .put("warmupIterations", aquecimento)
+                .put("warmupTime", tempoNanos / 1_000_000 + " ms")
+                .put("measurementIterations", iteracoes)
+                .put("measurementTime", tempoNanos / 1_000_000 + " ms")
+                .put("primaryMetric", metrica(tempos, "us/op"))
+                .put("secondaryMetrics", new JSONObject().put(ALOCACAO, metrica(bytes, "B/op")));
+        if (!registro.parametros.isEmpty()) resultado.put("params", new JSONObject(registro.parametros));
+        return resultado;
+    }
+
+    private static String descrever(String nome, Map<String, String> parametros) {
+        return parametros.isEmpty() ? nome : nome + " " + parametros;
+    }
+
+    private static String descrever(JSONObject resultado) {
+        Map<String, String> parametros = new TreeMap<>();
+        JSONObject params = resultado.optJSONObject("params");
+        if (params != null) {
+            for (String chave : params.keySet()) parametros.put(chave, params.getString(chave));
+        }
+        return descrever(resultado.getString("benchmark"), parametros);
+    }
+
+    private static void imprimirResumo(JSONArray resultados, PrintStream saida) {
+        saida.printf("%n%-60s %12s %12s %12s%n", "Benchmark", "us/op", "± erro", "B/op");
+        for (int i = 0; i < resultados.length(); i++) {
+            JSONObject resultado = resultados.getJSONObject(i);
+            JSONObject primaria = resultado.getJSONObject("primaryMetric");
+            saida.printf("%-60s %12.3f %12.3f %12.0f%n", descrever(resultado), primaria.getDouble("score"),
+                    primaria.optDouble("scoreError", Double.NaN), bytesPorOperacao(resultado));
+        }
+    }
+
+    /**
+     * Retorna os bytes alocados por operação de um resultado.
+     *
+     * @param resultado Um resultado de {@link #executar(PrintStream)}.
+     * @return Os bytes por operação, ou NaN se o resultado não tiver essa métrica.
+     */
+    public static double bytesPorOperacao(JSONObject resultado) {
+        JSONObject secundarias = resultado.optJSONObject("secondaryMetrics");
+        JSONObject alocacao = secundarias == null ? null : secundarias.optJSONObject(ALOCACAO);
+        return alocacao == null ? Double.NaN : alocacao.getDouble("score");
+    }
+
+    /**
+     * Grava os resultados em JSON.
+     *
+     * @param resultados Resultados de {@link #executar(PrintStream)}.
+     * @param arquivo    Destino.
+     * @throws IOException Se o arquivo não puder ser gravado.
+     */
+    public static void gravar(JSONArray resultados, Path arquivo) throws IOException {
+        Files.writeString(arquivo, resultados.toString(2), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara os resultados com os de uma execução anterior, benchmark a benchmark.
+     *
+     * @param atuais    Resultados desta execução.
+     * @param anteriores Resultados gravados de outra versão.
+     * @param saida     Onde imprimir a comparação.
+     */
+    public static void comparar(JSONArray atuais, JSONArray anteriores, PrintStream saida) {
+        Map<String, Double> antes = new HashMap<>();
+        for (int i = 0; i < anteriores.length(); i++) {
+            JSONObject resultado = anteriores.getJSONObject(i);
+            antes.put(descrever(resultado), resultado.getJSONObject("primaryMetric").getDouble("score"));
+        }
+        saida.printf("%n%-60s %12s %12s %8s%n", "Benchmark", "antes", "agora", "razão");
+        for (int i = 0; i < atuais.length(); i++) {
+            JSONObject resultado = atuais.getJSONObject(i);
+            String chave = descrever(resultado);
+            double agora = resultado.getJSONObject("primaryMetric").getDouble("score");
+            Double anterior = antes.get(chave);
+            if (anterior == null) {
+                saida.printf("%-60s %12s %12.3f %8s%n", chave, "-", agora, "novo");
+            } else {
+                saida.printf("%-60s %12.3f %12.3f %7.2fx%n", chave, anterior, agora, agora / anterior);
+            }
+        }
+    }
+
+    /**
+     * Lê as opções {@code --chave=valor} da linha de comando.
+     *
+     * @param args Argumentos da linha de comando.
+     * @return As opções, sem o prefixo {@code --}.
+     */
+    public static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int igual = arg.indexOf('=');
+            if (igual < 0) opcoes.put(arg.substring(2), "true");
+            else opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opcoes;
+    }
+}
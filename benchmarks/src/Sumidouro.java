@@ -0,0 +1,33 @@
+/**
+ * Recebe os resultados dos benchmarks para que o JIT não elimine o código medido,
+ * como o {@code Blackhole} do JMH.
+ */
+public final class Sumidouro {
+    private int acumulado;
+    private volatile int publicado;
+
+    /**
+     * Consome um objeto.
+     *
+     * @param objeto O resultado a consumir.
+     */
+    public void consumir(Object objeto) {
+        acumulado += System.identityHashCode(objeto);
+    }
+
+    /**
+     * Consome um valor inteiro.
+     *
+     * @param valor O resultado a consumir.
+     */
+    public void consumir(long valor) {
+        acumulado += (int) (valor ^ (valor >>> 32));
+    }
+
+    /**
+     * Publica o acumulado ao fim de cada iteração, impedindo que ele seja descartado.
+     */
+    void publicar() {
+        publicado = acumulado;
+    }
+}
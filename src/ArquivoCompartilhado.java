@@ -0,0 +1,231 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Arquivo de texto que pode ser lido e reescrito com segurança por várias instâncias
+ * do jogo ao mesmo tempo (vários processos no mesmo diretório).
+ *
+ * A exclusão entre processos usa uma trava de região do {@link FileChannel} sobre um
+ * arquivo irmão ({@code <nome>.trava}), que nunca é substituído; dentro do mesmo
+ * processo, uma {@link ReentrantLock} por arquivo garante que só uma thread por vez
+ * segure a trava de região, evitando a {@code OverlappingFileLockException}.
+ * A primeira linha do arquivo guarda um número de sequência ({@code #seq=N})
+ * incrementado a cada escrita.
+ *
+ * Cada escrita grava um arquivo temporário no mesmo diretório e o move sobre o
+ * original, como no {@link ScoreStore}: uma queda do processo ou um disco cheio no meio
+ * da escrita deixa o conteúdo anterior intacto, nunca um arquivo vazio ou cortado.
+ *
+ * As atualizações são otimistas: o novo conteúdo é calculado fora da trava e, se ao
+ * travar a sequência tiver mudado, a mesclagem é refeita sobre o conteúdo atual.
+ * Assim a trava exclusiva fica retida apenas pelo tempo de ler e gravar o arquivo.
+ */
+final class ArquivoCompartilhado {
+    /**
+     * Prefixo da linha que guarda o número de sequência.
+     */
+    static final String PREFIXO_SEQUENCIA = "#seq=";
+
+    /**
+     * Região usada como trava, distante do conteúdo para não depender do tamanho do arquivo.
+     */
+    private static final long POSICAO_TRAVA = Long.MAX_VALUE - 1;
+
+    /**
+     * Travas de processo, uma por arquivo, compartilhadas por todas as instâncias.
+     */
+    private static final ConcurrentHashMap<Path, ReentrantLock> TRAVAS_LOCAIS = new ConcurrentHashMap<>();
+
+    private final Path arquivo;
+    private final Path arquivoTrava;
+    private final ReentrantLock travaLocal;
+
+    /**
+     * Conteúdo lido do arquivo, sem a linha de sequência.
+     */
+    static final class Conteudo {
+        final long sequencia;
+        final List<String> linhas;
+
+        Conteudo(long sequencia, List<String> linhas) {
+            this.sequencia = sequencia;
+            this.linhas = linhas;
+        }
+    }
+
+    /**
+     * Cria o acesso compartilhado ao arquivo informado. O arquivo só é criado na primeira escrita.
+     *
+     * @param arquivo Caminho do arquivo.
+     */
+    ArquivoCompartilhado(Path arquivo) {
+        this.arquivo = arquivo.toAbsolutePath().normalize();
+        this.arquivoTrava = this.arquivo.resolveSibling(this.arquivo.getFileName() + ".trava");
+        this.travaLocal = TRAVAS_LOCAIS.computeIfAbsent(this.arquivo, p -> new ReentrantLock());
+    }
+
+    /**
+     * Retorna o caminho do arquivo.
+     *
+     * @return O caminho absoluto do arquivo.
+     */
+    Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Lê o arquivo sob trava compartilhada, de forma que uma escrita em andamento em
+     * outro processo nunca seja vista pela metade.
+     *
+     * @return O conteúdo atual; vazio e com sequência 0 se o arquivo não existir.
+     * @throws IOException Em caso de erro de leitura.
+     */
+    Conteudo ler() throws IOException {
+        if (!Files.exists(arquivo)) return new Conteudo(0, new ArrayList<>());
+
+        EventosJfr.OperacaoArquivo evento = new EventosJfr.OperacaoArquivo();
+        evento.begin();
+        travaLocal.lock();
+        try (FileChannel canalTrava = abrirTrava()) {
+            FileLock trava = canalTrava.lock(POSICAO_TRAVA, 1, true);
+            try {
+                byte[] bytes = Files.readAllBytes(arquivo);
+                evento.bytesLidos = bytes.length;
+                return converter(bytes);
+            } finally {
+                trava.release();
+            }
+        } finally {
+            travaLocal.unlock();
+            registrar(evento, "ler");
+        }
+    }
+
+    /**
+     * Atualiza o arquivo aplicando a função de mesclagem sobre o conteúdo atual.
+     * A função pode ser chamada mais de uma vez caso outro escritor tenha gravado
+     * no intervalo, portanto deve ser pura em relação às linhas recebidas.
+     *
+     * @param mesclagem Função que recebe as linhas atuais e devolve as novas linhas.
+     * @return O conteúdo gravado, com a nova sequência.
+     * @throws IOException Em caso de erro de leitura ou escrita.
+     */
+    Conteudo atualizar(UnaryOperator<List<String>> mesclagem) throws IOException {
+        Conteudo lido = ler();
+        List<String> proposta = mesclagem.apply(new ArrayList<>(lido.linhas));
+
+        EventosJfr.OperacaoArquivo evento = new EventosJfr.OperacaoArquivo();
+        evento.begin();
+        MetricasJogo.escritaIniciada();
+        travaLocal.lock();
+        try (FileChannel canalTrava = abrirTrava()) {
+            FileLock trava = canalTrava.lock(POSICAO_TRAVA, 1, false);
+            try {
+                byte[] bytes = Files.exists(arquivo) ? Files.readAllBytes(arquivo) : new byte[0];
+                evento.bytesLidos = bytes.length;
+                Conteudo atual = converter(bytes);
+                if (atual.sequencia != lido.sequencia) {
+                    // Outro escritor gravou desde a leitura: refaz a mesclagem sobre o conteúdo atual
+                    proposta = mesclagem.apply(new ArrayList<>(atual.linhas));
+                    evento.conflito = true;
+                }
+                long novaSequencia = atual.sequencia + 1;
+                evento.bytesGravados = gravar(novaSequencia, proposta);
+                return new Conteudo(novaSequencia, proposta);
+            } finally {
+                trava.release();
+            }
+        } finally {
+            travaLocal.unlock();
+            MetricasJogo.escritaConcluida();
+            registrar(evento, "atualizar");
+        }
+    }
+
+    /**
+     * Abre o arquivo de trava, criando-o se necessário. Ele fica vazio: só a região
+     * travada importa.
+     */
+    private FileChannel abrirTrava() throws IOException {
+        return FileChannel.open(arquivoTrava, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Separa a linha de sequência das demais linhas do conteúdo lido.
+     */
+    private static Conteudo converter(byte[] bytes) {
+        String texto = new String(bytes, StandardCharsets.UTF_8);
+
+        long sequencia = 0;
+        List<String> linhas = new ArrayList<>();
+        for (String linha : texto.split("\\R")) {
+            if (linha.startsWith(PREFIXO_SEQUENCIA)) {
+                try {
+                    sequencia = Long.parseLong(linha.substring(PREFIXO_SEQUENCIA.length()).trim());
+                } catch (NumberFormatException e) {
+                    sequencia = 0;
+                }
+            } else if (!linha.isEmpty()) {
+                linhas.add(linha);
+            }
+        }
+        return new Conteudo(sequencia, linhas);
+    }
+
+    /**
+     * Confirma o evento JFR da operação, se houver gravação ativa.
+     */
+    private void registrar(EventosJfr.OperacaoArquivo evento, String operacao) {
+        if (!evento.shouldCommit()) return;
+        evento.operacao = operacao;
+        evento.arquivo = arquivo.toString();
+        evento.commit();
+    }
+
+    /**
+     * Grava a linha de sequência seguida das linhas informadas em um arquivo temporário
+     * e o move sobre o arquivo original. Deve ser chamado com a trava exclusiva retida.
+     *
+     * @return O número de bytes gravados.
+     */
+    private int gravar(long sequencia, List<String> linhas) throws IOException {
+        StringBuilder texto = new StringBuilder(PREFIXO_SEQUENCIA).append(sequencia).append('\n');
+        for (String linha : linhas) {
+            texto.append(linha).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(texto.toString().getBytes(StandardCharsets.UTF_8));
+
+        Path temporario = Files.createTempFile(arquivo.getParent(), arquivo.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                // Garante que o conteúdo esteja no disco antes de substituir o original
+                canal.force(true);
+            }
+            try {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,258 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de publicação e assinatura dos {@link EventoDeJogo} produzidos pelos
+ * {@link Controles} e pelo {@link PainelDeJogo}.
+ *
+ * Cada assinante tem seu próprio anel de capacidade fixa. A publicação apenas copia o
+ * evento para os anéis e nunca espera por um assinante: quando um anel está cheio, a
+ * {@link Politica} do assinante decide entre descartar os eventos mais antigos, aglutinar
+ * os eventos de relógio ou desconectá-lo. Assim um espectador lento nunca atrasa o jogo.
+ */
+public class BarramentoDeEventos {
+    /**
+     * Capacidade padrão do anel de cada assinante.
+     */
+    public static final int CAPACIDADE_PADRAO = 1024;
+
+    private static final BarramentoDeEventos PADRAO = new BarramentoDeEventos();
+
+    private final List<Assinatura> assinaturas = new CopyOnWriteArrayList<>();
+
+    /**
+     * O que fazer com um assinante cujo anel está cheio.
+     */
+    public enum Politica {
+        /**
+         * Descarta o evento mais antigo para dar lugar ao novo.
+         */
+        DESCARTAR_ANTIGOS,
+        /**
+         * Substitui eventos de relógio pendentes pelo mais recente e, se ainda faltar
+         * espaço, descarta o evento mais antigo.
+         */
+        AGLUTINAR,
+        /**
+         * Encerra a assinatura.
+         */
+        DESCONECTAR
+    }
+
+    /**
+     * Retorna o barramento compartilhado pelo jogo.
+     *
+     * @return O barramento padrão.
+     */
+    public static BarramentoDeEventos padrao() {
+        return PADRAO;
+    }
+
+    /**
+     * Publica um evento para todos os assinantes. Não bloqueia.
+     *
+     * @param evento O evento a publicar.
+     */
+    public void publicar(EventoDeJogo evento) {
+        for (Assinatura assinatura : assinaturas) {
+            if (!assinatura.oferecer(evento)) assinaturas.remove(assinatura);
+        }
+    }
+
+    /**
+     * Cria uma assinatura cujos eventos são retirados com {@link Assinatura#proximo(long)}.
+     *
+     * @param capacidade Capacidade do anel.
+     * @param politica   Política quando o anel estiver cheio.
+     * @return A assinatura criada.
+     */
+    public Assinatura assinar(int capacidade, Politica politica) {
+        Assinatura assinatura = new Assinatura(capacidade, politica);
+        assinaturas.add(assinatura);
+        return assinatura;
+    }
+
+    /**
+     * Cria uma assinatura entregue por uma virtual thread própria ao consumidor informado.
+     * Se o consumidor lançar uma exceção, a assinatura é encerrada.
+     *
+     * @param capacidade  Capacidade do anel.
+     * @param politica    Política quando o anel estiver cheio.
+     * @param consumidor  Quem recebe os eventos.
+     * @return A assinatura criada.
+     */
+    public Assinatura assinar(int capacidade, Politica politica, Consumer<EventoDeJogo> consumidor) {
+        Assinatura assinatura = assinar(capacidade, politica);
+        Thread.ofVirtual().name("assinante-eventos").start(() -> {
+            try {
+                EventoDeJogo evento;
+                while ((evento = assinatura.proximo(0)) != null) consumidor.accept(evento);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                Log.erro("BarramentoDeEventos", "Assinante de eventos encerrado", e);
+            } finally {
+                assinatura.close();
+            }
+        });
+        return assinatura;
+    }
+
+    /**
+     * Retorna o número de assinaturas ativas.
+     *
+     * @return O número de assinantes.
+     */
+    public int getAssinantes() {
+        return assinaturas.size();
+    }
+
+    /**
+     * Assinatura com anel limitado de eventos pendentes.
+     */
+    public final class Assinatura implements AutoCloseable {
+        private final EventoDeJogo[] anel;
+        private final Politica politica;
+        private int inicio;
+        private int tamanho;
+        private long descartados;
+        private long aglutinados;
+        private boolean encerrada;
+
+        private Assinatura(int capacidade, Politica politica) {
+            this.anel = new EventoDeJogo[Math.max(1, capacidade)];
+            this.politica = politica;
+        }
+
+        /**
+         * Coloca o evento no anel aplicando a política se estiver cheio.
+         *
+         * @return false se a assinatura estiver encerrada.
+         */
+        private synchronized boolean oferecer(EventoDeJogo evento) {
+            if (encerrada) return false;
+            if (politica == Politica.AGLUTINAR && evento.isAglutinavel() && tamanho > 0) {
+                int ultimo = (inicio + tamanho - 1) % anel.length;
+                if (anel[ultimo].tipo == evento.tipo) {
+                    anel[ultimo] = evento;
+                    aglutinados++;
+                    return true;
+                }
+            }
+            if (tamanho == anel.length) {
+                switch (politica) {
+                    case DESCONECTAR -> {
+                        encerrar();
+                        return false;
+                    }
+                    case AGLUTINAR -> {
+                        if (!removerAglutinavel()) removerMaisAntigo();
+                    }
+                    case DESCARTAR_ANTIGOS -> removerMaisAntigo();
+                }
+            }
+            anel[(inicio + tamanho) % anel.length] = evento;
+            tamanho++;
+            notify();
+            return true;
+        }
+
+        private void removerMaisAntigo() {
+            anel[inicio] = null;
+            inicio = (inicio + 1) % anel.length;
+            tamanho--;
+            descartados++;
+        }
+
+        /**
+         * Remove o evento aglutinável mais antigo, deslocando os seguintes para manter a ordem.
+         */
+        private boolean removerAglutinavel() {
+            for (int i = 0; i < tamanho; i++) {
+                if (!anel[(inicio + i) % anel.length].isAglutinavel()) continue;
+                for (int j = i; j < tamanho - 1; j++) {
+                    anel[(inicio + j) % anel.length] = anel[(inicio + j + 1) % anel.length];
+                }
+                anel[(inicio + tamanho - 1) % anel.length] = null;
+                tamanho--;
+                aglutinados++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Retira o próximo evento, aguardando até o prazo informado.
+         *
+         * @param prazoMs Tempo máximo de espera em milissegundos; 0 espera indefinidamente.
+         * @return O evento, ou null se o prazo expirar ou a assinatura for encerrada.
+         * @throws InterruptedException Se a thread for interrompida.
+         */
+        public synchronized EventoDeJogo proximo(long prazoMs) throws InterruptedException {
+            long limite = System.currentTimeMillis() + prazoMs;
+            while (tamanho == 0 && !encerrada) {
+                if (prazoMs <= 0) {
+                    wait();
+                } else {
+                    long restante = limite - System.currentTimeMillis();
+                    if (restante <= 0) return null;
+                    wait(restante);
+                }
+            }
+            if (tamanho == 0) return null;
+            EventoDeJogo evento = anel[inicio];
+            anel[inicio] = null;
+            inicio = (inicio + 1) % anel.length;
+            tamanho--;
+            return evento;
+        }
+
+        /**
+         * Retorna quantos eventos foram descartados por falta de espaço.
+         *
+         * @return O número de eventos descartados.
+         */
+        public synchronized long getDescartados() {
+            return descartados;
+        }
+
+        /**
+         * Retorna quantos eventos de relógio foram substituídos por um mais recente.
+         *
+         * @return O número de eventos aglutinados.
+         */
+        public synchronized long getAglutinados() {
+            return aglutinados;
+        }
+
+        /**
+         * Indica se a assinatura foi encerrada, pelo assinante ou pela política.
+         *
+         * @return true se encerrada.
+         */
+        public synchronized boolean isEncerrada() {
+            return encerrada;
+        }
+
+        private void encerrar() {
+            encerrada = true;
+            Arrays.fill(anel, null);
+            inicio = 0;
+            tamanho = 0;
+            notifyAll();
+        }
+
+        /**
+         * Encerra a assinatura; os eventos pendentes são descartados.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                encerrar();
+            }
+            assinaturas.remove(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Mede o tempo até o primeiro quadro interativo do menu, em processos novos, com e sem
+ * o arquivo de classes compartilhadas (AppCDS) do jogo.
+ *
+ * Primeiro faz uma execução de treino com {@code -XX:ArchiveClassesAtExit}, que grava
+ * o arquivo com as classes carregadas do início do jogo até o menu (e as das telas
+ * seguintes, ver {@link Inicializacao}). Depois alterna execuções com o CDS padrão do
+ * JDK e com o arquivo gerado, e imprime mínimo, mediana e máximo de cada configuração.
+ * Precisa de um monitor (ou servidor X virtual), pois mede a abertura da janela.
+ *
+ * O AppCDS só aceita classes vindas de arquivos jar; os diretórios de classes do
+ * classpath atual (por exemplo, a saída de compilação da IDE) são empacotados antes
+ * em um único jar ao lado do arquivo AppCDS.
+ *
+ * Uso: {@code BenchmarkInicializacao [execucoes=10] [arquivo=brainrot.jsa]}
+ */
+public class BenchmarkInicializacao {
+
+    private final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    private final String classpath;
+
+    /**
+     * Prepara o benchmark, empacotando os diretórios de classes do classpath em um jar.
+     *
+     * @param jar Destino do jar com as classes e recursos do jogo.
+     * @throws IOException Se o jar não puder ser gravado.
+     */
+    BenchmarkInicializacao(Path jar) throws IOException {
+        List<String> entradas = new ArrayList<>();
+        List<Path> diretorios = new ArrayList<>();
+        for (String entrada : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (Files.isDirectory(Paths.get(entrada))) diretorios.add(Paths.get(entrada));
+            else entradas.add(entrada);
+        }
+        if (!diretorios.isEmpty()) {
+            empacotar(diretorios, jar);
+            entradas.add(0, jar.toString());
+        }
+        classpath = String.join(File.pathSeparator, entradas);
+    }
+
+    /**
+     * Grava o conteúdo dos diretórios em um único jar; o primeiro diretório prevalece em caso de repetição.
+     */
+    private static void empacotar(List<Path> diretorios, Path jar) throws IOException {
+        Set<String> gravadas = new HashSet<>();
+        try (JarOutputStream saida = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path diretorio : diretorios) {
+                List<Path> arquivos;
+                try (Stream<Path> caminhos = Files.walk(diretorio)) {
+                    arquivos = caminhos.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path arquivo : arquivos) {
+                    String nome = diretorio.relativize(arquivo).toString().replace(File.separatorChar, '/');
+                    if (nome.endsWith(".java") || !gravadas.add(nome)) continue;
+                    saida.putNextEntry(new JarEntry(nome));
+                    Files.copy(arquivo, saida);
+                    saida.closeEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gera o arquivo AppCDS com uma execução de treino.
+     *
+     * @param arquivo Destino do arquivo de classes compartilhadas.
+     * @throws IOException          Se o processo não puder ser iniciado.
+     * @throws InterruptedException Se a espera for interrompida.
+     */
+    void treinar(Path arquivo) throws IOException, InterruptedException {
+        Files.deleteIfExists(arquivo);
+        executar(List.of("-XX:ArchiveClassesAtExit=" + arquivo), "--treinar-cds");
+        if (!Files.exists(arquivo)) throw new IOException("A execução de treino não gerou " + arquivo);
+    }
+
+    /**
+     * Executa o menu em um processo novo até o primeiro quadro interativo.
+     *
+     * @param opcoesJvm Opções adicionais da JVM.
+     * @param modo      Argumento de {@link Inicializacao} a usar.
+     * @return O tempo até o primeiro quadro em milissegundos, medido pelo próprio processo.
+     */
+    private long executar(List<String> opcoesJvm, String modo) throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(java);
+        comando.addAll(opcoesJvm);
+        comando.add("-cp");
+        comando.add(classpath);
+        comando.add("MenuInicial");
+        comando.add(modo);
+
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true)
+                .directory(new File(System.getProperty("user.dir"))).start();
+        long medido = -1;
+        try (BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = saida.readLine()) != null) {
+                if (linha.startsWith(Inicializacao.PREFIXO_MEDICAO)) {
+                    medido = Long.parseLong(linha.substring(Inicializacao.PREFIXO_MEDICAO.length()).trim());
+                }
+            }
+        }
+        if (processo.waitFor() != 0) throw new IOException("Processo terminou com código " + processo.exitValue());
+        return medido;
+    }
+
+    /**
+     * Mede várias execuções de uma configuração.
+     */
+    private long[] medir(List<String> opcoesJvm, int execucoes) throws IOException, InterruptedException {
+        long[] tempos = new long[execucoes];
+        for (int i = 0; i < execucoes; i++) {
+            tempos[i] = executar(opcoesJvm, "--medir-inicializacao");
+        }
+        Arrays.sort(tempos);
+        return tempos;
+    }
+
+    private static void imprimir(String nome, long[] tempos) {
+        System.out.printf("%-14s %8d %8d %8d%n", nome, tempos[0], tempos[tempos.length / 2], tempos[tempos.length - 1]);
+    }
+
+    /**
+     * Executa o benchmark.
+     *
+     * @param args Número de execuções por configuração e caminho do arquivo AppCDS (opcionais).
+     * @throws Exception Se alguma execução falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        int execucoes = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path arquivo = Paths.get(args.length > 1 ? args[1] : "brainrot.jsa").toAbsolutePath();
+
+        BenchmarkInicializacao benchmark = new BenchmarkInicializacao(
+                arquivo.resolveSibling(arquivo.getFileName().toString().replaceFirst("\\.jsa$", "") + ".jar"));
+        benchmark.treinar(arquivo);
+        System.out.println("Arquivo AppCDS gerado: " + arquivo + " (" + Files.size(arquivo) / 1024 + " KiB)");
+
+        // Uma execução de aquecimento de cada configuração para o cache de disco do sistema
+        benchmark.medir(List.of(), 1);
+        benchmark.medir(List.of("-XX:SharedArchiveFile=" + arquivo), 1);
+
+        long[] padrao = benchmark.medir(List.of(), execucoes);
+        long[] appCds = benchmark.medir(List.of("-XX:SharedArchiveFile=" + arquivo), execucoes);
+        System.out.println("Tempo até o primeiro quadro interativo (ms), " + execucoes + " execuções:");
+        System.out.printf("%-14s %8s %8s %8s%n", "configuração", "mínimo", "mediana", "máximo");
+        imprimir("CDS padrão", padrao);
+        imprimir("AppCDS", appCds);
+    }
+}
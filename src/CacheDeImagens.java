@@ -0,0 +1,199 @@
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache das imagens do jogo (fundos e cartas), decodificadas uma única vez por processo.
+ *
+ * A decodificação acontece em segundo plano: as telas pedem a imagem com
+ * {@link #carregar(String)} assim que sabem que vão precisar dela e só esperam por
+ * {@link #obter(String)} no momento de desenhar. Um recurso ausente resulta em
+ * {@code null} e uma mensagem de aviso, nunca em exceção, para que a tela abra com
+ * um fundo alternativo.
+ *
+ * Os caminhos iniciados por {@code /} são procurados no classpath; os demais, no
+ * sistema de arquivos (como os caminhos usados pelo {@link GeradorDeCartas}). Os
+ * caminhos {@code gerada:...} são faces procedurais, repassadas ao {@link GeradorDeFaces},
+ * que as mantém em um cache próprio e limitado.
+ */
+public final class CacheDeImagens {
+
+    private static final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> IMAGENS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> ESCALADAS = new ConcurrentHashMap<>();
+
+    /**
+     * Contadores para as métricas ({@link MetricasJogo}): pedidos atendidos pelo cache,
+     * pedidos que iniciaram uma decodificação e bytes das imagens guardadas.
+     */
+    private static final LongAdder ACERTOS = new LongAdder();
+    private static final LongAdder FALHAS = new LongAdder();
+    private static final LongAdder BYTES = new LongAdder();
+
+    /**
+     * Threads de decodificação; daemon para não impedir o encerramento do jogo.
+     */
+    private static final ExecutorService DECODIFICADORES = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), r -> {
+                Thread t = new Thread(r, "CacheDeImagens");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private CacheDeImagens() {
+    }
+
+    /**
+     * Inicia a decodificação da imagem em segundo plano, se ainda não foi pedida.
+     *
+     * @param caminho Caminho da imagem.
+     * @return A imagem, disponível quando a decodificação terminar (null se ausente).
+     */
+    public static CompletableFuture<BufferedImage> carregar(String caminho) {
+        if (GeradorDeFaces.isGerada(caminho)) return GeradorDeFaces.carregar(caminho);
+        CompletableFuture<BufferedImage> existente = IMAGENS.get(caminho);
+        if (existente != null) {
+            ACERTOS.increment();
+            return existente;
+        }
+        return IMAGENS.computeIfAbsent(caminho, c -> {
+            FALHAS.increment();
+            return CompletableFuture.supplyAsync(() -> contar(decodificar(c)), DECODIFICADORES);
+        });
+    }
+
+    /**
+     * Retorna a imagem, esperando a decodificação se ela ainda estiver em andamento.
+     *
+     * @param caminho Caminho da imagem.
+     * @return A imagem, ou null se o recurso não existir ou não puder ser lido.
+     */
+    public static BufferedImage obter(String caminho) {
+        return carregar(caminho).join();
+    }
+
+    /**
+     * Inicia em segundo plano a decodificação e o redimensionamento da imagem para o tamanho informado.
+     *
+     * @param caminho Caminho da imagem.
+     * @param largura Largura desejada.
+     * @param altura  Altura desejada.
+     * @return A imagem redimensionada (null se ausente).
+     */
+    public static CompletableFuture<BufferedImage> carregarEscalada(String caminho, int largura, int altura) {
+        String chave = caminho + "@" + largura + "x" + altura;
+        CompletableFuture<BufferedImage> existente = ESCALADAS.get(chave);
+        if (existente != null) {
+            ACERTOS.increment();
+            return existente;
+        }
+        return ESCALADAS.computeIfAbsent(chave, c -> {
+            FALHAS.increment();
+            return carregar(caminho).thenApplyAsync(img -> contar(escalar(img, largura, altura)), DECODIFICADORES);
+        });
+    }
+
+    /**
+     * Retorna a imagem redimensionada, esperando se ainda estiver em andamento.
+     *
+     * @param caminho Caminho da imagem.
+     * @param largura Largura desejada.
+     * @param altura  Altura desejada.
+     * @return A imagem redimensionada, ou null se o recurso não existir.
+     */
+    public static BufferedImage obterEscalada(String caminho, int largura, int altura) {
+        return carregarEscalada(caminho, largura, altura).join();
+    }
+
+    /**
+     * Retorna a memória ocupada pelos pixels das imagens em cache.
+     *
+     * @return O total em bytes.
+     */
+    public static long getBytes() {
+        return BYTES.sum();
+    }
+
+    /**
+     * Retorna a fração dos pedidos atendidos por uma imagem já decodificada ou em decodificação.
+     *
+     * @return A taxa de acerto, entre 0 e 1 (0 se ainda não houve pedidos).
+     */
+    public static double getTaxaDeAcerto() {
+        long acertos = ACERTOS.sum();
+        long total = acertos + FALHAS.sum();
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    /**
+     * Descarta todas as imagens do cache, para medir o carregamento a frio nos benchmarks.
+     * As imagens já entregues continuam válidas.
+     */
+    static void esvaziar() {
+        IMAGENS.clear();
+        ESCALADAS.clear();
+        BYTES.reset();
+    }
+
+    private static BufferedImage contar(BufferedImage imagem) {
+        if (imagem != null) {
+            DataBuffer dados = imagem.getRaster().getDataBuffer();
+            BYTES.add((long) dados.getSize() * dados.getNumBanks() * DataBuffer.getDataTypeSize(dados.getDataType()) / 8);
+        }
+        return imagem;
+    }
+
+    /**
+     * Localiza o recurso: no classpath se o caminho começar com {@code /}, senão no sistema de arquivos.
+     *
+     * @param caminho Caminho do recurso.
+     * @return A URL do recurso, ou null se não existir.
+     */
+    static URL localizar(String caminho) {
+        if (caminho.startsWith("/")) {
+            URL url = CacheDeImagens.class.getResource(caminho);
+            if (url != null) return url;
+        }
+        File arquivo = new File(caminho);
+        try {
+            return arquivo.isFile() ? arquivo.toURI().toURL() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static BufferedImage decodificar(String caminho) {
+        URL url = localizar(caminho);
+        if (url == null) {
+            Log.aviso("CacheDeImagens", "Imagem não encontrada: " + caminho);
+            return null;
+        }
+        try {
+            return ImageIO.read(url);
+        } catch (IOException e) {
+            Log.erro("CacheDeImagens", "Erro ao ler imagem " + caminho, e);
+            return null;
+        }
+    }
+
+    private static BufferedImage escalar(BufferedImage original, int largura, int altura) {
+        if (original == null) return null;
+        BufferedImage escalada = new BufferedImage(largura, altura,
+                original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = escalada.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(original, 0, 0, largura, altura, null);
+        g.dispose();
+        return escalada;
+    }
+}
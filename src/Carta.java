@@ -1,22 +1,32 @@
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Representa uma carta do jogo da memória, contendo imagem da frente e do verso,
  * estado de virada/encontrada e lógica de animação de virada.
  */
 public class Carta {
+    /**
+     * Passos da animação de virada: uma largura de {@link QuadrosDeVirada} por passo em
+     * cada metade, mais o passo em que a face troca.
+     */
+    static final int PASSOS_DA_VIRADA = 2 * QuadrosDeVirada.NIVEIS;
+
+    /**
+     * Intervalo entre os passos, em milissegundos; a virada inteira dura cerca de 300 ms.
+     */
+    static final int INTERVALO_DA_VIRADA = 15;
+
     private Image imagemFrente;
     private Image imagemCosta;
-    private boolean virada = false;
+    private volatile boolean virada = false;
     private boolean encontrada = false;
     private int id;
-    private double escalaX = 1.0;
-    private PainelDeJogo painel;
+    private volatile double escalaX = 1.0;
+    private volatile boolean acelerada;
+    private volatile long instanteClique;
+    private volatile boolean animando;
+    private Component painel;
+    private EscopoDeRecursos escopo = EscopoDeRecursos.PROCESSO;
 
     /**
      * Construtor da carta, inicializando imagens de frente e verso com base nos caminhos fornecidos.
@@ -26,12 +36,9 @@ public class Carta {
      * @param id            Identificador único da carta.
      */
     public Carta(String caminhoFrente, String caminhoCosta, int id) {
-        try {
-            this.imagemFrente = ImageIO.read(new File(caminhoFrente));
-            this.imagemCosta = ImageIO.read(new File(caminhoCosta));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // As duas cartas de um par e todos os versos compartilham a mesma imagem decodificada
+        this.imagemFrente = CacheDeImagens.obter(caminhoFrente);
+        this.imagemCosta = CacheDeImagens.obter(caminhoCosta);
         this.id = id;
     }
 
@@ -40,10 +47,40 @@ public class Carta {
      *
      * @param painel O painel de jogo responsável pelo desenho e atualizações.
      */
-    public void setPainel(PainelDeJogo painel) {
+    public void setPainel(Component painel) {
         this.painel = painel;
     }
 
+    /**
+     * Reaproveita a carta para outra posição do tabuleiro, trocando as imagens e o estado.
+     * Usado pelo {@link TabuleiroVirtual}, que mantém cartas apenas para as posições visíveis.
+     *
+     * @param caminhoFrente Caminho do arquivo da imagem da frente da carta.
+     * @param caminhoCosta  Caminho do arquivo da imagem do verso da carta.
+     * @param id            Identificador de par da carta.
+     * @param virada        true se a carta está virada para cima.
+     * @param encontrada    true se a carta já formou par.
+     */
+    void reutilizar(String caminhoFrente, String caminhoCosta, int id, boolean virada, boolean encontrada) {
+        this.imagemFrente = CacheDeImagens.obter(caminhoFrente);
+        this.imagemCosta = CacheDeImagens.obter(caminhoCosta);
+        this.id = id;
+        this.virada = virada;
+        this.encontrada = encontrada;
+        this.escalaX = 1.0;
+        this.acelerada = false;
+        this.instanteClique = 0;
+    }
+
+    /**
+     * Define o escopo dono das animações da carta; ao fechá-lo, animações pendentes são canceladas.
+     *
+     * @param escopo O escopo da partida.
+     */
+    public void setEscopo(EscopoDeRecursos escopo) {
+        this.escopo = escopo;
+    }
+
     /**
      * Desenha a carta no painel gráfico, com escala de animação.
      *
@@ -54,10 +91,39 @@ public class Carta {
      * @param altura   Altura da carta.
      */
     public void desenhar(Graphics g, int x, int y, int largura, int altura) {
-        int larguraEscalada = (int) (largura * escalaX);
-        int deslocamentoX = (largura - larguraEscalada) / 2;
+        double escala = escalaX;
         Image img = (virada || encontrada) ? imagemFrente : imagemCosta;
-        g.drawImage(img, x + deslocamentoX, y, larguraEscalada, altura, null);
+        // Os quadros da animação já estão no tamanho da célula; só escalas fora deles
+        // (como as fixadas pelos benchmarks) redimensionam a imagem original
+        if (!QuadrosDeVirada.desenhar(g, img, escala, x, y, largura, altura)) {
+            int larguraEscalada = (int) (largura * escala);
+            int deslocamentoX = (largura - larguraEscalada) / 2;
+            g.drawImage(img, x + deslocamentoX, y, larguraEscalada, altura, null);
+        }
+
+        // Primeiro quadro em que a carta reage ao clique: registra a latência
+        long clique = instanteClique;
+        if (clique != 0 && (escala < 1.0 || virada)) {
+            instanteClique = 0;
+            FilaDeEntrada.registrarResposta(clique);
+        }
+    }
+
+    /**
+     * Marca o instante do clique que vai virar a carta, para medir a latência até a
+     * primeira resposta visual.
+     *
+     * @param instante Instante do clique, em {@link System#nanoTime()}.
+     */
+    public void marcarClique(long instante) {
+        instanteClique = instante;
+    }
+
+    /**
+     * Conclui a animação em andamento no próximo passo; usado quando há cliques esperando.
+     */
+    public void acelerar() {
+        acelerada = true;
     }
 
     /**
@@ -66,31 +132,83 @@ public class Carta {
      * @param callback Função a ser executada ao final da animação (pode ser null).
      */
     public void virarComAnimacao(Runnable callback) {
-        Timer timer = new Timer();
-        final int passos = 10;
-        final int intervalo = 30;
+        final int passos = PASSOS_DA_VIRADA;
+        final int intervalo = INTERVALO_DA_VIRADA;
         final boolean virarParaFrente = !virada;
+        final int[] passoAtual = {0};
+        acelerada = false;
+        animando = true;
+        EventosJfr.VirarCarta evento = new EventosJfr.VirarCarta();
+        evento.begin();
 
-        timer.scheduleAtFixedRate(new TimerTask() {
-            int passoAtual = 0;
-
-            @Override
-            public void run() {
-                passoAtual++;
-                if (passoAtual <= passos / 2) {
-                    escalaX = 1.0 - (passoAtual / (double)(passos / 2));
-                } else if (passoAtual == (passos / 2) + 1) {
-                    virada = virarParaFrente;
-                } else if (passoAtual <= passos) {
-                    escalaX = (passoAtual - passos / 2) / (double)(passos / 2);
-                } else {
-                    escalaX = 1.0;
-                    timer.cancel();
-                    if (callback != null) callback.run(); // Chama o callback após a animação
-                }
-                if (painel != null) painel.repaint(); // Atualiza o painel durante a animação
+        // Os passos rodam no agendador compartilhado do escopo, sem criar uma thread por animação
+        escopo.repetir(() -> {
+            if (acelerada) {
+                // Há cliques esperando: pula direto para o fim da animação
+                acelerada = false;
+                virada = virarParaFrente;
+                passoAtual[0] = passos;
+                evento.encurtada = true;
+            }
+            passoAtual[0]++;
+            boolean continuar = true;
+            if (passoAtual[0] <= passos / 2) {
+                escalaX = 1.0 - (passoAtual[0] / (double)(passos / 2));
+            } else if (passoAtual[0] == (passos / 2) + 1) {
+                virada = virarParaFrente;
+            } else if (passoAtual[0] <= passos) {
+                escalaX = (passoAtual[0] - passos / 2) / (double)(passos / 2);
+            } else {
+                escalaX = 1.0;
+                continuar = false;
+                animando = false;
+                evento.carta = id;
+                evento.paraFrente = virarParaFrente;
+                evento.commit();
+                if (callback != null) callback.run(); // Chama o callback após a animação
             }
-        }, 0, intervalo);
+            if (painel != null) painel.repaint(); // Atualiza o painel durante a animação
+            return continuar;
+        }, intervalo);
+    }
+
+    /**
+     * Fixa a carta em um quadro da animação de virada, sem animá-la. Usado pelos
+     * benchmarks de renderização para desenhar tabuleiros com cartas no meio da virada.
+     *
+     * @param escala Largura relativa da carta, de 0 (de perfil) a 1.
+     * @param virada true se a frente está à mostra.
+     */
+    void definirQuadroDaAnimacao(double escala, boolean virada) {
+        this.escalaX = escala;
+        this.virada = virada;
+    }
+
+    /**
+     * Retorna a imagem da frente, compartilhada com as outras cartas do par.
+     *
+     * @return A imagem, ou null se não pôde ser carregada.
+     */
+    Image getImagemFrente() {
+        return imagemFrente;
+    }
+
+    /**
+     * Retorna a imagem do verso, compartilhada com as outras cartas.
+     *
+     * @return A imagem, ou null se não pôde ser carregada.
+     */
+    Image getImagemCosta() {
+        return imagemCosta;
+    }
+
+    /**
+     * Indica se a animação de virada está em andamento.
+     *
+     * @return true enquanto a carta anima.
+     */
+    public boolean isAnimando() {
+        return animando;
     }
 
     /**
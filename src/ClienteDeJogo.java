@@ -0,0 +1,104 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente do {@link ServidorDeJogo}. As mensagens recebidas são lidas por uma virtual
+ * thread e ficam disponíveis em ordem através de {@link #receber(long)}.
+ */
+public class ClienteDeJogo implements AutoCloseable {
+    private final Socket socket;
+    private final DataOutputStream saida;
+    private final BlockingQueue<ProtocoloJogo.Mensagem> recebidas = new LinkedBlockingQueue<>();
+
+    /**
+     * Conecta ao servidor.
+     *
+     * @param host  Endereço do servidor.
+     * @param porta Porta do servidor.
+     * @throws IOException Se a conexão falhar.
+     */
+    public ClienteDeJogo(String host, int porta) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, porta), 5000);
+        saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        Thread.ofVirtual().name("cliente-leitor").start(() -> {
+            try {
+                while (true) recebidas.add(ProtocoloJogo.ler(entrada));
+            } catch (IOException e) {
+                // Conexão encerrada
+            }
+        });
+    }
+
+    /**
+     * Pede para entrar em uma sala.
+     *
+     * @param sala    Nome da sala.
+     * @param jogador Nome do jogador.
+     * @param modo    {@link ProtocoloJogo#MODO_CONFRONTO} ou {@link ProtocoloJogo#MODO_TURNOS}.
+     * @param linhas  Linhas do tabuleiro.
+     * @param colunas Colunas do tabuleiro.
+     * @throws IOException Em caso de erro de envio.
+     */
+    public void entrar(String sala, String jogador, int modo, int linhas, int colunas) throws IOException {
+        enviar(new ProtocoloJogo.Mensagem(ProtocoloJogo.ENTRAR, sala + "\n" + jogador, modo, linhas, colunas));
+    }
+
+    /**
+     * Pede para virar uma carta.
+     *
+     * @param indice Posição da carta.
+     * @throws IOException Em caso de erro de envio.
+     */
+    public void virar(int indice) throws IOException {
+        enviar(new ProtocoloJogo.Mensagem(ProtocoloJogo.VIRAR, null, indice));
+    }
+
+    /**
+     * Envia uma mensagem ao servidor.
+     *
+     * @param mensagem A mensagem.
+     * @throws IOException Em caso de erro de envio.
+     */
+    public synchronized void enviar(ProtocoloJogo.Mensagem mensagem) throws IOException {
+        ProtocoloJogo.escrever(saida, mensagem);
+    }
+
+    /**
+     * Retorna a próxima mensagem recebida, aguardando até o tempo limite.
+     *
+     * @param limiteMs Tempo limite em milissegundos.
+     * @return A mensagem, ou null se nenhuma chegar no prazo.
+     * @throws InterruptedException Se a espera for interrompida.
+     */
+    public ProtocoloJogo.Mensagem receber(long limiteMs) throws InterruptedException {
+        return recebidas.poll(limiteMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Avisa o servidor e encerra a conexão.
+     */
+    @Override
+    public void close() {
+        try {
+            enviar(new ProtocoloJogo.Mensagem(ProtocoloJogo.SAIR, null));
+        } catch (IOException e) {
+            // Conexão já encerrada
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nada a fazer ao fechar
+        }
+    }
+}
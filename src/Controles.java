@@ -1,101 +1,237 @@
-import javax.sound.sampled.*;
-import java.net.URL;
-import java.util.Timer;
-import java.util.TimerTask;
+import javax.swing.SwingUtilities;
 
 /**
  * Classe responsável pelo controle da lógica de interação do jogador com as cartas,
  * gerenciamento de tentativas, pares encontrados e reprodução de sons.
+ *
+ * Cliques feitos enquanto uma carta anima ou enquanto o segundo cartão é exibido não
+ * são descartados: vão para uma {@link FilaDeEntrada} e são aplicados assim que a
+ * jogada anterior termina. Com cliques pendentes, as animações são encurtadas.
+ * Após um erro, a próxima jogada só é liberada quando as duas cartas terminam de
+ * desvirar, para que um clique guardado em uma delas não seja perdido.
+ * O estado é confinado à thread de eventos do Swing; as tarefas agendadas voltam a
+ * ela antes de mexer no tabuleiro.
  */
 public class Controles {
+    /**
+     * Tempo em que as duas cartas de uma tentativa ficam visíveis.
+     */
+    private static final long ATRASO_VERIFICACAO_MS = 500;
+
+    /**
+     * Tempo mínimo de exibição das duas cartas quando há cliques esperando.
+     */
+    private static final long ATRASO_ENCURTADO_MS = 150;
+
+    /**
+     * Efeitos sonoros da partida: carta virada, par encontrado e erro.
+     */
+    static final String SOM_VIRADA = "/assets/audios/ping.wav";
+    static final String SOM_PAR = "/assets/audios/not.wav";
+    static final String SOM_ERRO = "/assets/audios/error.wav";
+
+    private static volatile boolean encurtarAnimacoes = true;
+
     private Carta primeiraCarta = null;
     private Carta segundaCarta = null;
+    private Carta animando = null;
+    private Carta[] desvirando = null;
     private boolean aguardando = false;
-    private Timer timer = new Timer();
-    private PainelDeJogo painel;
-    private int tentativas = 0;
+    private int ultimaVerificacao;
+    private int verificacaoPendente;
+    private boolean parPendente;
+    private long inicioVerificacao;
+    private EventosJfr.VerificarPar eventoVerificacao;
+    private VisaoDoTabuleiro painel;
+    private final SessaoDeJogo sessao;
+    private final EscopoDeRecursos escopo;
+    private final FilaDeEntrada entrada = new FilaDeEntrada();
 
     /**
      * Construtor que associa os controles a um painel de jogo.
      *
-     * @param painel O painel de jogo onde a lógica será aplicada.
+     * @param painel O painel de jogo (ou tabuleiro de maratona) onde a lógica será aplicada.
+     * @param sessao A sessão que guarda o estado da partida.
+     * @param escopo O escopo da partida, dono dos sons e das verificações agendadas.
      */
-    public Controles(PainelDeJogo painel) {
+    public Controles(VisaoDoTabuleiro painel, SessaoDeJogo sessao, EscopoDeRecursos escopo) {
         this.painel = painel;
+        this.sessao = sessao;
+        this.escopo = escopo;
+    }
+
+    /**
+     * Define se as animações são encurtadas quando há cliques esperando (padrão: sim).
+     *
+     * @param encurtar true para encurtar as animações.
+     */
+    public static void setEncurtarAnimacoes(boolean encurtar) {
+        encurtarAnimacoes = encurtar;
     }
 
     /**
-     * Método chamado ao clicar em uma carta. Controla o processo de virada e verificação de par.
+     * Método chamado ao clicar em uma carta, com o instante atual como instante do clique.
      *
      * @param carta A carta que foi clicada.
      */
     public void clicarCarta(Carta carta) {
-        if (aguardando || carta.isVirada() || carta.isEncontrada()) return;
+        clicarCarta(carta, System.nanoTime());
+    }
+
+    /**
+     * Método chamado ao clicar em uma carta. Controla o processo de virada e verificação de par;
+     * se a jogada anterior ainda não terminou, guarda o clique para aplicá-lo em seguida.
+     *
+     * @param carta    A carta que foi clicada.
+     * @param instante Instante do evento de clique, em {@link System#nanoTime()}.
+     */
+    public void clicarCarta(Carta carta, long instante) {
+        if (carta.isEncontrada()) return;
+        if (aguardando) {
+            if (entrada.oferecer(painel.indiceDe(carta), instante)) acelerar();
+            return;
+        }
+        if (sessao.isVirada(painel.indiceDe(carta))) return;
         aguardando = true;
+        animando = carta;
 
-        carta.virarComAnimacao(() -> {
-            tocarSom("/assets/audios/ping.wav");
-
-            if (primeiraCarta == null) {
-                primeiraCarta = carta;
-                aguardando = false;
-            } else if (segundaCarta == null) {
-                segundaCarta = carta;
-                tentativas++;
-                verificarPar();
-            }
-        });
+        carta.marcarClique(instante);
+        carta.virarComAnimacao(() -> SwingUtilities.invokeLater(() -> aoVirar(carta)));
     }
 
     /**
-     * Verifica se as duas cartas selecionadas formam um par. Caso afirmativo, marca como encontradas.
-     * Caso contrário, realiza a animação de desvirar as cartas. Sons são reproduzidos conforme o resultado.
+     * Aplica a virada na sessão ao fim da animação.
+     */
+    private void aoVirar(Carta carta) {
+        animando = null;
+        tocarSom(SOM_VIRADA);
+
+        RegrasDoJogo.Resultado resultado = sessao.virar(painel.indiceDe(carta));
+        if (resultado == RegrasDoJogo.Resultado.PRIMEIRA) {
+            primeiraCarta = carta;
+            liberar();
+        } else if (resultado == RegrasDoJogo.Resultado.IGNORADA) {
+            // A partida terminou durante a animação
+            entrada.limpar();
+            aguardando = false;
+        } else {
+            segundaCarta = carta;
+            verificarPar(resultado == RegrasDoJogo.Resultado.PAR);
+        }
+    }
+
+    /**
+     * Libera a próxima jogada, aplicando os cliques guardados enquanto houver.
+     */
+    private void liberar() {
+        aguardando = false;
+        FilaDeEntrada.Clique clique;
+        while (!aguardando && (clique = entrada.retirar()) != null) {
+            clicarCarta(painel.getCarta(clique.indice), clique.instante);
+        }
+    }
+
+    /**
+     * Encurta a jogada em andamento para atender os cliques guardados.
+     */
+    private void acelerar() {
+        if (!encurtarAnimacoes) return;
+        if (animando != null) animando.acelerar();
+        if (desvirando != null) {
+            for (Carta carta : desvirando) carta.acelerar();
+        }
+        if (verificacaoPendente != 0) {
+            long decorridoMs = (System.nanoTime() - inicioVerificacao) / 1_000_000;
+            agendarVerificacao(verificacaoPendente, Math.max(0, ATRASO_ENCURTADO_MS - decorridoMs));
+        }
+    }
+
+    /**
+     * Agenda o resultado da tentativa avaliada pela sessão, deixando as duas cartas visíveis por um instante.
+     *
+     * @param par true se as duas cartas formaram par.
      */
-    private void verificarPar() {
+    private void verificarPar(boolean par) {
         aguardando = true;
+        verificacaoPendente = ++ultimaVerificacao;
+        parPendente = par;
+        inicioVerificacao = System.nanoTime();
+        eventoVerificacao = new EventosJfr.VerificarPar();
+        eventoVerificacao.begin();
+        boolean encurtar = encurtarAnimacoes && !entrada.isVazia();
+        // tempo de espera para o jogador visualizar as cartas
+        agendarVerificacao(verificacaoPendente, encurtar ? ATRASO_ENCURTADO_MS : ATRASO_VERIFICACAO_MS);
+    }
+
+    private void agendarVerificacao(int verificacao, long atrasoMs) {
+        escopo.agendar(() -> SwingUtilities.invokeLater(() -> aplicarVerificacao(verificacao)), atrasoMs);
+    }
+
+    /**
+     * Aplica o resultado da tentativa. Caso as cartas formem par, marca como encontradas.
+     * Caso contrário, realiza a animação de desvirar as cartas. Sons são reproduzidos conforme o resultado.
+     * Reagendamentos da mesma verificação são ignorados depois da primeira execução.
+     */
+    private void aplicarVerificacao(int verificacao) {
+        if (verificacaoPendente != verificacao) return;
+        verificacaoPendente = 0;
+
+        EventosJfr.VerificarPar evento = eventoVerificacao;
+        if (evento.shouldCommit()) {
+            evento.primeira = primeiraCarta.getId();
+            evento.segunda = segundaCarta.getId();
+            evento.par = parPendente;
+            evento.tentativas = sessao.getTentativas();
+            evento.encurtada = (System.nanoTime() - inicioVerificacao) / 1_000_000 < ATRASO_VERIFICACAO_MS;
+            evento.commit();
+        }
+
+        if (parPendente) {
+            primeiraCarta.setEncontrada(true);
+            segundaCarta.setEncontrada(true);
+            tocarSom(SOM_PAR);
+            painel.atualizarPontuacao();
+
+            painel.verificarFimDeJogo();
+        } else {
+            sessao.desvirarErro();
+            desvirando = new Carta[]{primeiraCarta, segundaCarta};
+            Runnable aoDesvirar = () -> SwingUtilities.invokeLater(this::aoDesvirar);
+            primeiraCarta.virarComAnimacao(aoDesvirar);
+            segundaCarta.virarComAnimacao(aoDesvirar);
+            tocarSom(SOM_ERRO);
+            if (!entrada.isVazia()) acelerar();
+
+            primeiraCarta = null;
+            segundaCarta = null;
+            return;
+        }
+
+        primeiraCarta = null;
+        segundaCarta = null;
+        liberar();
+    }
 
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (primeiraCarta.getId() == segundaCarta.getId()) {
-                    primeiraCarta.setEncontrada(true);
-                    segundaCarta.setEncontrada(true);
-                    tocarSom("/assets/audios/not.wav");
-                    painel.atualizarPontuacao();
-
-                    painel.verificarFimDeJogo();
-                } else {
-                    primeiraCarta.virarComAnimacao(null);
-                    segundaCarta.virarComAnimacao(null);
-                    tocarSom("/assets/audios/error.wav");
-                }
-
-                primeiraCarta = null;
-                segundaCarta = null;
-                aguardando = false;
-            }
-        }, 500); // tempo de espera para o jogador visualizar as cartas
+    /**
+     * Libera a próxima jogada quando as duas cartas de um erro terminam de desvirar.
+     */
+    private void aoDesvirar() {
+        if (desvirando == null) return;
+        for (Carta carta : desvirando) {
+            if (carta.isAnimando()) return;
+        }
+        desvirando = null;
+        liberar();
     }
 
     /**
-     * Reproduz um efeito sonoro a partir do caminho do recurso de áudio.
+     * Reproduz um efeito sonoro a partir do caminho do recurso de áudio. A linha de áudio
+     * pertence ao escopo da partida e é fechada quando o som termina.
      *
      * @param caminhoM Caminho relativo do arquivo de som dentro do projeto.
      */
     private void tocarSom(String caminhoM) {
-        try {
-            URL url = getClass().getResource(caminhoM);
-            if (url != null) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-            } else {
-                System.err.println("Som não encontrado: " + caminhoM);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        escopo.tocarSom(caminhoM);
     }
 
     /**
@@ -104,6 +240,15 @@ public class Controles {
      * @return Número de tentativas.
      */
     public int getTentativas() {
-        return tentativas;
+        return sessao.getTentativas();
+    }
+
+    /**
+     * Retorna a fila dos cliques ainda não aplicados.
+     *
+     * @return A fila de entrada da partida.
+     */
+    public FilaDeEntrada getEntrada() {
+        return entrada;
     }
 }
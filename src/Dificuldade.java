@@ -16,7 +16,13 @@ public enum Dificuldade {
     /**
      * Nível difícil: tabuleiro 6x6, 60 segundos.
      */
-    DIFICIL(6, 6, 60);
+    DIFICIL(6, 6, 60),
+
+    /**
+     * Maratona: tabuleiro 50x50, uma hora. Jogada em um {@link PainelMaratona}, que só
+     * desenha as cartas visíveis; não faz parte da progressão de {@link #proximaDificuldade}.
+     */
+    MARATONA(50, 50, 3600);
 
     /**
      * Número de linhas do tabuleiro para esta dificuldade.
@@ -0,0 +1,415 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineEvent;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Dono dos recursos de uma partida ou tela: tarefas agendadas, linhas de áudio e
+ * qualquer outro {@link AutoCloseable} registrado. Fechar o escopo encerra tudo o que
+ * ele possui, na ordem inversa do registro, e recursos registrados depois do fechamento
+ * são encerrados na hora.
+ *
+ * As tarefas de todos os escopos (animações das cartas, verificação de pares, preview)
+ * rodam em um único agendador compartilhado, em vez de uma thread de {@link java.util.Timer}
+ * por animação. Os efeitos sonoros são decodificados uma vez por arquivo e cada linha de
+ * áudio é fechada assim que o som termina.
+ *
+ * Os contadores estáticos ({@link #diagnostico()}) mostram quantos escopos, tarefas e
+ * linhas de áudio estão vivos no processo, para detectar vazamentos em sessões longas.
+ */
+public final class EscopoDeRecursos implements AutoCloseable {
+
+    private static final AtomicInteger ESCOPOS_ABERTOS = new AtomicInteger();
+    private static final AtomicInteger TAREFAS_ATIVAS = new AtomicInteger();
+    private static final AtomicInteger LINHAS_ABERTAS = new AtomicInteger();
+
+    /**
+     * Agendador compartilhado; tarefas canceladas saem da fila imediatamente.
+     */
+    private static final ScheduledThreadPoolExecutor AGENDADOR = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "EscopoDeRecursos");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        AGENDADOR.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sons já decodificados, por caminho (vazio se o arquivo não existir ou não puder ser lido).
+     */
+    private static final ConcurrentHashMap<String, Optional<Som>> SONS = new ConcurrentHashMap<>();
+
+    /**
+     * Evita repetir o aviso de saída de áudio indisponível a cada som.
+     */
+    private static final AtomicBoolean AUDIO_AVISADO = new AtomicBoolean();
+
+    /**
+     * Escopo que dura o processo inteiro, usado por objetos criados fora de uma tela.
+     */
+    public static final EscopoDeRecursos PROCESSO = new EscopoDeRecursos("processo");
+
+    private final String nome;
+    private final Deque<AutoCloseable> recursos = new ArrayDeque<>();
+    private boolean fechado;
+
+    /**
+     * Cria um escopo aberto.
+     *
+     * @param nome Nome usado nas mensagens de diagnóstico.
+     */
+    public EscopoDeRecursos(String nome) {
+        this.nome = nome;
+        ESCOPOS_ABERTOS.incrementAndGet();
+    }
+
+    /**
+     * Registra um recurso para ser encerrado junto com o escopo.
+     *
+     * @param recurso O recurso.
+     * @param <T>     Tipo do recurso.
+     * @return O próprio recurso.
+     */
+    public <T extends AutoCloseable> T registrar(T recurso) {
+        synchronized (recursos) {
+            if (!fechado) {
+                recursos.push(recurso);
+                return recurso;
+            }
+        }
+        encerrar(recurso);
+        return recurso;
+    }
+
+    /**
+     * Remove um recurso do escopo sem encerrá-lo (usado quando ele se encerra sozinho).
+     */
+    private void remover(AutoCloseable recurso) {
+        synchronized (recursos) {
+            recursos.remove(recurso);
+        }
+    }
+
+    /**
+     * Executa a ação uma vez, depois do atraso, se o escopo ainda estiver aberto.
+     *
+     * @param acao     A ação.
+     * @param atrasoMs Atraso em milissegundos.
+     * @return A tarefa agendada.
+     */
+    public Tarefa agendar(Runnable acao, long atrasoMs) {
+        Tarefa tarefa = registrar(new Tarefa());
+        tarefa.iniciar(AGENDADOR.schedule(() -> {
+            try {
+                acao.run();
+            } finally {
+                tarefa.close();
+            }
+        }, atrasoMs, TimeUnit.MILLISECONDS));
+        return tarefa;
+    }
+
+    /**
+     * Executa o passo a cada intervalo, começando imediatamente, enquanto ele retornar true
+     * e o escopo estiver aberto.
+     *
+     * @param passo      O passo; retorna false para encerrar a repetição.
+     * @param intervaloMs Intervalo entre os passos em milissegundos.
+     * @return A tarefa agendada.
+     */
+    public Tarefa repetir(BooleanSupplier passo, long intervaloMs) {
+        Tarefa tarefa = registrar(new Tarefa());
+        tarefa.iniciar(AGENDADOR.scheduleAtFixedRate(() -> {
+            boolean continuar = false;
+            try {
+                continuar = passo.getAsBoolean();
+            } finally {
+                if (!continuar) tarefa.close();
+            }
+        }, 0, intervaloMs, TimeUnit.MILLISECONDS));
+        return tarefa;
+    }
+
+    /**
+     * Toca um efeito sonoro uma vez; a linha de áudio é fechada quando o som termina
+     * ou quando o escopo é fechado.
+     *
+     * @param caminho Caminho do arquivo WAV (no classpath se começar com {@code /}).
+     */
+    public void tocarSom(String caminho) {
+        EventosJfr.TocarSom jfr = new EventosJfr.TocarSom();
+        jfr.begin();
+        jfr.arquivo = caminho;
+        jfr.emCache = SONS.containsKey(caminho);
+        Clip clip = abrirClip(caminho);
+        if (clip == null) {
+            jfr.commit();
+            return;
+        }
+        jfr.bytes = clip.getFrameLength() * (long) clip.getFormat().getFrameSize();
+        clip.addLineListener(evento -> {
+            if (evento.getType() == LineEvent.Type.START) {
+                // Latência até a linha de áudio começar a tocar
+                jfr.tocado = true;
+                jfr.commit();
+            } else if (evento.getType() == LineEvent.Type.STOP) {
+                fecharClip(clip);
+            }
+        });
+        clip.start();
+    }
+
+    /**
+     * Decodifica o som de antemão, para que a primeira reprodução não leia o arquivo.
+     *
+     * @param caminho Caminho do arquivo WAV (no classpath se começar com {@code /}).
+     */
+    public static void preCarregarSom(String caminho) {
+        SONS.computeIfAbsent(caminho, EscopoDeRecursos::decodificar);
+    }
+
+    /**
+     * Indica se o som já foi decodificado (ou se já se sabe que ele não existe).
+     *
+     * @param caminho Caminho do arquivo WAV.
+     * @return true se o som está no cache.
+     */
+    static boolean isSomEmCache(String caminho) {
+        return SONS.containsKey(caminho);
+    }
+
+    /**
+     * Abre uma linha de áudio com o som, pertencente a este escopo, sem iniciá-la.
+     *
+     * @param caminho Caminho do arquivo WAV (no classpath se começar com {@code /}).
+     * @return A linha aberta, ou null se o som não existir ou não houver saída de áudio.
+     */
+    public Clip abrirClip(String caminho) {
+        Som som = SONS.computeIfAbsent(caminho, EscopoDeRecursos::decodificar).orElse(null);
+        if (som == null) return null;
+        try {
+            Clip clip = AudioSystem.getClip();
+            clip.open(som.formato, som.dados, 0, som.dados.length);
+            LINHAS_ABERTAS.incrementAndGet();
+            registrar(new LinhaDeAudio(clip));
+            return clip;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            if (AUDIO_AVISADO.compareAndSet(false, true)) {
+                Log.aviso("EscopoDeRecursos", "Saída de áudio indisponível: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Fecha uma linha de áudio aberta por {@link #abrirClip(String)} antes do fim do escopo.
+     *
+     * @param clip A linha de áudio.
+     */
+    public void fecharClip(Clip clip) {
+        LinhaDeAudio linha = null;
+        synchronized (recursos) {
+            for (AutoCloseable r : recursos) {
+                if (r instanceof LinhaDeAudio l && l.clip == clip) linha = l;
+            }
+        }
+        if (linha != null) linha.close();
+    }
+
+    /**
+     * Fecha o escopo, encerrando todos os recursos na ordem inversa do registro.
+     * Chamadas repetidas não têm efeito.
+     */
+    @Override
+    public void close() {
+        List<AutoCloseable> pendentes;
+        synchronized (recursos) {
+            if (fechado) return;
+            fechado = true;
+            pendentes = new ArrayList<>(recursos);
+            recursos.clear();
+        }
+        for (AutoCloseable recurso : pendentes) encerrar(recurso);
+        ESCOPOS_ABERTOS.decrementAndGet();
+    }
+
+    /**
+     * Indica se o escopo já foi fechado.
+     *
+     * @return true se fechado.
+     */
+    public boolean isFechado() {
+        synchronized (recursos) {
+            return fechado;
+        }
+    }
+
+    /**
+     * Retorna o número de recursos ainda registrados neste escopo.
+     *
+     * @return O número de recursos vivos.
+     */
+    public int getRecursos() {
+        synchronized (recursos) {
+            return recursos.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EscopoDeRecursos[" + nome + ", recursos=" + getRecursos() + (isFechado() ? ", fechado" : "") + "]";
+    }
+
+    /**
+     * Retorna o número de escopos abertos no processo (inclui o {@link #PROCESSO}).
+     *
+     * @return Escopos abertos.
+     */
+    public static int getEscoposAbertos() {
+        return ESCOPOS_ABERTOS.get();
+    }
+
+    /**
+     * Retorna o número de tarefas agendadas ou em execução no processo.
+     *
+     * @return Tarefas ativas.
+     */
+    public static int getTarefasAtivas() {
+        return TAREFAS_ATIVAS.get();
+    }
+
+    /**
+     * Retorna o número de linhas de áudio abertas no processo.
+     *
+     * @return Linhas de áudio abertas.
+     */
+    public static int getLinhasDeAudioAbertas() {
+        return LINHAS_ABERTAS.get();
+    }
+
+    /**
+     * Resume os contadores de recursos vivos.
+     *
+     * @return Texto com escopos, tarefas, linhas de áudio e threads vivas.
+     */
+    public static String diagnostico() {
+        return "escopos=" + getEscoposAbertos() + " tarefas=" + getTarefasAtivas()
+                + " fila=" + AGENDADOR.getQueue().size() + " linhasDeAudio=" + getLinhasDeAudioAbertas()
+                + " threads=" + Thread.activeCount();
+    }
+
+    /**
+     * Imprime o diagnóstico na saída de erro periodicamente, enquanto o processo durar.
+     *
+     * @param segundos Intervalo entre os relatórios.
+     */
+    public static void relatarPeriodicamente(long segundos) {
+        PROCESSO.repetir(() -> {
+            System.err.println("[recursos] " + diagnostico());
+            return true;
+        }, segundos * 1000);
+    }
+
+    private static void encerrar(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception e) {
+            Log.erro("EscopoDeRecursos", "Erro ao encerrar recurso", e);
+        }
+    }
+
+    private static Optional<Som> decodificar(String caminho) {
+        URL url = CacheDeImagens.localizar(caminho);
+        if (url == null) {
+            Log.aviso("EscopoDeRecursos", "Som não encontrado: " + caminho);
+            return Optional.empty();
+        }
+        try (AudioInputStream entrada = AudioSystem.getAudioInputStream(url)) {
+            return Optional.of(new Som(entrada.getFormat(), entrada.readAllBytes()));
+        } catch (UnsupportedAudioFileException | IOException e) {
+            Log.erro("EscopoDeRecursos", "Erro ao ler som " + caminho, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Amostras decodificadas de um arquivo de som.
+     */
+    private record Som(AudioFormat formato, byte[] dados) {
+    }
+
+    /**
+     * Tarefa agendada por um escopo; fechá-la cancela as execuções pendentes.
+     */
+    public final class Tarefa implements AutoCloseable {
+        private final AtomicBoolean ativa = new AtomicBoolean(true);
+        private volatile ScheduledFuture<?> futuro;
+
+        private Tarefa() {
+            TAREFAS_ATIVAS.incrementAndGet();
+        }
+
+        private void iniciar(ScheduledFuture<?> futuro) {
+            this.futuro = futuro;
+            // Fechada enquanto era agendada: cancela agora
+            if (!ativa.get()) futuro.cancel(false);
+        }
+
+        /**
+         * Indica se a tarefa ainda pode executar.
+         *
+         * @return true se ainda não terminou nem foi cancelada.
+         */
+        public boolean isAtiva() {
+            return ativa.get();
+        }
+
+        @Override
+        public void close() {
+            if (!ativa.compareAndSet(true, false)) return;
+            ScheduledFuture<?> f = futuro;
+            if (f != null) f.cancel(false);
+            TAREFAS_ATIVAS.decrementAndGet();
+            remover(this);
+        }
+    }
+
+    /**
+     * Linha de áudio pertencente a um escopo.
+     */
+    private final class LinhaDeAudio implements AutoCloseable {
+        private final Clip clip;
+        private final AtomicBoolean aberta = new AtomicBoolean(true);
+
+        LinhaDeAudio(Clip clip) {
+            this.clip = clip;
+        }
+
+        @Override
+        public void close() {
+            if (!aberta.compareAndSet(true, false)) return;
+            clip.close();
+            LINHAS_ABERTAS.decrementAndGet();
+            remover(this);
+        }
+    }
+}
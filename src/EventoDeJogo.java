@@ -0,0 +1,74 @@
+import org.json.JSONObject;
+
+/**
+ * Evento imutável produzido pelo núcleo do jogo e distribuído pelo {@link BarramentoDeEventos}.
+ *
+ * O significado dos campos {@code a} e {@code b} depende do tipo:
+ * <ul>
+ *     <li>{@link Tipo#INICIO}: linhas e colunas do tabuleiro; {@code texto} é o nome do jogador.</li>
+ *     <li>{@link Tipo#VIRADA}: posição e identificador de par da carta virada.</li>
+ *     <li>{@link Tipo#PAR} e {@link Tipo#ERRO}: posições das duas cartas da tentativa.</li>
+ *     <li>{@link Tipo#TEMPO}: tempo restante em segundos.</li>
+ *     <li>{@link Tipo#FIM}: pontos e tentativas; {@code texto} é {@code vitoria} ou {@code derrota}.</li>
+ * </ul>
+ */
+public final class EventoDeJogo {
+    /**
+     * Tipos de evento.
+     */
+    public enum Tipo {
+        INICIO, VIRADA, PAR, ERRO, TEMPO, FIM
+    }
+
+    public final Tipo tipo;
+    public final int a;
+    public final int b;
+    public final String texto;
+    public final long instante;
+
+    /**
+     * Cria um evento com o instante atual.
+     *
+     * @param tipo  Tipo do evento.
+     * @param a     Primeiro campo numérico.
+     * @param b     Segundo campo numérico.
+     * @param texto Campo de texto (pode ser nulo).
+     */
+    public EventoDeJogo(Tipo tipo, int a, int b, String texto) {
+        this.tipo = tipo;
+        this.a = a;
+        this.b = b;
+        this.texto = texto;
+        this.instante = System.currentTimeMillis();
+    }
+
+    /**
+     * Indica se o evento pode ser substituído por um evento mais recente do mesmo tipo
+     * sem perda de informação para quem assiste (por exemplo, o relógio da partida).
+     *
+     * @return true se o evento for aglutinável.
+     */
+    public boolean isAglutinavel() {
+        return tipo == Tipo.TEMPO;
+    }
+
+    /**
+     * Serializa o evento como uma linha JSON, no mesmo formato do histórico.
+     *
+     * @return O objeto JSON do evento.
+     */
+    public JSONObject paraJson() {
+        JSONObject json = new JSONObject()
+                .put("tipo", tipo.name())
+                .put("a", a)
+                .put("b", b)
+                .put("instante", instante);
+        if (texto != null) json.put("texto", texto);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return paraJson().toString();
+    }
+}
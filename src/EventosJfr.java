@@ -0,0 +1,169 @@
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Eventos do Java Flight Recorder emitidos pelos pontos sensíveis do jogo: viradas de
+ * carta, verificação de pares, pintura do tabuleiro, reprodução de sons e operações nos
+ * arquivos de ranking, recordes, perfis e histórico.
+ *
+ * Sem gravação ativa, criar e confirmar um evento custa praticamente nada: o JFR só
+ * preenche e grava os eventos enquanto há uma gravação em andamento. A gravação é
+ * iniciada pela opção {@code --jfr[=arquivo.jfr]} do {@link MenuInicial} (ver
+ * {@link #iniciarGravacao(Path)}) ou por {@code -XX:StartFlightRecording}, e o arquivo
+ * pode ser aberto no JDK Mission Control ou com {@code jfr print --categories Brainrot}.
+ */
+public final class EventosJfr {
+    /**
+     * Arquivo padrão da gravação iniciada por {@code --jfr}.
+     */
+    public static final String ARQUIVO_PADRAO = "brainrot.jfr";
+
+    private EventosJfr() {
+    }
+
+    /**
+     * Animação de uma carta, do primeiro ao último passo.
+     */
+    @Name("brainrot.VirarCarta")
+    @Label("Virar carta")
+    @Category({"Brainrot", "Jogo"})
+    @Description("Animação de virada de uma carta")
+    public static class VirarCarta extends Event {
+        @Label("Carta")
+        @Description("Identificador de par da carta")
+        public int carta;
+
+        @Label("Para frente")
+        public boolean paraFrente;
+
+        @Label("Encurtada")
+        @Description("A animação foi encurtada porque havia cliques esperando")
+        public boolean encurtada;
+    }
+
+    /**
+     * Intervalo entre a segunda carta de uma tentativa e a aplicação do resultado.
+     */
+    @Name("brainrot.VerificarPar")
+    @Label("Verificar par")
+    @Category({"Brainrot", "Jogo"})
+    public static class VerificarPar extends Event {
+        @Label("Primeira carta")
+        public int primeira;
+
+        @Label("Segunda carta")
+        public int segunda;
+
+        @Label("Par")
+        public boolean par;
+
+        @Label("Tentativas")
+        public int tentativas;
+
+        @Label("Encurtada")
+        @Description("A exibição das cartas foi encurtada porque havia cliques esperando")
+        public boolean encurtada;
+    }
+
+    /**
+     * Pintura do painel de jogo.
+     */
+    @Name("brainrot.PintarPainel")
+    @Label("Pintar painel")
+    @Category({"Brainrot", "Renderização"})
+    public static class PintarPainel extends Event {
+        @Label("Linhas")
+        public int linhas;
+
+        @Label("Colunas")
+        public int colunas;
+
+        @Label("Cartas")
+        public int cartas;
+    }
+
+    /**
+     * Latência entre o pedido de um efeito sonoro e o início da reprodução.
+     */
+    @Name("brainrot.TocarSom")
+    @Label("Tocar som")
+    @Category({"Brainrot", "Áudio"})
+    public static class TocarSom extends Event {
+        @Label("Arquivo")
+        public String arquivo;
+
+        @Label("Tamanho")
+        @DataAmount
+        public long bytes;
+
+        @Label("Em cache")
+        @Description("O som já estava decodificado")
+        public boolean emCache;
+
+        @Label("Tocado")
+        @Description("Falso se não havia saída de áudio ou o arquivo não existe")
+        public boolean tocado;
+    }
+
+    /**
+     * Leitura ou escrita de um arquivo de ranking, recordes, perfil ou histórico.
+     */
+    @Name("brainrot.OperacaoArquivo")
+    @Label("Operação em arquivo")
+    @Category({"Brainrot", "E/S"})
+    public static class OperacaoArquivo extends Event {
+        @Label("Operação")
+        public String operacao;
+
+        @Label("Arquivo")
+        public String arquivo;
+
+        @Label("Bytes lidos")
+        @DataAmount
+        public long bytesLidos;
+
+        @Label("Bytes gravados")
+        @DataAmount
+        public long bytesGravados;
+
+        @Label("Conflito")
+        @Description("Outro escritor gravou entre a leitura e a escrita, e a mesclagem foi refeita")
+        public boolean conflito;
+    }
+
+    /**
+     * Inicia uma gravação com a configuração padrão do JDK mais os eventos do jogo. O
+     * arquivo é gravado quando o processo termina.
+     *
+     * @param destino Arquivo da gravação.
+     * @return A gravação iniciada.
+     * @throws IOException Se o arquivo de destino não puder ser usado.
+     */
+    public static Recording iniciarGravacao(Path destino) throws IOException {
+        Recording gravacao;
+        try {
+            gravacao = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            gravacao = new Recording();
+        }
+        gravacao.setName("Brainrot");
+        for (Class<? extends Event> evento : java.util.List.of(VirarCarta.class, VerificarPar.class,
+                PintarPainel.class, TocarSom.class, OperacaoArquivo.class)) {
+            gravacao.enable(evento);
+        }
+        gravacao.setDestination(destino);
+        gravacao.setDumpOnExit(true);
+        gravacao.start();
+        return gravacao;
+    }
+}
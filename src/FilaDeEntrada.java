@@ -0,0 +1,160 @@
+import java.awt.event.InputEvent;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+
+/**
+ * Fila limitada dos cliques feitos enquanto a partida ainda não pode aplicá-los
+ * (durante a animação de uma carta ou a pausa que mostra o segundo cartão). Em vez de
+ * descartar esses cliques, os {@link Controles} os guardam aqui e os aplicam, na ordem,
+ * assim que as regras permitirem.
+ *
+ * Cada clique leva o instante do evento AWT que o gerou. Quando a carta reage na tela,
+ * a latência entre o clique e a primeira resposta visual é registrada em um
+ * {@link HistogramaLatencia} compartilhado pelo processo ({@link #getLatencias()}).
+ */
+public class FilaDeEntrada {
+    /**
+     * Quantidade padrão de cliques guardados; cliques além dela são descartados.
+     */
+    public static final int CAPACIDADE_PADRAO = 4;
+
+    private static final HistogramaLatencia LATENCIAS = new HistogramaLatencia();
+
+    /**
+     * Clique guardado: posição da carta e instante do evento, em {@link System#nanoTime()}.
+     */
+    public static final class Clique {
+        public final int indice;
+        public final long instante;
+
+        Clique(int indice, long instante) {
+            this.indice = indice;
+            this.instante = instante;
+        }
+    }
+
+    private final ArrayDeque<Clique> cliques = new ArrayDeque<>();
+    private final int capacidade;
+    private long descartados;
+
+    /**
+     * Cria uma fila com a capacidade padrão.
+     */
+    public FilaDeEntrada() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Cria uma fila.
+     *
+     * @param capacidade Número máximo de cliques guardados.
+     */
+    public FilaDeEntrada(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Guarda um clique. Cliques repetidos na mesma carta e cliques com a fila cheia são
+     * descartados, mantendo a ordem dos que o jogador fez primeiro.
+     *
+     * @param indice   Posição da carta clicada.
+     * @param instante Instante do clique, em {@link System#nanoTime()}.
+     * @return true se o clique foi guardado.
+     */
+    public synchronized boolean oferecer(int indice, long instante) {
+        for (Clique c : cliques) {
+            if (c.indice == indice) return false;
+        }
+        if (cliques.size() >= capacidade) {
+            descartados++;
+            return false;
+        }
+        cliques.addLast(new Clique(indice, instante));
+        return true;
+    }
+
+    /**
+     * Retira o clique mais antigo.
+     *
+     * @return O clique, ou null se a fila estiver vazia.
+     */
+    public synchronized Clique retirar() {
+        return cliques.pollFirst();
+    }
+
+    /**
+     * Indica se não há cliques pendentes.
+     *
+     * @return true se a fila estiver vazia.
+     */
+    public synchronized boolean isVazia() {
+        return cliques.isEmpty();
+    }
+
+    /**
+     * Retorna o número de cliques pendentes.
+     *
+     * @return Os cliques na fila.
+     */
+    public synchronized int getPendentes() {
+        return cliques.size();
+    }
+
+    /**
+     * Retorna quantos cliques foram descartados por falta de espaço.
+     *
+     * @return Os cliques descartados.
+     */
+    public synchronized long getDescartados() {
+        return descartados;
+    }
+
+    /**
+     * Descarta os cliques pendentes (fim da partida).
+     */
+    public synchronized void limpar() {
+        cliques.clear();
+    }
+
+    /**
+     * Converte o horário de um evento AWT para a escala de {@link System#nanoTime()},
+     * de forma que a espera na fila de eventos também conte na latência.
+     *
+     * @param evento O evento de entrada.
+     * @return O instante do evento em nanossegundos.
+     */
+    public static long instanteDoEvento(InputEvent evento) {
+        long atrasoMs = Math.max(0, System.currentTimeMillis() - evento.getWhen());
+        return System.nanoTime() - atrasoMs * 1_000_000;
+    }
+
+    /**
+     * Registra a primeira resposta visual a um clique.
+     *
+     * @param instanteClique Instante do clique, em {@link System#nanoTime()}.
+     */
+    public static void registrarResposta(long instanteClique) {
+        LATENCIAS.registrar(System.nanoTime() - instanteClique);
+    }
+
+    /**
+     * Retorna o histograma das latências entre clique e resposta visual, em nanossegundos.
+     *
+     * @return O histograma do processo.
+     */
+    public static HistogramaLatencia getLatencias() {
+        return LATENCIAS;
+    }
+
+    /**
+     * Imprime o resumo e a distribuição das latências em milissegundos.
+     *
+     * @param saida Destino da impressão.
+     */
+    public static void imprimirRelatorio(PrintStream saida) {
+        saida.printf("Latência clique → resposta visual: %d cliques, p50 %.1f ms, p99 %.1f ms, máx %.1f ms%n",
+                LATENCIAS.getContagem(), LATENCIAS.percentil(50) / 1e6, LATENCIAS.percentil(99) / 1e6,
+                LATENCIAS.getMaximo() / 1e6);
+        LATENCIAS.imprimirDistribuicao(saida, 1e6);
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Fonte de tempo monotônico usada pelo {@link RelogioDeJogo}. A fonte do sistema usa
+ * {@link System#nanoTime()}; testes e simulações usam um {@link RelogioVirtual}, que só
+ * avança quando pedido.
+ */
+@FunctionalInterface
+public interface FonteDeTempo {
+    /**
+     * Tempo real do processo, imune a ajustes do relógio do sistema.
+     */
+    FonteDeTempo SISTEMA = System::nanoTime;
+
+    /**
+     * Retorna o instante atual. Só a diferença entre dois instantes tem significado.
+     *
+     * @return O instante em nanossegundos.
+     */
+    long nanos();
+}
@@ -0,0 +1,282 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga com jogadores simulados, cada um em uma virtual thread. Os jogadores
+ * jogam pelas mesmas {@link RegrasDoJogo} dos {@link Controles} (localmente ou através
+ * de um {@link ServidorDeJogo}), pensam por um tempo configurável entre as jogadas e
+ * enviam o resultado ao ranking como o {@link RankingManager#salvar(String, int)} faz.
+ *
+ * Ao final informa a vazão e os percentis p50/p99/p999 de cada operação, medidos com
+ * {@link HistogramaLatencia}. Com a mesma semente, os tabuleiros, jogadas e tempos de
+ * pensamento são os mesmos em todas as execuções.
+ *
+ * Uso: {@code GeradorDeCarga [--jogadores=100] [--partidas=10] [--semente=42]
+ * [--pensar-min=0] [--pensar-max=50] [--dificuldade=FACIL] [--memoria=0.8]
+ * [--ranking=arquivo] [--servidor=host:porta] [--distribuicao]}
+ */
+public class GeradorDeCarga implements AutoCloseable {
+
+    private final int jogadores;
+    private final int partidas;
+    private final long semente;
+    private final int pensarMin;
+    private final int pensarMax;
+    private final Dificuldade dificuldade;
+    private final double memoria;
+    private final Path ranking;
+    private final boolean rankingTemporario;
+    private final String servidor;
+
+    private final HistogramaLatencia jogada = new HistogramaLatencia();
+    private final HistogramaLatencia partida = new HistogramaLatencia();
+    private final HistogramaLatencia submissao = new HistogramaLatencia();
+    private final AtomicLong falhas = new AtomicLong();
+
+    /**
+     * Cria o gerador a partir das opções da linha de comando.
+     *
+     * @param opcoes Opções no formato {@code chave -> valor}.
+     * @throws IOException Se não for possível criar o arquivo de ranking temporário.
+     */
+    GeradorDeCarga(Map<String, String> opcoes) throws IOException {
+        jogadores = Integer.parseInt(opcoes.getOrDefault("jogadores", "100"));
+        partidas = Integer.parseInt(opcoes.getOrDefault("partidas", "10"));
+        semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+        pensarMin = Integer.parseInt(opcoes.getOrDefault("pensar-min", "0"));
+        pensarMax = Math.max(pensarMin, Integer.parseInt(opcoes.getOrDefault("pensar-max", "50")));
+        dificuldade = Dificuldade.valueOf(opcoes.getOrDefault("dificuldade", "FACIL"));
+        memoria = Double.parseDouble(opcoes.getOrDefault("memoria", "0.8"));
+        rankingTemporario = !opcoes.containsKey("ranking");
+        ranking = rankingTemporario ? Files.createTempFile("ranking-carga", ".csv") : Paths.get(opcoes.get("ranking"));
+        servidor = opcoes.get("servidor");
+    }
+
+    /**
+     * Executa a carga e aguarda todos os jogadores terminarem.
+     *
+     * @return O tempo total em nanossegundos.
+     * @throws Exception Se algum jogador falhar de forma inesperada.
+     */
+    long executar() throws Exception {
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < jogadores; i++) {
+                int jogador = i;
+                tarefas.add(executor.submit(() -> {
+                    jogar(jogador);
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) tarefa.get();
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Joga todas as partidas de um jogador simulado.
+     */
+    private void jogar(int jogador) throws Exception {
+        Random aleatorio = new Random(semente * 31 + jogador);
+        for (int p = 0; p < partidas; p++) {
+            long inicio = System.nanoTime();
+            int tentativas = servidor == null ? jogarLocal(aleatorio) : jogarNoServidor(jogador, p, aleatorio);
+            partida.registrar(System.nanoTime() - inicio);
+            if (tentativas < 0) {
+                falhas.incrementAndGet();
+                continue;
+            }
+
+            long envio = System.nanoTime();
+            RankingManager.salvar(ranking, "bot-" + jogador, tentativas);
+            submissao.registrar(System.nanoTime() - envio);
+        }
+    }
+
+    /**
+     * Joga uma partida com as regras no próprio processo.
+     *
+     * @return O número de tentativas.
+     */
+    private int jogarLocal(Random aleatorio) throws InterruptedException {
+        RegrasDoJogo regras = RegrasDoJogo.embaralhado(dificuldade.linhas, dificuldade.colunas, aleatorio);
+        MemoriaDoBot bot = new MemoriaDoBot(regras.getTotalCartas(), memoria, aleatorio);
+
+        while (!regras.isFinalizado()) {
+            int a = bot.escolherPrimeira();
+            pensar(aleatorio);
+            long t = System.nanoTime();
+            regras.virar(a);
+            jogada.registrar(System.nanoTime() - t);
+            bot.observar(a, regras.getId(a));
+
+            int b = bot.escolherSegunda(a);
+            pensar(aleatorio);
+            t = System.nanoTime();
+            RegrasDoJogo.Resultado resultado = regras.virar(b);
+            if (resultado == RegrasDoJogo.Resultado.ERRO) regras.desvirarErro();
+            jogada.registrar(System.nanoTime() - t);
+            bot.observar(b, regras.getId(b));
+            if (resultado == RegrasDoJogo.Resultado.PAR) bot.marcarEncontradas(a, b);
+        }
+        return regras.getTentativas();
+    }
+
+    /**
+     * Joga uma partida de confronto no servidor; os jogadores são agrupados em duplas por sala.
+     * A latência de cada jogada é o tempo entre o pedido e a confirmação da carta virada.
+     *
+     * @return O número de tentativas, ou -1 se a partida não terminou normalmente.
+     */
+    private int jogarNoServidor(int jogador, int numeroPartida, Random aleatorio) throws Exception {
+        String[] endereco = servidor.split(":");
+        try (ClienteDeJogo cliente = new ClienteDeJogo(endereco[0], Integer.parseInt(endereco[1]))) {
+            cliente.entrar("carga-" + semente + "-" + numeroPartida + "-" + jogador / 2, "bot-" + jogador,
+                    ProtocoloJogo.MODO_CONFRONTO, dificuldade.linhas, dificuldade.colunas);
+            MemoriaDoBot bot = new MemoriaDoBot(dificuldade.linhas * dificuldade.colunas, memoria, aleatorio);
+            int eu = -1;
+            int tentativas = 0;
+            int primeira = -1;
+            long enviado = 0;
+
+            while (true) {
+                ProtocoloJogo.Mensagem m = cliente.receber(30000);
+                if (m == null) return -1;
+                boolean jogar = false;
+                switch (m.tipo) {
+                    case ProtocoloJogo.BEM_VINDO -> eu = m.campo(0);
+                    case ProtocoloJogo.VEZ -> jogar = true;
+                    case ProtocoloJogo.VIRADA -> {
+                        if (m.campo(0) != eu) break;
+                        jogada.registrar(System.nanoTime() - enviado);
+                        bot.observar(m.campo(1), m.campo(2));
+                        if (m.campo(1) == primeira) {
+                            int segunda = bot.escolherSegunda(primeira);
+                            primeira = -1;
+                            pensar(aleatorio);
+                            enviado = System.nanoTime();
+                            cliente.virar(segunda);
+                        }
+                    }
+                    case ProtocoloJogo.PAR, ProtocoloJogo.ERRO -> {
+                        if (m.campo(0) != eu) break;
+                        tentativas++;
+                        if (m.tipo == ProtocoloJogo.PAR) bot.marcarEncontradas(m.campo(1), m.campo(2));
+                        jogar = true;
+                    }
+                    case ProtocoloJogo.FIM, ProtocoloJogo.JOGADOR_SAIU -> {
+                        return tentativas;
+                    }
+                    case ProtocoloJogo.RECUSADO -> {
+                        return -1;
+                    }
+                    default -> {
+                    }
+                }
+                if (jogar) {
+                    primeira = bot.escolherPrimeira();
+                    if (primeira < 0) continue;
+                    pensar(aleatorio);
+                    enviado = System.nanoTime();
+                    cliente.virar(primeira);
+                }
+            }
+        }
+    }
+
+    /**
+     * Aguarda o tempo de pensamento sorteado entre os limites configurados.
+     */
+    private void pensar(Random aleatorio) throws InterruptedException {
+        int espera = pensarMin + aleatorio.nextInt(pensarMax - pensarMin + 1);
+        if (espera > 0) Thread.sleep(espera);
+    }
+
+    /**
+     * Imprime o relatório de vazão e latências.
+     *
+     * @param saida        Destino do relatório.
+     * @param duracao      Tempo total da execução em nanossegundos.
+     * @param distribuicao true para imprimir também a distribuição completa de cada histograma.
+     */
+    void relatorio(PrintStream saida, long duracao, boolean distribuicao) {
+        double segundos = duracao / 1e9;
+        saida.printf("Jogadores: %d, partidas por jogador: %d, semente: %d, modo: %s, duração: %.2fs%n",
+                jogadores, partidas, semente, servidor == null ? "local" : "servidor " + servidor, segundos);
+        saida.printf("%-12s %10s %12s %12s %12s %12s %12s%n", "operação", "total", "por segundo",
+                "p50 (µs)", "p99 (µs)", "p999 (µs)", "máx (µs)");
+        linha(saida, "jogada", jogada, segundos);
+        linha(saida, "partida", partida, segundos);
+        linha(saida, "submissão", submissao, segundos);
+        if (falhas.get() > 0) saida.println("Partidas sem resultado: " + falhas.get());
+
+        if (distribuicao) {
+            saida.println("\n# jogada (µs)");
+            jogada.imprimirDistribuicao(saida, 1000.0);
+            saida.println("\n# partida (µs)");
+            partida.imprimirDistribuicao(saida, 1000.0);
+            saida.println("\n# submissão (µs)");
+            submissao.imprimirDistribuicao(saida, 1000.0);
+        }
+    }
+
+    private static void linha(PrintStream saida, String nome, HistogramaLatencia h, double segundos) {
+        saida.printf("%-12s %10d %12.1f %12.1f %12.1f %12.1f %12.1f%n", nome, h.getContagem(),
+                h.getContagem() / segundos, h.percentil(50) / 1000.0, h.percentil(99) / 1000.0,
+                h.percentil(99.9) / 1000.0, h.getMaximo() / 1000.0);
+    }
+
+    /**
+     * Retorna o arquivo de ranking usado pelos jogadores simulados.
+     *
+     * @return O caminho do ranking.
+     */
+    Path getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Remove o ranking temporário, se nenhum arquivo foi informado com {@code --ranking}.
+     *
+     * @throws IOException Se o arquivo não puder ser removido.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!rankingTemporario) return;
+        Files.deleteIfExists(ranking);
+        Files.deleteIfExists(ranking.resolveSibling(ranking.getFileName() + ".trava"));
+    }
+
+    /**
+     * Executa o gerador de carga.
+     *
+     * @param args Opções no formato {@code --chave=valor}.
+     * @throws Exception Se a execução falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int igual = arg.indexOf('=');
+            if (igual < 0) opcoes.put(arg.substring(2), "true");
+            else opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        try (GeradorDeCarga gerador = new GeradorDeCarga(opcoes)) {
+            long duracao = gerador.executar();
+            gerador.relatorio(System.out, duracao, opcoes.containsKey("distribuicao"));
+        }
+    }
+}
@@ -7,6 +7,46 @@ import java.util.Collections;
  */
 public class GeradorDeCartas {
 
+    /**
+     * Imagem padrão do verso das cartas.
+     */
+    public static final String COSTA = "src/assets/cards/costa.png";
+
+    /**
+     * Imagens de frente disponíveis, ou -1 enquanto não foram contadas.
+     */
+    private static int frentes = -1;
+
+    /**
+     * Retorna o caminho da imagem da frente das cartas com o identificador informado.
+     * Os pares além das imagens disponíveis usam uma face gerada pelo {@link GeradorDeFaces}.
+     *
+     * @param id Identificador de par (a partir de 1).
+     * @return O caminho da imagem.
+     */
+    public static String caminhoFrente(int id) {
+        if (id > contarFrentes()) return GeradorDeFaces.caminho(GeradorDeFaces.SEMENTE_PADRAO, id);
+        return caminhoArquivo(id);
+    }
+
+    private static String caminhoArquivo(int id) {
+        return "src/assets/cards/carta" + id + ".jpg";
+    }
+
+    /**
+     * Conta as imagens de frente disponíveis ({@code carta1.jpg}, {@code carta2.jpg}, ...).
+     *
+     * @return O número de imagens, contado apenas na primeira chamada (mesmo que seja 0).
+     */
+    public static synchronized int contarFrentes() {
+        if (frentes < 0) {
+            int n = 0;
+            while (new java.io.File(caminhoArquivo(n + 1)).exists()) n++;
+            frentes = n;
+        }
+        return frentes;
+    }
+
     /**
      * Gera uma lista de cartas com imagens correspondentes em pares,
      * configuradas com o painel de jogo fornecido.
@@ -20,7 +60,7 @@ public class GeradorDeCartas {
     public static ArrayList<Carta> gerarCartasPequenasComPainel(PainelDeJogo painel, int linhas, int colunas) {
         ArrayList<Carta> cartas = new ArrayList<>();
 
-        String caminhoCosta = "src/assets/cards/costa.png"; // imagem padrão do verso da carta
+        String caminhoCosta = COSTA; // imagem padrão do verso da carta
         int totalCartas = linhas * colunas;
         int totalPares = totalCartas / 2;
 
@@ -29,14 +69,15 @@ public class GeradorDeCartas {
             throw new IllegalArgumentException("O número de cartas deve ser par!");
         }
 
-        for (int i = 1; i <= totalPares; i++) {
-            String caminhoFrente = "src/assets/cards/carta" + i + ".jpg"; // frente única por ID
+        // Decodifica todas as imagens em paralelo antes de montar as cartas; os pares sem
+        // imagem recebem faces geradas, também em paralelo
+        CacheDeImagens.carregar(caminhoCosta);
+        int imagens = Math.min(contarFrentes(), totalPares);
+        for (int i = 1; i <= imagens; i++) CacheDeImagens.carregar(caminhoFrente(i));
+        GeradorDeFaces.preparar(GeradorDeFaces.SEMENTE_PADRAO, imagens + 1, totalPares);
 
-            // Verifica se o arquivo de imagem da frente da carta existe
-            if (!new java.io.File(caminhoFrente).exists()) {
-                System.err.println("Imagem não encontrada: " + caminhoFrente);
-                continue;
-            }
+        for (int i = 1; i <= totalPares; i++) {
+            String caminhoFrente = caminhoFrente(i); // frente única por ID
 
             // Cria duas cartas idênticas (par)
             Carta carta1 = new Carta(caminhoFrente, caminhoCosta, i);
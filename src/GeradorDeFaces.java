@@ -0,0 +1,335 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Gerador procedural das frentes das cartas, usado quando o tabuleiro tem mais pares
+ * que imagens em {@code src/assets/cards}.
+ *
+ * Cada face é desenhada a partir do identificador do par: a cor de fundo, a forma e o
+ * símbolo central vêm de uma decomposição do identificador (12 cores x 8 formas x
+ * símbolos em base 32), de modo que dois pares nunca têm a mesma face. A semente só
+ * altera os detalhes (rotação da forma, pontos do fundo e o deslocamento das cores);
+ * a mesma semente e o mesmo identificador desenham sempre a mesma imagem.
+ *
+ * As faces geradas são identificadas por caminhos {@code gerada:<semente>:<id>}, que o
+ * {@link CacheDeImagens} repassa para esta classe. Elas ficam em um cache próprio com
+ * limite de memória ({@link #LIMITE_BYTES}), descartando as menos usadas, já que uma
+ * face descartada pode ser desenhada de novo, idêntica, quando voltar a ser pedida.
+ * A geração de vários pares de uma vez ({@link #preparar}) é dividida entre as threads
+ * de um {@link ForkJoinPool}.
+ */
+public final class GeradorDeFaces {
+
+    /**
+     * Prefixo dos caminhos das faces geradas.
+     */
+    public static final String PREFIXO = "gerada:";
+
+    /**
+     * Semente usada pelas faces do jogo.
+     */
+    public static final long SEMENTE_PADRAO = 42;
+
+    /**
+     * Lado das faces geradas, em pixels (as cartas são desenhadas com 90 px no zoom 1).
+     */
+    public static final int LADO = 96;
+
+    /**
+     * Memória máxima ocupada pelas faces em cache.
+     */
+    public static final long LIMITE_BYTES = 64L * 1024 * 1024;
+
+    private static final int BYTES_POR_FACE = LADO * LADO * 4;
+
+    /**
+     * Abaixo deste número de faces, uma tarefa de {@link #preparar} não é mais dividida.
+     */
+    private static final int LIMIAR_DIVISAO = 8;
+
+    private static final int CORES = 12;
+    private static final int FORMAS = 8;
+
+    /**
+     * Algarismos dos símbolos: sem 0, 1, I e O, que se confundem na carta.
+     */
+    private static final String ALFABETO = "23456789ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final Font FONTE = new Font(Font.SANS_SERIF, Font.BOLD, 34);
+
+    /**
+     * Threads de geração; as threads de um {@link ForkJoinPool} já são daemon.
+     */
+    private static final ForkJoinPool GERADORES = new ForkJoinPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("GeradorDeFaces-" + t.getPoolIndex());
+                return t;
+            }, null, false);
+
+    /**
+     * Cache LRU das faces geradas, por caminho.
+     */
+    private static final LinkedHashMap<String, BufferedImage> FACES = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> maisAntiga) {
+            return (long) size() * BYTES_POR_FACE > LIMITE_BYTES;
+        }
+    };
+
+    private GeradorDeFaces() {
+    }
+
+    /**
+     * Monta o caminho da face gerada de um par.
+     *
+     * @param semente Semente dos detalhes da face.
+     * @param id      Identificador do par (a partir de 1).
+     * @return O caminho, aceito pelo {@link CacheDeImagens} e pelas {@link Carta}s.
+     */
+    public static String caminho(long semente, int id) {
+        return PREFIXO + semente + ":" + id;
+    }
+
+    /**
+     * Indica se o caminho é de uma face gerada.
+     *
+     * @param caminho Caminho de uma imagem.
+     * @return true se começar com {@link #PREFIXO}.
+     */
+    public static boolean isGerada(String caminho) {
+        return caminho.startsWith(PREFIXO);
+    }
+
+    /**
+     * Retorna a face do caminho informado, desenhando-a se não estiver em cache.
+     *
+     * @param caminho Caminho no formato {@code gerada:<semente>:<id>}.
+     * @return A face, ou null se o caminho for inválido.
+     */
+    public static BufferedImage obter(String caminho) {
+        BufferedImage face;
+        synchronized (FACES) {
+            face = FACES.get(caminho);
+        }
+        if (face != null) return face;
+
+        int separador = caminho.lastIndexOf(':');
+        long semente;
+        int id;
+        try {
+            semente = Long.parseLong(caminho.substring(PREFIXO.length(), separador));
+            id = Integer.parseInt(caminho.substring(separador + 1));
+        } catch (RuntimeException e) {
+            Log.aviso("GeradorDeFaces", "Face gerada inválida: " + caminho);
+            return null;
+        }
+        face = desenhar(semente, id);
+        synchronized (FACES) {
+            // Outra thread pode ter desenhado a mesma face: mantém a que já está no cache
+            BufferedImage existente = FACES.putIfAbsent(caminho, face);
+            return existente != null ? existente : face;
+        }
+    }
+
+    /**
+     * Retorna a face em segundo plano, sem esperar se ela já estiver em cache.
+     *
+     * @param caminho Caminho no formato {@code gerada:<semente>:<id>}.
+     * @return A face, disponível quando o desenho terminar.
+     */
+    public static CompletableFuture<BufferedImage> carregar(String caminho) {
+        BufferedImage face;
+        synchronized (FACES) {
+            face = FACES.get(caminho);
+        }
+        return face != null ? CompletableFuture.completedFuture(face)
+                : CompletableFuture.supplyAsync(() -> obter(caminho), GERADORES);
+    }
+
+    /**
+     * Gera em paralelo as faces dos pares {@code primeiro..ultimo} e espera o término.
+     * Se o intervalo não couber no cache, as primeiras faces podem ser descartadas e
+     * desenhadas de novo quando forem usadas.
+     *
+     * @param semente  Semente dos detalhes das faces.
+     * @param primeiro Primeiro identificador de par.
+     * @param ultimo   Último identificador de par (inclusive).
+     */
+    public static void preparar(long semente, int primeiro, int ultimo) {
+        if (ultimo < primeiro) return;
+        GERADORES.invoke(new Preparacao(semente, primeiro, ultimo));
+    }
+
+    /**
+     * Retorna quantas faces estão em cache.
+     *
+     * @return O número de faces.
+     */
+    public static int getFacesEmCache() {
+        synchronized (FACES) {
+            return FACES.size();
+        }
+    }
+
+    /**
+     * Descarta todas as faces em cache, para medir a geração a frio nos benchmarks.
+     */
+    static void esvaziar() {
+        synchronized (FACES) {
+            FACES.clear();
+        }
+    }
+
+    /**
+     * Divide o intervalo de pares ao meio até {@link #LIMIAR_DIVISAO} faces por tarefa.
+     */
+    private static class Preparacao extends RecursiveAction {
+        private final long semente;
+        private final int primeiro;
+        private final int ultimo;
+
+        Preparacao(long semente, int primeiro, int ultimo) {
+            this.semente = semente;
+            this.primeiro = primeiro;
+            this.ultimo = ultimo;
+        }
+
+        @Override
+        protected void compute() {
+            if (ultimo - primeiro < LIMIAR_DIVISAO) {
+                for (int id = primeiro; id <= ultimo; id++) obter(caminho(semente, id));
+                return;
+            }
+            int meio = (primeiro + ultimo) >>> 1;
+            invokeAll(new Preparacao(semente, primeiro, meio), new Preparacao(semente, meio + 1, ultimo));
+        }
+    }
+
+    /**
+     * Escreve o número do símbolo central com os algarismos de {@link #ALFABETO}.
+     *
+     * @param numero Número do símbolo (a partir de 0).
+     * @return O símbolo.
+     */
+    static String simbolo(int numero) {
+        StringBuilder simbolo = new StringBuilder();
+        do {
+            simbolo.append(ALFABETO.charAt(numero % ALFABETO.length()));
+            numero /= ALFABETO.length();
+        } while (numero > 0);
+        return simbolo.reverse().toString();
+    }
+
+    /**
+     * Desenha a face de um par. Não usa nenhum estado compartilhado, para poder rodar em
+     * várias threads ao mesmo tempo.
+     *
+     * @param semente Semente dos detalhes.
+     * @param id      Identificador do par (a partir de 1).
+     * @return A face, com {@link #LADO} pixels de lado.
+     */
+    static BufferedImage desenhar(long semente, int id) {
+        int k = Math.max(0, id - 1);
+        int indiceCor = k % CORES;
+        int forma = (k / CORES) % FORMAS;
+        String simbolo = simbolo(k / (CORES * FORMAS));
+        Random aleatorio = new Random(semente * 31 + id);
+
+        // Cores bem separadas no círculo cromático; a semente gira a paleta inteira
+        float matiz = (indiceCor / (float) CORES + (Math.floorMod(semente, 360)) / 360f) % 1f;
+        Color fundo = Color.getHSBColor(matiz, 0.55f, 0.95f);
+        Color destaque = Color.getHSBColor((matiz + 0.5f) % 1f, 0.85f, 0.55f);
+
+        // Só preenchimentos sólidos, e antialiasing só na forma e no símbolo: gradientes e
+        // contornos com BasicStroke custavam mais que todo o resto da face
+        BufferedImage face = new BufferedImage(LADO, LADO, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = face.createGraphics();
+        g.setColor(fundo);
+        g.fillRect(0, 0, LADO, LADO);
+
+        // Pontos do fundo, só decorativos
+        g.setColor(fundo.brighter());
+        for (int i = 0; i < 6; i++) {
+            int r = 4 + aleatorio.nextInt(8);
+            g.fillRect(aleatorio.nextInt(LADO - r), aleatorio.nextInt(LADO - r), r, r);
+        }
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        AffineTransform rotacao = AffineTransform.getRotateInstance(
+                (aleatorio.nextInt(4) - 1.5) * Math.PI / 24, LADO / 2.0, LADO / 2.0);
+        // A borda branca é a mesma forma, um pouco maior, desenhada por baixo
+        g.setColor(Color.WHITE);
+        g.fill(rotacao.createTransformedShape(forma(forma, LADO * 0.10, LADO * 0.80)));
+        g.setColor(destaque);
+        g.fill(rotacao.createTransformedShape(forma(forma, LADO * 0.13, LADO * 0.74)));
+        g.setColor(Color.WHITE);
+
+        g.setFont(simbolo.length() > 1 ? FONTE.deriveFont(26f) : FONTE);
+        FontMetrics metricas = g.getFontMetrics();
+        int x = (LADO - metricas.stringWidth(simbolo)) / 2;
+        int y = (LADO - metricas.getHeight()) / 2 + metricas.getAscent();
+        g.drawString(simbolo, x, y);
+
+        g.setColor(destaque.darker());
+        g.drawRect(1, 1, LADO - 3, LADO - 3);
+        g.dispose();
+        return face;
+    }
+
+    private static Shape forma(int tipo, double margem, double tamanho) {
+        double centro = margem + tamanho / 2;
+        return switch (tipo) {
+            case 0 -> new Ellipse2D.Double(margem, margem, tamanho, tamanho);
+            case 1 -> new Rectangle2D.Double(margem + tamanho * 0.08, margem + tamanho * 0.08, tamanho * 0.84, tamanho * 0.84);
+            case 2 -> poligono(3, centro, tamanho / 2, -Math.PI / 2);
+            case 3 -> poligono(4, centro, tamanho / 2, 0);
+            case 4 -> poligono(5, centro, tamanho / 2, -Math.PI / 2);
+            case 5 -> poligono(6, centro, tamanho / 2, 0);
+            case 6 -> estrela(centro, tamanho / 2);
+            default -> new RoundRectangle2D.Double(margem, margem + tamanho * 0.18, tamanho, tamanho * 0.64,
+                    tamanho * 0.4, tamanho * 0.4);
+        };
+    }
+
+    private static Polygon poligono(int lados, double centro, double raio, double inicio) {
+        Polygon p = new Polygon();
+        for (int i = 0; i < lados; i++) {
+            double angulo = inicio + 2 * Math.PI * i / lados;
+            p.addPoint((int) Math.round(centro + raio * Math.cos(angulo)), (int) Math.round(centro + raio * Math.sin(angulo)));
+        }
+        return p;
+    }
+
+    private static Shape estrela(double centro, double raio) {
+        Path2D.Double p = new Path2D.Double();
+        for (int i = 0; i < 10; i++) {
+            double r = i % 2 == 0 ? raio : raio * 0.5;
+            double angulo = -Math.PI / 2 + Math.PI * i / 5;
+            double x = centro + r * Math.cos(angulo);
+            double y = centro + r * Math.sin(angulo);
+            if (i == 0) p.moveTo(x, y);
+            else p.lineTo(x, y);
+        }
+        p.closePath();
+        return p;
+    }
+}
@@ -0,0 +1,161 @@
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.CardLayout;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Janela única do jogo. Cada tela é um cartão de um {@link CardLayout}, criado na
+ * primeira vez em que é pedido e reaproveitado nas seguintes: voltar ao menu ou
+ * recomeçar uma fase apenas troca o cartão visível, sem criar janelas nem recarregar
+ * fundos, fontes e músicas.
+ *
+ * Todos os métodos devem ser chamados na thread de eventos do Swing;
+ * {@link #mostrar(String, Supplier)} pode ser chamado de qualquer thread.
+ */
+public class GerenciadorDeTelas {
+    /**
+     * Nomes das telas do jogo.
+     */
+    public static final String MENU = "menu";
+    public static final String NOVO_JOGO = "novoJogo";
+    public static final String JOGO = "jogo";
+    public static final String VITORIA = "vitoria";
+    public static final String DERROTA = "derrota";
+    public static final String PAUSA = "pausa";
+
+    private static GerenciadorDeTelas padrao;
+
+    private final JFrame janela = new JFrame();
+    private final CardLayout cartoes = new CardLayout();
+    private final JPanel conteudo = new JPanel(cartoes);
+    private final Map<String, Tela> telas = new HashMap<>();
+    private Tela atual;
+
+    /**
+     * Cria a janela, ainda invisível.
+     */
+    GerenciadorDeTelas() {
+        janela.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        janela.setResizable(false);
+        janela.setContentPane(conteudo);
+    }
+
+    /**
+     * Retorna o gerenciador da janela do jogo, criando-o na primeira chamada.
+     *
+     * @return O gerenciador padrão.
+     */
+    public static GerenciadorDeTelas padrao() {
+        if (padrao == null) padrao = new GerenciadorDeTelas();
+        return padrao;
+    }
+
+    /**
+     * Retorna a janela única do jogo.
+     *
+     * @return A janela.
+     */
+    public JFrame getJanela() {
+        return janela;
+    }
+
+    /**
+     * Retorna a tela registrada com o nome informado, criando-a se ainda não existir.
+     *
+     * @param nome    Nome da tela.
+     * @param fabrica Cria a tela na primeira vez.
+     * @param <T>     Tipo da tela.
+     * @return A tela registrada.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Tela> T obter(String nome, Supplier<T> fabrica) {
+        Tela tela = telas.get(nome);
+        if (tela == null) {
+            tela = fabrica.get();
+            telas.put(nome, tela);
+            conteudo.add(tela.getComponente(), nome);
+        }
+        return (T) tela;
+    }
+
+    /**
+     * Exibe a tela com o nome informado, criando-a se necessário.
+     *
+     * @param nome    Nome da tela.
+     * @param fabrica Cria a tela na primeira vez.
+     */
+    public void mostrar(String nome, Supplier<? extends Tela> fabrica) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> mostrar(nome, fabrica));
+            return;
+        }
+        Tela tela = obter(nome, fabrica);
+        if (tela == atual) return;
+        if (atual != null) atual.aoSair();
+        atual = tela;
+
+        cartoes.show(conteudo, nome);
+        janela.setTitle(tela.getTitulo());
+        // O CardLayout mede pelo maior cartão; a janela se ajusta à tela visível
+        conteudo.setPreferredSize(tela.getComponente().getPreferredSize());
+        janela.pack();
+        janela.setLocationRelativeTo(null);
+        janela.setVisible(true);
+        tela.aoEntrar();
+        tela.getComponente().requestFocusInWindow();
+    }
+
+    /**
+     * Substitui a tela registrada com o nome informado por uma nova e a exibe. A tela
+     * anterior é descartada; usado para telas que não podem ser reaproveitadas, como a partida.
+     *
+     * @param nome Nome da tela.
+     * @param nova A nova tela.
+     */
+    public void substituir(String nome, Tela nova) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> substituir(nome, nova));
+            return;
+        }
+        descartar(nome);
+        mostrar(nome, () -> nova);
+    }
+
+    /**
+     * Remove e descarta a tela registrada com o nome informado, se existir.
+     *
+     * @param nome Nome da tela.
+     */
+    public void descartar(String nome) {
+        Tela tela = telas.remove(nome);
+        if (tela == null) return;
+        if (tela == atual) {
+            tela.aoSair();
+            atual = null;
+        }
+        conteudo.remove(tela.getComponente());
+        tela.descartar();
+    }
+
+    /**
+     * Indica se a tela com o nome informado já foi criada.
+     *
+     * @param nome Nome da tela.
+     * @return true se a tela está registrada.
+     */
+    public boolean contem(String nome) {
+        return telas.containsKey(nome);
+    }
+
+    /**
+     * Retorna o número de telas mantidas em memória.
+     *
+     * @return O número de telas registradas.
+     */
+    public int getTelasRegistradas() {
+        return telas.size();
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências no estilo HDR: faixas exponenciais subdivididas linearmente,
+ * com erro relativo abaixo de 1% em toda a escala (de nanossegundos a horas) e memória
+ * fixa (cerca de 58 KB). O registro é livre de travas e não aloca, podendo ser feito por
+ * várias threads.
+ */
+public class HistogramaLatencia {
+    /**
+     * Bits de subdivisão: os valores abaixo de 256 são exatos e cada faixa exponencial
+     * seguinte [2^k, 2^(k+1)) tem 128 subfaixas, portanto o erro relativo fica abaixo de
+     * 1/128 (0,8%).
+     */
+    private static final int BITS_SUBFAIXA = 8;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int TOTAL_SUBFAIXAS = SUBFAIXAS + (64 - BITS_SUBFAIXA) * (SUBFAIXAS / 2);
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TOTAL_SUBFAIXAS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong soma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra um valor (por exemplo, uma latência em nanossegundos). Valores negativos contam como zero.
+     *
+     * @param valor O valor a registrar.
+     */
+    public void registrar(long valor) {
+        if (valor < 0) valor = 0;
+        contagens.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        soma.addAndGet(valor);
+        long atual;
+        while (valor > (atual = maximo.get()) && !maximo.compareAndSet(atual, valor)) {
+            // Tenta novamente até registrar o máximo
+        }
+    }
+
+    /**
+     * Soma as contagens de outro histograma a este.
+     *
+     * @param outro O histograma a somar.
+     */
+    public void somar(HistogramaLatencia outro) {
+        for (int i = 0; i < contagens.length(); i++) {
+            long c = outro.contagens.get(i);
+            if (c != 0) contagens.addAndGet(i, c);
+        }
+        total.addAndGet(outro.total.get());
+        soma.addAndGet(outro.soma.get());
+        long atual;
+        long max = outro.maximo.get();
+        while (max > (atual = maximo.get()) && !maximo.compareAndSet(atual, max)) {
+            // Tenta novamente até registrar o máximo
+        }
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < contagens.length(); i++) contagens.set(i, 0);
+        total.set(0);
+        soma.set(0);
+        maximo.set(0);
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está a fração informada dos registros.
+     *
+     * @param percentil Percentil entre 0 e 100.
+     * @return O valor do percentil (limite superior da subfaixa), ou 0 se vazio.
+     */
+    public long percentil(double percentil) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * n));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) return Math.min(limiteSuperior(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Retorna o número de valores registrados.
+     *
+     * @return A contagem total.
+     */
+    public long getContagem() {
+        return total.get();
+    }
+
+    /**
+     * Retorna o maior valor registrado.
+     *
+     * @return O valor máximo.
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Retorna a média dos valores registrados.
+     *
+     * @return A média, ou 0 se vazio.
+     */
+    public double getMedia() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) soma.get() / n;
+    }
+
+    /**
+     * Imprime a distribuição de percentis no formato usado pelas ferramentas HDR Histogram
+     * ({@code Value Percentile TotalCount 1/(1-Percentile)}), adequado para gráficos.
+     *
+     * @param saida  Destino da impressão.
+     * @param escala Divisor aplicado aos valores (por exemplo, 1000 para ns → µs).
+     */
+    public void imprimirDistribuicao(PrintStream saida, double escala) {
+        saida.printf("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+        long n = total.get();
+        if (n == 0) return;
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            long c = contagens.get(i);
+            if (c == 0) continue;
+            acumulado += c;
+            double fracao = (double) acumulado / n;
+            String inverso = fracao < 1.0 ? String.format("%14.2f", 1.0 / (1.0 - fracao)) : String.format("%14s", "");
+            saida.printf("%12.3f %14.12f %10d %s%n", Math.min(limiteSuperior(i), maximo.get()) / escala, fracao, acumulado, inverso);
+        }
+        saida.printf("#[Mean    = %12.3f, Max     = %12.3f]%n", getMedia() / escala, maximo.get() / escala);
+        saida.printf("#[Total count    = %12d]%n", n);
+    }
+
+    /**
+     * Calcula o índice da subfaixa de um valor.
+     */
+    private static int indice(long valor) {
+        if (valor < SUBFAIXAS) return (int) valor;
+        int faixa = 64 - Long.numberOfLeadingZeros(valor) - BITS_SUBFAIXA;
+        int subfaixa = (int) (valor >>> faixa) - SUBFAIXAS / 2;
+        return SUBFAIXAS + (faixa - 1) * (SUBFAIXAS / 2) + subfaixa;
+    }
+
+    /**
+     * Retorna o maior valor que cai na subfaixa informada.
+     */
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS) return indice;
+        int relativo = indice - SUBFAIXAS;
+        int faixa = relativo / (SUBFAIXAS / 2) + 1;
+        long subfaixa = relativo % (SUBFAIXAS / 2) + SUBFAIXAS / 2;
+        return ((subfaixa + 1) << faixa) - 1;
+    }
+}
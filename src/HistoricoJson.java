@@ -0,0 +1,475 @@
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Histórico completo de partidas em JSON Lines ({@code historico.jsonl}): um objeto
+ * JSON por linha, acrescentado ao fim do arquivo a cada partida terminada.
+ *
+ * A leitura usa o {@link JSONTokener} de forma incremental, um objeto por vez, de modo
+ * que históricos muito grandes são importados com memória constante. Aceita tanto
+ * JSON Lines quanto um array JSON (formato do antigo {@code ranking.json}).
+ *
+ * Várias instâncias do jogo podem acrescentar ao mesmo histórico: cada linha é gravada
+ * inteira com uma única escrita, sob uma trava de região exclusiva do arquivo.
+ */
+public class HistoricoJson {
+    /**
+     * Caminho do arquivo de histórico.
+     */
+    static final String ARQUIVO = "historico.jsonl";
+
+    /**
+     * Quantidade de resultados por lote na importação paralela para o ranking.
+     */
+    private static final int TAMANHO_LOTE = 4096;
+
+    /**
+     * Sufixo do arquivo que marca a migração do ranking antigo como concluída.
+     */
+    static final String SUFIXO_MIGRADO = ".migrado";
+
+    /**
+     * Região usada como trava, distante do conteúdo para não depender do tamanho do arquivo.
+     */
+    private static final long POSICAO_TRAVA = Long.MAX_VALUE - 1;
+
+    /**
+     * Travas de processo, uma por arquivo, para que só uma thread por vez segure a trava de região.
+     */
+    private static final ConcurrentHashMap<Path, ReentrantLock> TRAVAS_LOCAIS = new ConcurrentHashMap<>();
+
+    /**
+     * Acrescenta o resultado de uma partida ao histórico padrão. Na primeira gravação,
+     * os dados de {@code ranking.csv} e {@code ranking.json} são migrados para o histórico.
+     *
+     * @param resultado O resultado da partida.
+     */
+    public static void registrar(ResultadoPartida resultado) {
+        Path historico = Paths.get(ARQUIVO);
+        try {
+            migrarSeNecessario(Paths.get("ranking.csv"), Paths.get("ranking.json"), historico);
+            acrescentar(historico, resultado);
+        } catch (IOException e) {
+            Log.erro("HistoricoJson", "Erro ao registrar partida no histórico", e);
+        }
+    }
+
+    /**
+     * Acrescenta um resultado ao fim do arquivo com uma única escrita em modo append sob a
+     * trava do histórico, segura mesmo com várias instâncias do jogo gravando no mesmo arquivo.
+     *
+     * @param historico Caminho do histórico.
+     * @param resultado O resultado da partida.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    static void acrescentar(Path historico, ResultadoPartida resultado) throws IOException {
+        byte[] linha = linha(resultado);
+        EventosJfr.OperacaoArquivo evento = new EventosJfr.OperacaoArquivo();
+        evento.begin();
+        MetricasJogo.escritaIniciada();
+        try (Acrescimo acrescimo = new Acrescimo(historico)) {
+            acrescimo.gravar(linha);
+            evento.bytesGravados = linha.length;
+        } finally {
+            MetricasJogo.escritaConcluida();
+            if (evento.shouldCommit()) {
+                evento.operacao = "acrescentar";
+                evento.arquivo = historico.toString();
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Converte um resultado na linha JSON gravada no histórico, com a quebra de linha.
+     */
+    private static byte[] linha(ResultadoPartida resultado) {
+        return (resultado.paraJson().toString() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Canal em modo append no histórico. Cada gravação retém a trava de região exclusiva do
+     * arquivo (e a trava local do processo, como no {@link ArquivoCompartilhado}) enquanto
+     * escreve, de modo que linhas de instâncias diferentes nunca se misturem.
+     */
+    private static final class Acrescimo implements Closeable {
+        private final FileChannel canal;
+        private final ReentrantLock travaLocal;
+        private FileLock trava;
+
+        Acrescimo(Path historico) throws IOException {
+            this.travaLocal = TRAVAS_LOCAIS.computeIfAbsent(historico.toAbsolutePath().normalize(), p -> new ReentrantLock());
+            this.canal = FileChannel.open(historico, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        /**
+         * Retém a trava do histórico até {@link #destravar()}.
+         */
+        void travar() throws IOException {
+            travaLocal.lock();
+            try {
+                trava = canal.lock(POSICAO_TRAVA, 1, false);
+            } catch (IOException | RuntimeException e) {
+                travaLocal.unlock();
+                throw e;
+            }
+        }
+
+        void destravar() throws IOException {
+            try {
+                trava.release();
+            } finally {
+                trava = null;
+                travaLocal.unlock();
+            }
+        }
+
+        /**
+         * Escreve os bytes no fim do arquivo; a trava deve estar retida.
+         */
+        void escrever(byte[] bytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+
+        /**
+         * Grava uma linha inteira sob a trava.
+         */
+        void gravar(byte[] linha) throws IOException {
+            travar();
+            try {
+                escrever(linha);
+            } finally {
+                destravar();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+
+    /**
+     * Escreve um resultado como uma linha JSON.
+     *
+     * @param resultado O resultado.
+     * @param destino   O destino da escrita.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    static void escrever(ResultadoPartida resultado, Writer destino) throws IOException {
+        destino.write(resultado.paraJson().toString());
+        destino.write('\n');
+    }
+
+    /**
+     * Lê resultados de forma incremental, entregando um por vez ao consumidor.
+     * A entrada pode estar em JSON Lines ou ser um array JSON de objetos.
+     *
+     * @param leitor      A origem dos dados.
+     * @param consumidor  Função chamada para cada resultado lido.
+     * @return A quantidade de resultados lidos.
+     */
+    static long ler(Reader leitor, Consumer<ResultadoPartida> consumidor) {
+        JSONTokener tokener = new JSONTokener(leitor);
+        long total = 0;
+
+        char c = tokener.nextClean();
+        if (c == 0) return 0;
+        boolean emArray = c == '[';
+        if (!emArray) tokener.back();
+
+        while (true) {
+            c = tokener.nextClean();
+            if (c == 0 || (emArray && c == ']')) break;
+            if (emArray && c == ',') continue;
+            tokener.back();
+            consumidor.accept(ResultadoPartida.deJson(new JSONObject(tokener)));
+            total++;
+        }
+        return total;
+    }
+
+    /**
+     * Exporta o histórico para o destino informado em JSON Lines, um registro por vez.
+     *
+     * @param historico Caminho do histórico.
+     * @param destino   O destino da exportação.
+     * @return A quantidade de resultados exportados.
+     * @throws IOException Em caso de erro de leitura ou escrita.
+     */
+    static long exportar(Path historico, Writer destino) throws IOException {
+        if (!Files.exists(historico)) return 0;
+        try (Reader leitor = Files.newBufferedReader(historico, StandardCharsets.UTF_8)) {
+            long total = ler(leitor, r -> {
+                try {
+                    escrever(r, destino);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            destino.flush();
+            return total;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Importa um histórico, acrescentando cada resultado ao histórico local e mesclando
+     * as melhores vitórias no ranking (veja {@link #entraNoRanking}). Os resultados são agrupados em lotes avaliados
+     * em paralelo; o número de lotes em memória é limitado, mantendo a memória constante
+     * independente do tamanho da origem. Cada resultado é acrescentado ao histórico sob a
+     * trava, como em {@link #acrescentar}. O ranking é gravado uma única vez ao final.
+     *
+     * @param origem    O histórico a importar (JSON Lines ou array JSON).
+     * @param historico Caminho do histórico local.
+     * @param ranking   Caminho do arquivo de ranking.
+     * @return A quantidade de resultados importados.
+     * @throws IOException Em caso de erro de leitura ou escrita.
+     */
+    static long importar(Reader origem, Path historico, Path ranking) throws IOException {
+        try (Acrescimo destino = new Acrescimo(historico);
+             Importacao importacao = new Importacao(destino)) {
+            long total = ler(origem, importacao);
+            List<String[]> entradas = importacao.concluir();
+            if (!entradas.isEmpty()) RankingManager.salvar(ranking, entradas);
+            return total;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Estado de uma importação: grava cada resultado no histórico e agrupa os resultados
+     * em lotes, dos quais um conjunto de threads extrai os melhores para o ranking.
+     */
+    private static final class Importacao implements Consumer<ResultadoPartida>, AutoCloseable {
+        private final Acrescimo destino;
+        private final int paralelismo = Runtime.getRuntime().availableProcessors();
+        private final ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        private final Semaphore lotesPendentes = new Semaphore(paralelismo * 2);
+        private final List<Future<?>> tarefas = new ArrayList<>();
+        // Heap de máximo com os melhores resultados vistos (menos tentativas)
+        private final PriorityQueue<ResultadoPartida> melhores = new PriorityQueue<>(
+                Comparator.comparingInt((ResultadoPartida r) -> r.tentativas).reversed());
+        private List<ResultadoPartida> lote = new ArrayList<>(TAMANHO_LOTE);
+
+        Importacao(Acrescimo destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void accept(ResultadoPartida resultado) {
+            try {
+                destino.gravar(linha(resultado));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!entraNoRanking(resultado)) return;
+            lote.add(resultado);
+            if (lote.size() == TAMANHO_LOTE) {
+                enviar(lote);
+                lote = new ArrayList<>(TAMANHO_LOTE);
+            }
+        }
+
+        /**
+         * Envia um lote para avaliação em paralelo, bloqueando se houver lotes demais em memória.
+         */
+        private void enviar(List<ResultadoPartida> lote) {
+            lotesPendentes.acquireUninterruptibly();
+            tarefas.add(executor.submit(() -> {
+                try {
+                    lote.sort(Comparator.comparingInt(r -> r.tentativas));
+                    List<ResultadoPartida> topo = lote.subList(0, Math.min(RankingManager.MAX_ENTRADAS, lote.size()));
+                    synchronized (melhores) {
+                        for (ResultadoPartida r : topo) {
+                            melhores.add(r);
+                            if (melhores.size() > RankingManager.MAX_ENTRADAS) melhores.poll();
+                        }
+                    }
+                } finally {
+                    lotesPendentes.release();
+                }
+            }));
+            verificarConcluidas();
+        }
+
+        /**
+         * Remove os lotes já avaliados, repassando a falha de qualquer um deles.
+         */
+        private void verificarConcluidas() {
+            Iterator<Future<?>> iterador = tarefas.iterator();
+            while (iterador.hasNext()) {
+                Future<?> tarefa = iterador.next();
+                if (!tarefa.isDone()) continue;
+                try {
+                    aguardar(tarefa);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                iterador.remove();
+            }
+        }
+
+        /**
+         * Aguarda os lotes pendentes e retorna os melhores resultados como entradas do ranking.
+         */
+        List<String[]> concluir() throws IOException {
+            if (!lote.isEmpty()) enviar(lote);
+            for (Future<?> tarefa : tarefas) {
+                aguardar(tarefa);
+            }
+            List<String[]> entradas = new ArrayList<>();
+            synchronized (melhores) {
+                for (ResultadoPartida r : melhores) {
+                    entradas.add(new String[]{r.nome, String.valueOf(r.tentativas)});
+                }
+            }
+            return entradas;
+        }
+
+        /**
+         * Aguarda a avaliação de um lote, convertendo sua falha em {@link IOException}.
+         */
+        private static void aguardar(Future<?> tarefa) throws IOException {
+            try {
+                tarefa.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Importação interrompida");
+            } catch (ExecutionException e) {
+                throw new IOException("Erro ao processar lote da importação", e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Indica se um resultado pode entrar no ranking: só vitórias contam, já que menos
+     * tentativas classificam melhor e uma derrota ou um registro migrado sem tentativas
+     * tomaria o lugar de uma vitória real.
+     *
+     * @param resultado O resultado.
+     * @return true se o resultado é uma vitória com tentativas registradas.
+     */
+    static boolean entraNoRanking(ResultadoPartida resultado) {
+        return resultado.vitoria && resultado.tentativas > 0;
+    }
+
+    /**
+     * Migra o conteúdo de {@code ranking.csv} e {@code ranking.json} para o histórico,
+     * caso a migração ainda não tenha sido concluída. A conclusão é marcada por um arquivo
+     * {@code <histórico>.migrado}, não pela existência do histórico: um histórico criado por
+     * uma importação ainda recebe a migração, e uma migração interrompida é refeita.
+     * Os registros migrados não têm dificuldade nem pontuação e são gravados com
+     * {@code vitoria=false}, portanto nunca voltam ao ranking por uma importação; as entradas
+     * do {@code ranking.csv} já estão nele.
+     *
+     * @param rankingCsv  Caminho do ranking em CSV.
+     * @param rankingJson Caminho do ranking antigo em JSON.
+     * @param historico   Caminho do histórico.
+     * @return A quantidade de resultados migrados.
+     * @throws IOException Em caso de erro de leitura ou escrita.
+     */
+    static long migrarSeNecessario(Path rankingCsv, Path rankingJson, Path historico) throws IOException {
+        Path marcador = historico.resolveSibling(historico.getFileName() + SUFIXO_MIGRADO);
+        if (Files.exists(marcador)) return 0;
+
+        // Monta tudo antes de travar: os rankings antigos têm poucas linhas
+        ByteArrayOutputStream migrado = new ByteArrayOutputStream();
+        long total = 0;
+        for (String[] entrada : RankingManager.carregar(rankingCsv)) {
+            migrado.writeBytes(linha(new ResultadoPartida(entrada[0], null, Integer.parseInt(entrada[1]), 0, 0, false, 0L)));
+            total++;
+        }
+        if (Files.exists(rankingJson)) {
+            try (Reader leitor = Files.newBufferedReader(rankingJson, StandardCharsets.UTF_8)) {
+                total += ler(leitor, r -> migrado.writeBytes(linha(r)));
+            }
+        }
+        byte[] bytes = migrado.toByteArray();
+
+        try (Acrescimo acrescimo = new Acrescimo(historico)) {
+            acrescimo.travar();
+            try {
+                // Outra instância pode ter concluído a migração enquanto esta esperava a trava
+                if (Files.exists(marcador)) return 0;
+                if (comecaCom(historico, bytes)) {
+                    // Histórico migrado antes de existir o marcador: só falta marcar
+                    total = 0;
+                } else {
+                    acrescimo.escrever(bytes);
+                }
+                Files.createFile(marcador);
+            } finally {
+                acrescimo.destravar();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Indica se o arquivo começa com os bytes informados.
+     */
+    private static boolean comecaCom(Path arquivo, byte[] prefixo) throws IOException {
+        if (prefixo.length == 0 || Files.size(arquivo) < prefixo.length) return false;
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            return Arrays.equals(entrada.readNBytes(prefixo.length), prefixo);
+        }
+    }
+
+    /**
+     * Ferramenta de linha de comando para o histórico.
+     * Uso: {@code exportar <destino>}, {@code importar <origem>} ou {@code migrar}.
+     *
+     * @param args Comando e argumento.
+     * @throws IOException Em caso de erro de leitura ou escrita.
+     */
+    public static void main(String[] args) throws IOException {
+        Path historico = Paths.get(ARQUIVO);
+        String comando = args.length > 0 ? args[0] : "";
+        switch (comando) {
+            case "exportar" -> {
+                try (Writer destino = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                    System.out.println(exportar(historico, destino) + " partidas exportadas.");
+                }
+            }
+            case "importar" -> {
+                try (Reader origem = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                    System.out.println(importar(origem, historico, Paths.get("ranking.csv")) + " partidas importadas.");
+                }
+            }
+            case "migrar" -> System.out.println(migrarSeNecessario(Paths.get("ranking.csv"),
+                    Paths.get("ranking.json"), historico) + " partidas migradas.");
+            default -> System.out.println("Uso: HistoricoJson exportar <destino> | importar <origem> | migrar");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Etapas da inicialização do jogo e medição do tempo até o primeiro quadro interativo.
+ *
+ * O menu é exibido antes de qualquer subsistema pesado: fundos e música são carregados
+ * em segundo plano pelo {@link MenuInicial}, e as imagens da próxima tela são pedidas
+ * ao {@link CacheDeImagens} enquanto o jogador ainda está no menu.
+ *
+ * Dois modos auxiliares são usados pelo {@link BenchmarkInicializacao}:
+ * {@code --medir-inicializacao} imprime o tempo até o primeiro quadro interativo e
+ * encerra, e {@code --treinar-cds} carrega também as classes das telas seguintes e
+ * encerra no primeiro quadro, para gerar o arquivo de classes compartilhadas (AppCDS)
+ * com {@code -XX:ArchiveClassesAtExit}.
+ */
+public final class Inicializacao {
+    /**
+     * Prefixo da linha impressa no modo de medição.
+     */
+    static final String PREFIXO_MEDICAO = "PRIMEIRO_QUADRO_MS=";
+
+    /**
+     * Classes carregadas no caminho do menu até uma partida, usadas no treino do AppCDS.
+     */
+    private static final String[] CLASSES_DO_JOGO = {
+            "NewGame", "PainelDeJogo", "Controles", "Carta", "GeradorDeCartas", "SessaoDeJogo",
+            "RegrasDoJogo", "RegistroDeFontes", "TelaVitoria", "TelaDerrota", "TelaPause", "RankingManager",
+            "PontuacaoManager", "PerfilStore", "HistoricoJson", "javax.sound.sampled.AudioSystem",
+            "javax.imageio.ImageIO", "javax.swing.JOptionPane"
+    };
+
+    private static volatile boolean medir;
+
+    private Inicializacao() {
+    }
+
+    /**
+     * Trata os modos auxiliares da linha de comando.
+     *
+     * @param args Argumentos recebidos pelo {@link MenuInicial}.
+     * @return true se o jogo não deve abrir (treino sem monitor disponível).
+     */
+    static boolean configurar(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--medir-inicializacao")) medir = true;
+            if (arg.equals("--treinar-cds")) {
+                treinar();
+                if (GraphicsEnvironment.isHeadless()) return true;
+                medir = true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra a abertura da janela; o primeiro quadro é considerado interativo quando
+     * a fila de eventos processa a primeira tarefa depois da janela aberta e pintada.
+     *
+     * @param janela A primeira janela exibida.
+     */
+    static void observarPrimeiroQuadro(JFrame janela) {
+        if (!medir) return;
+        janela.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                SwingUtilities.invokeLater(() -> {
+                    System.out.println(PREFIXO_MEDICAO + getMilissegundosDesdeInicio());
+                    System.exit(0);
+                });
+            }
+        });
+    }
+
+    /**
+     * Retorna o tempo desde o início do processo.
+     *
+     * @return Milissegundos desde que a JVM foi iniciada.
+     */
+    static long getMilissegundosDesdeInicio() {
+        Instant inicio = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        return Duration.between(inicio, Instant.now()).toMillis();
+    }
+
+    /**
+     * Carrega as classes e os subsistemas usados do menu até uma partida, sem abrir janelas.
+     */
+    private static void treinar() {
+        ClassLoader carregador = Inicializacao.class.getClassLoader();
+        for (String classe : CLASSES_DO_JOGO) {
+            try {
+                Class.forName(classe, true, carregador);
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Classe não carregada no treino: " + classe);
+            }
+        }
+        CacheDeImagens.obter("/assets/fundos/1.png");
+        CacheDeImagens.obter("src/assets/cards/costa.png");
+    }
+}
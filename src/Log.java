@@ -0,0 +1,483 @@
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log assíncrono dos avisos e erros do jogo.
+ *
+ * Quem registra uma mensagem (muitas vezes a thread de eventos ou o agendador das
+ * animações) só ocupa uma posição de um buffer circular pré-alocado, sem travas: a
+ * posição é reservada com compare-and-set e publicada por um número de sequência. Se o
+ * buffer estiver cheio, a mensagem é descartada e contada, em vez de esperar. Uma thread
+ * em segundo plano esvazia o buffer e grava cada mensagem como uma linha JSON em um
+ * arquivo com rotação ({@link #ARQUIVO_PADRAO}, {@code .1}, {@code .2}, ...), repetindo-a
+ * de forma resumida na saída de erro.
+ *
+ * Mensagens repetidas (por exemplo, a mesma imagem ausente a cada partida) são
+ * limitadas: de cada mensagem, só as {@link #REPETICOES_POR_JANELA} primeiras de cada
+ * janela de {@link #JANELA_MS} ms são gravadas, e as demais viram uma única linha com o
+ * número de repetições suprimidas.
+ */
+public final class Log {
+
+    /**
+     * Gravidade de uma mensagem.
+     */
+    public enum Nivel {
+        AVISO, ERRO
+    }
+
+    /**
+     * Arquivo usado pelo log padrão.
+     */
+    public static final Path ARQUIVO_PADRAO = Paths.get("logs", "jogo.log");
+
+    /**
+     * Posições do buffer do log padrão (potência de 2).
+     */
+    public static final int CAPACIDADE_PADRAO = 4096;
+
+    /**
+     * Tamanho a partir do qual o arquivo é rotacionado.
+     */
+    public static final long TAMANHO_MAXIMO_PADRAO = 1024 * 1024;
+
+    /**
+     * Arquivos antigos mantidos na rotação.
+     */
+    public static final int ARQUIVOS_ANTIGOS = 3;
+
+    /**
+     * Vezes que a mesma mensagem é gravada em cada janela antes de ser suprimida.
+     */
+    public static final int REPETICOES_POR_JANELA = 3;
+
+    /**
+     * Duração da janela de contagem das repetições.
+     */
+    public static final long JANELA_MS = 60_000;
+
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static volatile Log padrao;
+
+    /**
+     * Posição do buffer; os campos são escritos por quem reservou a posição e lidos pela
+     * thread de escrita depois que a sequência é publicada.
+     */
+    private static final class Entrada {
+        long instante;
+        Nivel nivel;
+        String origem;
+        String mensagem;
+        Throwable erro;
+        String thread;
+    }
+
+    /**
+     * Repetições de uma mensagem na janela atual; usado só pela thread de escrita.
+     */
+    private static final class Repeticao {
+        long inicioJanela;
+        int gravadas;
+        int suprimidas;
+        Nivel nivel;
+        String origem;
+        String mensagem;
+    }
+
+    private final Entrada[] entradas;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+    private final AtomicLong cauda = new AtomicLong();
+    private volatile long cabeca;
+    private volatile long escritaAte;
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder gravadas = new LongAdder();
+
+    private final Path arquivo;
+    private final long tamanhoMaximo;
+    private final PrintStream console;
+    private final Map<String, Repeticao> repeticoes = new HashMap<>();
+    private final Thread escritor;
+    private volatile boolean encerrado;
+    private BufferedWriter saida;
+    private long tamanhoAtual;
+    private long ultimaVarredura;
+    private long descartadasAvisadas;
+
+    /**
+     * Cria um log e inicia sua thread de escrita.
+     *
+     * @param arquivo       Arquivo de destino; o diretório é criado se não existir.
+     * @param capacidade    Posições do buffer (arredondado para uma potência de 2).
+     * @param tamanhoMaximo Tamanho a partir do qual o arquivo é rotacionado.
+     * @param console       Onde repetir as mensagens gravadas, ou null para não repetir.
+     */
+    public Log(Path arquivo, int capacidade, long tamanhoMaximo, PrintStream console) {
+        this(arquivo, capacidade, tamanhoMaximo, console, true);
+    }
+
+    /**
+     * Cria um log, opcionalmente sem iniciar a thread de escrita (para os testes encherem o buffer).
+     */
+    Log(Path arquivo, int capacidade, long tamanhoMaximo, PrintStream console, boolean iniciar) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1) << 1);
+        this.entradas = new Entrada[tamanho];
+        this.sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            entradas[i] = new Entrada();
+            sequencias.set(i, i);
+        }
+        this.mascara = tamanho - 1;
+        this.arquivo = arquivo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.console = console;
+        this.escritor = new Thread(this::escrever, "Log");
+        escritor.setDaemon(true);
+        if (iniciar) escritor.start();
+    }
+
+    /**
+     * Inicia a thread de escrita de um log criado sem ela.
+     */
+    void iniciar() {
+        escritor.start();
+    }
+
+    /**
+     * Retorna o log do jogo, criado no primeiro uso; as mensagens pendentes são gravadas
+     * quando o processo termina.
+     *
+     * @return O log padrão.
+     */
+    public static Log padrao() {
+        Log log = padrao;
+        if (log == null) {
+            synchronized (Log.class) {
+                log = padrao;
+                if (log == null) {
+                    log = new Log(ARQUIVO_PADRAO, CAPACIDADE_PADRAO, TAMANHO_MAXIMO_PADRAO, System.err);
+                    Log encerrar = log;
+                    Runtime.getRuntime().addShutdownHook(new Thread(encerrar::encerrar, "Log-encerramento"));
+                    padrao = log;
+                }
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Registra um aviso no log padrão.
+     *
+     * @param origem   Classe ou componente que gerou a mensagem.
+     * @param mensagem Texto da mensagem.
+     */
+    public static void aviso(String origem, String mensagem) {
+        padrao().registrar(Nivel.AVISO, origem, mensagem, null);
+    }
+
+    /**
+     * Registra um erro no log padrão.
+     *
+     * @param origem   Classe ou componente que gerou a mensagem.
+     * @param mensagem Texto da mensagem.
+     * @param erro     Exceção que causou o erro, ou null.
+     */
+    public static void erro(String origem, String mensagem, Throwable erro) {
+        padrao().registrar(Nivel.ERRO, origem, mensagem, erro);
+    }
+
+    /**
+     * Coloca a mensagem no buffer sem bloquear.
+     *
+     * @param nivel    Gravidade.
+     * @param origem   Classe ou componente que gerou a mensagem.
+     * @param mensagem Texto da mensagem.
+     * @param erro     Exceção associada, ou null.
+     * @return false se o buffer estava cheio e a mensagem foi descartada.
+     */
+    public boolean registrar(Nivel nivel, String origem, String mensagem, Throwable erro) {
+        long posicao = cauda.get();
+        while (true) {
+            long diferenca = sequencias.get((int) posicao & mascara) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) break;
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                // Posição ainda não liberada pela thread de escrita: buffer cheio
+                descartadas.increment();
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+        Entrada entrada = entradas[(int) posicao & mascara];
+        entrada.instante = System.currentTimeMillis();
+        entrada.nivel = nivel;
+        entrada.origem = origem;
+        entrada.mensagem = mensagem;
+        entrada.erro = erro;
+        entrada.thread = Thread.currentThread().getName();
+        sequencias.set((int) posicao & mascara, posicao + 1);
+        return true;
+    }
+
+    /**
+     * Retorna quantas mensagens foram descartadas por falta de espaço no buffer.
+     *
+     * @return O total de descartes.
+     */
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    /**
+     * Retorna quantas linhas foram gravadas no arquivo, incluindo os resumos de repetições.
+     *
+     * @return O total de linhas.
+     */
+    public long getGravadas() {
+        return gravadas.sum();
+    }
+
+    /**
+     * Espera a thread de escrita gravar tudo o que foi registrado até agora.
+     *
+     * @param limiteMs Tempo máximo de espera.
+     * @return true se tudo foi gravado dentro do prazo.
+     */
+    public boolean aguardarEscrita(long limiteMs) {
+        long alvo = cauda.get();
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        while (escritaAte < alvo) {
+            if (System.nanoTime() > prazo || !escritor.isAlive()) return false;
+            LockSupport.parkNanos(1_000_000);
+        }
+        return true;
+    }
+
+    /**
+     * Grava o que estiver pendente, incluindo os resumos de repetições, e para a thread de escrita.
+     */
+    public void encerrar() {
+        encerrado = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void escrever() {
+        Entrada copia = new Entrada();
+        while (true) {
+            boolean fim = encerrado;
+            int lidas = 0;
+            while (retirar(copia)) {
+                gravar(copia);
+                lidas++;
+            }
+            long agora = System.currentTimeMillis();
+            if (fim || agora - ultimaVarredura >= 1000) {
+                ultimaVarredura = agora;
+                resumirRepeticoes(agora, fim);
+                avisarDescartes(agora);
+            }
+            try {
+                if (saida != null && (lidas > 0 || fim)) saida.flush();
+            } catch (IOException e) {
+                falhaDeEscrita(e);
+            }
+            escritaAte = cabeca;
+            if (fim) {
+                fechar();
+                return;
+            }
+            if (lidas == 0) LockSupport.parkNanos(ESPERA_NANOS);
+        }
+    }
+
+    /**
+     * Copia a próxima mensagem publicada e libera a posição para reuso.
+     */
+    private boolean retirar(Entrada copia) {
+        long posicao = cabeca;
+        int indice = (int) posicao & mascara;
+        if (sequencias.get(indice) != posicao + 1) return false;
+        Entrada entrada = entradas[indice];
+        copia.instante = entrada.instante;
+        copia.nivel = entrada.nivel;
+        copia.origem = entrada.origem;
+        copia.mensagem = entrada.mensagem;
+        copia.erro = entrada.erro;
+        copia.thread = entrada.thread;
+        entrada.origem = null;
+        entrada.mensagem = null;
+        entrada.erro = null;
+        entrada.thread = null;
+        sequencias.set(indice, posicao + entradas.length);
+        cabeca = posicao + 1;
+        return true;
+    }
+
+    private void gravar(Entrada entrada) {
+        String chave = entrada.nivel + "|" + entrada.origem + "|" + entrada.mensagem;
+        Repeticao repeticao = repeticoes.get(chave);
+        if (repeticao != null && entrada.instante - repeticao.inicioJanela >= JANELA_MS) {
+            resumir(repeticao, entrada.instante);
+            repeticao = null;
+            repeticoes.remove(chave);
+        }
+        if (repeticao == null) {
+            repeticao = new Repeticao();
+            repeticao.inicioJanela = entrada.instante;
+            repeticao.nivel = entrada.nivel;
+            repeticao.origem = entrada.origem;
+            repeticao.mensagem = entrada.mensagem;
+            repeticoes.put(chave, repeticao);
+        }
+        if (repeticao.gravadas >= REPETICOES_POR_JANELA) {
+            repeticao.suprimidas++;
+            return;
+        }
+        repeticao.gravadas++;
+
+        JSONObject linha = new JSONObject();
+        linha.put("instante", Instant.ofEpochMilli(entrada.instante).toString());
+        linha.put("nivel", entrada.nivel.name());
+        linha.put("origem", entrada.origem);
+        linha.put("thread", entrada.thread);
+        linha.put("mensagem", entrada.mensagem);
+        if (entrada.erro != null) {
+            linha.put("excecao", entrada.erro.toString());
+            JSONArray pilha = new JSONArray();
+            for (StackTraceElement elemento : entrada.erro.getStackTrace()) pilha.put(elemento.toString());
+            linha.put("pilha", pilha);
+        }
+        escreverLinha(linha);
+        if (console != null) {
+            console.println("[" + entrada.nivel + "] " + entrada.origem + ": " + entrada.mensagem
+                    + (entrada.erro != null ? " (" + entrada.erro + ")" : ""));
+        }
+    }
+
+    /**
+     * Grava o resumo das janelas de repetição encerradas (ou de todas, no encerramento).
+     */
+    private void resumirRepeticoes(long agora, boolean todas) {
+        Iterator<Repeticao> it = repeticoes.values().iterator();
+        while (it.hasNext()) {
+            Repeticao repeticao = it.next();
+            if (todas || agora - repeticao.inicioJanela >= JANELA_MS) {
+                resumir(repeticao, agora);
+                it.remove();
+            }
+        }
+    }
+
+    private void resumir(Repeticao repeticao, long agora) {
+        if (repeticao.suprimidas == 0) return;
+        JSONObject linha = new JSONObject();
+        linha.put("instante", Instant.ofEpochMilli(agora).toString());
+        linha.put("nivel", repeticao.nivel.name());
+        linha.put("origem", repeticao.origem);
+        linha.put("mensagem", repeticao.mensagem);
+        linha.put("repeticoesSuprimidas", repeticao.suprimidas);
+        escreverLinha(linha);
+    }
+
+    private void avisarDescartes(long agora) {
+        long total = descartadas.sum();
+        if (total == descartadasAvisadas) return;
+        JSONObject linha = new JSONObject();
+        linha.put("instante", Instant.ofEpochMilli(agora).toString());
+        linha.put("nivel", Nivel.AVISO.name());
+        linha.put("origem", "Log");
+        linha.put("mensagem", "Buffer do log cheio");
+        linha.put("descartadas", total - descartadasAvisadas);
+        descartadasAvisadas = total;
+        escreverLinha(linha);
+    }
+
+    private void escreverLinha(JSONObject linha) {
+        String texto = linha.toString();
+        try {
+            if (saida == null) abrir();
+            if (tamanhoAtual > 0 && tamanhoAtual + texto.length() + 1 > tamanhoMaximo) rotacionar();
+            saida.write(texto);
+            saida.newLine();
+            tamanhoAtual += texto.getBytes(StandardCharsets.UTF_8).length + 1;
+            gravadas.increment();
+        } catch (IOException e) {
+            falhaDeEscrita(e);
+        }
+    }
+
+    private void abrir() throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) Files.createDirectories(diretorio);
+        saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        tamanhoAtual = Files.size(arquivo);
+    }
+
+    /**
+     * Renomeia {@code jogo.log} para {@code jogo.log.1}, {@code .1} para {@code .2} e assim
+     * por diante, descartando o mais antigo, e abre um arquivo novo.
+     */
+    private void rotacionar() throws IOException {
+        fechar();
+        for (int i = ARQUIVOS_ANTIGOS - 1; i >= 1; i--) {
+            Path antigo = antigo(i);
+            if (Files.exists(antigo)) Files.move(antigo, antigo(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(arquivo, antigo(1), StandardCopyOption.REPLACE_EXISTING);
+        abrir();
+    }
+
+    /**
+     * Retorna o caminho de um arquivo antigo da rotação.
+     *
+     * @param numero Posição na rotação, a partir de 1 (o mais recente).
+     * @return O caminho.
+     */
+    Path antigo(int numero) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + numero);
+    }
+
+    private void fechar() {
+        if (saida == null) return;
+        try {
+            saida.close();
+        } catch (IOException e) {
+            falhaDeEscrita(e);
+        }
+        saida = null;
+    }
+
+    private void falhaDeEscrita(IOException e) {
+        // Sem arquivo, a mensagem ao menos chega ao console
+        if (console != null) console.println("[Log] Erro ao gravar " + arquivo + ": " + e.getMessage());
+        saida = null;
+    }
+}
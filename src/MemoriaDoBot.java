@@ -0,0 +1,99 @@
+import java.util.Random;
+
+/**
+ * Memória de um jogador automático: lembra as cartas vistas (com uma probabilidade
+ * configurável de esquecer) e escolhe as jogadas como um jogador humano faria, virando
+ * primeiro pares já conhecidos e depois cartas desconhecidas.
+ */
+public class MemoriaDoBot {
+    private final int[] conhecidas;
+    private final boolean[] encontradas;
+    private final double probabilidadeLembrar;
+    private final Random aleatorio;
+
+    /**
+     * Cria a memória de um tabuleiro.
+     *
+     * @param totalCartas          Número de cartas do tabuleiro.
+     * @param probabilidadeLembrar Probabilidade (0 a 1) de lembrar cada carta vista.
+     * @param aleatorio            Gerador usado para esquecer e desempatar escolhas.
+     */
+    public MemoriaDoBot(int totalCartas, double probabilidadeLembrar, Random aleatorio) {
+        this.conhecidas = new int[totalCartas];
+        this.encontradas = new boolean[totalCartas];
+        this.probabilidadeLembrar = probabilidadeLembrar;
+        this.aleatorio = aleatorio;
+    }
+
+    /**
+     * Registra uma carta vista.
+     *
+     * @param indice Posição da carta.
+     * @param id     Identificador de par da carta (0 se desconhecido).
+     */
+    public void observar(int indice, int id) {
+        if (id != 0 && aleatorio.nextDouble() < probabilidadeLembrar) conhecidas[indice] = id;
+    }
+
+    /**
+     * Registra um par encontrado.
+     *
+     * @param a Posição da primeira carta.
+     * @param b Posição da segunda carta.
+     */
+    public void marcarEncontradas(int a, int b) {
+        encontradas[a] = true;
+        encontradas[b] = true;
+    }
+
+    /**
+     * Escolhe a primeira carta de uma tentativa: uma carta de um par conhecido,
+     * senão uma carta ainda não vista.
+     *
+     * @return A posição escolhida, ou -1 se todas as cartas já foram encontradas.
+     */
+    public int escolherPrimeira() {
+        for (int i = 0; i < conhecidas.length; i++) {
+            if (!encontradas[i] && conhecidas[i] != 0 && parConhecido(i) >= 0) return i;
+        }
+        int desconhecida = sortear(-1, true);
+        return desconhecida >= 0 ? desconhecida : sortear(-1, false);
+    }
+
+    /**
+     * Escolhe a segunda carta de uma tentativa, dado o que a primeira revelou.
+     *
+     * @param primeira Posição da primeira carta, já observada.
+     * @return A posição escolhida, ou -1 se não houver outra carta disponível.
+     */
+    public int escolherSegunda(int primeira) {
+        int par = parConhecido(primeira);
+        if (par >= 0) return par;
+        int desconhecida = sortear(primeira, true);
+        return desconhecida >= 0 ? desconhecida : sortear(primeira, false);
+    }
+
+    /**
+     * Retorna a posição conhecida do par da carta informada, ou -1.
+     */
+    private int parConhecido(int indice) {
+        int id = conhecidas[indice];
+        if (id == 0) return -1;
+        for (int j = 0; j < conhecidas.length; j++) {
+            if (j != indice && !encontradas[j] && conhecidas[j] == id) return j;
+        }
+        return -1;
+    }
+
+    /**
+     * Sorteia uma carta não encontrada, diferente da excluída, opcionalmente apenas entre as desconhecidas.
+     */
+    private int sortear(int excluida, boolean somenteDesconhecidas) {
+        int[] candidatas = new int[conhecidas.length];
+        int n = 0;
+        for (int i = 0; i < conhecidas.length; i++) {
+            if (i != excluida && !encontradas[i] && (!somenteDesconhecidas || conhecidas[i] == 0)) candidatas[n++] = i;
+        }
+        return n == 0 ? -1 : candidatas[aleatorio.nextInt(n)];
+    }
+}
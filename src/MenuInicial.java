@@ -2,6 +2,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import javax.sound.sampled.*;
 import java.io.IOException;
 import java.net.URL;
@@ -12,73 +14,74 @@ import java.net.URL;
  * e visualizar os créditos. Também é responsável por tocar música de fundo e
  * exibir o fundo animado (GIF).
  *
- * Esta interface gráfica utiliza {@code JFrame} como base e {@code JPanel} com layout nulo
- * para posicionamento absoluto dos componentes.
+ * É uma {@link Tela} do {@link GerenciadorDeTelas}: criada uma única vez e reexibida a
+ * cada volta ao menu, com layout nulo para posicionamento absoluto dos componentes.
  *
  * @author João Pedro
  */
-public class MenuInicial extends JFrame {
+public class MenuInicial extends JPanel implements Tela {
 
     // Declaração dos componentes da interface
     private JButton btnIniciarJogo;
     private JButton btnVerPlacares;
+    private JButton btnEstatisticas;
     private JButton btnSair;
     private JButton btnMusica;
     private JButton btnCreditos;
     private JLabel lblMembros;
 
-    private Image backgroundImage;
-    private boolean musicatocando = true;
-    private Clip clip;
+    /**
+     * Fundo animado do menu.
+     */
+    private static final String FUNDO = "/assets/fundos/fundoMenu.gif";
+
+    /**
+     * Fundo usado quando o GIF animado não está disponível.
+     */
+    private static final String FUNDO_ALTERNATIVO = "/assets/fundos/1.png";
+
+    private volatile Image backgroundImage;
+    private volatile boolean musicatocando = true;
+    private volatile Clip clip;
+
+    /**
+     * Dono da música de fundo; fechado quando o menu é descartado.
+     */
+    private final EscopoDeRecursos escopo = new EscopoDeRecursos("menu");
 
     /**
      * Construtor que inicializa e configura os componentes da interface do menu.
-     * Define tamanho da janela, título, fundo, botões e eventos associados.
+     * Define tamanho, fundo, botões e eventos associados.
      */
     public MenuInicial() {
-        // Configurações iniciais da janela
-        setTitle("TRALALERO-MEMORY");
-        setSize(800, 600);
-        setLocationRelativeTo(null);
-        setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setResizable(false);
-
-        // Carrega imagem de fundo animada
-        backgroundImage = new ImageIcon(getClass().getResource("/assets/fundos/fundoMenu.gif")).getImage();
-
-        // Painel personalizado com fundo animado
-        JPanel painelPrincipal = new JPanel() {
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-            }
-        };
-        painelPrincipal.setLayout(null);
-        setContentPane(painelPrincipal);
+        setPreferredSize(new Dimension(800, 600));
+        setLayout(null);
 
         // Título do jogo
         JLabel titulo = new JLabel("Memória De BrainRot", JLabel.CENTER);
         titulo.setFont(new Font("Verdana", Font.BOLD, 40));
         titulo.setForeground(Color.WHITE);
         titulo.setBounds(150, 50, 500, 100);
-        painelPrincipal.add(titulo);
+        add(titulo);
 
         // Botão Iniciar Jogo
         btnIniciarJogo = criarBotao("Iniciar Jogo");
         btnIniciarJogo.setBounds(300, 150, 200, 50);
-        btnIniciarJogo.addActionListener(e -> {
-            iniciarJogo();
-            dispose();
-        });
+        btnIniciarJogo.addActionListener(e -> iniciarJogo());
 
         // Botão Ver Placares
         btnVerPlacares = criarBotao("Ver Placares");
         btnVerPlacares.setBounds(300, 220, 200, 50);
         btnVerPlacares.addActionListener(e -> RankingManager.mostrarPlacar());
 
+        // Botão Estatísticas
+        btnEstatisticas = criarBotao("Estatísticas");
+        btnEstatisticas.setBounds(300, 290, 200, 50);
+        btnEstatisticas.addActionListener(e -> mostrarEstatisticas());
+
         // Botão Sair
         btnSair = criarBotao("Sair");
-        btnSair.setBounds(300, 290, 200, 50);
+        btnSair.setBounds(300, 360, 200, 50);
         btnSair.addActionListener(e -> sair());
 
         // Botão Música
@@ -102,46 +105,94 @@ public class MenuInicial extends JFrame {
         btnCreditos.addActionListener(e -> mostrarCreditos());
 
         // Adiciona todos os botões ao painel
-        painelPrincipal.add(btnIniciarJogo);
-        painelPrincipal.add(btnVerPlacares);
-        painelPrincipal.add(btnSair);
-        painelPrincipal.add(btnMusica);
-        painelPrincipal.add(btnCreditos);
+        add(btnIniciarJogo);
+        add(btnVerPlacares);
+        add(btnEstatisticas);
+        add(btnSair);
+        add(btnMusica);
+        add(btnCreditos);
 
-        // Tocar música de fundo
-        tocarMusica("/assets/fundos/fundo.wav");
+        // Fundo, música e a imagem da próxima tela carregam em segundo plano, com o menu já visível
+        carregarFundo();
+        Thread.ofVirtual().name("musica-menu").start(() -> tocarMusica("/assets/fundos/fundo.wav"));
+        CacheDeImagens.carregarEscalada(NewGame.FUNDO, NewGame.LARGURA, NewGame.ALTURA);
+        RegistroDeFontes.preaquecerEmSegundoPlano();
     }
 
     /**
-     * Inicia a reprodução da música de fundo em loop.
+     * Desenha o fundo animado; até o fundo carregar, desenha um degradê.
+     * @param g Objeto Graphics usado para desenhar na tela.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (backgroundImage != null) {
+            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        } else {
+            ((Graphics2D) g).setPaint(new GradientPaint(0, 0, new Color(20, 20, 60), 0, getHeight(), new Color(0, 102, 204)));
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+    }
+
+    @Override
+    public JComponent getComponente() {
+        return this;
+    }
+
+    @Override
+    public String getTitulo() {
+        return "TRALALERO-MEMORY";
+    }
+
+    /**
+     * Libera a música de fundo quando o menu é descartado.
+     */
+    @Override
+    public void descartar() {
+        escopo.close();
+    }
+
+    /**
+     * Carrega o fundo do menu sem bloquear a exibição da janela. O GIF animado é
+     * decodificado pelo próprio Toolkit, quadro a quadro; se não existir, usa o fundo alternativo.
+     */
+    private void carregarFundo() {
+        URL gif = getClass().getResource(FUNDO);
+        if (gif != null) {
+            backgroundImage = Toolkit.getDefaultToolkit().createImage(gif);
+            return;
+        }
+        CacheDeImagens.carregar(FUNDO_ALTERNATIVO).thenAccept(imagem -> {
+            if (imagem == null) return;
+            SwingUtilities.invokeLater(() -> {
+                backgroundImage = imagem;
+                repaint();
+            });
+        });
+    }
+
+    /**
+     * Inicia a reprodução da música de fundo em loop. Chamado fora da thread de eventos,
+     * pois abrir a linha de áudio pode levar centenas de milissegundos.
      * @param caminhoMusica Caminho do arquivo WAV no classpath.
      */
     private void tocarMusica(String caminhoMusica) {
-        try {
-            URL url = getClass().getResource(caminhoMusica);
-            if (url == null) {
-                JOptionPane.showMessageDialog(this, "Arquivo de música não encontrado!", "Erro de Música", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-            clip = AudioSystem.getClip();
-            clip.open(audioIn);
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Erro ao carregar a música!", "Erro de Música", JOptionPane.ERROR_MESSAGE);
-        }
+        Clip novo = escopo.abrirClip(caminhoMusica);
+        if (novo == null) return;
+        clip = novo;
+        if (musicatocando) novo.loop(Clip.LOOP_CONTINUOUSLY);
     }
 
     /**
      * Alterna o estado da música de fundo entre tocar e parar.
      */
     private void toggleMusica() {
+        Clip atual = clip;
         if (musicatocando) {
-            clip.stop();
+            if (atual != null) atual.stop();
             btnMusica.setText("Música: OFF");
         } else {
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
+            if (atual != null) atual.loop(Clip.LOOP_CONTINUOUSLY);
             btnMusica.setText("Música: ON");
         }
         musicatocando = !musicatocando;
@@ -172,11 +223,18 @@ public class MenuInicial extends JFrame {
     }
 
     /**
-     * Inicia o jogo chamando a classe {@code NewGame}.
+     * Inicia o jogo exibindo a tela {@code NewGame}.
      */
     private void iniciarJogo() {
         JOptionPane.showMessageDialog(this, "Iniciando o jogo...");
-        new NewGame();
+        GerenciadorDeTelas.padrao().mostrar(GerenciadorDeTelas.NOVO_JOGO, NewGame::new);
+    }
+
+    /**
+     * Exibe o menu inicial na janela do jogo, reaproveitando o menu já criado.
+     */
+    public static void exibir() {
+        GerenciadorDeTelas.padrao().mostrar(GerenciadorDeTelas.MENU, MenuInicial::new);
     }
 
     /**
@@ -187,6 +245,15 @@ public class MenuInicial extends JFrame {
         JOptionPane.showMessageDialog(this, "Recorde atual: " + recorde + " pontos", "Placares", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Exibe as estatísticas do perfil de um jogador, por padrão o último que jogou.
+     */
+    private void mostrarEstatisticas() {
+        String nome = JOptionPane.showInputDialog(this, "Nome do jogador:", PerfilStore.padrao().getUltimoJogador());
+        if (nome == null) return;
+        JOptionPane.showMessageDialog(this, PerfilStore.padrao().carregar(nome).resumo(), "Estatísticas", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     /**
      * Fecha o jogo após confirmação do usuário e para a música de fundo.
      */
@@ -202,9 +269,64 @@ public class MenuInicial extends JFrame {
 
     /**
      * Método principal para executar o menu inicial do jogo.
-     * @param args Argumentos de linha de comando (não utilizados).
+     * Com {@code --servidor [porta]} inicia apenas o servidor de partidas em rede, sem interface;
+     * com {@code --placar [porta]} inicia apenas o endpoint HTTP do ranking. As demais opções
+     * abrem o jogo normalmente:
+     * <ul>
+     *     <li>{@code --espectadores [porta]} transmite as partidas para espectadores;</li>
+     *     <li>{@code --diagnostico-recursos} imprime periodicamente os recursos vivos ({@link EscopoDeRecursos});</li>
+     *     <li>{@code --latencia-entrada} imprime ao sair o histograma de latência dos cliques ({@link FilaDeEntrada});</li>
+     *     <li>{@code --animacoes-completas} não encurta as animações quando há cliques esperando;</li>
+     *     <li>{@code --desempenho} já começa com a sobreposição de desempenho (F3, {@link SobreposicaoDesempenho}) ligada;</li>
+     *     <li>{@code --virada-3d} escurece as cartas durante a virada ({@link QuadrosDeVirada});</li>
+     *     <li>{@code --jfr[=arquivo.jfr]} grava os eventos do Flight Recorder ({@link EventosJfr}) até o jogo fechar.</li>
+     * </ul>
+     * As métricas JMX ({@link MetricasJogo}) são registradas em todos os modos, em segundo
+     * plano: no jogo, só depois que a janela abre, para não atrasar o menu.
+     *
+     * @param args Argumentos de linha de comando.
+     * @throws IOException Se o servidor não puder abrir a porta.
      */
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new MenuInicial().setVisible(true));
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            MetricasJogo.registrarEmSegundoPlano();
+            ServidorDeJogo.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--placar")) {
+            MetricasJogo.registrarEmSegundoPlano();
+            ServidorPlacar.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--espectadores")) {
+            int porta = args.length > 1 ? Integer.parseInt(args[1]) : TransmissaoEspectadores.PORTA_PADRAO;
+            new TransmissaoEspectadores(porta, BarramentoDeEventos.padrao());
+        }
+        java.util.List<String> opcoes = java.util.Arrays.asList(args);
+        if (opcoes.contains("--diagnostico-recursos")) EscopoDeRecursos.relatarPeriodicamente(10);
+        if (opcoes.contains("--latencia-entrada")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FilaDeEntrada.imprimirRelatorio(System.out)));
+        }
+        if (opcoes.contains("--animacoes-completas")) Controles.setEncurtarAnimacoes(false);
+        if (opcoes.contains("--desempenho")) SobreposicaoDesempenho.setVisivel(true);
+        if (opcoes.contains("--virada-3d")) QuadrosDeVirada.setSombreamento(true);
+        for (String opcao : opcoes) {
+            if (opcao.equals("--jfr") || opcao.startsWith("--jfr=")) {
+                String arquivo = opcao.contains("=") ? opcao.substring(opcao.indexOf('=') + 1) : EventosJfr.ARQUIVO_PADRAO;
+                EventosJfr.iniciarGravacao(java.nio.file.Paths.get(arquivo));
+            }
+        }
+        if (Inicializacao.configurar(args)) return;
+        SwingUtilities.invokeLater(() -> {
+            JFrame janela = GerenciadorDeTelas.padrao().getJanela();
+            Inicializacao.observarPrimeiroQuadro(janela);
+            janela.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    MetricasJogo.registrarEmSegundoPlano();
+                }
+            });
+            exibir();
+        });
     }
 }
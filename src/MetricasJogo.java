@@ -0,0 +1,302 @@
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas do jogo expostas por JMX, para acompanhar a saúde de um quiosque com o
+ * JConsole ou qualquer cliente JMX, sem anexar um profiler.
+ *
+ * São registrados quatro MBeans no domínio {@code brainrot}: {@code type=Sessoes},
+ * {@code type=Renderizacao}, {@code type=Recursos} e {@code type=Persistencia}.
+ * Os pontos quentes (cada quadro pintado, cada consulta ao cache de imagens, cada
+ * escrita) só incrementam contadores {@link LongAdder}, sem travas; percentis e quadros
+ * por segundo são calculados uma vez por segundo pelo agendador do {@link EscopoDeRecursos}
+ * ou na leitura do atributo.
+ */
+public final class MetricasJogo {
+    /**
+     * Domínio dos nomes JMX.
+     */
+    public static final String DOMINIO = "brainrot";
+
+    private static final LongAdder SESSOES_INICIADAS = new LongAdder();
+    private static final LongAdder SESSOES_ENCERRADAS = new LongAdder();
+    private static final LongAdder QUADROS = new LongAdder();
+    private static final LongAdder ESCRITAS_PENDENTES = new LongAdder();
+    private static final LongAdder ESCRITAS = new LongAdder();
+
+    private static final HistogramaLatencia PINTURA = new HistogramaLatencia();
+    private static final HistogramaLatencia PINTURA_JANELA = new HistogramaLatencia();
+
+    private static volatile Dificuldade dificuldadeAtual;
+    private static volatile double quadrosPorSegundo;
+    private static long quadrosAnteriores;
+    private static int segundosNaJanela;
+    private static boolean registrado;
+
+    /**
+     * Duração da janela dos percentis de pintura, em segundos.
+     */
+    private static final int JANELA_SEGUNDOS = 10;
+
+    private MetricasJogo() {
+    }
+
+    /**
+     * Sessões de jogo em andamento no processo.
+     */
+    public interface Sessoes {
+        long getSessoesAtivas();
+
+        long getSessoesIniciadas();
+
+        String getDificuldadeAtual();
+    }
+
+    /**
+     * Desempenho da pintura do tabuleiro.
+     */
+    public interface Renderizacao {
+        double getQuadrosPorSegundo();
+
+        long getQuadros();
+
+        double getPinturaP50Ms();
+
+        double getPinturaP99Ms();
+
+        double getPinturaMaximoMs();
+    }
+
+    /**
+     * Recursos vivos: áudio, timers, cache de imagens e quadros de virada.
+     */
+    public interface Recursos {
+        int getLinhasDeAudioAbertas();
+
+        int getThreadsDeTimer();
+
+        int getTarefasAgendadas();
+
+        long getBytesCacheDeImagens();
+
+        double getTaxaDeAcertoCacheDeImagens();
+
+        long getBytesQuadrosDeVirada();
+    }
+
+    /**
+     * Gravações nos arquivos de ranking, recordes, perfis e histórico.
+     */
+    public interface Persistencia {
+        long getEscritasPendentes();
+
+        long getEscritas();
+    }
+
+    /**
+     * Registra os MBeans no servidor da plataforma e inicia a amostragem por segundo.
+     * Chamadas repetidas não têm efeito.
+     */
+    public static synchronized void registrar() {
+        if (registrado) return;
+        registrado = true;
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            registrar(servidor, "Sessoes", Sessoes.class, new Sessoes() {
+                public long getSessoesAtivas() {
+                    return SESSOES_INICIADAS.sum() - SESSOES_ENCERRADAS.sum();
+                }
+
+                public long getSessoesIniciadas() {
+                    return SESSOES_INICIADAS.sum();
+                }
+
+                public String getDificuldadeAtual() {
+                    Dificuldade d = dificuldadeAtual;
+                    return d == null ? "" : d.name();
+                }
+            });
+            registrar(servidor, "Renderizacao", Renderizacao.class, new Renderizacao() {
+                public double getQuadrosPorSegundo() {
+                    return quadrosPorSegundo;
+                }
+
+                public long getQuadros() {
+                    return QUADROS.sum();
+                }
+
+                public double getPinturaP50Ms() {
+                    return PINTURA_JANELA.percentil(50) / 1e6;
+                }
+
+                public double getPinturaP99Ms() {
+                    return PINTURA_JANELA.percentil(99) / 1e6;
+                }
+
+                public double getPinturaMaximoMs() {
+                    return PINTURA_JANELA.getMaximo() / 1e6;
+                }
+            });
+            registrar(servidor, "Recursos", Recursos.class, new Recursos() {
+                public int getLinhasDeAudioAbertas() {
+                    return EscopoDeRecursos.getLinhasDeAudioAbertas();
+                }
+
+                public int getThreadsDeTimer() {
+                    return contarThreadsDeTimer();
+                }
+
+                public int getTarefasAgendadas() {
+                    return EscopoDeRecursos.getTarefasAtivas();
+                }
+
+                public long getBytesCacheDeImagens() {
+                    return CacheDeImagens.getBytes();
+                }
+
+                public double getTaxaDeAcertoCacheDeImagens() {
+                    return CacheDeImagens.getTaxaDeAcerto();
+                }
+
+                public long getBytesQuadrosDeVirada() {
+                    return QuadrosDeVirada.getBytes();
+                }
+            });
+            registrar(servidor, "Persistencia", Persistencia.class, new Persistencia() {
+                public long getEscritasPendentes() {
+                    return ESCRITAS_PENDENTES.sum();
+                }
+
+                public long getEscritas() {
+                    return ESCRITAS.sum();
+                }
+            });
+        } catch (JMException e) {
+            Log.erro("MetricasJogo", "Erro ao registrar as métricas JMX", e);
+        }
+        EscopoDeRecursos.PROCESSO.repetir(() -> {
+            amostrar();
+            return true;
+        }, 1000);
+    }
+
+    private static <T> void registrar(MBeanServer servidor, String tipo, Class<T> interfaceMBean, T implementacao)
+            throws JMException {
+        ObjectName nome = new ObjectName(DOMINIO + ":type=" + tipo);
+        try {
+            servidor.registerMBean(new StandardMBean(implementacao, interfaceMBean), nome);
+        } catch (InstanceAlreadyExistsException e) {
+            // Outro carregador de classes já registrou as métricas deste processo
+        }
+    }
+
+    /**
+     * Registra os MBeans em uma thread virtual. Iniciar o servidor MBean da plataforma
+     * carrega centenas de classes e leva centenas de milissegundos, por isso o jogo só o
+     * faz depois que a janela aparece; os contadores já funcionam antes disso.
+     */
+    public static void registrarEmSegundoPlano() {
+        Thread.ofVirtual().name("metricas-jmx").start(MetricasJogo::registrar);
+    }
+
+    /**
+     * Calcula os quadros por segundo e fecha a janela dos percentis de pintura.
+     */
+    static synchronized void amostrar() {
+        long quadros = QUADROS.sum();
+        quadrosPorSegundo = quadros - quadrosAnteriores;
+        quadrosAnteriores = quadros;
+        if (++segundosNaJanela >= JANELA_SEGUNDOS) {
+            segundosNaJanela = 0;
+            PINTURA_JANELA.reiniciar();
+            PINTURA_JANELA.somar(PINTURA);
+            PINTURA.reiniciar();
+        }
+    }
+
+    /**
+     * Conta as threads de timers vivas: {@link java.util.Timer}, fila do Swing e agendador dos escopos.
+     * Percorre o grupo raiz de threads em vez de {@link Thread#getAllStackTraces()}, que
+     * suspende todas as threads para capturar as pilhas: a sobreposição de desempenho faz
+     * esta contagem a cada segundo, na thread de eventos.
+     */
+    static int contarThreadsDeTimer() {
+        ThreadGroup raiz = Thread.currentThread().getThreadGroup();
+        while (raiz.getParent() != null) raiz = raiz.getParent();
+        Thread[] threads = new Thread[raiz.activeCount() + 8];
+        int n;
+        while ((n = raiz.enumerate(threads)) == threads.length) threads = new Thread[threads.length * 2];
+
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            String nome = threads[i].getName();
+            if (nome.startsWith("Timer-") || nome.equals("TimerQueue") || nome.equals("EscopoDeRecursos")) total++;
+        }
+        return total;
+    }
+
+    /**
+     * Registra o início de uma sessão de jogo.
+     *
+     * @param dificuldade Dificuldade da sessão.
+     */
+    public static void sessaoIniciada(Dificuldade dificuldade) {
+        SESSOES_INICIADAS.increment();
+        dificuldadeAtual = dificuldade;
+    }
+
+    /**
+     * Registra o fim (ou abandono) de uma sessão de jogo.
+     */
+    public static void sessaoEncerrada() {
+        SESSOES_ENCERRADAS.increment();
+    }
+
+    /**
+     * Registra um quadro pintado.
+     *
+     * @param duracaoNanos Duração da pintura em nanossegundos.
+     */
+    public static void quadroPintado(long duracaoNanos) {
+        QUADROS.increment();
+        PINTURA.registrar(duracaoNanos);
+    }
+
+    /**
+     * Registra o início de uma escrita em arquivo.
+     */
+    public static void escritaIniciada() {
+        ESCRITAS_PENDENTES.increment();
+    }
+
+    /**
+     * Registra o fim de uma escrita em arquivo, com ou sem sucesso.
+     */
+    public static void escritaConcluida() {
+        ESCRITAS_PENDENTES.decrement();
+        ESCRITAS.increment();
+    }
+
+    /**
+     * Retorna o número de sessões em andamento.
+     *
+     * @return Sessões iniciadas e ainda não encerradas.
+     */
+    public static long getSessoesAtivas() {
+        return SESSOES_INICIADAS.sum() - SESSOES_ENCERRADAS.sum();
+    }
+
+    /**
+     * Retorna o número de escritas em andamento.
+     *
+     * @return Escritas pendentes.
+     */
+    public static long getEscritasPendentes() {
+        return ESCRITAS_PENDENTES.sum();
+    }
+}
@@ -3,10 +3,21 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 
 /**
- * Classe que representa a janela de seleção de novo jogo ou carregamento de progresso.
+ * Classe que representa a tela de seleção de novo jogo ou carregamento de progresso.
  * Permite ao usuário iniciar o jogo diretamente ou escolher um nível de dificuldade.
  */
-public class NewGame extends JFrame {
+public class NewGame extends JPanel implements Tela {
+
+    /**
+     * Imagem de fundo da tela, pré-carregada pelo {@link MenuInicial}.
+     */
+    static final String FUNDO = "/assets/fundos/1.png";
+
+    /**
+     * Dimensões da janela.
+     */
+    static final int LARGURA = 800;
+    static final int ALTURA = 700;
 
     private JButton btnNovoJogo;
     private JButton btnCarregarJogo;
@@ -21,22 +32,35 @@ public class NewGame extends JFrame {
      * Construtor que inicializa a interface da tela de novo jogo.
      */
     public NewGame() {
-        setTitle("Novo Jogo");
-        setSize(800, 700);
-        setLocationRelativeTo(null);
-        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
-        setResizable(false);
-
-        // Carrega a imagem de fundo
-        ImageIcon icon = new ImageIcon(getClass().getResource("/assets/fundos/1.png"));
-        Image img = icon.getImage().getScaledInstance(800, 700, Image.SCALE_SMOOTH);
-        background = new JLabel(new ImageIcon(img));
-        background.setBounds(0, 0, 800, 700);
-        setContentPane(background);
+        setPreferredSize(new Dimension(LARGURA, ALTURA));
+        setLayout(null);
+
+        // Usa a imagem de fundo já redimensionada em segundo plano pelo cache
+        Image img = CacheDeImagens.obterEscalada(FUNDO, LARGURA, ALTURA);
+        background = img != null ? new JLabel(new ImageIcon(img)) : new JLabel();
+        background.setBounds(0, 0, LARGURA, ALTURA);
+        add(background);
         background.setLayout(null);
 
         criarBotoes();
-        setVisible(true);
+    }
+
+    @Override
+    public JComponent getComponente() {
+        return this;
+    }
+
+    @Override
+    public String getTitulo() {
+        return "Novo Jogo";
+    }
+
+    /**
+     * Atualiza os níveis liberados sempre que a tela é exibida, pois o perfil pode ter mudado.
+     */
+    @Override
+    public void aoEntrar() {
+        atualizarNiveis();
     }
 
     /**
@@ -49,16 +73,44 @@ public class NewGame extends JFrame {
         btnNivel1 = criarBotao("Nível Fácil", 300, 280, e -> iniciarJogoComDificuldade(Dificuldade.FACIL));
         btnNivel2 = criarBotao("Nível Médio", 300, 350, e -> iniciarJogoComDificuldade(Dificuldade.MEDIO));
         btnNivel3 = criarBotao("Nível Difícil", 300, 420, e -> iniciarJogoComDificuldade(Dificuldade.DIFICIL));
+        btnNivel4 = criarBotao("Maratona", 300, 490, e -> iniciarJogoComDificuldade(Dificuldade.MARATONA));
 
-        // Inicialmente desabilita níveis mais altos
-        btnNivel2.setEnabled(false);
-        btnNivel3.setEnabled(false);
+        atualizarNiveis();
 
         background.add(btnNovoJogo);
         background.add(btnCarregarJogo);
         background.add(btnNivel1);
         background.add(btnNivel2);
         background.add(btnNivel3);
+        background.add(btnNivel4);
+    }
+
+    /**
+     * Habilita apenas os níveis já liberados no perfil do último jogador, isto é, de
+     * quem terminou a última partida.
+     */
+    private void atualizarNiveis() {
+        int nivelLiberado = PerfilStore.padrao().carregar(PerfilStore.padrao().getUltimoJogador()).getNivelLiberado();
+        btnNivel2.setEnabled(false);
+        btnNivel3.setEnabled(false);
+        btnNivel4.setEnabled(false);
+        for (int nivel = 2; nivel <= nivelLiberado; nivel++) {
+            liberarNivel(nivel);
+        }
+    }
+
+    /**
+     * Libera o botão de acesso ao nível especificado. A liberação em si fica no perfil
+     * do jogador; aqui só o botão é habilitado.
+     *
+     * @param nivel Número do nível a ser liberado.
+     */
+    private void liberarNivel(int nivel) {
+        switch (nivel) {
+            case 2 -> btnNivel2.setEnabled(true);
+            case 3 -> btnNivel3.setEnabled(true);
+            case 4 -> btnNivel4.setEnabled(true);
+        }
     }
 
     /**
@@ -83,53 +135,22 @@ public class NewGame extends JFrame {
     }
 
     /**
-     * Inicia o jogo com a dificuldade especificada e abre uma nova janela do jogo.
+     * Inicia o jogo com a dificuldade especificada na janela do jogo. Nada é liberado
+     * aqui: o próximo nível só é liberado quando o jogador vence a partida
+     * ({@link PerfilJogador#registrarPartida}), e os botões são atualizados pelo
+     * {@link #aoEntrar()} com o perfil de quem terminou a partida.
      *
      * @param dificuldade Dificuldade selecionada para iniciar o jogo.
      */
     private void iniciarJogoComDificuldade(Dificuldade dificuldade) {
-        JFrame janelaJogo = new JFrame("Jogo da Memória - " + dificuldade.name());
-        janelaJogo.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        janelaJogo.setResizable(false);
-
-        PainelDeJogo painel = new PainelDeJogo(dificuldade);
-        janelaJogo.add(painel);
-        janelaJogo.pack();
-        janelaJogo.setLocationRelativeTo(null);
-        janelaJogo.setVisible(true);
-
-        liberarProximoNivel(dificuldade);
+        PainelDeJogo.iniciar(dificuldade, null);
     }
 
     /**
-     * Simula o carregamento de um jogo salvo e libera o segundo nível.
+     * Simula o carregamento de um jogo salvo.
      */
     private void carregarJogo() {
         JOptionPane.showMessageDialog(this, "Carregando Jogo...", "Carregar Jogo", JOptionPane.INFORMATION_MESSAGE);
         iniciarJogoComDificuldade(Dificuldade.FACIL);
-        liberarNivel(2);
-    }
-
-    /**
-     * Libera o botão de acesso ao nível especificado.
-     *
-     * @param nivel Número do nível a ser liberado.
-     */
-    private void liberarNivel(int nivel) {
-        switch (nivel) {
-            case 2 -> btnNivel2.setEnabled(true);
-            case 3 -> btnNivel3.setEnabled(true);
-        }
-    }
-
-    /**
-     * Libera o próximo nível de dificuldade com base no nível atual jogado.
-     *
-     * @param atual Dificuldade atual completada.
-     */
-    private void liberarProximoNivel(Dificuldade atual) {
-        if (atual == Dificuldade.FACIL) liberarNivel(2);
-        else if (atual == Dificuldade.MEDIO) liberarNivel(3);
-        else if (atual == Dificuldade.DIFICIL) liberarNivel(4); // ou 5 futuramente
     }
 }
@@ -2,15 +2,13 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Classe responsável por gerenciar a interface gráfica do jogo da memória,
  * controlando a exibição das cartas, o tempo, a pontuação, tentativas, a interação do jogador
  * e as funcionalidades de pausa e término do jogo.
  */
-public class PainelDeJogo extends JPanel {
+public class PainelDeJogo extends JPanel implements Tela, VisaoDoTabuleiro {
 
     /**
      * Lista de cartas no jogo.
@@ -23,14 +21,14 @@ public class PainelDeJogo extends JPanel {
     private Dificuldade dificuldade;
 
     /**
-     * Timer para controlar a contagem regressiva do tempo.
+     * Timer que consulta o relógio da partida e redesenha o tempo restante.
      */
     private javax.swing.Timer timer;
 
     /**
-     * Tempo restante no jogo, em segundos.
+     * Sessão com o estado da partida: tabuleiro, pontuação e tempo restante.
      */
-    private int tempoRestante;
+    private SessaoDeJogo sessao;
 
     /**
      * Largura de cada carta.
@@ -78,9 +76,14 @@ public class PainelDeJogo extends JPanel {
     private boolean emPreview = true;
 
     /**
-     * Timer para o preview das cartas no início do jogo.
+     * Dono dos timers, animações e sons da partida; fechado quando a partida é descartada.
      */
-    private Timer timerPreview;
+    private final EscopoDeRecursos escopo = new EscopoDeRecursos("partida");
+
+    /**
+     * Sobreposição de desempenho (F3), alimentada a cada quadro mesmo quando oculta.
+     */
+    private final SobreposicaoDesempenho desempenho = new SobreposicaoDesempenho();
 
     /**
      * Controles que gerenciam a lógica do jogo, como as interações com as cartas.
@@ -92,18 +95,28 @@ public class PainelDeJogo extends JPanel {
      */
     private String nomeJogador;
 
+    /**
+     * Construtor que inicializa o painel de jogo com o nível de dificuldade escolhido,
+     * pedindo o nome do jogador.
+     * @param dificuldade Nível de dificuldade do jogo.
+     */
+    public PainelDeJogo(Dificuldade dificuldade) {
+        this(dificuldade, null);
+    }
+
     /**
      * Construtor que inicializa o painel de jogo com o nível de dificuldade escolhido.
      * Configura o layout, as cartas, os rótulos, o botão de pausa e inicia o timer.
      * @param dificuldade Nível de dificuldade do jogo.
+     * @param nome Nome do jogador, ou null para pedi-lo ao jogador.
      */
-    public PainelDeJogo(Dificuldade dificuldade) {
+    public PainelDeJogo(Dificuldade dificuldade, String nome) {
         this.dificuldade = dificuldade;
-        this.tempoRestante = dificuldade.tempoSegundos;
         this.jogoPausado = false;
 
-        // Solicita o nome do jogador
-        nomeJogador = JOptionPane.showInputDialog(null, "Digite seu nome:", "Jogador");
+        // Solicita o nome do jogador quando ainda não é conhecido (recomeçar e próxima fase reaproveitam o nome)
+        nomeJogador = nome != null ? nome
+                : JOptionPane.showInputDialog(GerenciadorDeTelas.padrao().getJanela(), "Digite seu nome:", PerfilStore.padrao().getUltimoJogador());
 
         // Configura o tamanho do painel de acordo com a dificuldade (linhas e colunas)
         setPreferredSize(new Dimension(
@@ -115,35 +128,54 @@ public class PainelDeJogo extends JPanel {
 
         // Gera as cartas do jogo com base na dificuldade e configura o painel
         cartas = GeradorDeCartas.gerarCartasPequenasComPainel(this, dificuldade.linhas, dificuldade.colunas);
-        for (Carta carta : cartas) carta.setPainel(this);
+        for (Carta carta : cartas) {
+            carta.setPainel(this);
+            carta.setEscopo(escopo);
+        }
 
-        // Inicializa os controles
-        controles = new Controles(this);
+        // Cria a sessão da partida a partir do tabuleiro gerado e inicializa os controles
+        int[] ids = new int[cartas.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = cartas.get(i).getId();
+        sessao = new SessaoDeJogo(nomeJogador, dificuldade, new RegrasDoJogo(ids), BarramentoDeEventos.padrao());
+        controles = new Controles(this, sessao, escopo);
 
         // Criação do rótulo de pontuação
         pontuacaoLabel = new JLabel("Pontuação: ");
-        pontuacaoLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        pontuacaoLabel.setFont(RegistroDeFontes.PLACAR);
         pontuacaoLabel.setBounds(10, 10, 200, 30);
         add(pontuacaoLabel);
 
         // Criação do rótulo de tentativas
         tentativasLabel = new JLabel("Tentativas: 0", SwingConstants.CENTER);
-        tentativasLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        tentativasLabel.setFont(RegistroDeFontes.PLACAR);
         tentativasLabel.setBounds((getPreferredSize().width / 2) - 60, 10, 120, 30);
         add(tentativasLabel);
 
         // Botão de pausa e continuação do jogo
         pauseButton = new JButton("⏸ Pause");
-        pauseButton.setFont(new Font("Arial", Font.BOLD, 14));
+        pauseButton.setFont(RegistroDeFontes.PLACAR);
         pauseButton.setBounds(getPreferredSize().width - 120, 10, 110, 30);
         pauseButton.addActionListener(e -> pausarJogo());
         add(pauseButton);
 
-        // Adiciona o evento de clique do mouse para interagir com as cartas
+        // F3 liga e desliga a sobreposição de desempenho, que mostra também a memória dos quadros de virada do tabuleiro
+        desempenho.setMemoriaDoTabuleiro(() -> QuadrosDeVirada.getBytes(cartas, cartaLargura, cartaAltura));
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "desempenho");
+        getActionMap().put("desempenho", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                SobreposicaoDesempenho.alternar();
+                repaint();
+            }
+        });
+
+        // Adiciona o evento de clique do mouse para interagir com as cartas. Usa o pressionar do
+        // botão, que chega antes do clique e não é perdido se o mouse se mover antes de soltar.
         addMouseListener(new MouseAdapter() {
             @Override
-            public void mouseClicked(MouseEvent e) {
+            public void mousePressed(MouseEvent e) {
                 if (jogoPausado || emPreview) return;
+                long instante = FilaDeEntrada.instanteDoEvento(e);
 
                 int x = e.getX();
                 int y = e.getY() - margemTopo;
@@ -159,7 +191,7 @@ public class PainelDeJogo extends JPanel {
                     // Se o clique for dentro dos limites da carta
                     if (x >= cartaX && x <= cartaX + cartaLargura &&
                             y >= cartaY && y <= cartaY + cartaAltura) {
-                        controles.clicarCarta(cartas.get(i));
+                        controles.clicarCarta(cartas.get(i), instante);
                         tentativasLabel.setText("Tentativas: " + controles.getTentativas());
                         break;
                     }
@@ -168,20 +200,16 @@ public class PainelDeJogo extends JPanel {
                 // Verifica se o jogo foi finalizado e exibe o resultado
                 if (isJogoFinalizado()) {
                     timer.stop();
-                    int pontos = tempoRestante * 10;
-                    int recorde = PontuacaoManager.carregarRecorde();
+                    int pontos = sessao.getPontosFinais();
 
-                    if (pontos > recorde) {
-                        PontuacaoManager.salvarRecorde(pontos);
-                    } else {
+                    if (!PontuacaoManager.salvarRecorde(dificuldade, pontos)) {
                         JOptionPane.showMessageDialog(null,
                                 nomeJogador + ", sua pontuação: " + pontos +
                                         "\nTentativas: " + controles.getTentativas());
                     }
 
-                    // Fecha a janela de jogo e abre o menu inicial
-                    SwingUtilities.getWindowAncestor(PainelDeJogo.this).dispose();
-                    new MenuInicial().setVisible(true);
+                    // Volta ao menu inicial
+                    MenuInicial.exibir();
                 }
             }
         });
@@ -202,41 +230,91 @@ public class PainelDeJogo extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        long inicio = System.nanoTime();
+        EventosJfr.PintarPainel evento = new EventosJfr.PintarPainel();
+        evento.begin();
         super.paintComponent(g);
         pauseButton.setBounds(getWidth() - 120, 10, 110, 30);
 
         g.setColor(Color.BLACK);
-        g.setFont(new Font("Arial", Font.BOLD, 16));
-        g.drawString("Tempo: " + tempoRestante + "s", 10, 50);
+        g.setFont(RegistroDeFontes.TEMPO);
+        g.drawString("Tempo: " + sessao.getTempoRestante() + "s", 10, 50);
         tentativasLabel.setBounds((getWidth() / 2) - 60, 10, 120, 30);
 
         // Desenha as cartas na tela
+        desenharTabuleiro(g, cartas, dificuldade.colunas, cartaLargura, cartaAltura, espacamento, margemTopo);
+
+        if (evento.shouldCommit()) {
+            evento.linhas = dificuldade.linhas;
+            evento.colunas = dificuldade.colunas;
+            evento.cartas = cartas.size();
+            evento.commit();
+        }
+        long duracao = System.nanoTime() - inicio;
+        MetricasJogo.quadroPintado(duracao);
+        desempenho.registrarQuadro(inicio, duracao);
+        if (SobreposicaoDesempenho.isVisivel()) desempenho.desenhar(g, getHeight());
+    }
+
+    /**
+     * Conta os pedidos de repintura para a sobreposição de desempenho.
+     */
+    @Override
+    public void repaint(long tm, int x, int y, int largura, int altura) {
+        // Chamado também pelo construtor de JComponent, antes da inicialização dos campos
+        if (desempenho != null) desempenho.registrarRepintura();
+        super.repaint(tm, x, y, largura, altura);
+    }
+
+    /**
+     * Desenha as cartas em grade, linha por linha. Usado pelo painel e pelos benchmarks de
+     * renderização, que montam tabuleiros maiores que os das dificuldades do jogo.
+     * @param g Objeto Graphics usado para desenhar.
+     * @param cartas Cartas do tabuleiro, na ordem das posições.
+     * @param colunas Número de colunas do tabuleiro.
+     * @param largura Largura de cada carta.
+     * @param altura Altura de cada carta.
+     * @param espacamento Espaçamento entre as cartas.
+     * @param topo Deslocamento vertical da primeira linha.
+     */
+    static void desenharTabuleiro(Graphics g, java.util.List<Carta> cartas, int colunas,
+                                  int largura, int altura, int espacamento, int topo) {
         for (int i = 0; i < cartas.size(); i++) {
-            int linha = i / dificuldade.colunas;
-            int coluna = i % dificuldade.colunas;
+            int linha = i / colunas;
+            int coluna = i % colunas;
 
-            int x = coluna * (cartaLargura + espacamento);
-            int y = linha * (cartaAltura + espacamento) + margemTopo;
+            int x = coluna * (largura + espacamento);
+            int y = linha * (altura + espacamento) + topo;
 
-            cartas.get(i).desenhar(g, x, y, cartaLargura, cartaAltura);
+            cartas.get(i).desenhar(g, x, y, largura, altura);
         }
     }
 
     /**
-     * Inicia a contagem regressiva do timer do jogo. Cada segundo reduz o tempo restante.
+     * Inicia a consulta periódica do relógio da partida. O tempo restante é calculado pela
+     * sessão a partir de um relógio monotônico; o timer só detecta o fim do tempo e
+     * redesenha quando o segundo exibido muda, então atrasos nos disparos não dão tempo extra.
      */
     private void iniciarTimer() {
-        timer = new javax.swing.Timer(1000, e -> {
+        if (timer != null) {
+            timer.start();
+            return;
+        }
+        int[] segundoExibido = {sessao.getTempoRestante()};
+        timer = new javax.swing.Timer(100, e -> {
             if (!jogoPausado) {
-                tempoRestante--;
-                if (tempoRestante <= 0) {
+                if (sessao.atualizarTempo()) {
                     timer.stop();
-                    new TelaDerrota(nomeJogador, tempoRestante * 10, controles.getTentativas(), dificuldade);
-                    SwingUtilities.getWindowAncestor(PainelDeJogo.this).dispose();
+                    registrarResultado(sessao.getResultado());
+                    TelaDerrota.exibir(nomeJogador, sessao.getPontosFinais(), sessao.getTentativas(), dificuldade);
+                }
+                if (sessao.getTempoRestante() != segundoExibido[0]) {
+                    segundoExibido[0] = sessao.getTempoRestante();
+                    repaint();
                 }
-                repaint();
             }
         });
+        escopo.registrar(timer::stop);
         timer.start();
     }
 
@@ -246,8 +324,13 @@ public class PainelDeJogo extends JPanel {
     private void pausarJogo() {
         jogoPausado = !jogoPausado;
         pauseButton.setText(jogoPausado ? "▶ Continuar" : "⏸ Pause");
-        if (jogoPausado) timer.stop();
-        else iniciarTimer();
+        if (jogoPausado) {
+            sessao.pausar();
+            timer.stop();
+        } else {
+            sessao.retomar();
+            iniciarTimer();
+        }
     }
 
     /**
@@ -262,8 +345,31 @@ public class PainelDeJogo extends JPanel {
     /**
      * Atualiza a pontuação exibida na interface.
      */
+    @Override
     public void atualizarPontuacao() {
-        pontuacaoLabel.setText("Pontuação: " + Pontuacao.adicionarPontos(100));
+        pontuacaoLabel.setText("Pontuação: " + sessao.getPontuacao());
+        // Perto do fim, prepara a próxima fase em segundo plano
+        PreCarregador.aoEncontrarPar(sessao);
+    }
+
+    /**
+     * Retorna a posição da carta no tabuleiro.
+     * @param carta A carta procurada.
+     * @return O índice da carta, ou -1 se ela não pertencer a este painel.
+     */
+    @Override
+    public int indiceDe(Carta carta) {
+        return cartas.indexOf(carta);
+    }
+
+    /**
+     * Retorna a carta na posição informada do tabuleiro.
+     * @param indice Posição da carta.
+     * @return A carta.
+     */
+    @Override
+    public Carta getCarta(int indice) {
+        return cartas.get(indice);
     }
 
     /**
@@ -274,21 +380,43 @@ public class PainelDeJogo extends JPanel {
         return dificuldade;
     }
 
+    /**
+     * Inicia uma nova partida na janela do jogo, descartando a anterior. A maratona usa
+     * um {@link PainelMaratona}, que só desenha as cartas visíveis.
+     * Pode ser chamado de qualquer thread.
+     * @param dificuldade Nível de dificuldade da partida.
+     * @param nome Nome do jogador, ou null para pedi-lo ao jogador.
+     */
+    public static void iniciar(Dificuldade dificuldade, String nome) {
+        SwingUtilities.invokeLater(() -> GerenciadorDeTelas.padrao().substituir(GerenciadorDeTelas.JOGO,
+                dificuldade == Dificuldade.MARATONA ? new PainelMaratona(nome) : new PainelDeJogo(dificuldade, nome)));
+    }
+
+    @Override
+    public JComponent getComponente() {
+        return this;
+    }
+
+    @Override
+    public String getTitulo() {
+        return "Jogo da Memória - " + dificuldade.name();
+    }
+
+    /**
+     * Encerra os timers, animações e sons da partida quando ela é substituída por outra.
+     */
+    @Override
+    public void descartar() {
+        sessao.abandonar();
+        escopo.close();
+    }
+
     /**
      * Método principal para testar o painel de jogo em uma janela.
      * @param args Argumentos da linha de comando (não utilizados).
      */
     public static void main(String[] args) {
-        Dificuldade dificuldade = Dificuldade.FACIL;
-
-        JFrame frame = new JFrame("Jogo da Memória");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setResizable(false);
-        PainelDeJogo painel = new PainelDeJogo(dificuldade);
-        frame.add(painel);
-        frame.pack();
-        frame.setLocationRelativeTo(null);
-        frame.setVisible(true);
+        iniciar(Dificuldade.FACIL, null);
     }
 
     /**
@@ -304,58 +432,56 @@ public class PainelDeJogo extends JPanel {
             }
         }
 
-        // Cria um timer que irá reverter as cartas após 2 segundos
-        timerPreview = new Timer();
-        timerPreview.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                for (Carta carta : cartas) {
-                    if (!carta.isEncontrada()) {
-                        carta.virarComAnimacao(null);
-                    }
+        // Agenda a reversão das cartas após 2 segundos
+        escopo.agendar(() -> {
+            for (Carta carta : cartas) {
+                if (!carta.isEncontrada()) {
+                    carta.virarComAnimacao(null);
                 }
-                emPreview = false;
-                repaint();
             }
+            emPreview = false;
+            repaint();
         }, 2000);
     }
 
+    /**
+     * Registra o resultado da partida no histórico e no perfil do jogador.
+     * @param resultado O resultado da partida.
+     */
+    private void registrarResultado(ResultadoPartida resultado) {
+        HistoricoJson.registrar(resultado);
+        PerfilStore.padrao().registrarPartida(resultado);
+    }
+
     /**
      * Verifica o fim do jogo e exibe a tela de vitória ou derrota, com base na pontuação e tentativas do jogador.
      */
+    @Override
     public void verificarFimDeJogo() {
         // Verifica se o jogo foi finalizado
         if (isJogoFinalizado()) {
             // Calcula a pontuação
-            int pontos = tempoRestante * 10;
-            int tentativas = controles.getTentativas();
+            int pontos = sessao.getPontosFinais();
+            int tentativas = sessao.getTentativas();
 
-            // Verifica se o jogador alcançou um novo recorde
-            int recorde = PontuacaoManager.carregarRecorde();
+            registrarResultado(sessao.getResultado());
 
-            if (pontos > recorde) {
-                PontuacaoManager.salvarRecorde(pontos);
+            // Verifica se o jogador alcançou um novo recorde
+            if (PontuacaoManager.salvarRecorde(dificuldade, pontos)) {
                 JOptionPane.showMessageDialog(null,
                         "🎉 Parabéns, " + nomeJogador + "! Novo Recorde: " + pontos +
                                 "\nTentativas: " + tentativas);
             }
 
-            // Fecha a janela do painel de jogo
-            SwingUtilities.getWindowAncestor(PainelDeJogo.this).dispose();
-
             // Abre a tela de vitória
-            TelaVitoria vitoria = new TelaVitoria(nomeJogador, pontos, tentativas, dificuldade);
-            vitoria.setVisible(true);
-        } else if (tempoRestante <= 0) {
+            TelaVitoria.exibir(nomeJogador, pontos, tentativas, dificuldade);
+        } else if (sessao.getEstado() == SessaoDeJogo.Estado.DERROTA) {
             // Se o tempo acabou, o jogador perde
-            int pontos = tempoRestante * 10;
-            int tentativas = controles.getTentativas();
-
-            // Fecha a janela do painel de jogo
-            SwingUtilities.getWindowAncestor(PainelDeJogo.this).dispose();
+            int pontos = sessao.getPontosFinais();
+            int tentativas = sessao.getTentativas();
 
             // Exibe a tela de derrota
-            new TelaDerrota(nomeJogador, pontos, tentativas, dificuldade).setVisible(true);
+            TelaDerrota.exibir(nomeJogador, pontos, tentativas, dificuldade);
         }
     }
 }
@@ -0,0 +1,173 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.util.Random;
+
+/**
+ * Tela da maratona ({@link Dificuldade#MARATONA}): um placar fixo no topo e o
+ * {@link TabuleiroVirtual} dentro de uma área com rolagem e zoom. O zoom muda com os
+ * botões, com as teclas {@code +} e {@code -} ou com Ctrl + roda do mouse.
+ */
+public class PainelMaratona extends JPanel implements Tela {
+
+    private final Dificuldade dificuldade = Dificuldade.MARATONA;
+    private final String nomeJogador;
+    private final SessaoDeJogo sessao;
+    private final EscopoDeRecursos escopo = new EscopoDeRecursos("maratona");
+    private final TabuleiroVirtual tabuleiro;
+    private final JLabel tempoLabel = new JLabel();
+    private final JLabel pontuacaoLabel = new JLabel("Pontuação: 0");
+    private final JLabel tentativasLabel = new JLabel("Tentativas: 0", SwingConstants.CENTER);
+    private final JButton pauseButton = new JButton("⏸ Pause");
+    private final javax.swing.Timer timer;
+    private boolean encerrada;
+
+    /**
+     * Cria a maratona.
+     *
+     * @param nome Nome do jogador, ou null para pedi-lo ao jogador.
+     */
+    public PainelMaratona(String nome) {
+        super(new BorderLayout());
+        nomeJogador = nome != null ? nome
+                : JOptionPane.showInputDialog(GerenciadorDeTelas.padrao().getJanela(), "Digite seu nome:", PerfilStore.padrao().getUltimoJogador());
+
+        // Cada par tem seu identificador; os que passam das imagens usam faces geradas
+        RegrasDoJogo regras = RegrasDoJogo.embaralhado(dificuldade.linhas, dificuldade.colunas, new Random());
+        sessao = new SessaoDeJogo(nomeJogador, dificuldade, regras, BarramentoDeEventos.padrao());
+        tabuleiro = new TabuleiroVirtual(dificuldade.linhas, dificuldade.colunas, sessao, escopo,
+                () -> pontuacaoLabel.setText("Pontuação: " + sessao.getPontuacao()), this::verificarFimDeJogo);
+
+        add(criarPlacar(), BorderLayout.NORTH);
+        JScrollPane rolagem = new JScrollPane(tabuleiro);
+        rolagem.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        add(rolagem, BorderLayout.CENTER);
+
+        // Atalhos de zoom
+        InputMap teclas = getInputMap(WHEN_IN_FOCUSED_WINDOW);
+        teclas.put(KeyStroke.getKeyStroke(KeyEvent.VK_PLUS, 0), "aproximar");
+        teclas.put(KeyStroke.getKeyStroke(KeyEvent.VK_ADD, 0), "aproximar");
+        teclas.put(KeyStroke.getKeyStroke(KeyEvent.VK_EQUALS, 0), "aproximar");
+        teclas.put(KeyStroke.getKeyStroke(KeyEvent.VK_MINUS, 0), "afastar");
+        teclas.put(KeyStroke.getKeyStroke(KeyEvent.VK_SUBTRACT, 0), "afastar");
+        getActionMap().put("aproximar", acao(() -> tabuleiro.setZoom(tabuleiro.getZoom() * 1.25, null)));
+        getActionMap().put("afastar", acao(() -> tabuleiro.setZoom(tabuleiro.getZoom() / 1.25, null)));
+
+        int[] segundoExibido = {-1};
+        timer = new javax.swing.Timer(100, e -> {
+            if (sessao.atualizarTempo()) {
+                encerrar();
+                registrarResultado();
+                TelaDerrota.exibir(nomeJogador, sessao.getPontosFinais(), sessao.getTentativas(), dificuldade);
+            }
+            if (sessao.getTempoRestante() != segundoExibido[0]) {
+                segundoExibido[0] = sessao.getTempoRestante();
+                tempoLabel.setText("Tempo: " + segundoExibido[0] + "s");
+            }
+            tentativasLabel.setText("Tentativas: " + sessao.getTentativas());
+        });
+        escopo.registrar(timer::stop);
+        timer.start();
+
+        // Salva as tentativas no ranking, como o painel de jogo
+        RankingManager.salvar(nomeJogador, sessao.getTentativas());
+    }
+
+    private JPanel criarPlacar() {
+        JPanel placar = new JPanel(new GridLayout(1, 0, 10, 0));
+        placar.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
+        for (JLabel rotulo : new JLabel[]{tempoLabel, pontuacaoLabel, tentativasLabel}) {
+            rotulo.setFont(RegistroDeFontes.PLACAR);
+            placar.add(rotulo);
+        }
+        JButton afastar = new JButton("−");
+        afastar.addActionListener(e -> tabuleiro.setZoom(tabuleiro.getZoom() / 1.25, null));
+        JButton aproximar = new JButton("+");
+        aproximar.addActionListener(e -> tabuleiro.setZoom(tabuleiro.getZoom() * 1.25, null));
+        pauseButton.setFont(RegistroDeFontes.PLACAR);
+        pauseButton.addActionListener(e -> pausar());
+        placar.add(afastar);
+        placar.add(aproximar);
+        placar.add(pauseButton);
+        return placar;
+    }
+
+    private static Action acao(Runnable acao) {
+        return new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                acao.run();
+            }
+        };
+    }
+
+    /**
+     * Pausa ou retoma a maratona; pausada, o tabuleiro ignora os cliques.
+     */
+    private void pausar() {
+        boolean pausado = !sessao.isPausado();
+        pauseButton.setText(pausado ? "▶ Continuar" : "⏸ Pause");
+        if (pausado) {
+            sessao.pausar();
+            timer.stop();
+        } else {
+            sessao.retomar();
+            timer.start();
+        }
+    }
+
+    /**
+     * Exibe a tela de vitória quando todos os pares foram encontrados.
+     */
+    private void verificarFimDeJogo() {
+        if (encerrada || sessao.getEstado() != SessaoDeJogo.Estado.VITORIA) return;
+        encerrar();
+        int pontos = sessao.getPontosFinais();
+        registrarResultado();
+        if (PontuacaoManager.salvarRecorde(dificuldade, pontos)) {
+            JOptionPane.showMessageDialog(null,
+                    "🎉 Parabéns, " + nomeJogador + "! Novo Recorde: " + pontos + "\nTentativas: " + sessao.getTentativas());
+        }
+        TelaVitoria.exibir(nomeJogador, pontos, sessao.getTentativas(), dificuldade);
+    }
+
+    private void encerrar() {
+        encerrada = true;
+        timer.stop();
+    }
+
+    private void registrarResultado() {
+        ResultadoPartida resultado = sessao.getResultado();
+        HistoricoJson.registrar(resultado);
+        PerfilStore.padrao().registrarPartida(resultado);
+    }
+
+    /**
+     * Retorna o tabuleiro da maratona.
+     *
+     * @return O tabuleiro virtual.
+     */
+    public TabuleiroVirtual getTabuleiro() {
+        return tabuleiro;
+    }
+
+    @Override
+    public JComponent getComponente() {
+        return this;
+    }
+
+    @Override
+    public String getTitulo() {
+        return "Jogo da Memória - Maratona";
+    }
+
+    /**
+     * Encerra o timer, as animações e os sons quando a maratona é substituída.
+     */
+    @Override
+    public void descartar() {
+        sessao.abandonar();
+        escopo.close();
+    }
+}
@@ -0,0 +1,242 @@
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Perfil persistente de um jogador: níveis liberados, partidas jogadas e estatísticas
+ * por {@link Dificuldade}. As estatísticas são mantidas de forma incremental a cada
+ * partida (média e variância corridas, histograma), de modo que consultá-las custa O(1).
+ */
+public class PerfilJogador {
+    /**
+     * Número de faixas do histograma de tentativas; a última acumula os valores maiores.
+     */
+    static final int FAIXAS_HISTOGRAMA = 21;
+
+    private final String nome;
+    private int nivelLiberado = 1;
+    private int jogos;
+    private final Map<Dificuldade, Estatisticas> estatisticas = new EnumMap<>(Dificuldade.class);
+
+    /**
+     * Cria um perfil novo, apenas com o primeiro nível liberado.
+     *
+     * @param nome Nome do jogador.
+     */
+    public PerfilJogador(String nome) {
+        this.nome = nome;
+        for (Dificuldade d : Dificuldade.values()) {
+            estatisticas.put(d, new Estatisticas());
+        }
+    }
+
+    /**
+     * Média e variância corridas (algoritmo de Welford) de uma série de valores.
+     */
+    static final class MediaCorrida {
+        private long n;
+        private double media;
+        private double m2;
+
+        void adicionar(double valor) {
+            n++;
+            double delta = valor - media;
+            media += delta / n;
+            m2 += delta * (valor - media);
+        }
+
+        double getMedia() {
+            return media;
+        }
+
+        double getVariancia() {
+            return n > 1 ? m2 / (n - 1) : 0.0;
+        }
+
+        JSONObject paraJson() {
+            return new JSONObject().put("n", n).put("media", media).put("m2", m2);
+        }
+
+        void carregar(JSONObject json) {
+            n = json.optLong("n");
+            media = json.optDouble("media", 0.0);
+            m2 = json.optDouble("m2", 0.0);
+        }
+    }
+
+    /**
+     * Estatísticas de um jogador em uma dificuldade.
+     */
+    static final class Estatisticas {
+        int jogos;
+        int vitorias;
+        int melhorTentativas = -1;
+        int melhorTempo = -1;
+        final MediaCorrida tentativas = new MediaCorrida();
+        final MediaCorrida tempo = new MediaCorrida();
+        final int[] histogramaTentativas = new int[FAIXAS_HISTOGRAMA];
+
+        JSONObject paraJson() {
+            return new JSONObject()
+                    .put("jogos", jogos)
+                    .put("vitorias", vitorias)
+                    .put("melhorTentativas", melhorTentativas)
+                    .put("melhorTempo", melhorTempo)
+                    .put("tentativas", tentativas.paraJson())
+                    .put("tempo", tempo.paraJson())
+                    .put("histogramaTentativas", new JSONArray(histogramaTentativas));
+        }
+
+        void carregar(JSONObject json) {
+            jogos = json.optInt("jogos");
+            vitorias = json.optInt("vitorias");
+            melhorTentativas = json.optInt("melhorTentativas", -1);
+            melhorTempo = json.optInt("melhorTempo", -1);
+            JSONObject t = json.optJSONObject("tentativas");
+            if (t != null) tentativas.carregar(t);
+            JSONObject s = json.optJSONObject("tempo");
+            if (s != null) tempo.carregar(s);
+            JSONArray h = json.optJSONArray("histogramaTentativas");
+            if (h != null) {
+                for (int i = 0; i < Math.min(h.length(), FAIXAS_HISTOGRAMA); i++) {
+                    histogramaTentativas[i] = h.optInt(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Atualiza o perfil com o resultado de uma partida. Partidas vencidas liberam o nível
+     * seguinte; o tempo considerado é o tempo gasto na partida.
+     *
+     * @param resultado O resultado da partida.
+     */
+    public void registrarPartida(ResultadoPartida resultado) {
+        jogos++;
+        if (resultado.dificuldade == null) return;
+
+        Estatisticas e = estatisticas.get(resultado.dificuldade);
+        int tempoGasto = resultado.dificuldade.tempoSegundos - resultado.tempoRestante;
+        e.jogos++;
+        e.tentativas.adicionar(resultado.tentativas);
+        e.tempo.adicionar(tempoGasto);
+        e.histogramaTentativas[Math.min(resultado.tentativas, FAIXAS_HISTOGRAMA - 1)]++;
+
+        if (resultado.vitoria) {
+            e.vitorias++;
+            if (e.melhorTentativas < 0 || resultado.tentativas < e.melhorTentativas) e.melhorTentativas = resultado.tentativas;
+            if (e.melhorTempo < 0 || tempoGasto < e.melhorTempo) e.melhorTempo = tempoGasto;
+            liberarNivel(resultado.dificuldade.ordinal() + 2);
+        }
+    }
+
+    /**
+     * Libera os níveis até o nível informado (1 = Fácil).
+     *
+     * @param nivel Número do nível a liberar.
+     */
+    public void liberarNivel(int nivel) {
+        nivelLiberado = Math.max(nivelLiberado, Math.min(nivel, Dificuldade.values().length));
+    }
+
+    /**
+     * Retorna o nome do jogador.
+     *
+     * @return O nome do jogador.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna o maior nível liberado (1 = Fácil).
+     *
+     * @return O maior nível liberado.
+     */
+    public int getNivelLiberado() {
+        return nivelLiberado;
+    }
+
+    /**
+     * Retorna o total de partidas jogadas.
+     *
+     * @return O número de partidas.
+     */
+    public int getJogos() {
+        return jogos;
+    }
+
+    /**
+     * Retorna as estatísticas de uma dificuldade.
+     *
+     * @param dificuldade A dificuldade consultada.
+     * @return As estatísticas da dificuldade.
+     */
+    Estatisticas getEstatisticas(Dificuldade dificuldade) {
+        return estatisticas.get(dificuldade);
+    }
+
+    /**
+     * Monta o texto exibido na tela de estatísticas.
+     *
+     * @return O resumo do perfil.
+     */
+    public String resumo() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(nome).append(" - ").append(jogos).append(" partidas, nível ").append(nivelLiberado).append(" liberado\n\n");
+        for (Dificuldade d : Dificuldade.values()) {
+            Estatisticas e = estatisticas.get(d);
+            texto.append(d.name()).append(": ");
+            if (e.jogos == 0) {
+                texto.append("nenhuma partida\n");
+                continue;
+            }
+            texto.append(e.vitorias).append("/").append(e.jogos).append(" vitórias");
+            if (e.melhorTentativas >= 0) {
+                texto.append(", melhor: ").append(e.melhorTentativas).append(" tentativas em ").append(e.melhorTempo).append("s");
+            }
+            texto.append(String.format(", média: %.1f ± %.1f tentativas, %.1fs%n",
+                    e.tentativas.getMedia(), Math.sqrt(e.tentativas.getVariancia()), e.tempo.getMedia()));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Converte o perfil em um objeto JSON.
+     *
+     * @return O objeto JSON correspondente.
+     */
+    public JSONObject paraJson() {
+        JSONObject porDificuldade = new JSONObject();
+        for (Map.Entry<Dificuldade, Estatisticas> entrada : estatisticas.entrySet()) {
+            porDificuldade.put(entrada.getKey().name(), entrada.getValue().paraJson());
+        }
+        return new JSONObject()
+                .put("nome", nome)
+                .put("nivelLiberado", nivelLiberado)
+                .put("jogos", jogos)
+                .put("dificuldades", porDificuldade);
+    }
+
+    /**
+     * Cria um perfil a partir de um objeto JSON.
+     *
+     * @param json O objeto JSON.
+     * @return O perfil correspondente.
+     */
+    public static PerfilJogador deJson(JSONObject json) {
+        PerfilJogador perfil = new PerfilJogador(json.getString("nome"));
+        perfil.nivelLiberado = json.optInt("nivelLiberado", 1);
+        perfil.jogos = json.optInt("jogos");
+        JSONObject porDificuldade = json.optJSONObject("dificuldades");
+        if (porDificuldade != null) {
+            for (Dificuldade d : Dificuldade.values()) {
+                JSONObject e = porDificuldade.optJSONObject(d.name());
+                if (e != null) perfil.estatisticas.get(d).carregar(e);
+            }
+        }
+        return perfil;
+    }
+}
@@ -0,0 +1,186 @@
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento dos perfis de jogadores no diretório {@code perfis/}, um arquivo por
+ * jogador cujo nome é derivado do nome do jogador. Nenhum perfil é lido na inicialização:
+ * cada perfil é carregado na primeira consulta e mantido em cache, então o número de
+ * perfis salvos não afeta o tempo de abertura do jogo.
+ *
+ * As gravações passam por um {@link ArquivoCompartilhado}: a alteração é aplicada sobre
+ * a versão mais recente do arquivo, preservando partidas registradas por outras instâncias.
+ */
+public class PerfilStore {
+    /**
+     * Diretório padrão dos perfis.
+     */
+    private static final String DIRETORIO_PADRAO = "perfis";
+
+    /**
+     * Arquivo que guarda o nome do último jogador.
+     */
+    private static final String ARQUIVO_ULTIMO = "ultimo.txt";
+
+    private static volatile PerfilStore padrao;
+
+    private final Path diretorio;
+    private final ConcurrentHashMap<String, PerfilJogador> cache = new ConcurrentHashMap<>();
+    private volatile String ultimoJogador;
+
+    /**
+     * Cria um armazenamento de perfis no diretório informado.
+     *
+     * @param diretorio Diretório dos perfis; criado na primeira gravação.
+     */
+    PerfilStore(Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Retorna o armazenamento de perfis padrão do jogo.
+     *
+     * @return O armazenamento padrão.
+     */
+    public static PerfilStore padrao() {
+        PerfilStore store = padrao;
+        if (store == null) {
+            synchronized (PerfilStore.class) {
+                store = padrao;
+                if (store == null) {
+                    store = new PerfilStore(Paths.get(DIRETORIO_PADRAO));
+                    padrao = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Retorna o perfil do jogador, lendo seu arquivo apenas na primeira consulta.
+     * Jogadores sem arquivo recebem um perfil novo.
+     *
+     * @param nome Nome do jogador.
+     * @return O perfil do jogador.
+     */
+    public PerfilJogador carregar(String nome) {
+        return cache.computeIfAbsent(normalizarNome(nome), n -> {
+            try {
+                return ler(n, new ArquivoCompartilhado(arquivoDe(n)).ler().linhas);
+            } catch (IOException e) {
+                Log.erro("PerfilStore", "Erro ao ler perfil de " + n, e);
+                return new PerfilJogador(n);
+            }
+        });
+    }
+
+    /**
+     * Registra uma partida no perfil do jogador e o marca como último jogador.
+     *
+     * @param resultado O resultado da partida.
+     * @return O perfil atualizado.
+     */
+    public PerfilJogador registrarPartida(ResultadoPartida resultado) {
+        definirUltimoJogador(resultado.nome);
+        return atualizar(resultado.nome, perfil -> perfil.registrarPartida(resultado));
+    }
+
+    /**
+     * Aplica uma alteração sobre a versão mais recente do perfil salvo e atualiza o cache.
+     */
+    private PerfilJogador atualizar(String nome, Consumer<PerfilJogador> alteracao) {
+        String n = normalizarNome(nome);
+        try {
+            Files.createDirectories(diretorio);
+            List<String> gravado = new ArquivoCompartilhado(arquivoDe(n)).atualizar(linhas -> {
+                PerfilJogador perfil = ler(n, linhas);
+                alteracao.accept(perfil);
+                List<String> novasLinhas = new ArrayList<>();
+                novasLinhas.add(perfil.paraJson().toString());
+                return novasLinhas;
+            }).linhas;
+            PerfilJogador perfil = ler(n, gravado);
+            cache.put(n, perfil);
+            return perfil;
+        } catch (IOException e) {
+            Log.erro("PerfilStore", "Erro ao salvar perfil de " + n, e);
+            PerfilJogador perfil = carregar(n);
+            alteracao.accept(perfil);
+            return perfil;
+        }
+    }
+
+    /**
+     * Retorna o nome do último jogador que terminou uma partida.
+     *
+     * @return O nome do último jogador, ou "Jogador" se nenhum for conhecido.
+     */
+    public String getUltimoJogador() {
+        String nome = ultimoJogador;
+        if (nome == null) {
+            try {
+                Path arquivo = diretorio.resolve(ARQUIVO_ULTIMO);
+                nome = Files.exists(arquivo) ? Files.readString(arquivo, StandardCharsets.UTF_8).trim() : "";
+            } catch (IOException e) {
+                nome = "";
+            }
+            if (nome.isEmpty()) nome = "Jogador";
+            ultimoJogador = nome;
+        }
+        return nome;
+    }
+
+    /**
+     * Grava o nome do último jogador.
+     */
+    private void definirUltimoJogador(String nome) {
+        String n = normalizarNome(nome);
+        if (n.equals(ultimoJogador)) return;
+        ultimoJogador = n;
+        try {
+            Files.createDirectories(diretorio);
+            Files.writeString(diretorio.resolve(ARQUIVO_ULTIMO), n, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Log.erro("PerfilStore", "Erro ao salvar último jogador", e);
+        }
+    }
+
+    /**
+     * Converte as linhas do arquivo em um perfil; conteúdo ausente ou inválido gera um perfil novo.
+     */
+    private static PerfilJogador ler(String nome, List<String> linhas) {
+        if (linhas.isEmpty()) return new PerfilJogador(nome);
+        try {
+            return PerfilJogador.deJson(new JSONObject(linhas.get(0)));
+        } catch (JSONException e) {
+            Log.erro("PerfilStore", "Perfil inválido de " + nome, e);
+            return new PerfilJogador(nome);
+        }
+    }
+
+    /**
+     * Retorna o arquivo do perfil. O nome do arquivo combina os caracteres seguros do nome
+     * com o hash do nome completo, evitando colisões entre nomes parecidos.
+     */
+    private Path arquivoDe(String nome) {
+        String seguro = nome.replaceAll("[^A-Za-z0-9_-]", "_");
+        if (seguro.length() > 32) seguro = seguro.substring(0, 32);
+        return diretorio.resolve(seguro + "-" + Integer.toHexString(nome.hashCode()) + ".json");
+    }
+
+    /**
+     * Normaliza o nome do jogador, usando "Jogador" para nomes vazios.
+     */
+    private static String normalizarNome(String nome) {
+        return nome == null || nome.isBlank() ? "Jogador" : nome.trim();
+    }
+}
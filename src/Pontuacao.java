@@ -1,19 +1,13 @@
-import java.io.*;
-
 /**
  * Classe responsável por gerenciar a pontuação do jogo, incluindo a adição de pontos,
- * o carregamento do recorde salvo em arquivo e a atualização do recorde.
+ * a consulta do recorde e a atualização do recorde através do {@link ScoreStore}.
+ * Cada {@link SessaoDeJogo} tem a sua própria pontuação.
  */
 public class Pontuacao {
     /**
      * A pontuação atual do jogador.
      */
-    private static int pontos;
-
-    /**
-     * Caminho do arquivo onde o recorde é armazenado.
-     */
-    private static final String ARQUIVO_RECORD = "recorde.txt";
+    private int pontos;
 
     /**
      * Construtor da classe, que inicializa a pontuação em zero.
@@ -27,7 +21,7 @@ public class Pontuacao {
      * @param valor A quantidade de pontos a ser adicionada.
      * @return A pontuação atual após a adição.
      */
-    public static int adicionarPontos(int valor) {
+    public int adicionarPontos(int valor) {
         pontos += valor;
         return pontos;
     }
@@ -41,31 +35,17 @@ public class Pontuacao {
     }
 
     /**
-     * Método para carregar o recorde armazenado em arquivo.
-     * Se o arquivo não existir ou houver um erro de leitura, retorna 0.
+     * Método para consultar o recorde atual, mantido em memória pelo {@link ScoreStore}.
      * @return O valor do recorde, ou 0 se não houver recorde salvo.
      */
     public static int carregarRecorde() {
-        try (BufferedReader br = new BufferedReader(new FileReader(ARQUIVO_RECORD))) {
-            String linha = br.readLine();
-            return linha != null ? Integer.parseInt(linha) : 0;
-        } catch (Exception e) {
-            return 0; // Nenhum recorde salvo ainda
-        }
+        return ScoreStore.padrao().getRecorde();
     }
 
     /**
      * Método para salvar o recorde, caso a pontuação atual seja maior que o recorde anterior.
-     * Caso a pontuação atual ultrapasse o recorde, o valor é salvo no arquivo de recorde.
      */
     public void salvarSeForRecorde() {
-        int recordeAtual = carregarRecorde();
-        if (pontos > recordeAtual) {
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(ARQUIVO_RECORD))) {
-                bw.write(String.valueOf(pontos));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
+        ScoreStore.padrao().registrarRecorde(pontos);
     }
 }
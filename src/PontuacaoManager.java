@@ -1,53 +1,45 @@
-import java.io.*;
-
 /**
- * Classe responsável por gerenciar o arquivo de recordes,
- * incluindo a leitura e escrita do recorde de pontos em arquivo.
+ * Classe responsável por gerenciar o recorde de pontos do jogo.
+ * Delega ao {@link ScoreStore}, que mantém o recorde em memória e é o único
+ * responsável por ler e escrever o arquivo de recordes.
  */
 public class PontuacaoManager {
+
     /**
-     * Caminho do arquivo onde o recorde de pontos é armazenado.
+     * Método para salvar o recorde de pontos.
+     * A pontuação só é gravada se for maior que o recorde atual.
+     * @param pontos A pontuação a ser salva como recorde.
      */
-    private static final String ARQUIVO_RECORDES = "recorde.txt";
+    public static void salvarRecorde(int pontos) {
+        ScoreStore.padrao().registrarRecorde(pontos);
+    }
 
     /**
-     * Método para salvar o recorde de pontos no arquivo.
-     * Se houver um novo recorde, ele é escrito no arquivo de recordes.
+     * Método para salvar o recorde de pontos de uma dificuldade.
+     * A pontuação só é gravada se for maior que o recorde atual da dificuldade ou o recorde geral.
+     * @param dificuldade A dificuldade jogada.
      * @param pontos A pontuação a ser salva como recorde.
+     * @return true se a pontuação for um novo recorde geral.
      */
-    public static void salvarRecorde(int pontos) {
-        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(ARQUIVO_RECORDES)))) {
-            writer.println(pontos);  // Escreve a pontuação no arquivo
-        } catch (IOException e) {
-            e.printStackTrace();  // Em caso de erro de IO, imprime o erro
-        }
+    public static boolean salvarRecorde(Dificuldade dificuldade, int pontos) {
+        return ScoreStore.padrao().registrarRecorde(dificuldade, pontos);
     }
 
     /**
-     * Método para carregar o recorde de pontos do arquivo.
-     * Caso o arquivo não exista ou haja algum erro, o método retorna 0.
-     * @return O recorde de pontos ou 0 se o arquivo não existir ou houver erro.
+     * Método para carregar o recorde de pontos.
+     * O valor vem da memória; o arquivo não é lido nem criado nesta chamada.
+     * @return O recorde de pontos ou 0 se não houver recorde salvo.
      */
     public static int carregarRecorde() {
-        File arquivo = new File(ARQUIVO_RECORDES);
-
-        // Verifica se o arquivo de recorde existe
-        if (!arquivo.exists()) {
-            try {
-                arquivo.createNewFile();  // Cria o arquivo se não existir
-            } catch (IOException e) {
-                e.printStackTrace();  // Em caso de erro ao criar o arquivo
-            }
-            return 0;  // Retorna 0 se o arquivo foi criado ou não existia
-        }
+        return ScoreStore.padrao().getRecorde();
+    }
 
-        // Tenta ler o conteúdo do arquivo de recorde
-        try (BufferedReader reader = new BufferedReader(new FileReader(ARQUIVO_RECORDES))) {
-            String linha = reader.readLine();  // Lê a primeira linha do arquivo
-            return linha != null ? Integer.parseInt(linha) : 0;  // Retorna o valor lido ou 0 se vazio
-        } catch (IOException | NumberFormatException e) {
-            e.printStackTrace();  // Em caso de erro de IO ou formato inválido
-            return 0;  // Retorna 0 caso ocorra um erro de leitura
-        }
+    /**
+     * Método para carregar o recorde de pontos de uma dificuldade.
+     * @param dificuldade A dificuldade consultada.
+     * @return O recorde da dificuldade ou 0 se não houver recorde salvo.
+     */
+    public static int carregarRecorde(Dificuldade dificuldade) {
+        return ScoreStore.padrao().getRecorde(dificuldade);
     }
 }
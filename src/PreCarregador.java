@@ -0,0 +1,96 @@
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carregamento especulativo da próxima fase.
+ *
+ * Quando a partida está perto do fim ({@link #PARES_RESTANTES} pares ou menos), as
+ * imagens das cartas da próxima dificuldade são decodificadas, os quadros de virada
+ * ({@link QuadrosDeVirada}) são desenhados no tamanho das células e os efeitos sonoros
+ * são decodificados, tudo em uma thread de baixa prioridade. Assim o botão "Próxima
+ * Fase" da {@link TelaVitoria} monta o tabuleiro só com imagens já em cache.
+ *
+ * Cada dificuldade é preparada no máximo uma vez por processo; os caches envolvidos
+ * já guardam tudo o que foi carregado.
+ */
+public final class PreCarregador {
+
+    /**
+     * Número de pares restantes a partir do qual a próxima fase começa a ser preparada.
+     */
+    public static final int PARES_RESTANTES = 3;
+
+    private static final ConcurrentHashMap<Dificuldade, CompletableFuture<Void>> PREPARADAS = new ConcurrentHashMap<>();
+
+    /**
+     * Thread única, daemon e de prioridade mínima, para não disputar a CPU com a partida.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "PreCarregador");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private PreCarregador() {
+    }
+
+    /**
+     * Chamado a cada par encontrado: prepara a próxima fase quando faltam poucos pares.
+     *
+     * @param sessao Sessão em andamento.
+     */
+    public static void aoEncontrarPar(SessaoDeJogo sessao) {
+        Dificuldade proxima = Dificuldade.proximaDificuldade(sessao.getDificuldade());
+        if (proxima != null && sessao.getParesRestantes() <= PARES_RESTANTES) preparar(proxima);
+    }
+
+    /**
+     * Prepara em segundo plano os recursos da dificuldade, se ainda não foram preparados.
+     *
+     * @param dificuldade A dificuldade da próxima fase.
+     * @return Conclui quando tudo estiver em cache.
+     */
+    public static CompletableFuture<Void> preparar(Dificuldade dificuldade) {
+        return PREPARADAS.computeIfAbsent(dificuldade,
+                d -> CompletableFuture.runAsync(() -> carregar(d), EXECUTOR));
+    }
+
+    private static void carregar(Dificuldade dificuldade) {
+        int pares = dificuldade.linhas * dificuldade.colunas / 2;
+
+        // Pede todas as imagens de uma vez, para que o cache as decodifique em paralelo
+        List<CompletableFuture<BufferedImage>> imagens = new ArrayList<>();
+        imagens.add(CacheDeImagens.carregar(GeradorDeCartas.COSTA));
+        for (int id = 1; id <= pares; id++) imagens.add(CacheDeImagens.carregar(GeradorDeCartas.caminhoFrente(id)));
+
+        for (String som : new String[]{Controles.SOM_VIRADA, Controles.SOM_PAR, Controles.SOM_ERRO}) {
+            EscopoDeRecursos.preCarregarSom(som);
+        }
+        for (CompletableFuture<BufferedImage> imagem : imagens) {
+            QuadrosDeVirada.preparar(imagem.join(), TabuleiroVirtual.LADO, TabuleiroVirtual.LADO);
+        }
+    }
+
+    /**
+     * Indica se a preparação da dificuldade já foi pedida.
+     *
+     * @param dificuldade A dificuldade.
+     * @return true se a preparação está em andamento ou concluída.
+     */
+    static boolean isPedida(Dificuldade dificuldade) {
+        return PREPARADAS.containsKey(dificuldade);
+    }
+
+    /**
+     * Esquece as dificuldades preparadas, para os testes.
+     */
+    static void esquecer() {
+        PREPARADAS.clear();
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocolo binário entre o {@link ServidorDeJogo} e seus clientes.
+ *
+ * Cada mensagem é um quadro {@code [short tamanho][byte tipo][byte n][int × n][short m][byte × m]},
+ * onde o tamanho conta os bytes após ele mesmo, os inteiros são os campos da mensagem
+ * e os bytes finais são um texto UTF-8 opcional (nome da sala, nome do jogador, motivo).
+ */
+public final class ProtocoloJogo {
+
+    // Cliente → servidor
+    /** Entrar em uma sala: ints {modo, linhas, colunas}, texto "sala\njogador". */
+    public static final byte ENTRAR = 1;
+    /** Virar uma carta: ints {indice}. */
+    public static final byte VIRAR = 2;
+    /** Sair da sala. */
+    public static final byte SAIR = 3;
+
+    // Servidor → cliente
+    /** Entrada aceita: ints {jogador, modo, linhas, colunas}. */
+    public static final byte BEM_VINDO = 10;
+    /** Outro jogador entrou: ints {jogador}, texto nome. */
+    public static final byte JOGADOR_ENTROU = 11;
+    /** Carta virada: ints {jogador, indice, idCarta}. */
+    public static final byte VIRADA = 12;
+    /** Par encontrado: ints {jogador, indiceA, indiceB, paresDoJogador}. */
+    public static final byte PAR = 13;
+    /** Tentativa errada, cartas desviradas: ints {jogador, indiceA, indiceB}. */
+    public static final byte ERRO = 14;
+    /** Vez de jogar: ints {jogador}; no confronto é enviado uma vez com jogador 0 (todos jogam). */
+    public static final byte VEZ = 15;
+    /** Fim de partida: ints {vencedor}. */
+    public static final byte FIM = 16;
+    /** Pedido recusado: texto motivo. */
+    public static final byte RECUSADO = 17;
+    /** Jogador saiu da sala: ints {jogador}. */
+    public static final byte JOGADOR_SAIU = 18;
+    /** Primeira carta desvirada sem completar a tentativa (o jogador saiu): ints {jogador, indice}. */
+    public static final byte DESVIRADA = 19;
+
+    /** Modo confronto: cada jogador tem seu próprio tabuleiro, todos com a mesma semente. */
+    public static final int MODO_CONFRONTO = 0;
+    /** Modo por turnos: um único tabuleiro, jogadores alternam as jogadas. */
+    public static final int MODO_TURNOS = 1;
+
+    /**
+     * Tamanho máximo aceito para um quadro.
+     */
+    private static final int TAMANHO_MAXIMO = 4096;
+
+    private ProtocoloJogo() {
+    }
+
+    /**
+     * Mensagem decodificada.
+     */
+    public static final class Mensagem {
+        public final byte tipo;
+        public final int[] campos;
+        public final String texto;
+
+        public Mensagem(byte tipo, String texto, int... campos) {
+            this.tipo = tipo;
+            this.campos = campos;
+            this.texto = texto == null ? "" : texto;
+        }
+
+        /**
+         * Retorna o campo inteiro da posição informada.
+         *
+         * @param i Posição do campo.
+         * @return O valor do campo.
+         */
+        public int campo(int i) {
+            return campos[i];
+        }
+
+        @Override
+        public String toString() {
+            return "Mensagem[" + tipo + ", " + java.util.Arrays.toString(campos) + ", " + texto + "]";
+        }
+    }
+
+    /**
+     * Codifica uma mensagem em um quadro pronto para envio.
+     *
+     * @param mensagem A mensagem.
+     * @return Os bytes do quadro.
+     */
+    public static byte[] codificar(Mensagem mensagem) {
+        byte[] texto = mensagem.texto.getBytes(StandardCharsets.UTF_8);
+        int tamanho = 1 + 1 + 4 * mensagem.campos.length + 2 + texto.length;
+        if (tamanho > TAMANHO_MAXIMO) throw new IllegalArgumentException("Mensagem grande demais: " + tamanho);
+
+        byte[] quadro = new byte[2 + tamanho];
+        int p = 0;
+        quadro[p++] = (byte) (tamanho >>> 8);
+        quadro[p++] = (byte) tamanho;
+        quadro[p++] = mensagem.tipo;
+        quadro[p++] = (byte) mensagem.campos.length;
+        for (int campo : mensagem.campos) {
+            quadro[p++] = (byte) (campo >>> 24);
+            quadro[p++] = (byte) (campo >>> 16);
+            quadro[p++] = (byte) (campo >>> 8);
+            quadro[p++] = (byte) campo;
+        }
+        quadro[p++] = (byte) (texto.length >>> 8);
+        quadro[p++] = (byte) texto.length;
+        System.arraycopy(texto, 0, quadro, p, texto.length);
+        return quadro;
+    }
+
+    /**
+     * Escreve uma mensagem no fluxo.
+     *
+     * @param saida    O fluxo de saída.
+     * @param mensagem A mensagem.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    public static void escrever(DataOutputStream saida, Mensagem mensagem) throws IOException {
+        saida.write(codificar(mensagem));
+        saida.flush();
+    }
+
+    /**
+     * Lê uma mensagem do fluxo, bloqueando até que um quadro completo chegue.
+     *
+     * @param entrada O fluxo de entrada.
+     * @return A mensagem lida.
+     * @throws IOException Em caso de erro de leitura, fim do fluxo ou quadro inválido.
+     */
+    public static Mensagem ler(DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readUnsignedShort();
+        if (tamanho < 4 || tamanho > TAMANHO_MAXIMO) throw new IOException("Quadro inválido: " + tamanho);
+        byte tipo = entrada.readByte();
+        int n = entrada.readUnsignedByte();
+        if (4 + 4 * n > tamanho) throw new IOException("Quadro inválido: " + n + " campos");
+        int[] campos = new int[n];
+        for (int i = 0; i < n; i++) {
+            campos[i] = entrada.readInt();
+        }
+        int m = entrada.readUnsignedShort();
+        if (4 + 4 * n + m != tamanho) throw new IOException("Quadro inválido: texto de " + m + " bytes");
+        byte[] texto = new byte[m];
+        entrada.readFully(texto);
+        return new Mensagem(tipo, new String(texto, StandardCharsets.UTF_8), campos);
+    }
+}
@@ -0,0 +1,243 @@
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+/**
+ * Cache dos quadros da animação de virada das cartas.
+ *
+ * Durante a virada a carta é desenhada achatada na horizontal, com larguras
+ * {@code k / NIVEIS} do tamanho da célula. Em vez de redimensionar a imagem original da
+ * frente ou do verso a cada quadro, cada imagem ganha uma faixa com todos os quadros já no
+ * tamanho da célula, lado a lado; desenhar um quadro é só copiar um trecho da faixa, sem
+ * reamostragem. Os quadros da faixa são desenhados na primeira vez em que são usados, de
+ * modo que uma carta parada só ocupa o quadro de largura inteira.
+ *
+ * As faixas são compartilhadas por todas as cartas com a mesma imagem e o mesmo tamanho
+ * (as duas cartas de um par e todos os versos) e ficam em um cache com limite de memória
+ * ({@link #LIMITE_BYTES}), descartando as menos usadas; o {@link TabuleiroVirtual} muda o
+ * tamanho das células a cada zoom. Com o sombreamento ligado, os quadros achatados
+ * escurecem em degradê, simulando a carta girando em 3D.
+ *
+ * Cada quadro é desenhado uma única vez, sob o monitor da faixa, pela thread que pinta
+ * as cartas ou pelo {@link PreCarregador}; depois disso só é lido.
+ */
+public final class QuadrosDeVirada {
+
+    /**
+     * Número de larguras da carta em meia virada: a animação completa tem o dobro de passos.
+     */
+    public static final int NIVEIS = 10;
+
+    /**
+     * Memória máxima ocupada pelas faixas em cache.
+     */
+    public static final long LIMITE_BYTES = 48L * 1024 * 1024;
+
+    private static volatile boolean sombreamento;
+    private static long bytes;
+
+    /**
+     * Quadros de uma imagem em um tamanho de célula, lado a lado.
+     */
+    private static class Faixa {
+        private final BufferedImage quadros;
+        private final int[] inicio = new int[NIVEIS + 1];
+        private final int[] largura = new int[NIVEIS + 1];
+        private final boolean[] pronto = new boolean[NIVEIS + 1];
+
+        Faixa(int larguraCelula, int altura, boolean opaca) {
+            int x = 0;
+            for (int k = 1; k <= NIVEIS; k++) {
+                inicio[k] = x;
+                largura[k] = larguraDoNivel(larguraCelula, k);
+                x += largura[k];
+            }
+            // Imagens opacas são só copiadas; as com transparência ficam pré-multiplicadas,
+            // o formato mais rápido de combinar com o fundo
+            quadros = new BufferedImage(Math.max(1, x), altura,
+                    opaca ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+    }
+
+    /**
+     * Retorna a memória de uma faixa de quadros, que só depende do tamanho da célula.
+     */
+    private static long bytesDaFaixa(int largura, int altura) {
+        long soma = 0;
+        for (int k = 1; k <= NIVEIS; k++) soma += larguraDoNivel(largura, k);
+        return Math.max(1, soma) * altura * 4;
+    }
+
+    private record Chave(Image imagem, int largura, int altura) {
+    }
+
+    /**
+     * Faixas por imagem e tamanho, na ordem de uso (a menos usada primeiro).
+     */
+    private static final LinkedHashMap<Chave, Faixa> FAIXAS = new LinkedHashMap<>(64, 0.75f, true);
+
+    private QuadrosDeVirada() {
+    }
+
+    private static int larguraDoNivel(int largura, int nivel) {
+        return (int) (largura * (nivel / (double) NIVEIS));
+    }
+
+    /**
+     * Desenha um quadro da virada copiando-o da faixa da imagem.
+     *
+     * @param g       Contexto gráfico.
+     * @param imagem  Imagem da face à mostra.
+     * @param escala  Largura relativa da carta, de 0 (de perfil) a 1.
+     * @param x       Coordenada X da célula.
+     * @param y       Coordenada Y da célula.
+     * @param largura Largura da célula.
+     * @param altura  Altura da célula.
+     * @return false se a escala não for um múltiplo de {@code 1 / NIVEIS} ou a imagem for
+     * null; nesse caso nada é desenhado e a carta deve redimensionar a imagem diretamente.
+     */
+    static boolean desenhar(Graphics g, Image imagem, double escala, int x, int y, int largura, int altura) {
+        if (imagem == null || largura <= 0 || altura <= 0) return false;
+        double nivel = escala * NIVEIS;
+        int k = (int) Math.round(nivel);
+        if (k < 0 || k > NIVEIS || Math.abs(nivel - k) > 1e-9) return false;
+        if (k == 0) return true; // de perfil: nada a desenhar
+
+        Faixa faixa = obter(imagem, largura, altura);
+        synchronized (faixa) {
+            if (!faixa.pronto[k]) renderizar(faixa, imagem, k, altura);
+        }
+        int w = faixa.largura[k];
+        int destino = x + (largura - w) / 2;
+        int origem = faixa.inicio[k];
+        g.drawImage(faixa.quadros, destino, y, destino + w, y + altura, origem, 0, origem + w, altura, null);
+        return true;
+    }
+
+    private static synchronized Faixa obter(Image imagem, int largura, int altura) {
+        Chave chave = new Chave(imagem, largura, altura);
+        Faixa faixa = FAIXAS.get(chave);
+        if (faixa == null) {
+            boolean opaca = imagem instanceof BufferedImage b && !b.getColorModel().hasAlpha();
+            faixa = new Faixa(largura, altura, opaca);
+            bytes += bytesDaFaixa(largura, altura);
+            FAIXAS.put(chave, faixa);
+            // Uma faixa nova pode ser maior que a descartada: descarta até caber no limite
+            Iterator<Chave> maisAntigas = FAIXAS.keySet().iterator();
+            while (bytes > LIMITE_BYTES && FAIXAS.size() > 1) {
+                Chave antiga = maisAntigas.next();
+                maisAntigas.remove();
+                bytes -= bytesDaFaixa(antiga.largura(), antiga.altura());
+            }
+        }
+        return faixa;
+    }
+
+    private static void renderizar(Faixa faixa, Image imagem, int k, int altura) {
+        int w = faixa.largura[k];
+        int x = faixa.inicio[k];
+        Graphics2D g = faixa.quadros.createGraphics();
+        g.drawImage(imagem, x, 0, w, altura, null);
+        if (sombreamento && k < NIVEIS && w > 0) {
+            // Quanto mais achatada, mais escura; a borda esquerda, que "se afasta", mais ainda
+            int alfa = (int) (150 * (1 - k / (double) NIVEIS));
+            g.setPaint(new GradientPaint(x, 0, new Color(0, 0, 0, alfa), x + w, 0, new Color(0, 0, 0, alfa / 3)));
+            g.fillRect(x, 0, w, altura);
+        }
+        g.dispose();
+        faixa.pronto[k] = true;
+    }
+
+    /**
+     * Desenha de antemão todos os quadros da imagem no tamanho informado. Pode ser chamado
+     * de qualquer thread; usado pelo {@link PreCarregador} antes da próxima fase.
+     *
+     * @param imagem  Imagem da frente ou do verso.
+     * @param largura Largura da célula.
+     * @param altura  Altura da célula.
+     */
+    public static void preparar(Image imagem, int largura, int altura) {
+        if (imagem == null || largura <= 0 || altura <= 0) return;
+        Faixa faixa = obter(imagem, largura, altura);
+        for (int k = 1; k <= NIVEIS; k++) {
+            synchronized (faixa) {
+                if (!faixa.pronto[k]) renderizar(faixa, imagem, k, altura);
+            }
+        }
+    }
+
+    /**
+     * Liga ou desliga o sombreamento dos quadros achatados; as faixas já desenhadas são descartadas.
+     *
+     * @param ligado true para escurecer a carta durante a virada.
+     */
+    public static void setSombreamento(boolean ligado) {
+        sombreamento = ligado;
+        esvaziar();
+    }
+
+    /**
+     * Indica se o sombreamento está ligado.
+     *
+     * @return true se os quadros achatados são escurecidos.
+     */
+    public static boolean isSombreamento() {
+        return sombreamento;
+    }
+
+    /**
+     * Retorna a memória ocupada por todas as faixas em cache.
+     *
+     * @return O total em bytes.
+     */
+    public static synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Retorna a memória ocupada pelas faixas das imagens de um tabuleiro, contando uma
+     * vez cada imagem compartilhada entre cartas.
+     *
+     * @param cartas  Cartas do tabuleiro.
+     * @param largura Largura das células.
+     * @param altura  Altura das células.
+     * @return O total em bytes das faixas em cache dessas cartas.
+     */
+    public static synchronized long getBytes(Collection<Carta> cartas, int largura, int altura) {
+        Set<Image> imagens = new HashSet<>();
+        long total = 0;
+        for (Carta carta : cartas) {
+            for (Image imagem : new Image[]{carta.getImagemFrente(), carta.getImagemCosta()}) {
+                if (imagem == null || !imagens.add(imagem)) continue;
+                // containsKey, ao contrário de get, não altera a ordem de uso do cache
+                if (FAIXAS.containsKey(new Chave(imagem, largura, altura))) total += bytesDaFaixa(largura, altura);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retorna quantas faixas estão em cache.
+     *
+     * @return O número de faixas.
+     */
+    public static synchronized int getFaixas() {
+        return FAIXAS.size();
+    }
+
+    /**
+     * Descarta todas as faixas, para medir a primeira virada nos benchmarks.
+     */
+    static synchronized void esvaziar() {
+        FAIXAS.clear();
+        bytes = 0;
+    }
+}
@@ -1,52 +1,104 @@
 import javax.swing.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
+/**
+ * Classe responsável pelo ranking dos jogadores com menos tentativas.
+ * O arquivo {@code ranking.csv} é acessado através de um {@link ArquivoCompartilhado},
+ * permitindo que várias instâncias do jogo salvem resultados ao mesmo tempo sem perdas.
+ */
 public class RankingManager {
     private static final String ARQUIVO = "ranking.csv";
-    private static final int MAX_ENTRADAS = 10;
+    static final int MAX_ENTRADAS = 10;
 
     public static void salvar(String nome, int tentativas) {
-        List<String[]> ranking = carregar();
+        salvar(Paths.get(ARQUIVO), nome, tentativas);
+    }
 
-        ranking.add(new String[]{nome, String.valueOf(tentativas)});
+    /**
+     * Salva um resultado no ranking do arquivo informado. Se outra instância gravar no
+     * mesmo intervalo, o resultado é mesclado com o conteúdo mais recente do arquivo.
+     *
+     * @param arquivo    Caminho do arquivo de ranking.
+     * @param nome       Nome do jogador.
+     * @param tentativas Número de tentativas.
+     */
+    static void salvar(Path arquivo, String nome, int tentativas) {
+        List<String[]> entradas = new ArrayList<>();
+        entradas.add(new String[]{nome, String.valueOf(tentativas)});
+        salvar(arquivo, entradas);
+    }
 
-        ranking.sort(Comparator.comparingInt(o -> Integer.parseInt(o[1])));
+    /**
+     * Salva vários resultados no ranking do arquivo informado com uma única gravação.
+     *
+     * @param arquivo  Caminho do arquivo de ranking.
+     * @param entradas Entradas ({@code nome, tentativas}) a mesclar no ranking.
+     */
+    static void salvar(Path arquivo, List<String[]> entradas) {
+        try {
+            new ArquivoCompartilhado(arquivo).atualizar(linhas -> {
+                List<String[]> ranking = converter(linhas);
 
-        if (ranking.size() > MAX_ENTRADAS) {
-            ranking = ranking.subList(0, MAX_ENTRADAS);
-        }
+                ranking.addAll(entradas);
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ARQUIVO))) {
-            for (String[] entrada : ranking) {
-                writer.write(entrada[0] + "," + entrada[1]);
-                writer.newLine();
-            }
+                ranking.sort(Comparator.comparingInt(o -> Integer.parseInt(o[1])));
+
+                if (ranking.size() > MAX_ENTRADAS) {
+                    ranking = ranking.subList(0, MAX_ENTRADAS);
+                }
+
+                List<String> novasLinhas = new ArrayList<>();
+                for (String[] entrada : ranking) {
+                    novasLinhas.add(entrada[0] + "," + entrada[1]);
+                }
+                return novasLinhas;
+            });
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.erro("RankingManager", "Erro ao salvar o ranking em " + arquivo, e);
         }
     }
 
     public static List<String[]> carregar() {
-        List<String[]> ranking = new ArrayList<>();
-        File arquivo = new File(ARQUIVO);
+        return carregar(Paths.get(ARQUIVO));
+    }
 
-        if (!arquivo.exists()) {
-            return ranking;
+    /**
+     * Carrega o ranking do arquivo informado.
+     *
+     * @param arquivo Caminho do arquivo de ranking.
+     * @return As entradas do ranking ({@code nome, tentativas}), ou uma lista vazia.
+     */
+    static List<String[]> carregar(Path arquivo) {
+        try {
+            return converter(new ArquivoCompartilhado(arquivo).ler().linhas);
+        } catch (IOException e) {
+            Log.erro("RankingManager", "Erro ao ler o ranking de " + arquivo, e);
+            return new ArrayList<>();
         }
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(ARQUIVO))) {
-            String linha;
-            while ((linha = reader.readLine()) != null) {
-                String[] partes = linha.split(",");
-                if (partes.length == 2) {
+    /**
+     * Converte as linhas do arquivo em entradas do ranking, ignorando linhas inválidas.
+     *
+     * @param linhas Linhas lidas do arquivo, sem a linha de sequência.
+     * @return As entradas do ranking ({@code nome, tentativas}).
+     */
+    static List<String[]> converter(List<String> linhas) {
+        List<String[]> ranking = new ArrayList<>();
+        for (String linha : linhas) {
+            String[] partes = linha.split(",");
+            if (partes.length == 2) {
+                try {
+                    Integer.parseInt(partes[1]);
                     ranking.add(partes);
+                } catch (NumberFormatException e) {
+                    // Linha corrompida: ignorada
                 }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
-
         return ranking;
     }
 
@@ -67,4 +119,4 @@ public class RankingManager {
 
         JOptionPane.showMessageDialog(null, placar.toString(), "Placar", JOptionPane.INFORMATION_MESSAGE);
     }
-}
\ No newline at end of file
+}
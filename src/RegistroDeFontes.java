@@ -0,0 +1,113 @@
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro das fontes personalizadas do jogo, compartilhado pelo processo inteiro.
+ *
+ * Cada arquivo de fonte é lido uma única vez e registrado no {@link GraphicsEnvironment};
+ * os tamanhos derivados também ficam guardados. Assim, abrir uma tela de vitória ou
+ * derrota não lê de novo os arquivos OTF (cerca de 1,3 MB cada).
+ *
+ * {@link #preaquecerEmSegundoPlano()} desenha, fora da tela, os textos usados pelo
+ * placar da partida e pelas telas finais, para que os glifos já estejam em cache quando
+ * essas telas forem exibidas. Uma fonte ausente resulta em {@code null} e uma mensagem
+ * de aviso, como no {@link CacheDeImagens}.
+ */
+public final class RegistroDeFontes {
+    /**
+     * Fonte das telas de vitória e derrota.
+     */
+    public static final String BOLDSTROM = "/assets/fonts/Boldstrom.otf";
+
+    /**
+     * Fonte do placar da partida (tempo, pontuação e tentativas).
+     */
+    public static final Font PLACAR = new Font("Arial", Font.BOLD, 14);
+
+    /**
+     * Fonte do tempo restante, desenhado a cada quadro da partida.
+     */
+    public static final Font TEMPO = new Font("Arial", Font.BOLD, 16);
+
+    /**
+     * Textos exibidos com as fontes acima; os números variam a cada partida.
+     */
+    private static final String[] TEXTOS = {
+            "Parabéns, !", "Você Perdeu!", "Pontuação: ", "Tentativas: ", "Tempo: s", ", sua pontuação: ",
+            "0123456789", "ABCDEFGHIJKLMNOPQRSTUVWXYZ", "abcdefghijklmnopqrstuvwxyz", "áàâãéêíóôõúç"
+    };
+
+    private static final ConcurrentHashMap<String, Optional<Font>> BASES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Font> DERIVADAS = new ConcurrentHashMap<>();
+
+    private RegistroDeFontes() {
+    }
+
+    /**
+     * Retorna a fonte no tamanho informado, lendo o arquivo apenas na primeira vez.
+     *
+     * @param caminho Caminho da fonte (no classpath se começar com {@code /}).
+     * @param tamanho Tamanho da fonte.
+     * @return A fonte, ou null se o arquivo não existir ou não puder ser lido.
+     */
+    public static Font obter(String caminho, float tamanho) {
+        Font base = BASES.computeIfAbsent(caminho, RegistroDeFontes::ler).orElse(null);
+        if (base == null) return null;
+        return DERIVADAS.computeIfAbsent(caminho + "@" + tamanho, c -> base.deriveFont(tamanho));
+    }
+
+    /**
+     * Carrega as fontes das telas finais e preaquece os glifos em uma thread virtual.
+     */
+    public static void preaquecerEmSegundoPlano() {
+        Thread.ofVirtual().name("preaquecer-fontes").start(() -> {
+            preaquecer(obter(BOLDSTROM, 34f));
+            preaquecer(obter(BOLDSTROM, 20f));
+            preaquecer(PLACAR);
+            preaquecer(TEMPO);
+        });
+    }
+
+    /**
+     * Desenha os textos do jogo com a fonte em uma imagem descartável, preenchendo o cache de glifos.
+     *
+     * @param fonte A fonte a preaquecer; ignorada se for null.
+     */
+    static void preaquecer(Font fonte) {
+        if (fonte == null) return;
+        BufferedImage imagem = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagem.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(fonte);
+            for (String texto : TEXTOS) g.drawString(texto, 0, 0);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static Optional<Font> ler(String caminho) {
+        URL url = CacheDeImagens.localizar(caminho);
+        if (url == null) {
+            Log.aviso("RegistroDeFontes", "Fonte não encontrada: " + caminho);
+            return Optional.empty();
+        }
+        try (InputStream entrada = url.openStream()) {
+            Font fonte = Font.createFont(Font.TRUETYPE_FONT, entrada);
+            GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(fonte);
+            return Optional.of(fonte);
+        } catch (IOException | FontFormatException e) {
+            Log.erro("RegistroDeFontes", "Erro ao carregar a fonte " + caminho, e);
+            return Optional.empty();
+        }
+    }
+}
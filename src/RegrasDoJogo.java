@@ -0,0 +1,248 @@
+import java.util.Random;
+
+/**
+ * Regras do jogo da memória sem nenhuma dependência de interface gráfica: o tabuleiro
+ * é representado por índices e identificadores de par, e cada jogada devolve o
+ * resultado que os {@link Controles} exibem com animações e sons.
+ *
+ * Segue a mesma lógica de {@link Controles#clicarCarta(Carta)}: a primeira carta fica
+ * virada, a segunda conta uma tentativa e forma par ou não; após um erro as duas cartas
+ * continuam viradas, e novas jogadas são ignoradas, até {@link #desvirarErro()}.
+ * Não é thread-safe: quem compartilha uma instância deve sincronizar o acesso.
+ */
+public class RegrasDoJogo {
+
+    /**
+     * Resultado de uma jogada.
+     */
+    public enum Resultado {
+        /**
+         * Jogada ignorada: carta já virada, já encontrada, índice inválido ou erro pendente.
+         */
+        IGNORADA,
+        /**
+         * Primeira carta da tentativa virada.
+         */
+        PRIMEIRA,
+        /**
+         * Segunda carta forma par com a primeira.
+         */
+        PAR,
+        /**
+         * Segunda carta não forma par com a primeira.
+         */
+        ERRO
+    }
+
+    private final int[] ids;
+    private final boolean[] viradas;
+    private final boolean[] encontradas;
+    private int primeira = -1;
+    private int segunda = -1;
+    private int tentativas;
+    private int paresRestantes;
+
+    /**
+     * Cria as regras para um tabuleiro já montado.
+     *
+     * @param ids Identificador de par de cada posição; cada identificador deve aparecer duas vezes.
+     */
+    public RegrasDoJogo(int[] ids) {
+        this.ids = ids.clone();
+        this.viradas = new boolean[ids.length];
+        this.encontradas = new boolean[ids.length];
+        this.paresRestantes = ids.length / 2;
+    }
+
+    /**
+     * Cria um tabuleiro embaralhado com pares de identificadores 1..n, como o
+     * {@link GeradorDeCartas}. O mesmo gerador com a mesma semente produz o mesmo tabuleiro.
+     *
+     * @param linhas    Número de linhas.
+     * @param colunas   Número de colunas.
+     * @param aleatorio Gerador usado no embaralhamento.
+     * @return As regras do tabuleiro gerado.
+     * @throws IllegalArgumentException Se o número de cartas não for par.
+     */
+    public static RegrasDoJogo embaralhado(int linhas, int colunas, Random aleatorio) {
+        return new RegrasDoJogo(embaralharIds(linhas, colunas, aleatorio));
+    }
+
+    /**
+     * Gera os identificadores de par 1..n de um tabuleiro, dois de cada, embaralhados com
+     * Fisher–Yates. Usado tanto pelas regras quanto pelo tabuleiro da maratona, para que
+     * a mesma semente produza sempre o mesmo tabuleiro.
+     *
+     * @param linhas    Número de linhas.
+     * @param colunas   Número de colunas.
+     * @param aleatorio Gerador usado no embaralhamento.
+     * @return Os identificadores de par, um por posição.
+     * @throws IllegalArgumentException Se o número de cartas não for par.
+     */
+    public static int[] embaralharIds(int linhas, int colunas, Random aleatorio) {
+        int total = linhas * colunas;
+        if (total % 2 != 0) {
+            throw new IllegalArgumentException("O número de cartas deve ser par!");
+        }
+        int[] ids = new int[total];
+        for (int i = 0; i < total; i++) {
+            ids[i] = i / 2 + 1;
+        }
+        for (int i = total - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        return ids;
+    }
+
+    /**
+     * Vira a carta da posição informada e avalia a jogada.
+     *
+     * @param indice Posição da carta no tabuleiro.
+     * @return O resultado da jogada.
+     */
+    public Resultado virar(int indice) {
+        if (indice < 0 || indice >= ids.length || segunda >= 0
+                || viradas[indice] || encontradas[indice]) {
+            return Resultado.IGNORADA;
+        }
+        viradas[indice] = true;
+
+        if (primeira < 0) {
+            primeira = indice;
+            return Resultado.PRIMEIRA;
+        }
+
+        segunda = indice;
+        tentativas++;
+        if (ids[primeira] == ids[segunda]) {
+            encontradas[primeira] = true;
+            encontradas[segunda] = true;
+            paresRestantes--;
+            primeira = -1;
+            segunda = -1;
+            return Resultado.PAR;
+        }
+        return Resultado.ERRO;
+    }
+
+    /**
+     * Desvira as duas cartas de uma tentativa errada, liberando novas jogadas.
+     */
+    public void desvirarErro() {
+        if (segunda < 0) return;
+        viradas[primeira] = false;
+        viradas[segunda] = false;
+        primeira = -1;
+        segunda = -1;
+    }
+
+    /**
+     * Desvira a primeira carta de uma tentativa ainda sem segunda carta, por exemplo quando
+     * o jogador que a virou sai da partida. Nenhuma tentativa é contada.
+     *
+     * @return A posição desvirada, ou -1 se não havia primeira carta pendente.
+     */
+    public int cancelarPrimeira() {
+        if (primeira < 0 || segunda >= 0) return -1;
+        int indice = primeira;
+        viradas[indice] = false;
+        primeira = -1;
+        return indice;
+    }
+
+    /**
+     * Indica se há uma tentativa errada aguardando {@link #desvirarErro()}.
+     *
+     * @return true se houver erro pendente.
+     */
+    public boolean isErroPendente() {
+        return segunda >= 0;
+    }
+
+    /**
+     * Retorna a posição da primeira carta da tentativa atual.
+     *
+     * @return A posição, ou -1 se nenhuma carta estiver selecionada.
+     */
+    public int getPrimeira() {
+        return primeira;
+    }
+
+    /**
+     * Retorna a posição da segunda carta de uma tentativa errada pendente.
+     *
+     * @return A posição, ou -1 se não houver erro pendente.
+     */
+    public int getSegunda() {
+        return segunda;
+    }
+
+    /**
+     * Retorna o identificador de par da carta na posição informada.
+     *
+     * @param indice Posição da carta.
+     * @return O identificador de par.
+     */
+    public int getId(int indice) {
+        return ids[indice];
+    }
+
+    /**
+     * Indica se a carta está virada para cima.
+     *
+     * @param indice Posição da carta.
+     * @return true se estiver virada.
+     */
+    public boolean isVirada(int indice) {
+        return viradas[indice] || encontradas[indice];
+    }
+
+    /**
+     * Indica se a carta já formou par.
+     *
+     * @param indice Posição da carta.
+     * @return true se já foi encontrada.
+     */
+    public boolean isEncontrada(int indice) {
+        return encontradas[indice];
+    }
+
+    /**
+     * Retorna o número de cartas do tabuleiro.
+     *
+     * @return O total de cartas.
+     */
+    public int getTotalCartas() {
+        return ids.length;
+    }
+
+    /**
+     * Retorna o número de tentativas (pares de cartas virados).
+     *
+     * @return O número de tentativas.
+     */
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    /**
+     * Retorna quantos pares ainda não foram encontrados.
+     *
+     * @return O número de pares restantes.
+     */
+    public int getParesRestantes() {
+        return paresRestantes;
+    }
+
+    /**
+     * Indica se todos os pares foram encontrados.
+     *
+     * @return true se o jogo terminou.
+     */
+    public boolean isFinalizado() {
+        return paresRestantes == 0;
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relógio regressivo de uma partida, calculado a partir de uma {@link FonteDeTempo}
+ * monotônica em vez de contar os disparos de um timer. Atrasos na thread de eventos
+ * não dão tempo extra ao jogador, e pausar e retomar não perde as frações de segundo:
+ * apenas o tempo efetivamente pausado é descontado.
+ */
+public class RelogioDeJogo {
+
+    private final FonteDeTempo fonte;
+    private final long duracaoNanos;
+    private final long inicio;
+    private long pausadoNanos;
+    private long inicioPausa = -1;
+    private long congelado = -1;
+
+    /**
+     * Cria o relógio e começa a contar imediatamente.
+     *
+     * @param fonte     A fonte de tempo.
+     * @param duracaoMs Duração da partida em milissegundos.
+     */
+    public RelogioDeJogo(FonteDeTempo fonte, long duracaoMs) {
+        this.fonte = fonte;
+        this.duracaoNanos = TimeUnit.MILLISECONDS.toNanos(duracaoMs);
+        this.inicio = fonte.nanos();
+    }
+
+    /**
+     * Pausa a contagem; sem efeito se já estiver pausado ou parado.
+     */
+    public synchronized void pausar() {
+        if (inicioPausa < 0 && congelado < 0) inicioPausa = fonte.nanos();
+    }
+
+    /**
+     * Retoma a contagem, descontando o intervalo pausado.
+     */
+    public synchronized void retomar() {
+        if (inicioPausa < 0) return;
+        pausadoNanos += fonte.nanos() - inicioPausa;
+        inicioPausa = -1;
+    }
+
+    /**
+     * Para o relógio definitivamente, guardando o tempo restante (fim da partida).
+     */
+    public synchronized void parar() {
+        if (congelado < 0) congelado = getDecorridoNanos();
+    }
+
+    /**
+     * Indica se o relógio está pausado.
+     *
+     * @return true se pausado.
+     */
+    public synchronized boolean isPausado() {
+        return inicioPausa >= 0;
+    }
+
+    /**
+     * Retorna o tempo de jogo decorrido, sem contar as pausas.
+     *
+     * @return O tempo decorrido em nanossegundos.
+     */
+    public synchronized long getDecorridoNanos() {
+        if (congelado >= 0) return congelado;
+        long agora = inicioPausa >= 0 ? inicioPausa : fonte.nanos();
+        return agora - inicio - pausadoNanos;
+    }
+
+    /**
+     * Retorna o tempo restante.
+     *
+     * @return O tempo restante em milissegundos, nunca negativo.
+     */
+    public long getRestanteMs() {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, duracaoNanos - getDecorridoNanos()));
+    }
+
+    /**
+     * Indica se o tempo da partida acabou.
+     *
+     * @return true se não resta tempo.
+     */
+    public boolean isEsgotado() {
+        return getDecorridoNanos() >= duracaoNanos;
+    }
+
+    /**
+     * Retorna a duração total da partida.
+     *
+     * @return A duração em milissegundos.
+     */
+    public long getDuracaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(duracaoNanos);
+    }
+}
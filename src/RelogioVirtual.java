@@ -0,0 +1,36 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fonte de tempo que só avança quando pedido. Permite jogar partidas inteiras em
+ * testes e simulações sem esperar o tempo real passar.
+ */
+public class RelogioVirtual implements FonteDeTempo {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long nanos() {
+        return nanos.get();
+    }
+
+    /**
+     * Avança o relógio.
+     *
+     * @param ms Milissegundos a avançar.
+     */
+    public void avancar(long ms) {
+        avancarNanos(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    /**
+     * Avança o relógio.
+     *
+     * @param nanossegundos Nanossegundos a avançar.
+     * @throws IllegalArgumentException Se o valor for negativo.
+     */
+    public void avancarNanos(long nanossegundos) {
+        if (nanossegundos < 0) throw new IllegalArgumentException("O relógio não pode voltar: " + nanossegundos);
+        nanos.addAndGet(nanossegundos);
+    }
+}
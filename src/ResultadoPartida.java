@@ -0,0 +1,108 @@
+import org.json.JSONObject;
+
+/**
+ * Resultado de uma partida terminada, usado no histórico de jogos.
+ * Os campos são imutáveis; a conversão de e para JSON segue os nomes dos campos.
+ */
+public final class ResultadoPartida {
+    /**
+     * Nome do jogador.
+     */
+    public final String nome;
+
+    /**
+     * Dificuldade jogada, ou {@code null} se desconhecida (registros migrados do ranking antigo).
+     */
+    public final Dificuldade dificuldade;
+
+    /**
+     * Número de tentativas realizadas.
+     */
+    public final int tentativas;
+
+    /**
+     * Pontuação final.
+     */
+    public final int pontos;
+
+    /**
+     * Tempo restante ao final da partida, em segundos.
+     */
+    public final int tempoRestante;
+
+    /**
+     * Indica se o jogador encontrou todos os pares.
+     */
+    public final boolean vitoria;
+
+    /**
+     * Momento em que a partida terminou, em milissegundos desde a época.
+     */
+    public final long instante;
+
+    /**
+     * Construtor do resultado de uma partida.
+     *
+     * @param nome          Nome do jogador.
+     * @param dificuldade   Dificuldade jogada (pode ser null).
+     * @param tentativas    Número de tentativas.
+     * @param pontos        Pontuação final.
+     * @param tempoRestante Tempo restante em segundos.
+     * @param vitoria       true se o jogador venceu.
+     * @param instante      Momento do fim da partida, em milissegundos desde a época.
+     */
+    public ResultadoPartida(String nome, Dificuldade dificuldade, int tentativas, int pontos,
+                            int tempoRestante, boolean vitoria, long instante) {
+        this.nome = nome == null || nome.isBlank() ? "Jogador" : nome;
+        this.dificuldade = dificuldade;
+        this.tentativas = tentativas;
+        this.pontos = pontos;
+        this.tempoRestante = tempoRestante;
+        this.vitoria = vitoria;
+        this.instante = instante;
+    }
+
+    /**
+     * Converte o resultado em um objeto JSON.
+     *
+     * @return O objeto JSON correspondente.
+     */
+    public JSONObject paraJson() {
+        JSONObject json = new JSONObject();
+        json.put("nome", nome);
+        if (dificuldade != null) json.put("dificuldade", dificuldade.name());
+        json.put("tentativas", tentativas);
+        json.put("pontos", pontos);
+        json.put("tempoRestante", tempoRestante);
+        json.put("vitoria", vitoria);
+        json.put("instante", instante);
+        return json;
+    }
+
+    /**
+     * Cria um resultado a partir de um objeto JSON. Campos ausentes recebem valores padrão,
+     * o que permite importar o formato antigo do {@code ranking.json}.
+     *
+     * @param json O objeto JSON.
+     * @return O resultado correspondente.
+     */
+    public static ResultadoPartida deJson(JSONObject json) {
+        Dificuldade dificuldade = null;
+        String nomeDificuldade = json.optString("dificuldade", null);
+        if (nomeDificuldade != null) {
+            try {
+                dificuldade = Dificuldade.valueOf(nomeDificuldade);
+            } catch (IllegalArgumentException e) {
+                // Dificuldade desconhecida: mantida como null
+            }
+        }
+        return new ResultadoPartida(
+                json.optString("nome", "Jogador"),
+                dificuldade,
+                json.optInt("tentativas", 0),
+                json.optInt("pontos", 0),
+                json.optInt("tempoRestante", 0),
+                json.optBoolean("vitoria", false),
+                json.optLong("instante", 0L));
+    }
+}
@@ -0,0 +1,252 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Armazenamento único dos recordes do jogo. Mantém em memória o recorde geral e
+ * o recorde de cada {@link Dificuldade}, atualizados por compare-and-set, de forma
+ * que consultar um recorde custa apenas uma leitura de memória.
+ *
+ * O arquivo {@code recorde.txt} é lido uma única vez na criação e reescrito somente
+ * pelo método {@link #persistir()}, através de um {@link ArquivoCompartilhado}, o que
+ * permite várias instâncias do jogo no mesmo diretório. Alterações externas no arquivo
+ * são percebidas por um {@link WatchService} e mescladas com os valores em memória.
+ *
+ * Formato do arquivo: a linha de sequência, o recorde geral e as linhas
+ * {@code DIFICULDADE=pontos}. Arquivos antigos, só com o recorde, continuam válidos.
+ */
+public final class ScoreStore implements AutoCloseable {
+    /**
+     * Caminho padrão do arquivo de recordes.
+     */
+    private static final String ARQUIVO_PADRAO = "recorde.txt";
+
+    /**
+     * Instância compartilhada pelo jogo, criada sob demanda.
+     */
+    private static volatile ScoreStore padrao;
+
+    private final ArquivoCompartilhado arquivo;
+    private final AtomicInteger recorde = new AtomicInteger();
+    private final Map<Dificuldade, AtomicInteger> recordesPorDificuldade = new EnumMap<>(Dificuldade.class);
+    private WatchService observador;
+    private Thread threadObservador;
+
+    /**
+     * Cria um armazenamento associado ao arquivo informado e carrega seu conteúdo.
+     * O arquivo não é criado caso não exista.
+     *
+     * @param arquivo Caminho do arquivo de recordes.
+     */
+    public ScoreStore(Path arquivo) {
+        this.arquivo = new ArquivoCompartilhado(arquivo);
+        for (Dificuldade d : Dificuldade.values()) {
+            recordesPorDificuldade.put(d, new AtomicInteger());
+        }
+        recarregar();
+    }
+
+    /**
+     * Retorna a instância compartilhada, associada a {@code recorde.txt} e já observando
+     * alterações externas no arquivo.
+     *
+     * @return O armazenamento de recordes padrão.
+     */
+    public static ScoreStore padrao() {
+        ScoreStore store = padrao;
+        if (store == null) {
+            synchronized (ScoreStore.class) {
+                store = padrao;
+                if (store == null) {
+                    store = new ScoreStore(Paths.get(ARQUIVO_PADRAO));
+                    store.observarAlteracoes();
+                    padrao = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Retorna o recorde geral, independente da dificuldade.
+     *
+     * @return O recorde geral em pontos.
+     */
+    public int getRecorde() {
+        return recorde.get();
+    }
+
+    /**
+     * Retorna o recorde de uma dificuldade específica.
+     *
+     * @param dificuldade A dificuldade consultada.
+     * @return O recorde da dificuldade em pontos.
+     */
+    public int getRecorde(Dificuldade dificuldade) {
+        return recordesPorDificuldade.get(dificuldade).get();
+    }
+
+    /**
+     * Registra uma pontuação como candidata ao recorde geral.
+     *
+     * @param pontos A pontuação obtida.
+     * @return true se a pontuação for um novo recorde geral.
+     */
+    public boolean registrarRecorde(int pontos) {
+        boolean novoRecorde = atualizarSeMaior(recorde, pontos);
+        if (novoRecorde) persistir();
+        return novoRecorde;
+    }
+
+    /**
+     * Registra uma pontuação obtida em uma dificuldade, atualizando o recorde da
+     * dificuldade e o recorde geral quando forem superados.
+     *
+     * @param dificuldade A dificuldade jogada.
+     * @param pontos      A pontuação obtida.
+     * @return true se a pontuação for um novo recorde geral.
+     */
+    public boolean registrarRecorde(Dificuldade dificuldade, int pontos) {
+        boolean novoDaDificuldade = atualizarSeMaior(recordesPorDificuldade.get(dificuldade), pontos);
+        boolean novoRecorde = atualizarSeMaior(recorde, pontos);
+        if (novoDaDificuldade || novoRecorde) persistir();
+        return novoRecorde;
+    }
+
+    /**
+     * Atualiza o valor por compare-and-set somente se o novo valor for maior.
+     *
+     * @param valor O valor atômico a atualizar.
+     * @param novo  O valor candidato.
+     * @return true se o valor foi atualizado.
+     */
+    private static boolean atualizarSeMaior(AtomicInteger valor, int novo) {
+        int atual;
+        do {
+            atual = valor.get();
+            if (novo <= atual) return false;
+        } while (!valor.compareAndSet(atual, novo));
+        return true;
+    }
+
+    /**
+     * Grava os recordes em memória no arquivo. É o único caminho de escrita do arquivo:
+     * os valores gravados por outras instâncias desde a última leitura são mesclados
+     * (mantendo sempre o maior) antes da gravação, de forma que nenhum recorde se perde.
+     */
+    void persistir() {
+        try {
+            arquivo.atualizar(linhas -> {
+                mesclar(linhas);
+                return formatar();
+            });
+        } catch (IOException e) {
+            Log.erro("ScoreStore", "Erro ao salvar recordes em " + arquivo.getArquivo(), e);
+        }
+    }
+
+    /**
+     * Lê o arquivo de recordes e mescla seus valores com os valores em memória,
+     * mantendo sempre o maior. Arquivo inexistente ou linhas inválidas são ignorados.
+     */
+    void recarregar() {
+        try {
+            mesclar(arquivo.ler().linhas);
+        } catch (IOException e) {
+            Log.erro("ScoreStore", "Erro ao ler recordes de " + arquivo.getArquivo(), e);
+        }
+    }
+
+    /**
+     * Mescla as linhas do arquivo com os valores em memória, mantendo sempre o maior.
+     * A primeira linha numérica é o recorde geral; as demais seguem {@code DIFICULDADE=pontos}.
+     *
+     * @param linhas Linhas do arquivo, sem a linha de sequência.
+     */
+    private void mesclar(List<String> linhas) {
+        boolean primeira = true;
+        for (String linha : linhas) {
+            try {
+                int separador = linha.indexOf('=');
+                if (separador < 0) {
+                    if (primeira) atualizarSeMaior(recorde, Integer.parseInt(linha.trim()));
+                } else {
+                    Dificuldade d = Dificuldade.valueOf(linha.substring(0, separador).trim());
+                    atualizarSeMaior(recordesPorDificuldade.get(d), Integer.parseInt(linha.substring(separador + 1).trim()));
+                }
+            } catch (IllegalArgumentException e) {
+                // Linha de uma dificuldade desconhecida ou valor inválido: ignorada
+            }
+            primeira = false;
+        }
+    }
+
+    /**
+     * Formata os recordes em memória nas linhas do arquivo.
+     *
+     * @return As linhas a gravar.
+     */
+    private List<String> formatar() {
+        List<String> linhas = new ArrayList<>();
+        linhas.add(String.valueOf(recorde.get()));
+        for (Map.Entry<Dificuldade, AtomicInteger> entrada : recordesPorDificuldade.entrySet()) {
+            linhas.add(entrada.getKey().name() + "=" + entrada.getValue().get());
+        }
+        return linhas;
+    }
+
+    /**
+     * Inicia uma thread daemon que observa o diretório do arquivo e recarrega os
+     * recordes sempre que o arquivo é criado ou modificado externamente.
+     */
+    void observarAlteracoes() {
+        if (threadObservador != null) return;
+        Path diretorio = arquivo.getArquivo().getParent();
+        try {
+            observador = diretorio.getFileSystem().newWatchService();
+            diretorio.register(observador, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Log.erro("ScoreStore", "Não foi possível observar " + diretorio, e);
+            return;
+        }
+
+        threadObservador = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey chave = observador.take();
+                    boolean alterado = false;
+                    for (WatchEvent<?> evento : chave.pollEvents()) {
+                        Object contexto = evento.context();
+                        if (contexto instanceof Path && arquivo.getArquivo().getFileName().equals(contexto)) {
+                            alterado = true;
+                        }
+                    }
+                    if (alterado) recarregar();
+                    if (!chave.reset()) return;
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Encerrado por close()
+            }
+        }, "ScoreStore-observador");
+        threadObservador.setDaemon(true);
+        threadObservador.start();
+    }
+
+    /**
+     * Encerra a observação do arquivo.
+     */
+    @Override
+    public void close() {
+        if (observador != null) {
+            try {
+                observador.close();
+            } catch (IOException e) {
+                // Nada a fazer ao encerrar
+            }
+        }
+    }
+}
@@ -0,0 +1,431 @@
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.BufferedInputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Servidor de partidas em rede local. Cada sala mantém as {@link RegrasDoJogo} da partida
+ * e é a autoridade sobre as jogadas: os clientes apenas pedem para virar uma carta e
+ * recebem os eventos (carta virada, par, erro, vez, fim) pelo {@link ProtocoloJogo}.
+ *
+ * Cada conexão usa uma virtual thread para leitura e outra para escrita, com uma fila
+ * limitada de saída: um cliente lento é desconectado em vez de atrasar os demais
+ * jogadores da sala. Isso permite milhares de salas simultâneas em uma única máquina.
+ */
+public class ServidorDeJogo implements AutoCloseable {
+    /**
+     * Porta padrão do servidor.
+     */
+    public static final int PORTA_PADRAO = 7070;
+
+    /**
+     * Capacidade da fila de saída de cada conexão.
+     */
+    private static final int CAPACIDADE_SAIDA = 256;
+
+    private final ServerSocketChannel canal;
+    private final int jogadoresPorSala;
+    private final ConcurrentHashMap<String, Sala> salas = new ConcurrentHashMap<>();
+    private final AtomicInteger proximoJogador = new AtomicInteger(1);
+    private final Thread threadAceite;
+    private volatile boolean encerrado;
+
+    /**
+     * Inicia o servidor na porta informada.
+     *
+     * @param porta            Porta TCP; 0 escolhe uma porta livre.
+     * @param jogadoresPorSala Jogadores necessários para iniciar uma partida.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public ServidorDeJogo(int porta, int jogadoresPorSala) throws IOException {
+        this.jogadoresPorSala = jogadoresPorSala;
+        this.canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(porta), 1024);
+        threadAceite = new Thread(this::aceitarConexoes, "ServidorDeJogo-aceite");
+        threadAceite.start();
+    }
+
+    /**
+     * Retorna a porta em que o servidor está escutando.
+     *
+     * @return A porta local.
+     */
+    public int getPorta() {
+        return canal.socket().getLocalPort();
+    }
+
+    /**
+     * Retorna o número de salas abertas.
+     *
+     * @return O número de salas.
+     */
+    public int getSalasAtivas() {
+        return salas.size();
+    }
+
+    /**
+     * Aceita conexões até o servidor ser encerrado, iniciando uma virtual thread para cada uma.
+     */
+    private void aceitarConexoes() {
+        while (!encerrado) {
+            try {
+                SocketChannel cliente = canal.accept();
+                cliente.socket().setTcpNoDelay(true);
+                Conexao conexao = new Conexao(cliente);
+                Thread.ofVirtual().name("conexao-" + conexao.jogador).start(conexao::receber);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!encerrado) Log.erro("ServidorDeJogo", "Erro ao aceitar conexão", e);
+            }
+        }
+    }
+
+    /**
+     * Encerra o servidor e todas as conexões.
+     */
+    @Override
+    public void close() {
+        encerrado = true;
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Nada a fazer ao encerrar
+        }
+        for (Sala sala : salas.values()) {
+            for (Conexao c : sala.jogadoresCopia()) c.fechar();
+        }
+    }
+
+    /**
+     * Conexão de um jogador.
+     */
+    private final class Conexao {
+        final int jogador = proximoJogador.getAndIncrement();
+        final SocketChannel socket;
+        final BlockingQueue<byte[]> saida = new ArrayBlockingQueue<>(CAPACIDADE_SAIDA);
+        final Thread escritor;
+        final AtomicBoolean fechada = new AtomicBoolean();
+        volatile Sala sala;
+        RegrasDoJogo regras;
+        int pares;
+
+        Conexao(SocketChannel socket) {
+            this.socket = socket;
+            this.escritor = Thread.ofVirtual().name("escritor-" + jogador).start(this::escrever);
+        }
+
+        /**
+         * Lê e trata as mensagens do cliente até a conexão terminar.
+         */
+        void receber() {
+            try (InputStream in = Channels.newInputStream(socket)) {
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(in));
+                while (!fechada.get()) {
+                    ProtocoloJogo.Mensagem m = ProtocoloJogo.ler(entrada);
+                    switch (m.tipo) {
+                        case ProtocoloJogo.ENTRAR -> entrar(this, m);
+                        case ProtocoloJogo.VIRAR -> {
+                            Sala s = sala;
+                            if (s == null) recusar("Entre em uma sala primeiro");
+                            else if (m.campos.length < 1) recusar("Mensagem inválida");
+                            else s.virar(this, m.campo(0));
+                        }
+                        case ProtocoloJogo.SAIR -> {
+                            return;
+                        }
+                        default -> recusar("Mensagem desconhecida: " + m.tipo);
+                    }
+                }
+            } catch (EOFException | ClosedChannelException e) {
+                // Cliente desconectou
+            } catch (IOException e) {
+                if (!fechada.get()) Log.aviso("ServidorDeJogo", "Conexão " + jogador + " encerrada: " + e.getMessage());
+            } finally {
+                fechar();
+            }
+        }
+
+        /**
+         * Envia os quadros da fila de saída na ordem em que foram enfileirados.
+         */
+        void escrever() {
+            try {
+                while (true) {
+                    ByteBuffer buffer = ByteBuffer.wrap(saida.take());
+                    while (buffer.hasRemaining()) socket.write(buffer);
+                }
+            } catch (InterruptedException | IOException e) {
+                fechar();
+            }
+        }
+
+        /**
+         * Enfileira um quadro; se a fila estiver cheia o cliente não acompanha o jogo e é
+         * desconectado. O fechamento roda em outra thread, pois quem envia pode estar
+         * percorrendo os jogadores da sala.
+         */
+        void enviar(byte[] quadro) {
+            if (fechada.get()) return;
+            if (!saida.offer(quadro)) {
+                Log.aviso("ServidorDeJogo", "Cliente " + jogador + " lento demais, desconectando");
+                Thread.ofVirtual().start(this::fechar);
+            }
+        }
+
+        void recusar(String motivo) {
+            enviar(ProtocoloJogo.codificar(new ProtocoloJogo.Mensagem(ProtocoloJogo.RECUSADO, motivo)));
+        }
+
+        void fechar() {
+            if (!fechada.compareAndSet(false, true)) return;
+            escritor.interrupt();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nada a fazer ao fechar
+            }
+            Sala s = sala;
+            if (s != null) s.sair(this);
+        }
+    }
+
+    /**
+     * Trata o pedido de entrada em uma sala, criando a sala se ela não existir.
+     */
+    private void entrar(Conexao conexao, ProtocoloJogo.Mensagem m) {
+        if (conexao.sala != null) {
+            conexao.recusar("Já está em uma sala");
+            return;
+        }
+        String[] partes = m.texto.split("\n", 2);
+        if (m.campos.length < 3 || partes.length < 2) {
+            conexao.recusar("Mensagem inválida");
+            return;
+        }
+        int modo = m.campo(0), linhas = m.campo(1), colunas = m.campo(2);
+        // Multiplica em long: dimensões enormes não podem dar a volta e passar pelo limite
+        long cartas = (long) linhas * colunas;
+        if (linhas <= 0 || colunas <= 0 || cartas % 2 != 0 || cartas > 4096) {
+            conexao.recusar("Tabuleiro inválido");
+            return;
+        }
+        while (true) {
+            Sala sala = salas.computeIfAbsent(partes[0], nome -> new Sala(nome, modo, linhas, colunas));
+            if (sala.adicionar(conexao, partes[1])) return;
+            if (!sala.isFechada()) {
+                conexao.recusar("Sala cheia");
+                return;
+            }
+            // A sala foi fechada entre a busca e a entrada: tenta novamente com uma nova sala
+            salas.remove(sala.nome, sala);
+        }
+    }
+
+    /**
+     * Sala de jogo: jogadores, tabuleiro(s) e vez de jogar, protegidos por uma trava.
+     */
+    private final class Sala {
+        final String nome;
+        final int modo;
+        final int linhas;
+        final int colunas;
+        final long semente = new Random().nextLong();
+        final ReentrantLock trava = new ReentrantLock();
+        final List<Conexao> jogadores = new ArrayList<>();
+        RegrasDoJogo compartilhado;
+        int vez;
+        boolean iniciada;
+        boolean terminada;
+        boolean fechada;
+
+        Sala(String nome, int modo, int linhas, int colunas) {
+            this.nome = nome;
+            this.modo = modo;
+            this.linhas = linhas;
+            this.colunas = colunas;
+        }
+
+        boolean isFechada() {
+            trava.lock();
+            try {
+                return fechada;
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        List<Conexao> jogadoresCopia() {
+            trava.lock();
+            try {
+                return new ArrayList<>(jogadores);
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        boolean adicionar(Conexao conexao, String nomeJogador) {
+            trava.lock();
+            try {
+                if (fechada || iniciada || jogadores.size() >= jogadoresPorSala) return false;
+                jogadores.add(conexao);
+                conexao.sala = this;
+                conexao.enviar(ProtocoloJogo.codificar(new ProtocoloJogo.Mensagem(ProtocoloJogo.BEM_VINDO, null,
+                        conexao.jogador, modo, linhas, colunas)));
+                difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.JOGADOR_ENTROU, nomeJogador, conexao.jogador));
+
+                if (jogadores.size() == jogadoresPorSala) iniciar();
+                return true;
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        private void iniciar() {
+            iniciada = true;
+            if (modo == ProtocoloJogo.MODO_TURNOS) {
+                compartilhado = RegrasDoJogo.embaralhado(linhas, colunas, new Random(semente));
+                difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.VEZ, null, jogadores.get(vez).jogador));
+            } else {
+                for (Conexao c : jogadores) {
+                    c.regras = RegrasDoJogo.embaralhado(linhas, colunas, new Random(semente));
+                }
+                difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.VEZ, null, 0));
+            }
+        }
+
+        void virar(Conexao conexao, int indice) {
+            trava.lock();
+            try {
+                if (!iniciada || terminada) {
+                    conexao.recusar("Partida não está em andamento");
+                    return;
+                }
+                if (modo == ProtocoloJogo.MODO_TURNOS && jogadores.get(vez) != conexao) {
+                    conexao.recusar("Não é sua vez");
+                    return;
+                }
+                RegrasDoJogo regras = modo == ProtocoloJogo.MODO_TURNOS ? compartilhado : conexao.regras;
+                int primeira = regras.getPrimeira();
+                RegrasDoJogo.Resultado resultado = regras.virar(indice);
+                if (resultado == RegrasDoJogo.Resultado.IGNORADA) {
+                    conexao.recusar("Jogada inválida");
+                    return;
+                }
+
+                int id = regras.getId(indice);
+                if (modo == ProtocoloJogo.MODO_TURNOS) {
+                    difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.VIRADA, null, conexao.jogador, indice, id));
+                } else {
+                    // No confronto todos têm o mesmo tabuleiro: os adversários não veem a carta
+                    for (Conexao c : jogadores) {
+                        c.enviar(ProtocoloJogo.codificar(new ProtocoloJogo.Mensagem(ProtocoloJogo.VIRADA, null,
+                                conexao.jogador, indice, c == conexao ? id : 0)));
+                    }
+                }
+
+                if (resultado == RegrasDoJogo.Resultado.PAR) {
+                    conexao.pares++;
+                    difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.PAR, null, conexao.jogador, primeira, indice, conexao.pares));
+                    if (regras.isFinalizado()) terminar(vencedor(conexao));
+                } else if (resultado == RegrasDoJogo.Resultado.ERRO) {
+                    regras.desvirarErro();
+                    difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.ERRO, null, conexao.jogador, primeira, indice));
+                    if (modo == ProtocoloJogo.MODO_TURNOS) {
+                        vez = (vez + 1) % jogadores.size();
+                        difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.VEZ, null, jogadores.get(vez).jogador));
+                    }
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /**
+         * No confronto vence quem terminou primeiro; por turnos, quem tem mais pares.
+         */
+        private int vencedor(Conexao ultimo) {
+            if (modo == ProtocoloJogo.MODO_CONFRONTO) return ultimo.jogador;
+            Conexao melhor = ultimo;
+            for (Conexao c : jogadores) {
+                if (c.pares > melhor.pares) melhor = c;
+            }
+            return melhor.jogador;
+        }
+
+        private void terminar(int vencedor) {
+            terminada = true;
+            difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.FIM, null, vencedor));
+        }
+
+        void sair(Conexao conexao) {
+            trava.lock();
+            try {
+                int posicao = jogadores.indexOf(conexao);
+                if (posicao < 0) return;
+                jogadores.remove(posicao);
+                difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.JOGADOR_SAIU, null, conexao.jogador));
+
+                if (jogadores.isEmpty()) {
+                    fechada = true;
+                    salas.remove(nome, this);
+                } else if (iniciada && !terminada) {
+                    if (jogadores.size() == 1) {
+                        terminar(jogadores.get(0).jogador);
+                    } else if (modo == ProtocoloJogo.MODO_TURNOS) {
+                        boolean eraSuaVez = posicao == vez;
+                        if (posicao < vez) vez--;
+                        vez %= jogadores.size();
+                        if (eraSuaVez) {
+                            // A primeira carta de quem saiu não pode virar a primeira do próximo jogador
+                            int desvirada = compartilhado.cancelarPrimeira();
+                            if (desvirada >= 0) {
+                                difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.DESVIRADA, null, conexao.jogador, desvirada));
+                            }
+                        }
+                        difundir(new ProtocoloJogo.Mensagem(ProtocoloJogo.VEZ, null, jogadores.get(vez).jogador));
+                    }
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /**
+         * Envia a mensagem a todos os jogadores da sala, codificando-a uma única vez.
+         */
+        private void difundir(ProtocoloJogo.Mensagem mensagem) {
+            byte[] quadro = ProtocoloJogo.codificar(mensagem);
+            for (Conexao c : jogadores) c.enviar(quadro);
+        }
+    }
+
+    /**
+     * Inicia o servidor em modo dedicado.
+     *
+     * @param args Porta (opcional) e jogadores por sala (opcional).
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : PORTA_PADRAO;
+        int jogadores = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        ServidorDeJogo servidor = new ServidorDeJogo(porta, jogadores);
+        System.out.println("Servidor de jogo escutando na porta " + servidor.getPorta());
+    }
+}
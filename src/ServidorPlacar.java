@@ -0,0 +1,249 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endpoint HTTP somente leitura com o ranking, para as telas do saguão.
+ *
+ * Rotas: {@code GET /placar?n=10} (os n primeiros) e {@code GET /rank?nome=X}
+ * (posição do jogador). As respostas JSON são serializadas uma única vez por versão do
+ * ranking e servidas a partir do cache.
+ *
+ * O endpoint roda em um processo próprio, enquanto os resultados são gravados pelos
+ * processos do jogo; por isso a versão vem do próprio arquivo: é o número de sequência
+ * ({@code #seq=N}) que o {@link ArquivoCompartilhado} incrementa a cada gravação. Como cada
+ * gravação substitui o arquivo, a cada requisição basta comparar a data de modificação, o
+ * tamanho e o identificador do arquivo com os do cache para saber se ele mudou. Cada
+ * resposta leva um {@code ETag} com a sequência, que sobrevive a reinícios do endpoint, e
+ * pedidos com {@code If-None-Match} da versão atual recebem {@code 304} sem corpo.
+ */
+public class ServidorPlacar implements AutoCloseable {
+    /**
+     * Porta padrão do endpoint.
+     */
+    public static final int PORTA_PADRAO = 8080;
+
+    private static final byte[] NAO_ENCONTRADO = "{\"erro\":\"jogador não encontrado\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Path arquivo;
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Instantaneo atual;
+
+    /**
+     * Estado do arquivo de ranking em um instante; muda a cada gravação, de qualquer processo.
+     */
+    private record Assinatura(Object chave, long modificado, long tamanho) {
+        static final Assinatura AUSENTE = new Assinatura(null, -1, -1);
+
+        static Assinatura de(Path arquivo) {
+            try {
+                BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+                return new Assinatura(atributos.fileKey(), atributos.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                        atributos.size());
+            } catch (IOException e) {
+                return AUSENTE;
+            }
+        }
+    }
+
+    /**
+     * Respostas pré-serializadas de uma versão do ranking.
+     */
+    private static final class Instantaneo {
+        final Assinatura assinatura;
+        final String etag;
+        final byte[][] placarPorTamanho;
+        final Map<String, byte[]> rankPorNome = new HashMap<>();
+
+        Instantaneo(Assinatura assinatura, long versao, List<String[]> ranking) {
+            this.assinatura = assinatura;
+            etag = "\"" + versao + "\"";
+            placarPorTamanho = new byte[ranking.size() + 1][];
+            JSONArray entradas = new JSONArray();
+            placarPorTamanho[0] = serializar(versao, entradas);
+            for (int i = 0; i < ranking.size(); i++) {
+                JSONObject entrada = new JSONObject()
+                        .put("posicao", i + 1)
+                        .put("nome", ranking.get(i)[0])
+                        .put("tentativas", Integer.parseInt(ranking.get(i)[1]));
+                entradas.put(entrada);
+                placarPorTamanho[i + 1] = serializar(versao, entradas);
+                // A melhor posição de cada jogador é a primeira em que ele aparece
+                if (!rankPorNome.containsKey(ranking.get(i)[0])) {
+                    JSONObject rank = new JSONObject(entrada.toMap()).put("versao", versao);
+                    rankPorNome.put(ranking.get(i)[0], rank.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        private static byte[] serializar(long versao, JSONArray entradas) {
+            return new JSONObject().put("versao", versao).put("ranking", entradas)
+                    .toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Inicia o endpoint servindo o ranking do arquivo informado.
+     *
+     * @param porta   Porta TCP; 0 escolhe uma porta livre.
+     * @param arquivo Arquivo de ranking servido.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public ServidorPlacar(int porta, Path arquivo) throws IOException {
+        this.arquivo = arquivo.toAbsolutePath().normalize();
+
+        servidor = HttpServer.create(new InetSocketAddress(porta), 1024);
+        servidor.setExecutor(executor);
+        servidor.createContext("/placar", this::placar);
+        servidor.createContext("/rank", this::rank);
+        servidor.start();
+    }
+
+    /**
+     * Retorna a porta em que o endpoint está escutando.
+     *
+     * @return A porta local.
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Retorna as respostas da versão atual do arquivo, montando-as uma única vez por versão.
+     */
+    private Instantaneo instantaneo() {
+        // A assinatura é lida antes do conteúdo: uma gravação no meio muda o arquivo de
+        // novo e a próxima requisição remonta o cache
+        Assinatura assinatura = Assinatura.de(arquivo);
+        Instantaneo i = atual;
+        if (i != null && i.assinatura.equals(assinatura)) return i;
+        synchronized (this) {
+            i = atual;
+            if (i != null && i.assinatura.equals(assinatura)) return i;
+            ArquivoCompartilhado.Conteudo conteudo;
+            try {
+                conteudo = new ArquivoCompartilhado(arquivo).ler();
+            } catch (IOException e) {
+                Log.erro("ServidorPlacar", "Erro ao ler o ranking de " + arquivo, e);
+                return i != null ? i : new Instantaneo(Assinatura.AUSENTE, 0, List.of());
+            }
+            i = new Instantaneo(assinatura, conteudo.sequencia, RankingManager.converter(conteudo.linhas));
+            atual = i;
+            return i;
+        }
+    }
+
+    private void placar(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!metodoPermitido(troca)) return;
+            Instantaneo i = instantaneo();
+            if (naoModificado(troca, i)) return;
+            int n = RankingManager.MAX_ENTRADAS;
+            String valor = parametros(troca.getRequestURI()).get("n");
+            if (valor != null) {
+                try {
+                    n = Integer.parseInt(valor);
+                } catch (NumberFormatException e) {
+                    responder(troca, 400, null, "{\"erro\":\"n inválido\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            n = Math.max(0, Math.min(n, i.placarPorTamanho.length - 1));
+            responder(troca, 200, i.etag, i.placarPorTamanho[n]);
+        }
+    }
+
+    private void rank(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!metodoPermitido(troca)) return;
+            Instantaneo i = instantaneo();
+            if (naoModificado(troca, i)) return;
+            String nome = parametros(troca.getRequestURI()).get("nome");
+            byte[] corpo = nome == null ? null : i.rankPorNome.get(nome);
+            if (corpo == null) responder(troca, 404, i.etag, NAO_ENCONTRADO);
+            else responder(troca, 200, i.etag, corpo);
+        }
+    }
+
+    private static boolean metodoPermitido(HttpExchange troca) throws IOException {
+        String metodo = troca.getRequestMethod();
+        if (metodo.equals("GET") || metodo.equals("HEAD")) return true;
+        troca.getResponseHeaders().set("Allow", "GET, HEAD");
+        troca.sendResponseHeaders(405, -1);
+        return false;
+    }
+
+    private static boolean naoModificado(HttpExchange troca, Instantaneo i) throws IOException {
+        if (!i.etag.equals(troca.getRequestHeaders().getFirst("If-None-Match"))) return false;
+        troca.getResponseHeaders().set("ETag", i.etag);
+        troca.sendResponseHeaders(304, -1);
+        return true;
+    }
+
+    private static void responder(HttpExchange troca, int status, String etag, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.getResponseHeaders().set("Cache-Control", "no-cache");
+        if (etag != null) troca.getResponseHeaders().set("ETag", etag);
+        if (troca.getRequestMethod().equals("HEAD")) {
+            troca.sendResponseHeaders(status, -1);
+            return;
+        }
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    private static Map<String, String> parametros(URI uri) {
+        Map<String, String> parametros = new HashMap<>();
+        String consulta = uri.getRawQuery();
+        if (consulta == null) return parametros;
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual <= 0) continue;
+            parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                    URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    /**
+     * Encerra o endpoint.
+     */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Inicia o endpoint em modo dedicado, servindo {@code ranking.csv}.
+     *
+     * @param args Porta (opcional).
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public static void main(String[] args) throws IOException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : PORTA_PADRAO;
+        ServidorPlacar placar = new ServidorPlacar(porta, Paths.get("ranking.csv"));
+        System.out.println("Placar disponível em http://localhost:" + placar.getPorta() + "/placar");
+    }
+}
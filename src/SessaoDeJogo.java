@@ -0,0 +1,307 @@
+/**
+ * Estado completo de uma partida: tabuleiro ({@link RegrasDoJogo}), pontuação, tempo
+ * restante e jogador. Não depende de interface gráfica, de forma que várias sessões
+ * podem existir no mesmo processo, seja em telas lado a lado ou em um {@link Torneio}
+ * sem interface, sem compartilhar pontuação nem relógio.
+ *
+ * Os métodos são sincronizados: o relógio e as jogadas podem vir de threads diferentes.
+ * Cada mudança de estado é publicada como {@link EventoDeJogo} no barramento da sessão.
+ *
+ * O tempo restante vem de um {@link RelogioDeJogo}, com precisão de milissegundos; quem
+ * exibe a partida só precisa chamar {@link #atualizarTempo()} periodicamente para detectar
+ * o fim do tempo, e a frequência dessas chamadas não altera o tempo do jogador.
+ */
+public class SessaoDeJogo {
+    /**
+     * Pontos ganhos por par encontrado.
+     */
+    public static final int PONTOS_POR_PAR = 100;
+
+    /**
+     * Estado da partida.
+     */
+    public enum Estado {
+        EM_ANDAMENTO, VITORIA, DERROTA
+    }
+
+    private final String nomeJogador;
+    private final Dificuldade dificuldade;
+    private final RegrasDoJogo regras;
+    private final Pontuacao pontuacao = new Pontuacao();
+    private final BarramentoDeEventos eventos;
+    private final RelogioDeJogo relogio;
+    private int segundoPublicado;
+    private Estado estado = Estado.EM_ANDAMENTO;
+    private boolean ativa = true;
+
+    /**
+     * Cria uma sessão com o relógio do sistema e anuncia seu início no barramento.
+     *
+     * @param nomeJogador Nome do jogador.
+     * @param dificuldade Nível de dificuldade (define o tempo disponível).
+     * @param regras      Tabuleiro da partida.
+     * @param eventos     Barramento onde os eventos da partida são publicados.
+     */
+    public SessaoDeJogo(String nomeJogador, Dificuldade dificuldade, RegrasDoJogo regras, BarramentoDeEventos eventos) {
+        this(nomeJogador, dificuldade, regras, eventos, FonteDeTempo.SISTEMA);
+    }
+
+    /**
+     * Cria uma sessão cujo relógio usa a fonte de tempo informada e anuncia seu início no barramento.
+     *
+     * @param nomeJogador Nome do jogador.
+     * @param dificuldade Nível de dificuldade (define o tempo disponível).
+     * @param regras      Tabuleiro da partida.
+     * @param eventos     Barramento onde os eventos da partida são publicados.
+     * @param tempo       Fonte de tempo do relógio da partida (um {@link RelogioVirtual} em simulações).
+     */
+    public SessaoDeJogo(String nomeJogador, Dificuldade dificuldade, RegrasDoJogo regras, BarramentoDeEventos eventos,
+                        FonteDeTempo tempo) {
+        this.nomeJogador = nomeJogador;
+        this.dificuldade = dificuldade;
+        this.regras = regras;
+        this.eventos = eventos;
+        this.relogio = new RelogioDeJogo(tempo, dificuldade.tempoSegundos * 1000L);
+        this.segundoPublicado = dificuldade.tempoSegundos;
+        MetricasJogo.sessaoIniciada(dificuldade);
+        eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.INICIO, dificuldade.linhas, dificuldade.colunas, nomeJogador));
+    }
+
+    /**
+     * Vira a carta da posição informada, somando pontos se formar par.
+     *
+     * @param indice Posição da carta.
+     * @return O resultado da jogada; {@link RegrasDoJogo.Resultado#IGNORADA} se a partida já terminou.
+     */
+    public synchronized RegrasDoJogo.Resultado virar(int indice) {
+        if (estado != Estado.EM_ANDAMENTO) return RegrasDoJogo.Resultado.IGNORADA;
+        int primeira = regras.getPrimeira();
+        RegrasDoJogo.Resultado resultado = regras.virar(indice);
+        switch (resultado) {
+            case PRIMEIRA -> eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.VIRADA, indice, regras.getId(indice), null));
+            case PAR -> {
+                eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.VIRADA, indice, regras.getId(indice), null));
+                eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.PAR, primeira, indice, null));
+                pontuacao.adicionarPontos(PONTOS_POR_PAR);
+                if (regras.isFinalizado()) terminar(Estado.VITORIA);
+            }
+            case ERRO -> {
+                eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.VIRADA, indice, regras.getId(indice), null));
+                eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.ERRO, primeira, indice, null));
+            }
+            default -> {
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Desvira as cartas de uma tentativa errada.
+     */
+    public synchronized void desvirarErro() {
+        regras.desvirarErro();
+    }
+
+    /**
+     * Consulta o relógio da partida, publicando o tempo restante a cada segundo inteiro;
+     * ao zerar, a partida termina em derrota.
+     *
+     * @return true se a partida terminou nesta chamada.
+     */
+    public synchronized boolean atualizarTempo() {
+        if (estado != Estado.EM_ANDAMENTO) return false;
+        int segundos = getTempoRestante();
+        if (segundos != segundoPublicado) {
+            segundoPublicado = segundos;
+            eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.TEMPO, segundos, 0, null));
+        }
+        if (!relogio.isEsgotado()) return false;
+        terminar(Estado.DERROTA);
+        return true;
+    }
+
+    /**
+     * Pausa o relógio da partida.
+     */
+    public synchronized void pausar() {
+        relogio.pausar();
+    }
+
+    /**
+     * Retoma o relógio da partida; o tempo pausado não é descontado do jogador.
+     */
+    public synchronized void retomar() {
+        relogio.retomar();
+    }
+
+    /**
+     * Indica se o relógio da partida está pausado.
+     *
+     * @return true se pausado.
+     */
+    public synchronized boolean isPausado() {
+        return relogio.isPausado();
+    }
+
+    /**
+     * Abandona a partida (o jogador saiu antes do fim): para o relógio sem alterar o estado.
+     */
+    public synchronized void abandonar() {
+        relogio.parar();
+        desativar();
+    }
+
+    private void desativar() {
+        if (!ativa) return;
+        ativa = false;
+        MetricasJogo.sessaoEncerrada();
+    }
+
+    private void terminar(Estado fim) {
+        relogio.parar();
+        desativar();
+        estado = fim;
+        eventos.publicar(new EventoDeJogo(EventoDeJogo.Tipo.FIM, getPontosFinais(), regras.getTentativas(),
+                fim == Estado.VITORIA ? "vitoria" : "derrota"));
+    }
+
+    /**
+     * Retorna a pontuação final da partida: dez pontos por segundo restante, contados
+     * a cada décimo de segundo.
+     *
+     * @return Os pontos finais.
+     */
+    public synchronized int getPontosFinais() {
+        return (int) (relogio.getRestanteMs() / 100);
+    }
+
+    /**
+     * Retorna os pontos acumulados pelos pares encontrados.
+     *
+     * @return A pontuação da sessão.
+     */
+    public synchronized int getPontuacao() {
+        return pontuacao.getPontos();
+    }
+
+    /**
+     * Retorna o resultado da partida para histórico, perfil e ranking.
+     *
+     * @return O resultado com o estado atual da sessão.
+     */
+    public synchronized ResultadoPartida getResultado() {
+        return new ResultadoPartida(nomeJogador, dificuldade, regras.getTentativas(), getPontosFinais(),
+                getTempoRestante(), estado == Estado.VITORIA, System.currentTimeMillis());
+    }
+
+    /**
+     * Retorna o tempo restante da partida, arredondado para cima como em um cronômetro.
+     *
+     * @return O tempo restante em segundos.
+     */
+    public synchronized int getTempoRestante() {
+        return (int) ((relogio.getRestanteMs() + 999) / 1000);
+    }
+
+    /**
+     * Retorna o tempo restante da partida com precisão de milissegundos.
+     *
+     * @return O tempo restante em milissegundos.
+     */
+    public synchronized long getTempoRestanteMs() {
+        return relogio.getRestanteMs();
+    }
+
+    /**
+     * Retorna o número de tentativas feitas.
+     *
+     * @return O número de tentativas.
+     */
+    public synchronized int getTentativas() {
+        return regras.getTentativas();
+    }
+
+    /**
+     * Retorna o estado da partida.
+     *
+     * @return O estado atual.
+     */
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Indica se há uma tentativa errada aguardando {@link #desvirarErro()}.
+     *
+     * @return true se houver erro pendente.
+     */
+    public synchronized boolean isErroPendente() {
+        return regras.isErroPendente();
+    }
+
+    /**
+     * Retorna o identificador de par da carta na posição informada.
+     *
+     * @param indice Posição da carta.
+     * @return O identificador de par.
+     */
+    public synchronized int getId(int indice) {
+        return regras.getId(indice);
+    }
+
+    /**
+     * Indica se a carta da posição informada está virada para cima.
+     *
+     * @param indice Posição da carta.
+     * @return true se a carta está virada.
+     */
+    public synchronized boolean isVirada(int indice) {
+        return regras.isVirada(indice);
+    }
+
+    /**
+     * Indica se a carta da posição informada já formou par.
+     *
+     * @param indice Posição da carta.
+     * @return true se a carta foi encontrada.
+     */
+    public synchronized boolean isEncontrada(int indice) {
+        return regras.isEncontrada(indice);
+    }
+
+    /**
+     * Retorna quantos pares ainda não foram encontrados.
+     *
+     * @return O número de pares restantes.
+     */
+    public synchronized int getParesRestantes() {
+        return regras.getParesRestantes();
+    }
+
+    /**
+     * Retorna o número de cartas do tabuleiro.
+     *
+     * @return O total de cartas.
+     */
+    public synchronized int getTotalCartas() {
+        return regras.getTotalCartas();
+    }
+
+    /**
+     * Retorna o nome do jogador.
+     *
+     * @return O nome do jogador.
+     */
+    public String getNomeJogador() {
+        return nomeJogador;
+    }
+
+    /**
+     * Retorna o nível de dificuldade da partida.
+     *
+     * @return A dificuldade.
+     */
+    public Dificuldade getDificuldade() {
+        return dificuldade;
+    }
+}
@@ -0,0 +1,258 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sobreposição de depuração desenhada pelo {@link PainelDeJogo} por cima do tabuleiro,
+ * alternada pela tecla F3 (ou ligada desde o início com {@code --desempenho}).
+ *
+ * Mostra os quadros por segundo, um gráfico do tempo de pintura dos últimos quadros, os
+ * percentis p50/p95/p99 da pintura, os pedidos de repintura por segundo, a taxa de
+ * alocação da JVM, as animações em andamento e a memória dos {@link QuadrosDeVirada}. Os quadros são guardados em anéis de
+ * tamanho fixo, e registrar um quadro não aloca memória; os textos são montados uma vez
+ * por segundo, de modo que a sobreposição pode ficar ligada nos testes de longa duração
+ * dos quiosques.
+ */
+public class SobreposicaoDesempenho {
+    /**
+     * Número de quadros guardados para o gráfico e os percentis.
+     */
+    public static final int CAPACIDADE = 240;
+
+    /**
+     * Orçamento de um quadro a 60 Hz, desenhado como linha de referência no gráfico.
+     */
+    private static final long ORCAMENTO_NANOS = 16_666_667L;
+
+    private static final Font FONTE = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final Color FUNDO = new Color(0, 0, 0, 170);
+    private static final Color BARRA = new Color(90, 220, 120);
+    private static final Color BARRA_LENTA = new Color(240, 90, 80);
+    private static final int LARGURA = 250;
+    private static final int ALTURA_GRAFICO = 50;
+
+    private static volatile boolean visivel;
+
+    private final Anel duracoes = new Anel(CAPACIDADE);
+    private final Anel instantes = new Anel(CAPACIDADE);
+    private final long[] rascunho = new long[CAPACIDADE];
+    private final String[] linhas = {"", "", "", "", ""};
+    private final AtomicLong repinturas = new AtomicLong();
+    private long repinturasAnteriores;
+    private long bytesAlocadosAnteriores = -1;
+    private long ultimaAmostra;
+    private boolean amostrado;
+    private LongSupplier memoriaDoTabuleiro;
+
+    /**
+     * Anel de tamanho fixo de valores {@code long}: o registro mais antigo é sobrescrito
+     * quando o anel está cheio.
+     */
+    static class Anel {
+        private final long[] valores;
+        private int proximo;
+        private int tamanho;
+
+        Anel(int capacidade) {
+            valores = new long[capacidade];
+        }
+
+        void registrar(long valor) {
+            valores[proximo] = valor;
+            proximo = (proximo + 1) % valores.length;
+            if (tamanho < valores.length) tamanho++;
+        }
+
+        /**
+         * @param i Posição a partir do registro mais antigo guardado.
+         */
+        long get(int i) {
+            return valores[(proximo - tamanho + i + valores.length) % valores.length];
+        }
+
+        int getTamanho() {
+            return tamanho;
+        }
+
+        /**
+         * Copia os valores para {@code destino} e os ordena, sem alocar.
+         *
+         * @return O número de valores copiados.
+         */
+        int ordenarEm(long[] destino) {
+            for (int i = 0; i < tamanho; i++) destino[i] = get(i);
+            Arrays.sort(destino, 0, tamanho);
+            return tamanho;
+        }
+    }
+
+    /**
+     * Indica se a sobreposição está ligada.
+     *
+     * @return true se a sobreposição deve ser desenhada.
+     */
+    public static boolean isVisivel() {
+        return visivel;
+    }
+
+    /**
+     * Liga ou desliga a sobreposição em todas as partidas.
+     *
+     * @param ligada true para desenhar a sobreposição.
+     */
+    public static void setVisivel(boolean ligada) {
+        visivel = ligada;
+    }
+
+    /**
+     * Alterna a sobreposição (tecla F3).
+     */
+    public static void alternar() {
+        visivel = !visivel;
+    }
+
+    /**
+     * Define como obter a memória dos quadros de virada do tabuleiro exibido.
+     *
+     * @param memoria Fornece o total em bytes; consultado uma vez por segundo.
+     */
+    public void setMemoriaDoTabuleiro(LongSupplier memoria) {
+        this.memoriaDoTabuleiro = memoria;
+    }
+
+    /**
+     * Registra um quadro pintado. Não aloca memória.
+     *
+     * @param inicioNanos  Início da pintura, em {@link System#nanoTime()}.
+     * @param duracaoNanos Duração da pintura.
+     */
+    public void registrarQuadro(long inicioNanos, long duracaoNanos) {
+        instantes.registrar(inicioNanos);
+        duracoes.registrar(duracaoNanos);
+    }
+
+    /**
+     * Conta um pedido de repintura do painel; pode ser chamado de qualquer thread.
+     */
+    public void registrarRepintura() {
+        repinturas.incrementAndGet();
+    }
+
+    /**
+     * Conta os quadros pintados no último segundo antes do instante informado.
+     *
+     * @param agoraNanos Instante de referência, em {@link System#nanoTime()}.
+     * @return Os quadros por segundo.
+     */
+    int getQuadrosPorSegundo(long agoraNanos) {
+        int quadros = 0;
+        for (int i = instantes.getTamanho() - 1; i >= 0 && agoraNanos - instantes.get(i) < 1_000_000_000L; i--) {
+            quadros++;
+        }
+        return quadros;
+    }
+
+    /**
+     * Retorna o percentil do tempo de pintura dos quadros guardados.
+     *
+     * @param percentil Percentil entre 0 e 100.
+     * @return O tempo de pintura em nanossegundos, ou 0 se não houver quadros.
+     */
+    long percentil(double percentil) {
+        int n = duracoes.ordenarEm(rascunho);
+        if (n == 0) return 0;
+        int indice = (int) Math.ceil(percentil / 100.0 * n) - 1;
+        return rascunho[Math.max(0, Math.min(n - 1, indice))];
+    }
+
+    /**
+     * Retorna as linhas de texto da última amostragem.
+     *
+     * @return As linhas exibidas pela sobreposição.
+     */
+    String[] getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Recalcula os textos da sobreposição. Chamado no máximo uma vez por segundo.
+     *
+     * @param agoraNanos Instante da amostragem.
+     */
+    void amostrar(long agoraNanos) {
+        double segundos = amostrado ? (agoraNanos - ultimaAmostra) / 1e9 : 1;
+        ultimaAmostra = agoraNanos;
+        amostrado = true;
+        long total = repinturas.get();
+        long pedidos = total - repinturasAnteriores;
+        repinturasAnteriores = total;
+
+        long alocados = bytesAlocados();
+        String alocacao = "n/d";
+        if (alocados >= 0 && bytesAlocadosAnteriores >= 0) {
+            alocacao = String.format("%.1f MB/s", (alocados - bytesAlocadosAnteriores) / segundos / (1 << 20));
+        }
+        bytesAlocadosAnteriores = alocados;
+
+        linhas[0] = String.format("FPS %d   repinturas %.0f/s", getQuadrosPorSegundo(agoraNanos), pedidos / segundos);
+        linhas[1] = String.format("pintura p50 %.2f  p95 %.2f  p99 %.2f ms",
+                percentil(50) / 1e6, percentil(95) / 1e6, percentil(99) / 1e6);
+        linhas[2] = "alocação " + alocacao;
+        linhas[3] = "animações " + EscopoDeRecursos.getTarefasAtivas()
+                + "   threads de timer " + MetricasJogo.contarThreadsDeTimer();
+        linhas[4] = memoriaDoTabuleiro == null
+                ? String.format("quadros de virada %d KB", QuadrosDeVirada.getBytes() >> 10)
+                : String.format("quadros de virada %d KB (total %d KB)",
+                memoriaDoTabuleiro.getAsLong() >> 10, QuadrosDeVirada.getBytes() >> 10);
+    }
+
+    /**
+     * Desenha a sobreposição no canto inferior esquerdo do componente.
+     *
+     * @param g      Contexto gráfico do painel.
+     * @param altura Altura do painel.
+     */
+    public void desenhar(Graphics g, int altura) {
+        long agora = System.nanoTime();
+        if (!amostrado || agora - ultimaAmostra >= 1_000_000_000L) amostrar(agora);
+
+        int alturaTexto = 14;
+        int y0 = altura - ALTURA_GRAFICO - linhas.length * alturaTexto - 12;
+        g.setColor(FUNDO);
+        g.fillRect(4, y0, LARGURA, altura - y0 - 4);
+
+        g.setFont(FONTE);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < linhas.length; i++) {
+            g.drawString(linhas[i], 10, y0 + (i + 1) * alturaTexto);
+        }
+
+        // Gráfico: uma barra por quadro, escala de 0 a 2 orçamentos de 60 Hz
+        int base = altura - 8;
+        int n = duracoes.getTamanho();
+        int largura = LARGURA - 12;
+        for (int i = 0; i < n && i < largura; i++) {
+            long d = duracoes.get(n - 1 - i);
+            int h = (int) Math.min(ALTURA_GRAFICO, d * ALTURA_GRAFICO / (2 * ORCAMENTO_NANOS));
+            g.setColor(d > ORCAMENTO_NANOS ? BARRA_LENTA : BARRA);
+            g.drawLine(10 + largura - i, base, 10 + largura - i, base - Math.max(1, h));
+        }
+        g.setColor(Color.YELLOW);
+        g.drawLine(10, base - ALTURA_GRAFICO / 2, 10 + largura, base - ALTURA_GRAFICO / 2);
+    }
+
+    /**
+     * Total de bytes alocados por todas as threads da JVM, ou -1 se a JVM não informar.
+     */
+    private static long bytesAlocados() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,319 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Tabuleiro de tamanho arbitrário para as maratonas, exibido dentro de um
+ * {@link JScrollPane}. Apenas as posições visíveis são desenhadas e testadas no clique,
+ * e só elas têm um objeto {@link Carta}: ao rolar, as cartas que saem da área visível
+ * voltam para uma reserva e são reaproveitadas para as posições que entram. O estado
+ * de cada posição fica na {@link SessaoDeJogo}, e as imagens são compartilhadas pelo
+ * {@link CacheDeImagens}; assim a memória e o tempo de cada quadro dependem do tamanho
+ * da janela e do zoom, não do tamanho do tabuleiro.
+ *
+ * Cartas viradas à espera do par ou no meio de uma animação nunca são reaproveitadas,
+ * pois os {@link Controles} ainda guardam referências a elas.
+ */
+public class TabuleiroVirtual extends JPanel implements Scrollable, VisaoDoTabuleiro {
+    /**
+     * Lado de uma carta com zoom 1, igual ao do {@link PainelDeJogo}.
+     */
+    public static final int LADO = 90;
+
+    /**
+     * Espaçamento entre as cartas com zoom 1.
+     */
+    public static final int ESPACAMENTO = 10;
+
+    /**
+     * Limites do zoom.
+     */
+    public static final double ZOOM_MINIMO = 0.25;
+    public static final double ZOOM_MAXIMO = 2.0;
+
+    private final int linhas;
+    private final int colunas;
+    private final SessaoDeJogo sessao;
+    private final EscopoDeRecursos escopo;
+    private final Controles controles;
+    private final Runnable aoEncontrarPar;
+    private final Runnable aoVerificarFim;
+
+    private final Map<Integer, Carta> materializadas = new HashMap<>();
+    private final Map<Carta, Integer> indices = new IdentityHashMap<>();
+    private final ArrayDeque<Carta> reserva = new ArrayDeque<>();
+    private final Rectangle faixaVisivel = new Rectangle();
+    private double zoom = 1.0;
+
+    /**
+     * Cria o tabuleiro de uma sessão.
+     *
+     * @param linhas         Número de linhas.
+     * @param colunas        Número de colunas.
+     * @param sessao         Sessão com o estado de cada posição.
+     * @param escopo         Escopo da partida, dono das animações e sons.
+     * @param aoEncontrarPar Chamado na thread de eventos quando um par é encontrado.
+     * @param aoVerificarFim Chamado na thread de eventos depois de cada par, para verificar o fim da partida.
+     */
+    public TabuleiroVirtual(int linhas, int colunas, SessaoDeJogo sessao, EscopoDeRecursos escopo,
+                            Runnable aoEncontrarPar, Runnable aoVerificarFim) {
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.sessao = sessao;
+        this.escopo = escopo;
+        this.aoEncontrarPar = aoEncontrarPar;
+        this.aoVerificarFim = aoVerificarFim;
+        this.controles = new Controles(this, sessao, escopo);
+        atualizarTamanho();
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (sessao.isPausado() || sessao.getEstado() != SessaoDeJogo.Estado.EM_ANDAMENTO) return;
+                int indice = indiceEm(e.getX(), e.getY());
+                if (indice >= 0) controles.clicarCarta(getCarta(indice), FilaDeEntrada.instanteDoEvento(e));
+            }
+        });
+
+        // Ctrl + roda do mouse aproxima e afasta mantendo a posição sob o cursor
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                setZoom(zoom * Math.pow(1.1, -e.getPreciseWheelRotation()), e.getPoint());
+            } else {
+                // Sem Ctrl, a rolagem continua com o JScrollPane
+                Container rolagem = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+                if (rolagem != null) rolagem.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, rolagem));
+            }
+        });
+    }
+
+    /**
+     * Retorna o lado atual de uma carta, em pixels.
+     *
+     * @return O lado com o zoom aplicado.
+     */
+    int getLado() {
+        return Math.max(1, (int) Math.round(LADO * zoom));
+    }
+
+    /**
+     * Retorna a distância entre o início de uma carta e o da seguinte, em pixels.
+     *
+     * @return O passo da grade com o zoom aplicado.
+     */
+    int getPasso() {
+        return getLado() + Math.max(1, (int) Math.round(ESPACAMENTO * zoom));
+    }
+
+    /**
+     * Retorna o zoom atual.
+     *
+     * @return O zoom, entre {@link #ZOOM_MINIMO} e {@link #ZOOM_MAXIMO}.
+     */
+    public double getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Altera o zoom, mantendo fixo na tela o ponto informado do tabuleiro.
+     *
+     * @param novo   O novo zoom (limitado aos extremos permitidos).
+     * @param ancora Ponto em coordenadas do tabuleiro que deve ficar parado, ou null para o centro da área visível.
+     */
+    public void setZoom(double novo, Point ancora) {
+        novo = Math.max(ZOOM_MINIMO, Math.min(ZOOM_MAXIMO, novo));
+        if (novo == zoom) return;
+        Rectangle visivel = getVisibleRect();
+        if (ancora == null) ancora = new Point((int) visivel.getCenterX(), (int) visivel.getCenterY());
+        double fator = (double) passoCom(novo) / getPasso();
+        int naTelaX = ancora.x - visivel.x;
+        int naTelaY = ancora.y - visivel.y;
+
+        zoom = novo;
+        atualizarTamanho();
+        if (getParent() instanceof JViewport viewport) {
+            viewport.setViewPosition(new Point(
+                    Math.max(0, (int) Math.round(ancora.x * fator) - naTelaX),
+                    Math.max(0, (int) Math.round(ancora.y * fator) - naTelaY)));
+        }
+        repaint();
+    }
+
+    private static int passoCom(double zoom) {
+        return Math.max(1, (int) Math.round(LADO * zoom)) + Math.max(1, (int) Math.round(ESPACAMENTO * zoom));
+    }
+
+    private void atualizarTamanho() {
+        int passo = getPasso();
+        int espacamento = passo - getLado();
+        setPreferredSize(new Dimension(colunas * passo - espacamento, linhas * passo - espacamento));
+        revalidate();
+    }
+
+    /**
+     * Retorna a posição da carta sob o ponto informado, calculada diretamente pela grade.
+     *
+     * @param x Coordenada X no tabuleiro.
+     * @param y Coordenada Y no tabuleiro.
+     * @return O índice da posição, ou -1 se o ponto cair fora das cartas.
+     */
+    int indiceEm(int x, int y) {
+        if (x < 0 || y < 0) return -1;
+        int passo = getPasso();
+        int coluna = x / passo;
+        int linha = y / passo;
+        if (coluna >= colunas || linha >= linhas) return -1;
+        if (x % passo >= getLado() || y % passo >= getLado()) return -1; // espaçamento entre cartas
+        return linha * colunas + coluna;
+    }
+
+    /**
+     * Retorna quantas cartas estão materializadas no momento.
+     *
+     * @return O número de objetos {@link Carta} em uso.
+     */
+    int getCartasMaterializadas() {
+        return materializadas.size();
+    }
+
+    /**
+     * Retorna quantas cartas aguardam reaproveitamento.
+     *
+     * @return O tamanho da reserva.
+     */
+    int getCartasNaReserva() {
+        return reserva.size();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long inicio = System.nanoTime();
+        super.paintComponent(g);
+        Rectangle area = g.getClipBounds();
+        if (area == null) area = getVisibleRect();
+
+        int passo = getPasso();
+        int lado = getLado();
+        int primeiraColuna = Math.max(0, area.x / passo);
+        int ultimaColuna = Math.min(colunas - 1, (area.x + area.width) / passo);
+        int primeiraLinha = Math.max(0, area.y / passo);
+        int ultimaLinha = Math.min(linhas - 1, (area.y + area.height) / passo);
+
+        for (int linha = primeiraLinha; linha <= ultimaLinha; linha++) {
+            for (int coluna = primeiraColuna; coluna <= ultimaColuna; coluna++) {
+                getCarta(linha * colunas + coluna).desenhar(g, coluna * passo, linha * passo, lado, lado);
+            }
+        }
+
+        // Reaproveita as cartas fora da área visível do viewport (a pintura pode ser só de um trecho dela)
+        Rectangle visivel = getVisibleRect();
+        Rectangle faixa = new Rectangle(visivel.x / passo, visivel.y / passo,
+                (visivel.x + visivel.width) / passo - visivel.x / passo + 1,
+                (visivel.y + visivel.height) / passo - visivel.y / passo + 1);
+        if (!faixa.equals(faixaVisivel)) {
+            faixaVisivel.setBounds(faixa);
+            reciclar(faixa);
+        }
+        MetricasJogo.quadroPintado(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Devolve à reserva as cartas fora da faixa de colunas e linhas informada, exceto as
+     * que ainda participam de uma jogada.
+     */
+    private void reciclar(Rectangle faixa) {
+        Iterator<Map.Entry<Integer, Carta>> it = materializadas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Carta> entrada = it.next();
+            int indice = entrada.getKey();
+            Carta carta = entrada.getValue();
+            if (faixa.contains(indice % colunas, indice / colunas)) continue;
+            if (carta.isAnimando() || (carta.isVirada() && !carta.isEncontrada())) continue;
+            it.remove();
+            indices.remove(carta);
+            reserva.push(carta);
+        }
+    }
+
+    @Override
+    public int indiceDe(Carta carta) {
+        Integer indice = indices.get(carta);
+        return indice != null ? indice : -1;
+    }
+
+    /**
+     * Retorna a carta da posição informada, materializando-a (de preferência com uma carta
+     * da reserva) se ela ainda não existir.
+     */
+    @Override
+    public Carta getCarta(int indice) {
+        Carta carta = materializadas.get(indice);
+        if (carta != null) return carta;
+
+        int id = sessao.getId(indice);
+        String frente = GeradorDeCartas.caminhoFrente(id);
+        carta = reserva.poll();
+        if (carta == null) {
+            carta = new Carta(frente, GeradorDeCartas.COSTA, id);
+            carta.setPainel(this);
+            carta.setEscopo(escopo);
+        }
+        carta.reutilizar(frente, GeradorDeCartas.COSTA, id, sessao.isVirada(indice), sessao.isEncontrada(indice));
+        materializadas.put(indice, carta);
+        indices.put(carta, indice);
+        return carta;
+    }
+
+    @Override
+    public void atualizarPontuacao() {
+        aoEncontrarPar.run();
+    }
+
+    @Override
+    public void verificarFimDeJogo() {
+        aoVerificarFim.run();
+    }
+
+    /**
+     * Retorna os controles do tabuleiro.
+     *
+     * @return Os controles da partida.
+     */
+    public Controles getControles() {
+        return controles;
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension tamanho = getPreferredSize();
+        return new Dimension(Math.min(tamanho.width, 1000), Math.min(tamanho.height, 640));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visivel, int orientacao, int direcao) {
+        return Math.max(1, getPasso() / 3);
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visivel, int orientacao, int direcao) {
+        int extensao = orientacao == SwingConstants.HORIZONTAL ? visivel.width : visivel.height;
+        return Math.max(getPasso(), extensao - getPasso());
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+import javax.swing.JComponent;
+
+/**
+ * Tela exibida pelo {@link GerenciadorDeTelas}. As telas são criadas uma única vez e
+ * reaproveitadas; o ciclo de vida avisa quando a tela passa a ser exibida, quando deixa
+ * de ser exibida e quando é descartada de vez.
+ */
+public interface Tela {
+
+    /**
+     * Retorna o componente desenhado na janela.
+     *
+     * @return O componente raiz da tela.
+     */
+    JComponent getComponente();
+
+    /**
+     * Retorna o título da janela enquanto esta tela estiver visível.
+     *
+     * @return O título da janela.
+     */
+    String getTitulo();
+
+    /**
+     * Chamado sempre que a tela passa a ser exibida.
+     */
+    default void aoEntrar() {
+    }
+
+    /**
+     * Chamado sempre que outra tela passa a ser exibida no lugar desta.
+     */
+    default void aoSair() {
+    }
+
+    /**
+     * Chamado uma única vez, quando a tela é removida do gerenciador. Deve liberar
+     * timers, sons e demais recursos.
+     */
+    default void descartar() {
+    }
+}
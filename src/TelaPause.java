@@ -3,8 +3,9 @@ import java.awt.*;
 
 /**
  * Tela de pausa do jogo, com opções para continuar, salvar o jogo ou voltar ao menu.
+ * Exibida na janela do jogo pelo {@link GerenciadorDeTelas}.
  */
-public class TelaPause extends JFrame {
+public class TelaPause extends JPanel implements Tela {
 
     private JButton btnContinuar;
     private JButton btnSalvar;
@@ -14,20 +15,11 @@ public class TelaPause extends JFrame {
      * Construtor da TelaPause, inicializa a interface gráfica com os botões e ações.
      */
     public TelaPause() {
-        // Define o título e configurações da janela
-        setTitle("Pausa");
-        setSize(300, 250);  // Define o tamanho da janela
-        setLocationRelativeTo(null); // Centraliza a janela
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);  // Fecha a janela de pausa ao invés de encerrar o programa
-        setResizable(false);  // Impede que a janela seja redimensionada
-
-        // Criação do painel principal
-        JPanel painelPrincipal = new JPanel();
-        painelPrincipal.setLayout(new GridLayout(3, 1, 10, 10)); // Layout com 3 linhas e 1 coluna
-        painelPrincipal.setBorder(BorderFactory.createEmptyBorder(30, 50, 30, 50)); // Adiciona espaçamento ao redor do painel
-
-        // Define o conteúdo da janela como o painel principal
-        setContentPane(painelPrincipal);
+        // Configurações do painel principal
+        setPreferredSize(new Dimension(300, 250));  // Define o tamanho da tela
+        setLayout(new GridLayout(3, 1, 10, 10)); // Layout com 3 linhas e 1 coluna
+        setBorder(BorderFactory.createEmptyBorder(30, 50, 30, 50)); // Adiciona espaçamento ao redor do painel
+        JPanel painelPrincipal = this;
 
         // Criação dos botões
         btnContinuar = new JButton("Continuar");
@@ -44,15 +36,25 @@ public class TelaPause extends JFrame {
         btnSalvar.addActionListener(e -> salvarJogo());        // Ação de salvar o jogo
         btnVoltarMenu.addActionListener(e -> voltarParaMenu());  // Ação de voltar para o menu principal
 
-        // Torna a janela visível
-        setVisible(true);
+    }
+
+    @Override
+    public JComponent getComponente() {
+        return this;
+    }
+
+    @Override
+    public String getTitulo() {
+        return "Pausa";
     }
 
     /**
-     * Método para continuar o jogo, fechando a janela de pausa.
+     * Método para continuar o jogo, voltando à tela da partida.
      */
     private void continuarJogo() {
-        this.dispose();  // Fecha a janela de pausa
+        GerenciadorDeTelas telas = GerenciadorDeTelas.padrao();
+        if (telas.contem(GerenciadorDeTelas.JOGO)) telas.mostrar(GerenciadorDeTelas.JOGO, null);
+        else MenuInicial.exibir();  // Nenhuma partida em andamento
     }
 
     /**
@@ -68,8 +70,7 @@ public class TelaPause extends JFrame {
     private void voltarParaMenu() {
         int confirmacao = JOptionPane.showConfirmDialog(this, "Deseja voltar para o menu?", "Confirmação", JOptionPane.YES_NO_OPTION);
         if (confirmacao == JOptionPane.YES_OPTION) {
-            this.dispose();  // Fecha a janela de pausa
-            new MenuInicial();  // Abre o menu inicial (supondo que MenuInicial esteja implementado)
+            MenuInicial.exibir();  // Volta ao menu inicial
         }
     }
 }
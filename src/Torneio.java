@@ -0,0 +1,307 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Torneio em chave eliminatória jogado por jogadores automáticos, com todas as partidas
+ * de uma rodada acontecendo ao mesmo tempo no mesmo processo.
+ *
+ * Cada partida é uma {@link SessaoDeJogo} própria, com pontuação e relógio isolados; o
+ * relógio de cada partida é um {@link RelogioVirtual} que avança um segundo a cada
+ * {@code segundoMs} reais. Nenhuma sessão tem thread própria: as jogadas e os segundos do relógio são tarefas em
+ * um único agendador compartilhado, com uma thread por núcleo, o que permite centenas
+ * de sessões por núcleo. Em um confronto os dois jogadores recebem o mesmo tabuleiro;
+ * vence quem terminar com mais pontos, depois com menos tentativas.
+ *
+ * Uso: {@code Torneio [--jogadores=64] [--semente=42] [--dificuldade=FACIL]
+ * [--segundo-ms=20] [--pensar-ms=2] [--memoria=0.8] [--threads=núcleos]}
+ */
+public class Torneio implements AutoCloseable {
+
+    private final Dificuldade dificuldade;
+    private final long semente;
+    private final long segundoMs;
+    private final int pensarMs;
+    private final double memoria;
+    private final ScheduledExecutorService agendador;
+    private final Map<String, Classificacao> classificacao = new LinkedHashMap<>();
+    private final List<List<String>> rodadas = new ArrayList<>();
+
+    /**
+     * Desempenho acumulado de um jogador no torneio.
+     */
+    public static final class Classificacao {
+        private final String nome;
+        private int partidas;
+        private int vitorias;
+        private int pontos;
+        private int tentativas;
+
+        Classificacao(String nome) {
+            this.nome = nome;
+        }
+
+        /**
+         * Retorna o nome do jogador.
+         *
+         * @return O nome.
+         */
+        public String getNome() {
+            return nome;
+        }
+
+        /**
+         * Retorna o número de partidas vencidas.
+         *
+         * @return As vitórias.
+         */
+        public int getVitorias() {
+            return vitorias;
+        }
+
+        /**
+         * Retorna a soma dos pontos de todas as partidas do jogador.
+         *
+         * @return Os pontos acumulados.
+         */
+        public int getPontos() {
+            return pontos;
+        }
+    }
+
+    /**
+     * Cria o torneio.
+     *
+     * @param dificuldade Dificuldade de todas as partidas.
+     * @param semente     Semente dos tabuleiros e das jogadas.
+     * @param segundoMs   Duração de um segundo do relógio das partidas, em milissegundos reais.
+     * @param pensarMs    Tempo de pensamento dos jogadores entre as cartas, em milissegundos.
+     * @param memoria     Probabilidade de cada jogador lembrar uma carta vista.
+     * @param threads     Threads do agendador compartilhado.
+     */
+    public Torneio(Dificuldade dificuldade, long semente, long segundoMs, int pensarMs, double memoria, int threads) {
+        this.dificuldade = dificuldade;
+        this.semente = semente;
+        this.segundoMs = segundoMs;
+        this.pensarMs = pensarMs;
+        this.memoria = memoria;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+        executor.setRemoveOnCancelPolicy(true);
+        this.agendador = executor;
+    }
+
+    /**
+     * Joga uma partida sem interface com um jogador automático.
+     *
+     * @param nome             Nome do jogador.
+     * @param sementeTabuleiro Semente do tabuleiro; a mesma semente gera o mesmo tabuleiro.
+     * @param sementeJogador   Semente das escolhas do jogador.
+     * @return O resultado, disponível quando a partida terminar.
+     */
+    public CompletableFuture<ResultadoPartida> jogar(String nome, long sementeTabuleiro, long sementeJogador) {
+        RegrasDoJogo regras = RegrasDoJogo.embaralhado(dificuldade.linhas, dificuldade.colunas, new Random(sementeTabuleiro));
+        RelogioVirtual tempo = new RelogioVirtual();
+        SessaoDeJogo sessao = new SessaoDeJogo(nome, dificuldade, regras, new BarramentoDeEventos(), tempo);
+        return new PartidaAutomatica(sessao, tempo, new Random(sementeJogador)).iniciar();
+    }
+
+    /**
+     * Partida de uma sessão conduzida por um jogador automático, avançada por tarefas no agendador.
+     */
+    private final class PartidaAutomatica {
+        final SessaoDeJogo sessao;
+        final RelogioVirtual tempo;
+        final MemoriaDoBot bot;
+        final CompletableFuture<ResultadoPartida> resultado = new CompletableFuture<>();
+        ScheduledFuture<?> relogio;
+        int primeira = -1;
+
+        PartidaAutomatica(SessaoDeJogo sessao, RelogioVirtual tempo, Random aleatorio) {
+            this.sessao = sessao;
+            this.tempo = tempo;
+            this.bot = new MemoriaDoBot(sessao.getTotalCartas(), memoria, aleatorio);
+        }
+
+        CompletableFuture<ResultadoPartida> iniciar() {
+            relogio = agendador.scheduleAtFixedRate(() -> {
+                tempo.avancar(1000);
+                if (sessao.atualizarTempo()) concluir();
+            }, segundoMs, segundoMs, TimeUnit.MILLISECONDS);
+            agendar();
+            return resultado;
+        }
+
+        void agendar() {
+            agendador.schedule(this::jogada, pensarMs, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Vira uma carta; as tarefas de jogada de uma partida nunca se sobrepõem.
+         */
+        void jogada() {
+            try {
+                if (sessao.getEstado() != SessaoDeJogo.Estado.EM_ANDAMENTO) {
+                    concluir();
+                    return;
+                }
+                if (sessao.isErroPendente()) sessao.desvirarErro();
+
+                int carta = primeira < 0 ? bot.escolherPrimeira() : bot.escolherSegunda(primeira);
+                RegrasDoJogo.Resultado r = sessao.virar(carta);
+                if (r != RegrasDoJogo.Resultado.IGNORADA) bot.observar(carta, sessao.getId(carta));
+                if (r == RegrasDoJogo.Resultado.PRIMEIRA) {
+                    primeira = carta;
+                } else {
+                    if (r == RegrasDoJogo.Resultado.PAR) bot.marcarEncontradas(primeira, carta);
+                    primeira = -1;
+                }
+
+                if (sessao.getEstado() == SessaoDeJogo.Estado.EM_ANDAMENTO) agendar();
+                else concluir();
+            } catch (RuntimeException e) {
+                relogio.cancel(false);
+                resultado.completeExceptionally(e);
+            }
+        }
+
+        void concluir() {
+            relogio.cancel(false);
+            resultado.complete(sessao.getResultado());
+        }
+    }
+
+    /**
+     * Executa a chave completa. Se o número de jogadores não for potência de dois, os
+     * primeiros da lista avançam sem jogar na primeira rodada.
+     *
+     * @param jogadores Nomes dos jogadores, na ordem de cabeça de chave.
+     * @return O campeão.
+     * @throws Exception Se alguma partida falhar.
+     */
+    public String executar(List<String> jogadores) throws Exception {
+        for (String j : jogadores) classificacao.put(j, new Classificacao(j));
+        List<String> vivos = new ArrayList<>(jogadores);
+        int rodada = 0;
+        while (vivos.size() > 1) {
+            rodada++;
+            rodadas.add(List.copyOf(vivos));
+            int tamanhoChave = Integer.highestOneBit(vivos.size() - 1) << 1;
+            int folgas = tamanhoChave - vivos.size();
+
+            List<String> proxima = new ArrayList<>(vivos.subList(0, folgas));
+            List<CompletableFuture<String>> confrontos = new ArrayList<>();
+            for (int i = folgas; i + 1 < vivos.size(); i += 2) {
+                confrontos.add(confronto(vivos.get(i), vivos.get(i + 1), rodada, i));
+            }
+            for (CompletableFuture<String> c : confrontos) proxima.add(c.get());
+            vivos = proxima;
+        }
+        rodadas.add(List.copyOf(vivos));
+        return vivos.get(0);
+    }
+
+    /**
+     * Joga um confronto: os dois jogadores jogam ao mesmo tempo no mesmo tabuleiro.
+     */
+    private CompletableFuture<String> confronto(String a, String b, int rodada, int posicao) {
+        long tabuleiro = semente * 1_000_003L + rodada * 10_007L + posicao;
+        CompletableFuture<ResultadoPartida> ra = jogar(a, tabuleiro, (semente + a).hashCode());
+        CompletableFuture<ResultadoPartida> rb = jogar(b, tabuleiro, (semente + b).hashCode());
+        return ra.thenCombine(rb, (x, y) -> {
+            ResultadoPartida vencedor = Comparator.comparingInt((ResultadoPartida r) -> r.pontos)
+                    .thenComparing(r -> -r.tentativas).compare(x, y) >= 0 ? x : y;
+            registrar(x, x == vencedor);
+            registrar(y, y == vencedor);
+            return vencedor.nome;
+        });
+    }
+
+    private void registrar(ResultadoPartida r, boolean venceu) {
+        synchronized (classificacao) {
+            Classificacao c = classificacao.get(r.nome);
+            c.partidas++;
+            c.pontos += r.pontos;
+            c.tentativas += r.tentativas;
+            if (venceu) c.vitorias++;
+        }
+    }
+
+    /**
+     * Retorna a classificação geral: mais vitórias, depois mais pontos.
+     *
+     * @return Os jogadores em ordem de classificação.
+     */
+    public List<Classificacao> getClassificacao() {
+        synchronized (classificacao) {
+            List<Classificacao> lista = new ArrayList<>(classificacao.values());
+            lista.sort(Comparator.comparingInt((Classificacao c) -> -c.vitorias).thenComparingInt(c -> -c.pontos));
+            return lista;
+        }
+    }
+
+    /**
+     * Imprime os jogadores de cada rodada e a classificação final.
+     *
+     * @param saida Destino da impressão.
+     */
+    public void imprimir(PrintStream saida) {
+        for (int i = 0; i < rodadas.size(); i++) {
+            saida.println((i + 1 == rodadas.size() ? "Campeão" : "Rodada " + (i + 1)) + ": " + String.join(", ", rodadas.get(i)));
+        }
+        saida.printf("%n%-4s %-16s %8s %9s %8s %11s%n", "#", "jogador", "partidas", "vitórias", "pontos", "tentativas");
+        int posicao = 1;
+        for (Classificacao c : getClassificacao()) {
+            saida.printf("%-4d %-16s %8d %9d %8d %11d%n", posicao++, c.nome, c.partidas, c.vitorias, c.pontos, c.tentativas);
+        }
+    }
+
+    /**
+     * Encerra o agendador compartilhado.
+     */
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+    }
+
+    /**
+     * Executa um torneio sem interface e imprime a chave e a classificação.
+     *
+     * @param args Opções no formato {@code --chave=valor}.
+     * @throws Exception Se o torneio falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int igual = arg.indexOf('=');
+            if (igual < 0) opcoes.put(arg.substring(2), "true");
+            else opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        int n = Integer.parseInt(opcoes.getOrDefault("jogadores", "64"));
+        List<String> jogadores = new ArrayList<>();
+        for (int i = 1; i <= n; i++) jogadores.add("bot-" + i);
+
+        try (Torneio torneio = new Torneio(
+                Dificuldade.valueOf(opcoes.getOrDefault("dificuldade", "FACIL")),
+                Long.parseLong(opcoes.getOrDefault("semente", "42")),
+                Long.parseLong(opcoes.getOrDefault("segundo-ms", "20")),
+                Integer.parseInt(opcoes.getOrDefault("pensar-ms", "2")),
+                Double.parseDouble(opcoes.getOrDefault("memoria", "0.8")),
+                Integer.parseInt(opcoes.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))))) {
+            long inicio = System.nanoTime();
+            torneio.executar(jogadores);
+            torneio.imprimir(System.out);
+            System.out.printf("%nDuração: %.2fs%n", (System.nanoTime() - inicio) / 1e9);
+        }
+    }
+}
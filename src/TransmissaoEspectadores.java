@@ -0,0 +1,122 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transmite os eventos da partida local para espectadores conectados por TCP, uma linha
+ * JSON por evento (por exemplo, {@code nc localhost 7171}). Usado para exibir a partida
+ * em um telão sem tocar na máquina do jogador.
+ *
+ * Cada espectador é um assinante do {@link BarramentoDeEventos} com anel próprio e
+ * política {@link BarramentoDeEventos.Politica#AGLUTINAR}, escrito por uma virtual thread:
+ * se a rede do espectador não acompanhar, ele perde eventos de relógio e, em último
+ * caso, os mais antigos, mas o jogo nunca espera por ele.
+ */
+public class TransmissaoEspectadores implements AutoCloseable {
+    /**
+     * Porta padrão da transmissão.
+     */
+    public static final int PORTA_PADRAO = 7171;
+
+    private final ServerSocketChannel canal;
+    private final BarramentoDeEventos barramento;
+    private final Map<SocketChannel, BarramentoDeEventos.Assinatura> espectadores = new ConcurrentHashMap<>();
+    private volatile boolean encerrada;
+
+    /**
+     * Inicia a transmissão dos eventos do barramento informado.
+     *
+     * @param porta      Porta TCP; 0 escolhe uma porta livre.
+     * @param barramento Barramento cujos eventos serão transmitidos.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public TransmissaoEspectadores(int porta, BarramentoDeEventos barramento) throws IOException {
+        this.barramento = barramento;
+        this.canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(porta));
+        Thread aceite = new Thread(this::aceitarEspectadores, "TransmissaoEspectadores-aceite");
+        aceite.setDaemon(true);
+        aceite.start();
+    }
+
+    /**
+     * Retorna a porta em que a transmissão está escutando.
+     *
+     * @return A porta local.
+     */
+    public int getPorta() {
+        return canal.socket().getLocalPort();
+    }
+
+    /**
+     * Retorna o número de espectadores conectados.
+     *
+     * @return O número de espectadores.
+     */
+    public int getEspectadores() {
+        return espectadores.size();
+    }
+
+    private void aceitarEspectadores() {
+        while (!encerrada) {
+            try {
+                SocketChannel espectador = canal.accept();
+                BarramentoDeEventos.Assinatura assinatura = barramento.assinar(
+                        BarramentoDeEventos.CAPACIDADE_PADRAO, BarramentoDeEventos.Politica.AGLUTINAR);
+                espectadores.put(espectador, assinatura);
+                Thread.ofVirtual().name("espectador").start(() -> transmitir(espectador, assinatura));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!encerrada) Log.erro("TransmissaoEspectadores", "Erro ao aceitar espectador", e);
+            }
+        }
+    }
+
+    /**
+     * Escreve os eventos da assinatura no socket até o espectador desconectar.
+     */
+    private void transmitir(SocketChannel espectador, BarramentoDeEventos.Assinatura assinatura) {
+        try (espectador; assinatura) {
+            EventoDeJogo evento;
+            while ((evento = assinatura.proximo(0)) != null) {
+                ByteBuffer linha = ByteBuffer.wrap((evento + "\n").getBytes(StandardCharsets.UTF_8));
+                while (linha.hasRemaining()) espectador.write(linha);
+            }
+        } catch (IOException e) {
+            // Espectador desconectou
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            espectadores.remove(espectador);
+        }
+    }
+
+    /**
+     * Encerra a transmissão e desconecta os espectadores.
+     */
+    @Override
+    public void close() {
+        encerrada = true;
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Nada a fazer ao encerrar
+        }
+        // Encerrar a assinatura acorda a thread que espera eventos; fechar o socket, a que está escrevendo
+        for (Map.Entry<SocketChannel, BarramentoDeEventos.Assinatura> e : espectadores.entrySet()) {
+            e.getValue().close();
+            try {
+                e.getKey().close();
+            } catch (IOException ex) {
+                // Nada a fazer ao encerrar
+            }
+        }
+    }
+}
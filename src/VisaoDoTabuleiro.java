@@ -0,0 +1,32 @@
+/**
+ * Componente que exibe as cartas de uma partida e recebe os resultados das jogadas dos
+ * {@link Controles}: o {@link PainelDeJogo} e o {@link TabuleiroVirtual} das maratonas.
+ */
+public interface VisaoDoTabuleiro {
+
+    /**
+     * Retorna a posição da carta no tabuleiro.
+     *
+     * @param carta A carta procurada.
+     * @return O índice da carta, ou -1 se ela não pertencer a este tabuleiro.
+     */
+    int indiceDe(Carta carta);
+
+    /**
+     * Retorna a carta na posição informada do tabuleiro.
+     *
+     * @param indice Posição da carta.
+     * @return A carta.
+     */
+    Carta getCarta(int indice);
+
+    /**
+     * Atualiza a pontuação exibida depois de um par encontrado.
+     */
+    void atualizarPontuacao();
+
+    /**
+     * Verifica o fim da partida depois de um par encontrado.
+     */
+    void verificarFimDeJogo();
+}